@@ -1,7 +1,6 @@
 package com.jobber.gateway.filters;
 
 import com.jobber.gateway.util.JwtUtil;
-import io.jsonwebtoken.Claims;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
@@ -56,29 +55,23 @@ public class AuthenticationFilter implements GlobalFilter, Ordered {
         String token = authHeader.substring(7);
         log.info("Token found: {}", token);
 
-        try {
-            Claims claims = jwtUtil.extractAllClaims(token);
-            log.info("JWT claims: {}", claims);
-
-            if (jwtUtil.isTokenExpired(token)) {
-                log.warn("JWT token is expired");
-                exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
-                return exchange.getResponse().setComplete();
-            }
-
-            String username = jwtUtil.extractUsername(token);
-            log.info("Username found: {}", username);
-
-            // check user is exits or not based on the username by calling auth-srv
-//            const uri = lb://AUTH-SERVICE/api/v1/auth/user-info/{username}
-
-        } catch (Exception e) {
-            log.warn("Invalid JWT token: {}", e.getMessage());
-            exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
-            return exchange.getResponse().setComplete();
-        }
-
-        return chain.filter(exchange);
+        // Expired or forged tokens fail here; claims are parsed and verified exactly once.
+        return jwtUtil.verify(token)
+                .doOnError(e -> log.warn("Invalid JWT token: {}", e.getMessage()))
+                .onErrorResume(e -> Mono.empty())
+                .flatMap(claims -> {
+                    log.info("Username found: {}", claims.getSubject());
+
+                    // check user is exits or not based on the username by calling auth-srv
+                    // const uri = lb://AUTH-SERVICE/api/v1/auth/user-info/{username}
+
+                    return chain.filter(exchange).thenReturn(true);
+                })
+                .switchIfEmpty(Mono.defer(() -> {
+                    exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+                    return exchange.getResponse().setComplete().thenReturn(false);
+                }))
+                .then();
     }
 
     @Override
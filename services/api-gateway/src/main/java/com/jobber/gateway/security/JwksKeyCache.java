@@ -0,0 +1,182 @@
+package com.jobber.gateway.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigInteger;
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory copy of auth-service's JWKS. Keys are fetched once at startup and refreshed in
+ * the background, so token verification never leaves the gateway. A token with an unknown
+ * {@code kid} (e.g. right after a rotation) may trigger an early refetch, but at most once
+ * per {@code jwt.jwks.min-refetch-interval} so forged key ids cannot flood auth-service.
+ */
+@Slf4j
+@Component
+public class JwksKeyCache {
+
+    private static final String GATEWAY_TOKEN_HEADER = "X-Api-Gateway-Token";
+
+    private final WebClient webClient;
+    private final String jwksUri;
+    private final String gatewayToken;
+    private final Duration refreshInterval;
+    private final long minRefetchIntervalMillis;
+    private final Duration fetchTimeout;
+    private final ECParameterSpec p256;
+
+    private final Mono<Void> sharedFetch;
+    private final AtomicLong lastUnknownKidFetch = new AtomicLong();
+    private final Counter fetchSuccess;
+    private final Counter fetchFailure;
+    private final Counter unknownKidRefetched;
+    private final Counter unknownKidRateLimited;
+
+    private volatile Map<String, PublicKey> keys = Map.of();
+    private Disposable refresher;
+
+    public JwksKeyCache(WebClient.Builder webClientBuilder,
+                        MeterRegistry meterRegistry,
+                        @Value("${jwt.jwks.uri:http://AUTH-SERVICE/api/v1/auth/.well-known/jwks.json}") String jwksUri,
+                        @Value("${api.gateway.secret:}") String gatewayToken,
+                        @Value("${jwt.jwks.refresh-interval:5m}") Duration refreshInterval,
+                        @Value("${jwt.jwks.min-refetch-interval:30s}") Duration minRefetchInterval,
+                        @Value("${jwt.jwks.fetch-timeout:3s}") Duration fetchTimeout) {
+        this.webClient = webClientBuilder.build();
+        this.jwksUri = jwksUri;
+        this.gatewayToken = gatewayToken;
+        this.refreshInterval = refreshInterval;
+        this.minRefetchIntervalMillis = minRefetchInterval.toMillis();
+        this.fetchTimeout = fetchTimeout;
+        this.p256 = p256Parameters();
+        // Concurrent callers join the fetch already in flight instead of starting another one.
+        this.sharedFetch = Mono.defer(this::fetch).share();
+
+        this.fetchSuccess = Counter.builder("gateway.jwks.fetch").tag("outcome", "success").register(meterRegistry);
+        this.fetchFailure = Counter.builder("gateway.jwks.fetch").tag("outcome", "failure").register(meterRegistry);
+        this.unknownKidRefetched = Counter.builder("gateway.jwks.unknown-kid")
+                .tag("outcome", "refetched").register(meterRegistry);
+        this.unknownKidRateLimited = Counter.builder("gateway.jwks.unknown-kid")
+                .tag("outcome", "rate_limited").register(meterRegistry);
+        Gauge.builder("gateway.jwks.keys", () -> keys.size()).register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        refresher = Flux.interval(Duration.ZERO, refreshInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> sharedFetch.onErrorResume(e -> Mono.empty()))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (refresher != null) {
+            refresher.dispose();
+        }
+    }
+
+    /**
+     * @return the cached verification key, or {@code null} if the key id is not known
+     */
+    public PublicKey getKey(String kid) {
+        return keys.get(kid);
+    }
+
+    /**
+     * Refetches the JWKS after a token referenced an unknown key id, unless another refetch
+     * happened within the minimum refetch interval.
+     */
+    public Mono<Void> refreshForUnknownKid(String kid) {
+        long now = System.currentTimeMillis();
+        long last = lastUnknownKidFetch.get();
+        if (now - last < minRefetchIntervalMillis || !lastUnknownKidFetch.compareAndSet(last, now)) {
+            unknownKidRateLimited.increment();
+            return Mono.empty();
+        }
+        log.info("Refetching JWKS for unknown key id {}", kid);
+        unknownKidRefetched.increment();
+        return sharedFetch.onErrorResume(e -> Mono.empty());
+    }
+
+    private Mono<Void> fetch() {
+        return webClient.get()
+                .uri(jwksUri)
+                .header(GATEWAY_TOKEN_HEADER, gatewayToken)
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .timeout(fetchTimeout)
+                .map(this::parse)
+                .doOnNext(fetched -> {
+                    if (fetched.isEmpty()) {
+                        log.warn("JWKS from {} contained no usable keys; keeping {} cached keys", jwksUri, keys.size());
+                        return;
+                    }
+                    keys = fetched;
+                    fetchSuccess.increment();
+                    log.debug("Loaded {} JWKS keys", fetched.size());
+                })
+                .doOnError(e -> {
+                    fetchFailure.increment();
+                    log.warn("Could not fetch JWKS from {}: {}", jwksUri, e.getMessage());
+                })
+                .then();
+    }
+
+    private Map<String, PublicKey> parse(JsonNode jwks) {
+        Map<String, PublicKey> parsed = new HashMap<>();
+        for (JsonNode jwk : jwks.path("keys")) {
+            if (!"EC".equals(jwk.path("kty").asText()) || !"P-256".equals(jwk.path("crv").asText())
+                    || !jwk.hasNonNull("kid")) {
+                continue;
+            }
+            try {
+                ECPoint point = new ECPoint(coordinate(jwk.path("x").asText()), coordinate(jwk.path("y").asText()));
+                parsed.put(jwk.get("kid").asText(),
+                        KeyFactory.getInstance("EC").generatePublic(new ECPublicKeySpec(point, p256)));
+            } catch (GeneralSecurityException | IllegalArgumentException e) {
+                log.warn("Skipping invalid JWK {}: {}", jwk.path("kid").asText(), e.getMessage());
+            }
+        }
+        return Map.copyOf(parsed);
+    }
+
+    private static BigInteger coordinate(String base64Url) {
+        return new BigInteger(1, Base64.getUrlDecoder().decode(base64Url));
+    }
+
+    private static ECParameterSpec p256Parameters() {
+        try {
+            AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+            parameters.init(new ECGenParameterSpec("secp256r1"));
+            return parameters.getParameterSpec(ECParameterSpec.class);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("P-256 curve is not available", e);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.jobber.gateway.security;
+
+import io.jsonwebtoken.JwtException;
+import lombok.Getter;
+
+/**
+ * Thrown while verifying a token whose {@code kid} is not in the local key cache.
+ */
+@Getter
+public class UnknownSigningKeyException extends JwtException {
+    private final String kid;
+
+    public UnknownSigningKeyException(String kid) {
+        super("Unknown signing key id: " + kid);
+        this.kid = kid;
+    }
+}
@@ -1,39 +1,80 @@
 package com.jobber.gateway.util;
 
+import com.jobber.gateway.security.JwksKeyCache;
+import com.jobber.gateway.security.UnknownSigningKeyException;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
 import io.jsonwebtoken.security.Keys;
-import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
 
 import java.security.Key;
+import java.security.PublicKey;
+import java.time.Instant;
 import java.util.Date;
 import java.util.function.Function;
 
+/**
+ * Verifies ES256 access tokens against the keys published by auth-service. Verification is
+ * local; the only network call is an occasional JWKS refetch when a token names a key id
+ * the gateway has not seen yet.
+ */
 @Service
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String secretKey;
+    private final JwksKeyCache jwksKeyCache;
+    private final JwtParser parser;
 
-    private Key signingKey;
-
-    private static final long EXPIRATION_TIME = 1000 * 60 * 60 * 24; // 24 hours
-
-    @PostConstruct
-    public void init() {
-        this.signingKey = Keys.hmacShaKeyFor(secretKey.getBytes());
+    public JwtUtil(JwksKeyCache jwksKeyCache,
+                   @Value("${jwt.legacy-hs256.enabled:false}") boolean legacyHs256Enabled,
+                   @Value("${jwt.legacy-hs256.issued-before:}") String legacyIssuedBefore,
+                   @Value("${jwt.secret:}") String secretKey) {
+        this.jwksKeyCache = jwksKeyCache;
+        // Tokens issued before the switch to ES256 have no kid and are HMAC-signed. Only those
+        // are accepted: anyone holding the secret could mint new ones, so a token has to carry an
+        // iat before the cutoff, and without a cutoff HS256 stays off.
+        Date legacyCutoff = legacyIssuedBefore.isBlank() ? null : Date.from(Instant.parse(legacyIssuedBefore));
+        Key legacyKey = legacyHs256Enabled && legacyCutoff != null && !secretKey.isBlank()
+                ? Keys.hmacShaKeyFor(secretKey.getBytes()) : null;
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        String kid = header.getKeyId();
+                        if (kid == null) {
+                            if (legacyKey != null && SignatureAlgorithm.HS256.getValue().equals(header.getAlgorithm())) {
+                                Date issuedAt = claims.getIssuedAt();
+                                if (issuedAt == null || !issuedAt.before(legacyCutoff)) {
+                                    throw new JwtException("HS256 token issued after the ES256 cutover");
+                                }
+                                return legacyKey;
+                            }
+                            throw new JwtException("Token has no key id");
+                        }
+                        PublicKey key = jwksKeyCache.getKey(kid);
+                        if (key == null) {
+                            throw new UnknownSigningKeyException(kid);
+                        }
+                        return key;
+                    }
+                })
+                .build();
     }
 
-    public String generateToken(String subject) {
-        return Jwts.builder()
-                .setSubject(subject)
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
-                .signWith(signingKey, SignatureAlgorithm.HS256)
-                .compact();
+    /**
+     * Verifies the token, refetching the JWKS once if it was signed with a key id that is
+     * not cached yet.
+     */
+    public Mono<Claims> verify(String token) {
+        return Mono.fromCallable(() -> extractAllClaims(token))
+                .onErrorResume(UnknownSigningKeyException.class, e -> jwksKeyCache.refreshForUnknownKid(e.getKid())
+                        .then(Mono.fromCallable(() -> extractAllClaims(token))));
     }
 
     public boolean isTokenValid(String token, String expectedUsername) {
@@ -59,10 +100,6 @@ public class JwtUtil {
     }
 
     public Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(signingKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
     }
 }
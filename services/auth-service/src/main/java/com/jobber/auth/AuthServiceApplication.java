@@ -3,11 +3,11 @@ package com.jobber.auth;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
-import org.springframework.context.annotation.ComponentScan;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
-@SpringBootApplication
+@SpringBootApplication(scanBasePackages = { "com.jobber.auth", "com.jobber.common.filters" })
 @EnableDiscoveryClient
-@ComponentScan(basePackages = { "com.jobber.auth", "com.jobber.common.filters" })
+@EnableScheduling
 public class AuthServiceApplication {
   public static void main(String[] args) {
     SpringApplication.run(AuthServiceApplication.class, args);
@@ -0,0 +1,197 @@
+package com.jobber.auth.activity;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Write-behind buffer for login activity ({@code last_login}, {@code browser_name},
+ * {@code device_type}). Logins only update an in-memory entry per user; a periodic flush
+ * writes the latest entry of every user that logged in since the previous flush with JDBC
+ * batch updates, so a user logging in many times between flushes costs one row update.
+ * <p>
+ * The buffer is bounded: when it holds {@code max-pending} users, the login that would
+ * exceed it flushes synchronously. While flushes are failing the buffer never grows past
+ * that bound and no login retries the flush inline; updates that do not fit are dropped and
+ * counted, since a missed {@code last_login} is cheaper than logins stalled on a failing
+ * database. Pending entries are flushed on graceful shutdown.
+ */
+@Slf4j
+@Component
+public class LoginActivityBuffer {
+
+    private static final String UPDATE_SQL = """
+            UPDATE auths
+            SET last_login = ?, browser_name = COALESCE(?, browser_name), device_type = COALESCE(?, device_type)
+            WHERE id = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxPending;
+    private final int batchSize;
+    private final LongSupplier clock;
+
+    private final ConcurrentMap<UUID, Activity> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private volatile boolean flushFailing;
+
+    private final Counter recorded;
+    private final Counter coalesced;
+    private final Counter rowsWritten;
+    private final Counter batchesWritten;
+    private final Counter overflowFlushes;
+    private final Counter dropped;
+    private final DistributionSummary flushSize;
+    private final Timer flushTimer;
+    private final Timer flushLag;
+
+    @Autowired
+    public LoginActivityBuffer(JdbcTemplate jdbcTemplate,
+                               MeterRegistry meterRegistry,
+                               @Value("${auth.login-activity.max-pending:100000}") int maxPending,
+                               @Value("${auth.login-activity.batch-size:500}") int batchSize) {
+        this(jdbcTemplate, meterRegistry, maxPending, batchSize, System::currentTimeMillis);
+    }
+
+    LoginActivityBuffer(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry, int maxPending, int batchSize,
+                        LongSupplier clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxPending = maxPending;
+        this.batchSize = batchSize;
+        this.clock = clock;
+
+        this.recorded = Counter.builder("auth.login.activity.recorded").register(meterRegistry);
+        this.coalesced = Counter.builder("auth.login.activity.coalesced")
+                .description("Login updates absorbed by a pending entry for the same user")
+                .register(meterRegistry);
+        this.rowsWritten = Counter.builder("auth.login.activity.rows").register(meterRegistry);
+        this.batchesWritten = Counter.builder("auth.login.activity.batches").register(meterRegistry);
+        this.overflowFlushes = Counter.builder("auth.login.activity.overflow.flushes").register(meterRegistry);
+        this.dropped = Counter.builder("auth.login.activity.dropped")
+                .description("Login updates discarded because the buffer was full while flushes were failing")
+                .register(meterRegistry);
+        this.flushSize = DistributionSummary.builder("auth.login.activity.flush.size")
+                .baseUnit("rows")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("auth.login.activity.flush").register(meterRegistry);
+        this.flushLag = Timer.builder("auth.login.activity.flush.lag")
+                .description("Age of the oldest buffered login when it was written")
+                .register(meterRegistry);
+        Gauge.builder("auth.login.activity.pending", pending, ConcurrentMap::size).register(meterRegistry);
+    }
+
+    public void record(UUID userId, String browserName, String deviceType) {
+        long now = clock.getAsLong();
+        recorded.increment();
+        if (pending.size() >= maxPending && !pending.containsKey(userId)) {
+            if (!flushFailing) {
+                overflowFlushes.increment();
+                flush();
+            }
+            if (pending.size() >= maxPending) {
+                dropped.increment();
+                return;
+            }
+        }
+        pending.merge(userId, new Activity(now, now, browserName, deviceType), (previous, latest) -> {
+            coalesced.increment();
+            return new Activity(previous.firstRecordedAt, latest.lastLogin,
+                    latest.browserName != null ? latest.browserName : previous.browserName,
+                    latest.deviceType != null ? latest.deviceType : previous.deviceType);
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${auth.login-activity.flush-interval:PT1S}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            if (pending.isEmpty()) {
+                return;
+            }
+            long started = System.nanoTime();
+            List<UUID> userIds = new ArrayList<>(pending.size());
+            List<Activity> activities = new ArrayList<>(pending.size());
+            long oldest = Long.MAX_VALUE;
+            for (UUID userId : pending.keySet()) {
+                Activity activity = pending.remove(userId);
+                if (activity != null) {
+                    userIds.add(userId);
+                    activities.add(activity);
+                    oldest = Math.min(oldest, activity.firstRecordedAt);
+                }
+            }
+            try {
+                write(userIds, activities);
+            } catch (RuntimeException e) {
+                flushFailing = true;
+                // Keep the entries for the next flush unless a newer login already replaced them,
+                // but only as many as fit: the database may stay down for many flushes.
+                int discarded = 0;
+                for (int i = 0; i < userIds.size(); i++) {
+                    if (pending.size() < maxPending) {
+                        pending.putIfAbsent(userIds.get(i), activities.get(i));
+                    } else if (!pending.containsKey(userIds.get(i))) {
+                        discarded++;
+                    }
+                }
+                dropped.increment(discarded);
+                log.warn("Could not flush {} login activity updates, dropped {} that no longer fit", userIds.size(),
+                        discarded, e);
+                return;
+            }
+            flushFailing = false;
+            flushSize.record(userIds.size());
+            flushLag.record(Math.max(0, clock.getAsLong() - oldest), TimeUnit.MILLISECONDS);
+            flushTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        log.info("Flushing {} buffered login activity updates before shutdown", pending.size());
+        flush();
+    }
+
+    int pendingCount() {
+        return pending.size();
+    }
+
+    private void write(List<UUID> userIds, List<Activity> activities) {
+        for (int from = 0; from < userIds.size(); from += batchSize) {
+            int to = Math.min(from + batchSize, userIds.size());
+            List<Object[]> batch = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                Activity activity = activities.get(i);
+                batch.add(new Object[]{new Timestamp(activity.lastLogin), activity.browserName,
+                        activity.deviceType, userIds.get(i)});
+            }
+            jdbcTemplate.batchUpdate(UPDATE_SQL, batch);
+            batchesWritten.increment();
+            rowsWritten.increment(batch.size());
+        }
+    }
+
+    private record Activity(long firstRecordedAt, long lastLogin, String browserName, String deviceType) {
+    }
+}
@@ -0,0 +1,184 @@
+package com.jobber.auth.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jobber.auth.entities.AuthProfile;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Keeps the {@link AuthProfile} second-level cache, by id and by username, coherent across
+ * auth-service instances using Postgres LISTEN/NOTIFY. A row trigger on {@code auths}
+ * publishes the id with the old and new username whenever a username, email or the verified
+ * flag changes or a row is deleted; every instance listens on a dedicated connection, evicts
+ * the profile, and evicts the username only when it was renamed or deleted.
+ * <p>
+ * Disabled automatically on databases other than PostgreSQL (e.g. H2 in tests).
+ */
+@Slf4j
+@Component
+public class AuthChangeListener implements SmartLifecycle {
+
+    static final String CHANNEL = "auth_changed";
+
+    private static final String CREATE_FUNCTION = """
+            CREATE OR REPLACE FUNCTION notify_auth_changed() RETURNS trigger AS $$
+            BEGIN
+                PERFORM pg_notify('auth_changed', json_build_object(
+                        'id', OLD.id,
+                        'oldUsername', OLD.username,
+                        'newUsername', CASE WHEN TG_OP = 'DELETE' THEN NULL ELSE NEW.username END)::text);
+                RETURN NULL;
+            END;
+            $$ LANGUAGE plpgsql
+            """;
+
+    private static final String CREATE_TRIGGER = """
+            CREATE OR REPLACE TRIGGER auths_changed
+            AFTER UPDATE OF username, email, email_verified OR DELETE ON auths
+            FOR EACH ROW EXECUTE FUNCTION notify_auth_changed()
+            """;
+
+    private final DataSource dataSource;
+    private final AuthProfileCache authProfileCache;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Duration pollTimeout;
+    private final Duration reconnectDelay;
+
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    public AuthChangeListener(DataSource dataSource,
+                              AuthProfileCache authProfileCache,
+                              ObjectMapper objectMapper,
+                              @Value("${auth.profile-cache.listen.enabled:true}") boolean enabled,
+                              @Value("${auth.profile-cache.listen.poll-timeout:500ms}") Duration pollTimeout,
+                              @Value("${auth.profile-cache.listen.reconnect-delay:5s}") Duration reconnectDelay) {
+        this.dataSource = dataSource;
+        this.authProfileCache = authProfileCache;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.pollTimeout = pollTimeout;
+        this.reconnectDelay = reconnectDelay;
+    }
+
+    @Override
+    public void start() {
+        if (!enabled || !isPostgres()) {
+            log.info("Auth change notifications disabled; profile cache relies on its TTL only");
+            return;
+        }
+        installTrigger();
+        running = true;
+        listenerThread = Thread.ofPlatform()
+                .name("auth-change-listener")
+                .daemon(true)
+                .start(this::listen);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private boolean isPostgres() {
+        try (Connection connection = dataSource.getConnection()) {
+            return "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+        } catch (SQLException e) {
+            log.warn("Could not determine database type, auth change notifications disabled", e);
+            return false;
+        }
+    }
+
+    private void installTrigger() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        try {
+            jdbcTemplate.execute(CREATE_FUNCTION);
+            jdbcTemplate.execute(CREATE_TRIGGER);
+        } catch (RuntimeException e) {
+            // Another instance may be installing the same trigger concurrently.
+            log.warn("Could not install auths change trigger: {}", e.getMessage());
+        }
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                // Changes made while we were not listening are lost; start from a clean cache.
+                authProfileCache.evictAll();
+                log.info("Listening for auth changes on channel {}", CHANNEL);
+
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications((int) pollTimeout.toMillis());
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        handle(notification.getParameter());
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Auth change listener connection lost, reconnecting in {}", reconnectDelay, e);
+                sleep(reconnectDelay);
+            }
+        }
+    }
+
+    void handle(String payload) {
+        AuthChange change;
+        try {
+            change = objectMapper.readValue(payload, AuthChange.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring malformed auth change notification {}", payload, e);
+            return;
+        }
+        authProfileCache.evictProfile(change.id());
+        // An email or verified-flag change leaves the username pointing at the same account.
+        if (!Objects.equals(change.oldUsername(), change.newUsername())) {
+            authProfileCache.evictUsername(change.oldUsername());
+        }
+    }
+
+    /**
+     * Payload of a notification; {@code newUsername} is {@code null} when the row was deleted.
+     */
+    record AuthChange(UUID id, String oldUsername, String newUsername) {
+    }
+
+    private void sleep(Duration delay) {
+        try {
+            Thread.sleep(delay.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
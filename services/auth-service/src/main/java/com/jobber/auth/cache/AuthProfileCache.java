@@ -0,0 +1,49 @@
+package com.jobber.auth.cache;
+
+import com.jobber.auth.entities.AuthProfile;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.cache.spi.access.NaturalIdDataAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Evicts {@link AuthProfile} entries from the second-level cache: a row from the entity
+ * region, and a single username from the natural-id region, which Hibernate's public
+ * {@link jakarta.persistence.Cache} can only clear as a whole.
+ */
+@Component
+public class AuthProfileCache {
+
+    private final SessionFactoryImplementor sessionFactory;
+
+    public AuthProfileCache(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+    }
+
+    public void evictProfile(UUID id) {
+        sessionFactory.getCache().evictEntityData(AuthProfile.class, id);
+    }
+
+    public void evictUsername(String username) {
+        EntityPersister persister = sessionFactory.getMappingMetamodel().getEntityDescriptor(AuthProfile.class);
+        NaturalIdDataAccess naturalIds = persister.getNaturalIdCacheAccessStrategy();
+        if (naturalIds == null) {
+            return;
+        }
+        try (Session session = sessionFactory.openSession()) {
+            Object key = naturalIds.generateCacheKey(persister.getNaturalIdMapping().normalizeInput(username),
+                    persister, (SharedSessionContractImplementor) session);
+            naturalIds.evict(key);
+        }
+    }
+
+    public void evictAll() {
+        sessionFactory.getCache().evictEntityData(AuthProfile.class);
+        sessionFactory.getCache().evictNaturalIdData(AuthProfile.class);
+    }
+}
@@ -0,0 +1,26 @@
+package com.jobber.auth.cache;
+
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+
+import java.net.URI;
+import java.util.Map;
+
+/**
+ * JCache region factory that passes a {@code classpath:} configuration URI to the caching
+ * provider as is. The stock factory resolves it to a file or jar URL first; Caffeine reads
+ * a file URL from {@code target/classes} but not a URL into the packaged jar, where it would
+ * fall back to its defaults and every configured region would be missing.
+ */
+public class ClasspathJCacheRegionFactory extends JCacheRegionFactory {
+
+    @Override
+    protected URI getUri(SessionFactoryOptions settings, Map<String, Object> properties) {
+        Object uri = properties.get(ConfigSettings.CONFIG_URI);
+        if (uri != null && uri.toString().startsWith("classpath:")) {
+            return URI.create(uri.toString());
+        }
+        return super.getUri(settings, properties);
+    }
+}
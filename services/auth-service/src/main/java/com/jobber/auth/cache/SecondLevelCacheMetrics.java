@@ -0,0 +1,44 @@
+package com.jobber.auth.cache;
+
+import com.jobber.auth.entities.AuthProfile;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.stereotype.Component;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import java.util.List;
+
+/**
+ * Publishes hit, miss, put and eviction counts of the Hibernate second-level cache regions
+ * as {@code cache.*} meters tagged with {@code cache=<region>}, so hit rates can be charted
+ * next to the Caffeine caches.
+ */
+@Slf4j
+@Component
+public class SecondLevelCacheMetrics {
+
+    static final List<String> REGIONS = List.of(AuthProfile.CACHE_REGION, AuthProfile.NATURAL_ID_CACHE_REGION);
+
+    public SecondLevelCacheMetrics(EntityManagerFactory entityManagerFactory, MeterRegistry meterRegistry) {
+        RegionFactory regionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getCache()
+                .getRegionFactory();
+        if (!(regionFactory instanceof JCacheRegionFactory jcache)) {
+            log.info("Second-level cache is disabled, no region metrics published");
+            return;
+        }
+        CacheManager cacheManager = jcache.getCacheManager();
+        for (String region : REGIONS) {
+            Cache<Object, Object> cache = cacheManager.getCache(region);
+            if (cache != null) {
+                JCacheMetrics.monitor(meterRegistry, cache);
+            }
+        }
+    }
+}
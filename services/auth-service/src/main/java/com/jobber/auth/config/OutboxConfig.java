@@ -0,0 +1,44 @@
+package com.jobber.auth.config;
+
+import com.jobber.auth.outbox.EventPublisher;
+import com.jobber.auth.outbox.HttpEventPublisher;
+import com.jobber.auth.outbox.InMemoryEventPublisher;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestClient;
+
+@Configuration
+public class OutboxConfig {
+
+    /**
+     * Resolves {@code http://<SERVICE-ID>/...} through Eureka for the outbox relay's HTTP publisher.
+     */
+    @Bean
+    @LoadBalanced
+    public RestClient.Builder loadBalancedRestClientBuilder() {
+        return RestClient.builder();
+    }
+
+    /**
+     * Chosen from {@code auth.outbox.publisher} when the bean is created rather than by a
+     * {@code @Conditional}, so an image built with Spring AOT still honours the value it is
+     * started with.
+     */
+    @Bean
+    public EventPublisher eventPublisher(
+            @Value("${auth.outbox.publisher:http}") String publisher,
+            @Qualifier("loadBalancedRestClientBuilder") RestClient.Builder restClientBuilder,
+            @Value("${auth.outbox.http.user-created-uri:http://USER-SERVICE/api/v1/buyers/events/user-created}")
+            String userCreatedUri,
+            @Value("${auth.outbox.http.account-token-issued-uri:http://NOTIFICATION-SERVICE/api/v1/notifications/events/account-token-issued}")
+            String accountTokenIssuedUri) {
+        return switch (publisher) {
+            case "http" -> new HttpEventPublisher(restClientBuilder, userCreatedUri, accountTokenIssuedUri);
+            case "in-memory" -> new InMemoryEventPublisher();
+            default -> throw new IllegalStateException("Unknown auth.outbox.publisher: " + publisher);
+        };
+    }
+}
@@ -0,0 +1,85 @@
+package com.jobber.auth.config;
+
+import com.jobber.auth.datasource.LastWriteCookie;
+import com.jobber.auth.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Splits reads and writes between the primary ({@code spring.datasource}) and a streaming
+ * replica ({@code auth.datasource.replica}) when a replica URL is configured; otherwise the
+ * primary is the only data source, as Spring Boot would set it up.
+ * <p>
+ * The choice is made when the beans are created rather than by a {@code @Conditional}, so an
+ * image built with Spring AOT, which fixes the conditions at build time, still honours the URL
+ * it is started with.
+ */
+@Configuration
+public class ReplicaDataSourceConfig {
+
+    @Bean(destroyMethod = "close")
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            @Qualifier("primaryDataSource") DataSource primaryDataSource,
+            DataSourceProperties properties,
+            MeterRegistry meterRegistry,
+            @Value("${auth.datasource.replica.url:}") String url,
+            @Value("${auth.datasource.replica.username:}") String username,
+            @Value("${auth.datasource.replica.password:}") String password,
+            @Value("${auth.datasource.replica.maximum-pool-size:10}") int maximumPoolSize,
+            @Value("${auth.datasource.replica.lag-query}") String lagQuery,
+            @Value("${auth.datasource.replica.max-lag:10s}") Duration maxLag,
+            @Value("${auth.datasource.replica.sticky-window:5s}") Duration stickyWindow) {
+        HikariDataSource replicaDataSource = url.isBlank() ? null
+                : replicaDataSource(properties, url, username, password, maximumPoolSize);
+        ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource,
+                new LastWriteCookie(stickyWindow), lagQuery, maxLag, stickyWindow, meterRegistry);
+        routingDataSource.refreshReplicaLag();
+        return routingDataSource;
+    }
+
+    /**
+     * The data source JPA and JDBC templates use. With a replica, the lazy proxy defers fetching
+     * a physical connection until the first statement, when the transaction's read-only flag is
+     * set. Not closed here: the pools belong to the beans above.
+     */
+    @Bean(destroyMethod = "")
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return replicaRoutingDataSource.hasReplica()
+                ? new LazyConnectionDataSourceProxy(replicaRoutingDataSource)
+                : primaryDataSource;
+    }
+
+    private static HikariDataSource replicaDataSource(DataSourceProperties properties, String url, String username,
+                                                      String password, int maximumPoolSize) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username.isBlank() ? properties.determineUsername() : username);
+        dataSource.setPassword(password.isBlank() ? properties.determinePassword() : password);
+        dataSource.setDriverClassName(properties.determineDriverClassName());
+        dataSource.setMaximumPoolSize(maximumPoolSize);
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+}
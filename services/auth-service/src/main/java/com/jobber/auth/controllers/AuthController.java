@@ -1,13 +1,21 @@
 package com.jobber.auth.controllers;
 
+import com.jobber.auth.domain.dtos.request.EmailRequest;
 import com.jobber.auth.domain.dtos.request.LoginRequest;
+import com.jobber.auth.domain.dtos.request.ResetPasswordRequest;
 import com.jobber.auth.domain.dtos.request.SignUpRequest;
+import com.jobber.auth.domain.dtos.request.VerifyEmailRequest;
+import com.jobber.auth.domain.dtos.request.VerifyOtpRequest;
 import com.jobber.auth.domain.dtos.response.AuthResponse;
 import com.jobber.auth.services.AuthService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Map;
+import java.util.Set;
+
 @RestController
 @RequestMapping("/api/v1/auth")
 @RequiredArgsConstructor
@@ -24,8 +32,49 @@ public class AuthController {
         return ResponseEntity.ok(authService.login(loginRequest)); 
     }
 
+    @PostMapping("/verify-otp")
+    public ResponseEntity<AuthResponse> verifyOtp(@RequestBody VerifyOtpRequest verifyOtpRequest){
+        return ResponseEntity.ok(authService.verifyOtp(verifyOtpRequest));
+    }
+
+    @PostMapping("/verify-email")
+    public ResponseEntity<AuthResponse> verifyEmail(@Valid @RequestBody VerifyEmailRequest verifyEmailRequest){
+        return ResponseEntity.ok(authService.verifyEmail(verifyEmailRequest));
+    }
+
+    /**
+     * Accepted whether or not an account with the email exists.
+     */
+    @PostMapping("/verify-email/resend")
+    public ResponseEntity<Void> resendEmailVerification(@Valid @RequestBody EmailRequest emailRequest){
+        authService.resendEmailVerification(emailRequest);
+        return ResponseEntity.accepted().build();
+    }
+
+    /**
+     * Accepted whether or not an account with the email exists.
+     */
+    @PostMapping("/forgot-password")
+    public ResponseEntity<Void> forgotPassword(@Valid @RequestBody EmailRequest emailRequest){
+        authService.requestPasswordReset(emailRequest);
+        return ResponseEntity.accepted().build();
+    }
+
+    @PostMapping("/reset-password")
+    public ResponseEntity<AuthResponse> resetPassword(@Valid @RequestBody ResetPasswordRequest resetPasswordRequest){
+        return ResponseEntity.ok(authService.resetPassword(resetPasswordRequest));
+    }
+
     @GetMapping("/user-info/{username}")
     public ResponseEntity<AuthResponse> getUserInfo(@PathVariable String username){
         return ResponseEntity.ok(authService.getByUserName(username));
     }
+
+    /**
+     * Resolves many usernames in one call; usernames that do not exist are omitted from the result.
+     */
+    @PostMapping("/user-info/batch")
+    public ResponseEntity<Map<String, AuthResponse>> getUserInfoBatch(@RequestBody Set<String> usernames){
+        return ResponseEntity.ok(authService.getByUserNames(usernames));
+    }
 }
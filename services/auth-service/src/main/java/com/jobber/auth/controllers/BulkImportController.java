@@ -0,0 +1,50 @@
+package com.jobber.auth.controllers;
+
+import com.jobber.auth.domain.dtos.response.BulkImportResponse;
+import com.jobber.auth.services.BulkImportService;
+import com.jobber.common.exceptions.ForbiddenException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+@RestController
+@RequestMapping("/api/v1/auth")
+public class BulkImportController {
+    static final String ADMIN_TOKEN_HEADER = "X-Admin-Token";
+
+    private final BulkImportService bulkImportService;
+    private final byte[] adminToken;
+
+    /**
+     * The gateway lets every {@code /api/v1/auth} request through without a JWT, so the import
+     * checks its own credential. Without {@code auth.bulk-import.admin-token} it is disabled.
+     */
+    public BulkImportController(BulkImportService bulkImportService,
+                                @Value("${auth.bulk-import.admin-token:}") String adminToken) {
+        this.bulkImportService = bulkImportService;
+        this.adminToken = adminToken.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Imports users from a newline-delimited JSON body, one sign-up request per line.
+     * The body is read as a stream so uploads of any size are processed chunk by chunk.
+     */
+    @PostMapping(value = "/bulk-import", consumes = "application/x-ndjson")
+    public ResponseEntity<BulkImportResponse> bulkImport(
+            @RequestHeader(value = ADMIN_TOKEN_HEADER, required = false) String token,
+            InputStream body) throws IOException {
+        if (adminToken.length == 0 || token == null
+                || !MessageDigest.isEqual(adminToken, token.getBytes(StandardCharsets.UTF_8))) {
+            throw new ForbiddenException("Bulk import requires a valid admin token");
+        }
+        return ResponseEntity.ok(bulkImportService.importUsers(body));
+    }
+}
@@ -0,0 +1,29 @@
+package com.jobber.auth.controllers;
+
+import com.jobber.auth.security.JwtKeyStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Publishes the token verification keys so the gateway can verify tokens locally.
+ */
+@RestController
+@RequestMapping("/api/v1/auth/.well-known")
+@RequiredArgsConstructor
+public class JwksController {
+    private final JwtKeyStore jwtKeyStore;
+
+    @GetMapping("/jwks.json")
+    public ResponseEntity<Map<String, Object>> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic())
+                .body(jwtKeyStore.toJwks());
+    }
+}
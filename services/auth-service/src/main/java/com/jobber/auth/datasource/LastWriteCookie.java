@@ -0,0 +1,92 @@
+package com.jobber.auth.datasource;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Keeps the time of a client's last write with the client, as epoch milliseconds in the
+ * {@value #COOKIE} cookie and the {@value #HEADER} response header, so that whichever instance
+ * serves its next request knows to read from the primary. Browsers send the cookie back;
+ * other callers echo the header. Outside a request thread nothing is known or kept.
+ */
+public class LastWriteCookie implements ReplicaRoutingDataSource.LastWriteStore {
+
+    static final String COOKIE = "auth_last_write";
+    static final String HEADER = "X-Last-Write";
+    private static final String ATTRIBUTE = LastWriteCookie.class.getName();
+
+    private final int maxAgeSeconds;
+
+    /**
+     * @param stickyWindow how long the cookie is kept; a client's last write older than this no longer matters
+     */
+    public LastWriteCookie(Duration stickyWindow) {
+        this.maxAgeSeconds = (int) Math.max(1, stickyWindow.toSeconds());
+    }
+
+    @Override
+    public Instant lastWrite() {
+        ServletRequestAttributes attributes = currentRequest();
+        if (attributes == null) {
+            return null;
+        }
+        HttpServletRequest request = attributes.getRequest();
+        // A write earlier in this request wins over what the client sent.
+        if (request.getAttribute(ATTRIBUTE) instanceof Instant written) {
+            return written;
+        }
+        Instant sent = parse(request.getHeader(HEADER));
+        if (sent == null && request.getCookies() != null) {
+            for (Cookie cookie : request.getCookies()) {
+                if (COOKIE.equals(cookie.getName())) {
+                    sent = parse(cookie.getValue());
+                }
+            }
+        }
+        return sent;
+    }
+
+    @Override
+    public void recordWrite(Instant at) {
+        ServletRequestAttributes attributes = currentRequest();
+        if (attributes == null) {
+            return;
+        }
+        attributes.getRequest().setAttribute(ATTRIBUTE, at);
+        HttpServletResponse response = attributes.getResponse();
+        // Writes run before the body is sent; one that does not simply loses its stickiness.
+        if (response == null || response.isCommitted()) {
+            return;
+        }
+        String value = Long.toString(at.toEpochMilli());
+        Cookie cookie = new Cookie(COOKIE, value);
+        cookie.setPath("/");
+        cookie.setHttpOnly(true);
+        cookie.setMaxAge(maxAgeSeconds);
+        response.addCookie(cookie);
+        response.setHeader(HEADER, value);
+    }
+
+    private static ServletRequestAttributes currentRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes servletAttributes ? servletAttributes : null;
+    }
+
+    private static Instant parse(String epochMillis) {
+        if (epochMillis == null || epochMillis.isBlank()) {
+            return null;
+        }
+        try {
+            return Instant.ofEpochMilli(Long.parseLong(epochMillis.trim()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package com.jobber.auth.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Sends {@code @Transactional(readOnly = true)} work to the replica and everything else,
+ * including statements run outside a transaction, to the primary. Two exceptions keep reads consistent:
+ * <ul>
+ *     <li>read-your-writes: after a client's transaction commits a write its reads stay on the
+ *     primary for {@code stickyWindow}. The time of the write is kept with the client by a
+ *     {@link LastWriteStore}, so this holds on every instance, not only the one that wrote.
+ *     A read-write transaction that only read, or rolled back, does not count;</li>
+ *     <li>lag: while the last measured replica lag exceeds {@code maxLag}, or could not be
+ *     measured, all reads go to the primary.</li>
+ * </ul>
+ * Lookups that must see the latest row whatever the client did before, such as credentials and
+ * tokens, are declared read-write and never reach the replica. Must be wrapped in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} so the connection is
+ * chosen after the transaction's read-only flag is known. Without a replica everything goes to
+ * the primary and the lag is not probed.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target { PRIMARY, REPLICA }
+
+    /**
+     * Where the time of the current client's last write is kept between its requests.
+     */
+    public interface LastWriteStore {
+
+        /**
+         * @return when the current client last wrote, or {@code null} if unknown
+         */
+        Instant lastWrite();
+
+        void recordWrite(Instant at);
+    }
+
+    private final DataSource replica;
+    private final LastWriteStore lastWrites;
+    private final String lagQuery;
+    private final double maxLagSeconds;
+    private final Duration stickyWindow;
+    private final Clock clock;
+
+    /** Key of the current transaction's {@link WriteTracker} among the transaction resources */
+    private final Object writeTrackerKey = new Object();
+
+    private volatile double replicaLagSeconds = Double.NaN;
+
+    private final Counter toReplica;
+    private final Counter toPrimaryForWrite;
+    private final Counter toPrimaryOutsideTransaction;
+    private final Counter toPrimaryForStickiness;
+    private final Counter toPrimaryForLag;
+
+    public ReplicaRoutingDataSource(DataSource primary,
+                                    DataSource replica,
+                                    LastWriteStore lastWrites,
+                                    String lagQuery,
+                                    Duration maxLag,
+                                    Duration stickyWindow,
+                                    MeterRegistry meterRegistry) {
+        this(primary, replica, lastWrites, lagQuery, maxLag, stickyWindow, meterRegistry, Clock.systemUTC());
+    }
+
+    ReplicaRoutingDataSource(DataSource primary,
+                             DataSource replica,
+                             LastWriteStore lastWrites,
+                             String lagQuery,
+                             Duration maxLag,
+                             Duration stickyWindow,
+                             MeterRegistry meterRegistry,
+                             Clock clock) {
+        this.replica = replica;
+        this.lastWrites = lastWrites;
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        this.stickyWindow = stickyWindow;
+        this.clock = clock;
+        setTargetDataSources(replica == null ? Map.of(Target.PRIMARY, primary)
+                : Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+
+        this.toReplica = routingCounter(meterRegistry, "replica", "read_only");
+        this.toPrimaryForWrite = routingCounter(meterRegistry, "primary", "write");
+        this.toPrimaryOutsideTransaction = routingCounter(meterRegistry, "primary", "no_transaction");
+        this.toPrimaryForStickiness = routingCounter(meterRegistry, "primary", "sticky");
+        this.toPrimaryForLag = routingCounter(meterRegistry, "primary", "lag");
+        Gauge.builder("auth.datasource.replica.lag", this, ds -> ds.replicaLagSeconds)
+                .description("Last measured replica lag; NaN if it could not be measured")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (replica == null) {
+            return Target.PRIMARY;
+        }
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            toPrimaryOutsideTransaction.increment();
+            return Target.PRIMARY;
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            trackWrites();
+            toPrimaryForWrite.increment();
+            return Target.PRIMARY;
+        }
+        if (wroteRecently(lastWrites.lastWrite())) {
+            toPrimaryForStickiness.increment();
+            return Target.PRIMARY;
+        }
+        double lag = replicaLagSeconds;
+        if (Double.isNaN(lag) || lag > maxLagSeconds) {
+            toPrimaryForLag.increment();
+            return Target.PRIMARY;
+        }
+        toReplica.increment();
+        return Target.REPLICA;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return tracked(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return tracked(super.getConnection(username, password));
+    }
+
+    /**
+     * Measures replica lag with the configured query; a failed probe routes reads to the
+     * primary until the next successful one.
+     */
+    @Scheduled(fixedDelayString = "${auth.datasource.replica.lag-check-interval:PT5S}")
+    public void refreshReplicaLag() {
+        if (replica == null) {
+            return;
+        }
+        try {
+            Double lag = new JdbcTemplate(replica).queryForObject(lagQuery, Double.class);
+            replicaLagSeconds = lag == null ? 0 : lag;
+        } catch (RuntimeException e) {
+            if (!Double.isNaN(replicaLagSeconds)) {
+                log.warn("Replica lag probe failed, routing reads to the primary: {}", e.getMessage());
+            }
+            replicaLagSeconds = Double.NaN;
+        }
+    }
+
+    /**
+     * @return whether the write falls within the sticky window of now; one claimed further in
+     *     the future than that is ignored, so a client cannot pin itself to the primary
+     */
+    private boolean wroteRecently(Instant lastWrite) {
+        if (lastWrite == null) {
+            return false;
+        }
+        Instant now = clock.instant();
+        return lastWrite.isAfter(now.minus(stickyWindow)) && lastWrite.isBefore(now.plus(stickyWindow));
+    }
+
+    public boolean hasReplica() {
+        return replica != null;
+    }
+
+    /**
+     * Closes the replica's pool, which is only used through this data source.
+     */
+    public void close() throws Exception {
+        if (replica instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    double getReplicaLagSeconds() {
+        return replicaLagSeconds;
+    }
+
+    /**
+     * Starts watching the current read-write transaction for statements that change data.
+     */
+    private void trackWrites() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()
+                && !TransactionSynchronizationManager.hasResource(writeTrackerKey)) {
+            WriteTracker tracker = new WriteTracker();
+            TransactionSynchronizationManager.bindResource(writeTrackerKey, tracker);
+            TransactionSynchronizationManager.registerSynchronization(tracker);
+        }
+    }
+
+    private Connection tracked(Connection connection) {
+        Object tracker = TransactionSynchronizationManager.getResource(writeTrackerKey);
+        return tracker instanceof WriteTracker writeTracker ? writeTracker.watch(connection) : connection;
+    }
+
+    /**
+     * Notes whether a read-write transaction prepared or executed anything but a query, and
+     * records the client's write once such a transaction has committed.
+     */
+    private final class WriteTracker implements TransactionSynchronization {
+
+        private boolean wrote;
+
+        Connection watch(Connection connection) {
+            return proxy(Connection.class, connection, (method, args) -> {
+                String name = method.getName();
+                if ((name.equals("prepareStatement") || name.equals("prepareCall")) && !isQuery((String) args[0])) {
+                    wrote = true;
+                }
+                Object result = method.invoke(connection, args);
+                return name.equals("createStatement") ? watch((Statement) result) : result;
+            });
+        }
+
+        private Statement watch(Statement statement) {
+            return proxy(Statement.class, statement, (method, args) -> {
+                String name = method.getName();
+                if (name.startsWith("execute") && (args == null || args.length == 0 || !isQuery((String) args[0]))) {
+                    wrote = true;
+                }
+                return method.invoke(statement, args);
+            });
+        }
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(writeTrackerKey);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(writeTrackerKey, this);
+        }
+
+        @Override
+        public void afterCommit() {
+            if (wrote) {
+                lastWrites.recordWrite(clock.instant());
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(writeTrackerKey);
+        }
+    }
+
+    private static boolean isQuery(String sql) {
+        return sql.stripLeading().toLowerCase(Locale.ROOT).startsWith("select");
+    }
+
+    private interface Invocation {
+        Object invoke(Method method, Object[] args) throws Throwable;
+    }
+
+    private static <T> T proxy(Class<T> type, T target, Invocation invocation) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) -> {
+            try {
+                return invocation.invoke(method, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }));
+    }
+
+    private static Counter routingCounter(MeterRegistry meterRegistry, String target, String reason) {
+        return Counter.builder("auth.datasource.routing")
+                .tag("target", target)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,17 @@
+package com.jobber.auth.domain.dtos.request;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VerifyEmailRequest {
+
+    @NotBlank(message = "Token is required")
+    private String token;
+}
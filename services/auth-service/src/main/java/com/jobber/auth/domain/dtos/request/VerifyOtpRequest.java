@@ -0,0 +1,23 @@
+package com.jobber.auth.domain.dtos.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VerifyOtpRequest {
+
+    @NotNull(message = "User id is required")
+    private UUID userId;
+
+    @NotBlank(message = "OTP is required")
+    private String otp;
+}
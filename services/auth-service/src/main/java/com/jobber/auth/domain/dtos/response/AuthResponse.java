@@ -10,4 +10,6 @@ import java.util.UUID;
 public class AuthResponse {
     private UUID userId;
     private String token;
+    /** Set when the login came from an unrecognised device; confirm it via /verify-otp to get a token. */
+    private boolean otpRequired;
 }
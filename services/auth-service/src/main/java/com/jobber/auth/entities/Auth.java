@@ -1,14 +1,15 @@
 package com.jobber.auth.entities;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
-import jakarta.persistence.GenerationType;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.validation.constraints.Email;
@@ -16,6 +17,10 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 
+import com.jobber.auth.ids.TimeOrderedUuid;
+import com.jobber.auth.otp.OtpCodes;
+import com.jobber.auth.tokens.AccountTokens;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -25,9 +30,18 @@ import lombok.NoArgsConstructor;
  * Entity class representing user authentication and profile information.
  * This class stores user credentials, profile details, and
  * authentication-related data.
+ * Email verification and password reset tokens are stored as hashes, see {@link AccountTokens}.
  */
 @Entity
-@Table(name = "auths")
+@Table(name = "auths",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_auths_email_verification_token", columnNames = "email_verification_token"),
+        @UniqueConstraint(name = "uk_auths_password_reset_token", columnNames = "password_reset_token")
+    },
+    indexes = {
+        @Index(name = "idx_auths_email_verification_token_expiration", columnList = "email_verification_token_expiration"),
+        @Index(name = "idx_auths_password_reset_token_expiration", columnList = "password_reset_token_expiration")
+    })
 @Data
 @Builder
 @NoArgsConstructor
@@ -35,7 +49,7 @@ import lombok.NoArgsConstructor;
 public class Auth {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.UUID)
+  @TimeOrderedUuid
   private UUID id;
 
   @NotBlank(message = "Username is required")
@@ -63,9 +77,12 @@ public class Auth {
   @Column(name = "profile_picture")
   private String profilePicture;
 
-  @Column(name = "email_verification_token")
+  @Column(name = "email_verification_token", length = AccountTokens.HASH_LENGTH)
   private String emailVerificationToken;
 
+  @Column(name = "email_verification_token_expiration")
+  private LocalDateTime emailVerificationTokenExpiration;
+
   @Column(name = "email_verified", nullable = false)
   private boolean emailVerified = false;
 
@@ -81,7 +98,7 @@ public class Auth {
   @Column(name = "otp_expiration")
   private LocalDateTime otpExpiration;
 
-  @Column(name = "password_reset_token")
+  @Column(name = "password_reset_token", length = AccountTokens.HASH_LENGTH)
   private String passwordResetToken;
 
   @Column(name = "password_reset_token_expiration")
@@ -147,21 +164,61 @@ public class Auth {
    * 
    * @param otpLength         Length of the OTP to generate
    * @param expirationMinutes Minutes until OTP expires
+   * @deprecated login OTPs are issued by {@link com.jobber.auth.otp.OtpStore}, which keeps
+   *             them off this row
    */
+  @Deprecated
   public void generateOtp(int otpLength, int expirationMinutes) {
-    this.otp = String.format("%0" + otpLength + "d",
-        (int) (Math.random() * Math.pow(10, otpLength)));
+    this.otp = OtpCodes.format(OtpCodes.generate(otpLength), otpLength);
     this.otpExpiration = LocalDateTime.now().plusMinutes(expirationMinutes);
   }
 
+  /**
+   * Checks if the email verification token is valid and not expired.
+   *
+   * @return true if token exists and is not expired, false otherwise
+   */
+  public boolean isEmailVerificationTokenValid() {
+    return emailVerificationToken != null &&
+        emailVerificationTokenExpiration != null &&
+        LocalDateTime.now().isBefore(emailVerificationTokenExpiration);
+  }
+
+  /**
+   * Generates a new email verification token and sets its expiration time.
+   * Only the hash is kept on the entity.
+   *
+   * @param ttl Time until the token expires
+   * @return the raw token to send to the user
+   */
+  public String generateEmailVerificationToken(Duration ttl) {
+    String token = AccountTokens.generate();
+    this.emailVerificationToken = AccountTokens.hash(token);
+    this.emailVerificationTokenExpiration = LocalDateTime.now().plus(ttl);
+    return token;
+  }
+
+  /**
+   * Marks the email as verified and clears the verification token.
+   */
+  public void markEmailVerified() {
+    this.emailVerified = true;
+    this.emailVerificationToken = null;
+    this.emailVerificationTokenExpiration = null;
+  }
+
   /**
    * Generates a new password reset token and sets its expiration time.
-   * 
-   * @param expirationHours Hours until token expires
+   * Only the hash is kept on the entity.
+   *
+   * @param ttl Time until the token expires
+   * @return the raw token to send to the user
    */
-  public void generatePasswordResetToken(int expirationHours) {
-    this.passwordResetToken = UUID.randomUUID().toString();
-    this.passwordResetTokenExpiration = LocalDateTime.now().plusHours(expirationHours);
+  public String generatePasswordResetToken(Duration ttl) {
+    String token = AccountTokens.generate();
+    this.passwordResetToken = AccountTokens.hash(token);
+    this.passwordResetTokenExpiration = LocalDateTime.now().plus(ttl);
+    return token;
   }
 
   /**
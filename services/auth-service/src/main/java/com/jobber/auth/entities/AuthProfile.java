@@ -0,0 +1,59 @@
+package com.jobber.auth.entities;
+
+import java.util.UUID;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Read-only view of the public columns of {@code auths}, held in the second-level cache by
+ * id and by username. It never carries the password hash, OTPs or reset tokens, so those
+ * stay out of the cache; a login resolves the username here and then loads {@link Auth} by
+ * id for the password check.
+ * <p>
+ * Writes go through {@link Auth}; cached entries are evicted by
+ * {@link com.jobber.auth.cache.AuthChangeListener} when a row changes, the username only
+ * when it is renamed or deleted, and expire after the TTL configured in
+ * {@code hibernate-cache.conf}.
+ */
+@Entity
+@Immutable
+@Table(name = "auths")
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = AuthProfile.CACHE_REGION)
+@NaturalIdCache(region = AuthProfile.NATURAL_ID_CACHE_REGION)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class AuthProfile {
+
+  public static final String CACHE_REGION = "auth-profile";
+  public static final String NATURAL_ID_CACHE_REGION = "auth-profile-natural-id";
+
+  @Id
+  private UUID id;
+
+  @NaturalId
+  @Column(nullable = false)
+  private String username;
+
+  @Column(nullable = false)
+  private String email;
+
+  private String country;
+
+  @Column(name = "profile_picture")
+  private String profilePicture;
+
+  @Column(name = "email_verified", nullable = false)
+  private boolean emailVerified;
+}
@@ -0,0 +1,56 @@
+package com.jobber.auth.entities;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A device (browser and device type fingerprint) a user has already logged in from.
+ * Logins from a known device skip the OTP step.
+ */
+@Entity
+@Table(name = "auth_known_devices")
+@IdClass(KnownDevice.Key.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class KnownDevice {
+
+  @Id
+  @Column(name = "user_id")
+  private UUID userId;
+
+  @Id
+  @Column(name = "device_hash")
+  private long deviceHash;
+
+  @Column(name = "first_seen_at", nullable = false, updatable = false)
+  private LocalDateTime firstSeenAt;
+
+  @PrePersist
+  protected void onCreate() {
+    if (firstSeenAt == null) {
+      firstSeenAt = LocalDateTime.now();
+    }
+  }
+
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class Key implements Serializable {
+    private UUID userId;
+    private long deviceHash;
+  }
+}
@@ -0,0 +1,70 @@
+package com.jobber.auth.entities;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * An event waiting to be published, written in the same transaction as the change it
+ * describes. Rows are deleted by the relay once the broker has accepted them; one that keeps
+ * failing is parked with its last error instead.
+ */
+@Entity
+@Table(name = "outbox_events")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(name = "aggregate_id", nullable = false)
+  private UUID aggregateId;
+
+  @Column(name = "event_type", nullable = false, length = 100)
+  private String eventType;
+
+  @Column(nullable = false, columnDefinition = "text")
+  private String payload;
+
+  @Column(name = "created_at", nullable = false, updatable = false)
+  private LocalDateTime createdAt;
+
+  /** When the relay may next claim the event: its lease or retry backoff ends */
+  @Column(name = "available_at", nullable = false)
+  private LocalDateTime availableAt;
+
+  /** Failed publishes so far */
+  @Column(nullable = false)
+  private int attempts;
+
+  @Column(name = "last_error", length = 500)
+  private String lastError;
+
+  /**
+   * Set once the event has failed max-attempts times; the relay skips it until cleared.
+   * Clearing it together with {@code attempts} puts the event back in the queue.
+   */
+  @Column(name = "parked_at")
+  private LocalDateTime parkedAt;
+
+  @PrePersist
+  protected void onCreate() {
+    createdAt = LocalDateTime.now();
+    availableAt = createdAt;
+  }
+}
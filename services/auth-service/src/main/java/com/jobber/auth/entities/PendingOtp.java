@@ -0,0 +1,44 @@
+package com.jobber.auth.entities;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A login OTP waiting to be confirmed. At most one per user; the code is stored as an
+ * integer and the device being confirmed as its 64-bit fingerprint, keeping rows small
+ * and off the {@code auths} row.
+ */
+@Entity
+@Table(name = "auth_otps", indexes = @Index(name = "idx_auth_otps_expires_at", columnList = "expires_at"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PendingOtp {
+
+  @Id
+  @Column(name = "user_id")
+  private UUID userId;
+
+  @Column(nullable = false)
+  private int code;
+
+  @Column(name = "device_hash", nullable = false)
+  private long deviceHash;
+
+  @Column(name = "expires_at", nullable = false)
+  private LocalDateTime expiresAt;
+
+  @Column(nullable = false)
+  private int attempts;
+}
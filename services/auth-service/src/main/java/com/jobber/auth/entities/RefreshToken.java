@@ -3,15 +3,16 @@ package com.jobber.auth.entities;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
-import org.hibernate.annotations.GenericGenerator;
+import com.jobber.auth.ids.TimeOrderedUuid;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -20,9 +21,13 @@ import lombok.NoArgsConstructor;
 
 /**
  * Entity class representing a refresh token in the system.
+ * The table may be range-partitioned by {@code expiry_date}, so unique constraints
+ * include it.
  */
 @Entity
-@Table(name = "refresh_tokens")
+@Table(name = "refresh_tokens",
+    uniqueConstraints = @UniqueConstraint(name = "uk_refresh_tokens_token", columnNames = { "token", "expiry_date" }),
+    indexes = @Index(name = "idx_refresh_tokens_expiry_date", columnList = "expiry_date"))
 @Data
 @Builder
 @NoArgsConstructor
@@ -30,12 +35,11 @@ import lombok.NoArgsConstructor;
 public class RefreshToken {
 
   @Id
-  @GeneratedValue(generator = "UUID")
-  @GenericGenerator(name = "UUID", strategy = "org.hibernate.id.UUIDGenerator")
+  @TimeOrderedUuid
   private UUID id;
 
   @NotNull
-  @Column(nullable = false, unique = true)
+  @Column(nullable = false)
   private String token;
 
   @NotNull
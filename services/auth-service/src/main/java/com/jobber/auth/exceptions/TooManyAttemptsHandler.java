@@ -0,0 +1,23 @@
+package com.jobber.auth.exceptions;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.io.IOException;
+
+/**
+ * Answers a throttled request with 429 and a {@code Retry-After} header, so clients wait out
+ * the lockout instead of retrying into it. The body is left to the usual error page.
+ */
+@RestControllerAdvice
+public class TooManyAttemptsHandler {
+
+    @ExceptionHandler(TooManyAttemptsException.class)
+    public void handle(TooManyAttemptsException e, HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(e.getRetryAfterSeconds()));
+        response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), e.getMessage());
+    }
+}
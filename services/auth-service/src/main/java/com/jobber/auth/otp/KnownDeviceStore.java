@@ -0,0 +1,89 @@
+package com.jobber.auth.otp;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.jobber.auth.entities.KnownDevice;
+import com.jobber.auth.repositories.KnownDeviceRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Devices each user has already confirmed, stored as 64-bit fingerprints in
+ * {@code auth_known_devices}. Confirmed pairs are cached, so a repeat login from a known
+ * device costs neither a write nor, usually, a read.
+ */
+@Component
+public class KnownDeviceStore {
+
+    private final KnownDeviceRepository knownDeviceRepository;
+    private final Cache<KnownDevice.Key, Boolean> known;
+
+    public KnownDeviceStore(KnownDeviceRepository knownDeviceRepository,
+                            MeterRegistry meterRegistry,
+                            @Value("${auth.known-devices.cache-size:100000}") long cacheSize) {
+        this.knownDeviceRepository = knownDeviceRepository;
+        this.known = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, known, "auth.known-devices");
+    }
+
+    /**
+     * Fingerprints a device from the browser and device type reported at login. Values are
+     * trimmed and lower-cased so cosmetic differences do not trigger an OTP.
+     */
+    public static long fingerprint(String browserName, String deviceType) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(normalize(browserName).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(normalize(deviceType).getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest.digest()).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public boolean isKnown(UUID userId, long deviceHash) {
+        KnownDevice.Key key = new KnownDevice.Key(userId, deviceHash);
+        if (known.getIfPresent(key) != null) {
+            return true;
+        }
+        boolean exists = knownDeviceRepository.existsById(key);
+        if (exists) {
+            known.put(key, Boolean.TRUE);
+        }
+        return exists;
+    }
+
+    public void remember(UUID userId, long deviceHash) {
+        KnownDevice.Key key = new KnownDevice.Key(userId, deviceHash);
+        if (known.getIfPresent(key) != null) {
+            return;
+        }
+        try {
+            knownDeviceRepository.save(KnownDevice.builder()
+                    .userId(userId)
+                    .deviceHash(deviceHash)
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            // Confirmed concurrently from another request; the row is there either way.
+        }
+        known.put(key, Boolean.TRUE);
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,20 @@
+package com.jobber.auth.otp;
+
+import com.jobber.auth.entities.Auth;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Placeholder until OTPs are published to the notification service; the code is only
+ * written at debug level so it never reaches production logs by default.
+ */
+@Slf4j
+@Component
+public class LoggingOtpNotifier implements OtpNotifier {
+
+    @Override
+    public void sendLoginOtp(Auth auth, String otp) {
+        log.info("Login OTP issued for user {} on a new device", auth.getId());
+        log.debug("Login OTP for {}: {}", auth.getEmail(), otp);
+    }
+}
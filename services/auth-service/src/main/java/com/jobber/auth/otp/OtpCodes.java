@@ -0,0 +1,60 @@
+package com.jobber.auth.otp;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+
+/**
+ * Numeric one-time codes. Codes are drawn uniformly from {@code [0, 10^length)} with
+ * {@link SecureRandom} and kept as {@code int}; they are only turned into zero-padded
+ * text when sent or compared.
+ */
+public final class OtpCodes {
+
+    public static final int MIN_LENGTH = 4;
+    public static final int MAX_LENGTH = 9;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private OtpCodes() {
+    }
+
+    public static int generate(int length) {
+        return RANDOM.nextInt(bound(length));
+    }
+
+    /**
+     * @return the code as exactly {@code length} digits, left-padded with zeros
+     */
+    public static String format(int code, int length) {
+        char[] digits = new char[length];
+        for (int i = length - 1; i >= 0; i--) {
+            digits[i] = (char) ('0' + code % 10);
+            code /= 10;
+        }
+        return new String(digits);
+    }
+
+    /**
+     * Compares a submitted code in time independent of where it first differs.
+     */
+    public static boolean matches(int expected, String submitted, int length) {
+        if (submitted == null || submitted.length() != length) {
+            return false;
+        }
+        return MessageDigest.isEqual(
+                format(expected, length).getBytes(StandardCharsets.US_ASCII),
+                submitted.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static int bound(int length) {
+        if (length < MIN_LENGTH || length > MAX_LENGTH) {
+            throw new IllegalArgumentException("OTP length must be between " + MIN_LENGTH + " and " + MAX_LENGTH);
+        }
+        int bound = 1;
+        for (int i = 0; i < length; i++) {
+            bound *= 10;
+        }
+        return bound;
+    }
+}
@@ -0,0 +1,11 @@
+package com.jobber.auth.otp;
+
+import com.jobber.auth.entities.Auth;
+
+/**
+ * Delivers login OTPs to the user.
+ */
+public interface OtpNotifier {
+
+    void sendLoginOtp(Auth auth, String otp);
+}
@@ -0,0 +1,213 @@
+package com.jobber.auth.otp;
+
+import com.jobber.auth.entities.PendingOtp;
+import com.jobber.auth.repositories.PendingOtpRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Pending login OTPs. {@code auth_otps} is authoritative: an OTP is consumed by a
+ * conditional delete of its row and wrong codes are counted by an update of the row, so a
+ * code is accepted once whichever instance verifies it. Each instance also keeps the OTPs
+ * it has seen in memory, as a hint that saves a read, and expires them with a
+ * {@link TimingWheel}.
+ */
+@Slf4j
+@Component
+public class OtpStore {
+
+    private final PendingOtpRepository pendingOtpRepository;
+    private final Clock clock;
+    private final int length;
+    private final Duration ttl;
+    private final int maxAttempts;
+
+    private final ConcurrentMap<UUID, Pending> pending = new ConcurrentHashMap<>();
+    private final TimingWheel<UUID> wheel;
+
+    private final Counter issued;
+    private final Counter verified;
+    private final Counter rejected;
+    private final Counter expired;
+
+    @Autowired
+    public OtpStore(PendingOtpRepository pendingOtpRepository,
+                    MeterRegistry meterRegistry,
+                    @Value("${auth.otp.length:6}") int length,
+                    @Value("${auth.otp.ttl:5m}") Duration ttl,
+                    @Value("${auth.otp.max-attempts:5}") int maxAttempts,
+                    @Value("${auth.otp.wheel.tick:PT1S}") Duration tick,
+                    @Value("${auth.otp.wheel.slots:512}") int slots) {
+        this(pendingOtpRepository, meterRegistry, length, ttl, maxAttempts, tick, slots, Clock.systemDefaultZone());
+    }
+
+    OtpStore(PendingOtpRepository pendingOtpRepository, MeterRegistry meterRegistry, int length, Duration ttl,
+             int maxAttempts, Duration tick, int slots, Clock clock) {
+        if (length < OtpCodes.MIN_LENGTH || length > OtpCodes.MAX_LENGTH) {
+            throw new IllegalArgumentException("auth.otp.length must be between "
+                    + OtpCodes.MIN_LENGTH + " and " + OtpCodes.MAX_LENGTH);
+        }
+        this.pendingOtpRepository = pendingOtpRepository;
+        this.clock = clock;
+        this.length = length;
+        this.ttl = ttl;
+        this.maxAttempts = maxAttempts;
+        this.wheel = new TimingWheel<>(tick, slots, clock.millis());
+
+        this.issued = Counter.builder("auth.otp.issued").register(meterRegistry);
+        this.verified = Counter.builder("auth.otp.verifications").tag("outcome", "success").register(meterRegistry);
+        this.rejected = Counter.builder("auth.otp.verifications").tag("outcome", "rejected").register(meterRegistry);
+        this.expired = Counter.builder("auth.otp.expired").register(meterRegistry);
+        Gauge.builder("auth.otp.pending", pending, ConcurrentMap::size).register(meterRegistry);
+    }
+
+    /**
+     * Issues a new OTP for confirming the given device, replacing any previous one.
+     *
+     * @return the code to deliver to the user
+     */
+    public String issue(UUID userId, long deviceHash) {
+        int code = OtpCodes.generate(length);
+        long expiresAt = clock.millis() + ttl.toMillis();
+        pendingOtpRepository.save(PendingOtp.builder()
+                .userId(userId)
+                .code(code)
+                .deviceHash(deviceHash)
+                .expiresAt(toLocalDateTime(expiresAt))
+                .build());
+        pending.put(userId, new Pending(code, deviceHash, expiresAt));
+        wheel.schedule(userId, expiresAt);
+        issued.increment();
+        return OtpCodes.format(code, length);
+    }
+
+    /**
+     * Checks a submitted OTP. A correct code consumes the OTP; too many wrong codes discard it.
+     *
+     * @return the fingerprint of the device the OTP was issued for, or empty if the code is
+     * wrong, expired or unknown, or the OTP was consumed concurrently
+     */
+    public OptionalLong verify(UUID userId, String submitted) {
+        LocalDateTime now = toLocalDateTime(clock.millis());
+        Pending otp = pending.get(userId);
+        // A missing or different hint may only be stale: another instance may have issued a new OTP.
+        if (otp == null || !OtpCodes.matches(otp.code, submitted, length)) {
+            otp = load(userId, otp);
+        }
+        if (otp == null) {
+            rejected.increment();
+            return OptionalLong.empty();
+        }
+        if (OtpCodes.matches(otp.code, submitted, length)) {
+            // One verification per instance claims the hint and tries the row; the row decides between instances.
+            if (!pending.remove(userId, otp)) {
+                rejected.increment();
+                return OptionalLong.empty();
+            }
+            if (pendingOtpRepository.consume(userId, otp.code, otp.deviceHash, maxAttempts, now) == 1) {
+                verified.increment();
+                return OptionalLong.of(otp.deviceHash);
+            }
+            rejected.increment();
+            return OptionalLong.empty();
+        }
+        rejected.increment();
+        if (pendingOtpRepository.recordFailedAttempt(userId, maxAttempts, now) == 0
+                || pendingOtpRepository.findAttempts(userId).orElse(maxAttempts) >= maxAttempts) {
+            pending.remove(userId, otp);
+            pendingOtpRepository.deleteExhausted(userId, maxAttempts);
+        }
+        return OptionalLong.empty();
+    }
+
+    /**
+     * Drops OTPs whose deadline has passed, removing their rows in one statement.
+     */
+    @Scheduled(fixedDelayString = "${auth.otp.wheel.tick:PT1S}")
+    public void expire() {
+        long now = clock.millis();
+        List<UUID> due = wheel.advance(now);
+        if (due.isEmpty()) {
+            return;
+        }
+        // Only drop entries that are really expired; the user may have been issued a new OTP since.
+        due.removeIf(userId ->
+                pending.computeIfPresent(userId, (id, otp) -> otp.expiresAt <= now ? null : otp) != null);
+        if (!due.isEmpty()) {
+            expired.increment(due.size());
+            pendingOtpRepository.deleteExpired(due, toLocalDateTime(now));
+        }
+    }
+
+    /**
+     * Removes rows left behind by instances that stopped before their wheel expired them.
+     */
+    @Scheduled(fixedDelayString = "${auth.otp.sweep-interval:PT10M}")
+    public void sweep() {
+        int deleted = pendingOtpRepository.deleteAllExpired(toLocalDateTime(clock.millis()));
+        if (deleted > 0) {
+            log.debug("Swept {} expired OTP rows", deleted);
+        }
+    }
+
+    int pendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Reads the user's OTP row and replaces the given hint with it.
+     *
+     * @return the hint now held for the row, or null if there is no row
+     */
+    private Pending load(UUID userId, Pending hint) {
+        Pending otp = pendingOtpRepository.findById(userId)
+                .map(row -> new Pending(row.getCode(), row.getDeviceHash(),
+                        row.getExpiresAt().atZone(clock.getZone()).toInstant().toEpochMilli()))
+                .orElse(null);
+        if (otp == null) {
+            if (hint != null) {
+                pending.remove(userId, hint);
+            }
+            return null;
+        }
+        if (hint == null ? pending.putIfAbsent(userId, otp) == null : pending.replace(userId, hint, otp)) {
+            wheel.schedule(userId, otp.expiresAt);
+            return otp;
+        }
+        // Another thread refreshed or claimed the hint first.
+        Pending current = pending.get(userId);
+        return current != null ? current : otp;
+    }
+
+    private LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), clock.getZone());
+    }
+
+    private static final class Pending {
+        private final int code;
+        private final long deviceHash;
+        private final long expiresAt;
+
+        private Pending(int code, long deviceHash, long expiresAt) {
+            this.code = code;
+            this.deviceHash = deviceHash;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
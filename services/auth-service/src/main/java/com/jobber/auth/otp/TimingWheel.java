@@ -0,0 +1,88 @@
+package com.jobber.auth.otp;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hashed timing wheel for expiring keys. Scheduling is O(1) and each tick only looks at one
+ * slot, so expiry never scans every pending entry. Deadlines further out than one rotation
+ * simply stay in their slot until the wheel comes round to the right tick.
+ * <p>
+ * The wheel only reports keys whose deadline has passed; callers re-check the current value
+ * for the key, since a key may have been rescheduled or removed since it was added.
+ */
+final class TimingWheel<K> {
+
+    private final long tickMillis;
+    private final List<Entry<K>>[] slots;
+    private final int mask;
+    private final ReentrantLock lock = new ReentrantLock();
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    TimingWheel(Duration tick, int slotCount, long startMillis) {
+        this.tickMillis = Math.max(1, tick.toMillis());
+        int slotsPowerOfTwo = Integer.highestOneBit(Math.max(2, slotCount));
+        this.slots = new List[slotsPowerOfTwo];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = new ArrayList<>();
+        }
+        this.mask = slotsPowerOfTwo - 1;
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    void schedule(K key, long deadlineMillis) {
+        lock.lock();
+        try {
+            long tick = Math.max(Math.ceilDiv(deadlineMillis, tickMillis), currentTick + 1);
+            slots[(int) (tick & mask)].add(new Entry<>(key, tick));
+            size++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Advances the wheel to {@code nowMillis}.
+     *
+     * @return the keys whose deadline has passed, in no particular order
+     */
+    List<K> advance(long nowMillis) {
+        List<K> expired = new ArrayList<>();
+        lock.lock();
+        try {
+            long targetTick = nowMillis / tickMillis;
+            // After a long pause every slot is due at most once.
+            long steps = Math.min(targetTick - currentTick, slots.length);
+            for (long step = 1; step <= steps; step++) {
+                slots[(int) ((currentTick + step) & mask)].removeIf(entry -> {
+                    if (entry.tick > targetTick) {
+                        return false;
+                    }
+                    expired.add(entry.key);
+                    return true;
+                });
+            }
+            size -= expired.size();
+            currentTick = Math.max(currentTick, targetTick);
+        } finally {
+            lock.unlock();
+        }
+        return expired;
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private record Entry<K>(K key, long tick) {
+    }
+}
@@ -0,0 +1,17 @@
+package com.jobber.auth.outbox;
+
+import java.util.List;
+
+/**
+ * Broker the outbox relay hands events to.
+ */
+public interface EventPublisher {
+
+    /**
+     * Publishes a batch of events in outbox order. Returning normally means every event was
+     * accepted; throwing leaves the whole batch in the outbox to be retried, so consumers
+     * must tolerate duplicates. An event that a consumer can never accept is eventually
+     * parked by the relay, so consumers should accept what they have already applied.
+     */
+    void publish(List<OutboxMessage> messages);
+}
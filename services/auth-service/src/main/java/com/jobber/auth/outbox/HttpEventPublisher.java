@@ -0,0 +1,49 @@
+package com.jobber.auth.outbox;
+
+import com.jobber.common.events.AccountTokenIssuedEvent;
+import com.jobber.common.events.UserCreatedEvent;
+import org.springframework.http.MediaType;
+import org.springframework.web.client.RestClient;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Delivers events to their consumers' batch endpoints over HTTP, one request per event type
+ * per batch. Payloads are already JSON, so they are concatenated into an array as-is.
+ */
+public class HttpEventPublisher implements EventPublisher {
+
+    private final RestClient restClient;
+    private final Map<String, String> endpoints;
+
+    public HttpEventPublisher(RestClient.Builder restClientBuilder, String userCreatedUri, String accountTokenIssuedUri) {
+        this.restClient = restClientBuilder.build();
+        this.endpoints = Map.of(UserCreatedEvent.TYPE, userCreatedUri, AccountTokenIssuedEvent.TYPE, accountTokenIssuedUri);
+    }
+
+    @Override
+    public void publish(List<OutboxMessage> messages) {
+        Map<String, List<OutboxMessage>> byType = new LinkedHashMap<>();
+        for (OutboxMessage message : messages) {
+            byType.computeIfAbsent(message.eventType(), type -> new ArrayList<>()).add(message);
+        }
+        byType.forEach((eventType, batch) -> {
+            String uri = endpoints.get(eventType);
+            if (uri == null) {
+                throw new IllegalStateException("No consumer endpoint configured for event type " + eventType);
+            }
+            StringJoiner body = new StringJoiner(",", "[", "]");
+            batch.forEach(message -> body.add(message.payload()));
+            restClient.post()
+                    .uri(uri)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(body.toString())
+                    .retrieve()
+                    .toBodilessEntity();
+        });
+    }
+}
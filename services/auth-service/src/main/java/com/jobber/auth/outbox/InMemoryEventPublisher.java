@@ -0,0 +1,26 @@
+package com.jobber.auth.outbox;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Keeps published events in memory. Used for tests and for running auth-service on its own
+ * ({@code auth.outbox.publisher=in-memory}).
+ */
+public class InMemoryEventPublisher implements EventPublisher {
+
+    private final ConcurrentLinkedQueue<OutboxMessage> published = new ConcurrentLinkedQueue<>();
+
+    @Override
+    public void publish(List<OutboxMessage> messages) {
+        published.addAll(messages);
+    }
+
+    public List<OutboxMessage> getPublished() {
+        return List.copyOf(published);
+    }
+
+    public void clear() {
+        published.clear();
+    }
+}
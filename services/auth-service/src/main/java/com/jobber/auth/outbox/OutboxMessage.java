@@ -0,0 +1,10 @@
+package com.jobber.auth.outbox;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * An outbox row as handed to an {@link EventPublisher}; {@code payload} is the event's JSON.
+ */
+public record OutboxMessage(long id, UUID aggregateId, String eventType, String payload, LocalDateTime createdAt) {
+}
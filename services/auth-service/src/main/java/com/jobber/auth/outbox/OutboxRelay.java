@@ -0,0 +1,257 @@
+package com.jobber.auth.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Polls {@code outbox_events} and publishes it in batches.
+ * <p>
+ * A batch is claimed in a short transaction: its rows are locked with
+ * {@code FOR UPDATE SKIP LOCKED} and leased until {@code claim-timeout} by moving their
+ * {@code available_at}, then the transaction commits. The events are published with no
+ * transaction or lock held and deleted afterwards, so several instances relay concurrently
+ * without publishing the same rows, and a relay that dies mid-publish only delays its batch
+ * until the lease runs out.
+ * <p>
+ * A failed publish counts an attempt on each row and backs it off exponentially. Rows that
+ * failed before are published one at a time, so one event the consumer keeps rejecting does
+ * not hold back the others; after {@code max-attempts} it is parked with its last error and
+ * skipped until an operator clears {@code parked_at}.
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private static final String SELECT_BATCH_SQL = """
+            SELECT id, aggregate_id, event_type, payload, created_at, attempts
+            FROM outbox_events
+            WHERE parked_at IS NULL AND available_at <= ?
+            ORDER BY id
+            LIMIT ?
+            FOR UPDATE SKIP LOCKED
+            """;
+
+    private static final String CLAIM_BATCH_SQL = "UPDATE outbox_events SET available_at = :until WHERE id IN (:ids)";
+
+    private static final String DELETE_BATCH_SQL = "DELETE FROM outbox_events WHERE id IN (:ids)";
+
+    private static final String RELEASE_BATCH_SQL = "UPDATE outbox_events SET available_at = :now WHERE id IN (:ids)";
+
+    private static final String FAIL_SQL = """
+            UPDATE outbox_events
+            SET attempts = attempts + 1, available_at = :retryAt, last_error = :error,
+                parked_at = CASE WHEN attempts + 1 >= :maxAttempts THEN CAST(:now AS timestamp) END
+            WHERE id IN (:ids)
+            """;
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EventPublisher eventPublisher;
+    private final int batchSize;
+    private final int maxBatchesPerPoll;
+    private final int maxAttempts;
+    private final Duration claimTimeout;
+    private final Duration retryBackoff;
+    private final Duration maxRetryBackoff;
+    private final Clock clock;
+
+    private final Counter published;
+    private final Counter failures;
+    private final Counter parked;
+    private final Timer batchTimer;
+    private final Timer lag;
+
+    @Autowired
+    public OutboxRelay(JdbcTemplate jdbcTemplate,
+                       PlatformTransactionManager transactionManager,
+                       EventPublisher eventPublisher,
+                       MeterRegistry meterRegistry,
+                       @Value("${auth.outbox.batch-size:200}") int batchSize,
+                       @Value("${auth.outbox.max-batches-per-poll:50}") int maxBatchesPerPoll,
+                       @Value("${auth.outbox.max-attempts:10}") int maxAttempts,
+                       @Value("${auth.outbox.claim-timeout:PT1M}") Duration claimTimeout,
+                       @Value("${auth.outbox.retry-backoff:PT1S}") Duration retryBackoff,
+                       @Value("${auth.outbox.max-retry-backoff:PT5M}") Duration maxRetryBackoff) {
+        this(jdbcTemplate, transactionManager, eventPublisher, meterRegistry, batchSize, maxBatchesPerPoll,
+                maxAttempts, claimTimeout, retryBackoff, maxRetryBackoff, Clock.systemDefaultZone());
+    }
+
+    OutboxRelay(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                EventPublisher eventPublisher, MeterRegistry meterRegistry, int batchSize, int maxBatchesPerPoll,
+                int maxAttempts, Duration claimTimeout, Duration retryBackoff, Duration maxRetryBackoff,
+                Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.maxBatchesPerPoll = maxBatchesPerPoll;
+        this.maxAttempts = maxAttempts;
+        this.claimTimeout = claimTimeout;
+        this.retryBackoff = retryBackoff;
+        this.maxRetryBackoff = maxRetryBackoff;
+        this.clock = clock;
+
+        this.published = Counter.builder("auth.outbox.published").register(meterRegistry);
+        this.failures = Counter.builder("auth.outbox.publish.failures").register(meterRegistry);
+        this.parked = Counter.builder("auth.outbox.parked")
+                .description("Events set aside after max-attempts failed publishes")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("auth.outbox.relay.batch").register(meterRegistry);
+        this.lag = Timer.builder("auth.outbox.lag")
+                .description("Time from an event being written to it being published")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Publishes batches until the outbox is drained, a publish fails or
+     * {@code max-batches-per-poll} is reached.
+     */
+    @Scheduled(fixedDelayString = "${auth.outbox.poll-interval:PT1S}")
+    public void relay() {
+        for (int i = 0; i < maxBatchesPerPoll; i++) {
+            Batch batch = claimBatch();
+            if (batch.rows().isEmpty() || !publish(batch) || batch.rows().size() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Locks the next available rows and leases them to this relay.
+     */
+    Batch claimBatch() {
+        Batch batch = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now(clock);
+            List<Claimed> claimed = jdbcTemplate.query(SELECT_BATCH_SQL, (rs, rowNum) -> new Claimed(
+                    new OutboxMessage(
+                            rs.getLong("id"),
+                            rs.getObject("aggregate_id", UUID.class),
+                            rs.getString("event_type"),
+                            rs.getString("payload"),
+                            rs.getObject("created_at", LocalDateTime.class)),
+                    rs.getInt("attempts")), now, batchSize);
+            if (!claimed.isEmpty()) {
+                namedJdbcTemplate.update(CLAIM_BATCH_SQL, Map.of(
+                        "until", now.plus(claimTimeout),
+                        "ids", claimed.stream().map(row -> row.message().id()).toList()));
+            }
+            return new Batch(claimed);
+        });
+        return batch == null ? new Batch(List.of()) : batch;
+    }
+
+    /**
+     * Publishes a claimed batch, deleting what was accepted and recording the failure on what
+     * was not. A batch holding retried rows goes one event at a time and stops at the first
+     * failure, releasing the rest for the next poll.
+     *
+     * @return whether every event was published
+     */
+    boolean publish(Batch batch) {
+        long started = System.nanoTime();
+        List<Claimed> rows = batch.rows();
+        if (rows.stream().noneMatch(row -> row.attempts() > 0)) {
+            if (!publish(rows.stream().map(Claimed::message).toList(), 0)) {
+                return false;
+            }
+        } else {
+            for (int i = 0; i < rows.size(); i++) {
+                if (!publish(List.of(rows.get(i).message()), rows.get(i).attempts())) {
+                    List<Long> rest = rows.subList(i + 1, rows.size()).stream()
+                            .map(row -> row.message().id())
+                            .toList();
+                    if (!rest.isEmpty()) {
+                        namedJdbcTemplate.update(RELEASE_BATCH_SQL,
+                                Map.of("now", LocalDateTime.now(clock), "ids", rest));
+                    }
+                    return false;
+                }
+            }
+        }
+        batchTimer.record(Duration.ofNanos(System.nanoTime() - started));
+        return true;
+    }
+
+    /**
+     * @param attempts the failed publishes the messages have behind them
+     */
+    private boolean publish(List<OutboxMessage> messages, int attempts) {
+        try {
+            eventPublisher.publish(messages);
+        } catch (RuntimeException e) {
+            failures.increment();
+            recordFailure(messages, attempts + 1, e);
+            return false;
+        }
+        namedJdbcTemplate.update(DELETE_BATCH_SQL, Map.of("ids", ids(messages)));
+        LocalDateTime now = LocalDateTime.now(clock);
+        messages.forEach(message -> lag.record(Duration.between(message.createdAt(), now)));
+        published.increment(messages.size());
+        return true;
+    }
+
+    private void recordFailure(List<OutboxMessage> messages, int attempt, RuntimeException e) {
+        String error = String.valueOf(e.getMessage());
+        if (error.length() > MAX_ERROR_LENGTH) {
+            error = error.substring(0, MAX_ERROR_LENGTH);
+        }
+        List<Long> ids = ids(messages);
+        LocalDateTime now = LocalDateTime.now(clock);
+        namedJdbcTemplate.update(FAIL_SQL, new MapSqlParameterSource()
+                .addValue("now", now)
+                .addValue("retryAt", now.plus(backoff(attempt)))
+                .addValue("error", error)
+                .addValue("maxAttempts", maxAttempts)
+                .addValue("ids", ids));
+        if (attempt >= maxAttempts) {
+            parked.increment(messages.size());
+            log.error("Parked outbox events {} after {} failed publishes: {}", ids, attempt, error);
+        } else {
+            log.warn("Outbox publish of {} events failed, attempt {} of {}: {}",
+                    messages.size(), attempt, maxAttempts, error);
+        }
+    }
+
+    /**
+     * @return the delay before the given attempt is retried, doubling from {@code retry-backoff}
+     */
+    private Duration backoff(int attempt) {
+        Duration delay = retryBackoff.multipliedBy(1L << Math.min(attempt - 1, 20));
+        return delay.compareTo(maxRetryBackoff) > 0 ? maxRetryBackoff : delay;
+    }
+
+    private static List<Long> ids(List<OutboxMessage> messages) {
+        return messages.stream().map(OutboxMessage::id).toList();
+    }
+
+    /**
+     * Rows leased to this relay, in outbox order.
+     */
+    record Batch(List<Claimed> rows) {
+    }
+
+    record Claimed(OutboxMessage message, int attempts) {
+    }
+}
@@ -0,0 +1,20 @@
+package com.jobber.auth.repositories;
+
+import com.jobber.auth.entities.AuthProfile;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface AuthProfileRepository extends JpaRepository<AuthProfile, UUID>, AuthProfileRepositoryCustom {
+
+    /**
+     * Read-write on purpose so it is never routed to a replica: it completes a login, possibly
+     * of an account created through another instance a moment ago. A cached profile is still
+     * served without a query.
+     */
+    @Override
+    @Transactional
+    Optional<AuthProfile> findById(UUID id);
+}
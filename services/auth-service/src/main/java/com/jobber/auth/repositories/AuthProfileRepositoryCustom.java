@@ -0,0 +1,35 @@
+package com.jobber.auth.repositories;
+
+import com.jobber.auth.entities.AuthProfile;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Lookups Spring Data cannot derive.
+ */
+public interface AuthProfileRepositoryCustom {
+
+    /**
+     * Loads a profile by its natural id. Unlike a derived {@code findByUsername} query this
+     * resolves the username through the natural-id cache and the row through the entity
+     * cache, so a repeated lookup does not reach the database.
+     * <p>
+     * Read-write on purpose so a miss is never routed to a replica: it starts a login,
+     * possibly of an account created through another instance a moment ago. A caller's
+     * read-only transaction still routes it there.
+     */
+    @Transactional
+    Optional<AuthProfile> findByUsername(String username);
+
+    /**
+     * Loads many profiles by natural id; usernames not in the caches are loaded together
+     * with {@code IN} queries.
+     *
+     * @return the profiles of the usernames that exist, in no particular order
+     */
+    @Transactional(readOnly = true)
+    List<AuthProfile> findAllByUsername(Collection<String> usernames);
+}
@@ -0,0 +1,40 @@
+package com.jobber.auth.repositories;
+
+import com.jobber.auth.entities.AuthProfile;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+public class AuthProfileRepositoryCustomImpl implements AuthProfileRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<AuthProfile> findByUsername(String username) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(AuthProfile.class)
+                .loadOptional(username);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<AuthProfile> findAllByUsername(Collection<String> usernames) {
+        return entityManager.unwrap(Session.class)
+                .byMultipleNaturalId(AuthProfile.class)
+                .multiLoad(List.copyOf(usernames))
+                .stream()
+                .filter(Objects::nonNull)
+                .toList();
+    }
+}
@@ -2,11 +2,25 @@ package com.jobber.auth.repositories;
 
 import com.jobber.auth.entities.Auth;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 import java.util.UUID;
 
+/**
+ * Credential and token lookups are read-write on purpose, so they always run on the primary:
+ * a password or token checked against a lagging replica could be stale or not there yet.
+ */
 public interface AuthRepository extends JpaRepository<Auth, UUID> {
+    @Override
+    @Transactional
+    Optional<Auth> findById(UUID id);
+    @Transactional
     Optional<Auth> findByEmailOrUsername(String email, String username);
-    Auth findByUsername(String username);
+    @Transactional
+    Optional<Auth> findByEmail(String email);
+    @Transactional
+    Optional<Auth> findByEmailVerificationToken(String emailVerificationTokenHash);
+    @Transactional
+    Optional<Auth> findByPasswordResetToken(String passwordResetTokenHash);
 }
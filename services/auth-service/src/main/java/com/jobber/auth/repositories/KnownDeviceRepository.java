@@ -0,0 +1,7 @@
+package com.jobber.auth.repositories;
+
+import com.jobber.auth.entities.KnownDevice;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface KnownDeviceRepository extends JpaRepository<KnownDevice, KnownDevice.Key> {
+}
@@ -0,0 +1,7 @@
+package com.jobber.auth.repositories;
+
+import com.jobber.auth.entities.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+}
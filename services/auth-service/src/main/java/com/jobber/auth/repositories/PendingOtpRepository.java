@@ -0,0 +1,75 @@
+package com.jobber.auth.repositories;
+
+import com.jobber.auth.entities.PendingOtp;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface PendingOtpRepository extends JpaRepository<PendingOtp, UUID> {
+
+    /**
+     * Read-write on purpose so it is never routed to a replica: the OTP being verified may
+     * have been issued by another instance a moment ago.
+     */
+    @Override
+    @Transactional
+    Optional<PendingOtp> findById(UUID userId);
+
+    /**
+     * Consumes the OTP if it is still the one issued for this code and device, unexpired and
+     * not exhausted. Of concurrent verifications, on any instance, only one deletes the row.
+     *
+     * @return 1 if this call consumed the OTP, otherwise 0
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from PendingOtp p where p.userId = :userId and p.code = :code and p.deviceHash = :deviceHash"
+            + " and p.attempts < :maxAttempts and p.expiresAt > :now")
+    int consume(@Param("userId") UUID userId, @Param("code") int code, @Param("deviceHash") long deviceHash,
+                @Param("maxAttempts") int maxAttempts, @Param("now") LocalDateTime now);
+
+    /**
+     * Counts a wrong code against a live OTP in one statement, so concurrent wrong codes on
+     * different instances are all counted.
+     *
+     * @return 1 if there was a live OTP to count against, otherwise 0
+     */
+    @Transactional
+    @Modifying
+    @Query("update PendingOtp p set p.attempts = p.attempts + 1"
+            + " where p.userId = :userId and p.attempts < :maxAttempts and p.expiresAt > :now")
+    int recordFailedAttempt(@Param("userId") UUID userId, @Param("maxAttempts") int maxAttempts,
+                            @Param("now") LocalDateTime now);
+
+    /**
+     * @return the wrong codes counted so far, including any counted concurrently since
+     */
+    @Transactional
+    @Query("select p.attempts from PendingOtp p where p.userId = :userId")
+    Optional<Integer> findAttempts(@Param("userId") UUID userId);
+
+    @Transactional
+    @Modifying
+    @Query("delete from PendingOtp p where p.userId = :userId and p.attempts >= :maxAttempts")
+    int deleteExhausted(@Param("userId") UUID userId, @Param("maxAttempts") int maxAttempts);
+
+    /**
+     * Deletes the given users' OTPs if they are expired; a newer OTP issued meanwhile is kept.
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from PendingOtp p where p.userId in :userIds and p.expiresAt <= :now")
+    int deleteExpired(@Param("userIds") Collection<UUID> userIds, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("delete from PendingOtp p where p.expiresAt <= :now")
+    int deleteAllExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,38 @@
+package com.jobber.auth.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Resolves the address of the client behind the API gateway for the current request.
+ */
+public final class ClientIpResolver {
+
+    private static final String FORWARDED_FOR = "X-Forwarded-For";
+
+    private ClientIpResolver() {
+    }
+
+    /**
+     * @return the client address, or {@code null} when not called on a request thread
+     */
+    public static String currentClientIp() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return null;
+        }
+        return resolve(servletAttributes.getRequest());
+    }
+
+    static String resolve(HttpServletRequest request) {
+        String forwardedFor = request.getHeader(FORWARDED_FOR);
+        if (forwardedFor == null || forwardedFor.isBlank()) {
+            return request.getRemoteAddr();
+        }
+        // The gateway appends the address it saw, so the last hop is the only one a client cannot forge.
+        String[] hops = forwardedFor.split(",");
+        return hops[hops.length - 1].trim();
+    }
+}
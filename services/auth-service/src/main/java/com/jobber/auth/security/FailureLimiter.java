@@ -0,0 +1,181 @@
+package com.jobber.auth.security;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Sliding-window failure counter with exponential lockout, keyed by an arbitrary string.
+ * <p>
+ * Keys are spread over a fixed number of stripes, each guarded by its own lock and holding
+ * an access-ordered LRU map, so contention stays per-stripe and total memory is bounded by
+ * {@code maxKeys}. The window is approximated with the usual two-bucket estimate
+ * ({@code previous * overlap + current}), which needs O(1) state per key.
+ * <p>
+ * A full stripe evicts its least recently used key that is not locked, never the key just
+ * added. Locked keys are never evicted, otherwise flooding the stripe with fresh keys would
+ * unlock them; while every other key in a stripe is locked it grows past its share of
+ * {@code maxKeys}, by at most the keys that can be locked within {@code maxLockout}.
+ */
+final class FailureLimiter {
+
+    private final Stripe[] stripes;
+    private final int stripeMask;
+    private final int maxFailures;
+    private final long windowMillis;
+    private final long baseLockoutMillis;
+    private final double lockoutMultiplier;
+    private final long maxLockoutMillis;
+    private final LongSupplier clock;
+
+    FailureLimiter(int stripeCount, int maxKeys, int maxFailures, Duration window,
+                   Duration baseLockout, double lockoutMultiplier, Duration maxLockout, LongSupplier clock) {
+        int stripesPowerOfTwo = Integer.highestOneBit(Math.max(1, stripeCount));
+        this.stripes = new Stripe[stripesPowerOfTwo];
+        int perStripe = Math.max(1, maxKeys / stripesPowerOfTwo);
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe(perStripe, clock);
+        }
+        this.stripeMask = stripesPowerOfTwo - 1;
+        this.maxFailures = maxFailures;
+        this.windowMillis = window.toMillis();
+        this.baseLockoutMillis = baseLockout.toMillis();
+        this.lockoutMultiplier = lockoutMultiplier;
+        this.maxLockoutMillis = maxLockout.toMillis();
+        this.clock = clock;
+    }
+
+    /**
+     * @return milliseconds until the key is unlocked, or {@code 0} if it is not locked
+     */
+    long lockedFor(String key) {
+        Stripe stripe = stripeFor(key);
+        long now = clock.getAsLong();
+        stripe.lock.lock();
+        try {
+            Window window = stripe.entries.get(key);
+            return window == null ? 0 : Math.max(0, window.lockedUntil - now);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Records a failed attempt and locks the key once the windowed count reaches the limit.
+     *
+     * @return milliseconds the key is now locked for, or {@code 0}
+     */
+    long recordFailure(String key) {
+        Stripe stripe = stripeFor(key);
+        long now = clock.getAsLong();
+        stripe.lock.lock();
+        try {
+            Window window = stripe.entries.computeIfAbsent(key, k -> new Window(now));
+            window.roll(now, windowMillis);
+            if (window.lockouts > 0 && now - window.lockedUntil > maxLockoutMillis) {
+                window.lockouts = 0;
+            }
+            window.current++;
+            if (window.estimate(now, windowMillis) < maxFailures) {
+                return 0;
+            }
+            long lockout = lockoutFor(++window.lockouts);
+            window.lockedUntil = now + lockout;
+            window.current = 0;
+            window.previous = 0;
+            return lockout;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    void reset(String key) {
+        Stripe stripe = stripeFor(key);
+        stripe.lock.lock();
+        try {
+            stripe.entries.remove(key);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                size += stripe.entries.size();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    private long lockoutFor(int lockouts) {
+        double lockout = baseLockoutMillis * Math.pow(lockoutMultiplier, lockouts - 1);
+        return (long) Math.min(lockout, maxLockoutMillis);
+    }
+
+    private Stripe stripeFor(String key) {
+        int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & stripeMask];
+    }
+
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<String, Window> entries;
+
+        private Stripe(int capacity, LongSupplier clock) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Window> eldest) {
+                    if (size() <= capacity) {
+                        return false;
+                    }
+                    // Called from computeIfAbsent, so the newest entry is the key being recorded:
+                    // never pick it, or the failure would be counted on a detached window.
+                    long now = clock.getAsLong();
+                    int candidates = size() - 1;
+                    for (Iterator<Window> it = values().iterator(); candidates-- > 0; ) {
+                        if (it.next().lockedUntil <= now) {
+                            it.remove();
+                            return false;
+                        }
+                    }
+                    return false;
+                }
+            };
+        }
+    }
+
+    private static final class Window {
+        private long windowStart;
+        private int previous;
+        private int current;
+        private long lockedUntil;
+        private int lockouts;
+
+        private Window(long now) {
+            this.windowStart = now;
+        }
+
+        private void roll(long now, long windowMillis) {
+            long elapsedWindows = (now - windowStart) / windowMillis;
+            if (elapsedWindows == 0) {
+                return;
+            }
+            previous = elapsedWindows == 1 ? current : 0;
+            current = 0;
+            windowStart += elapsedWindows * windowMillis;
+        }
+
+        private double estimate(long now, long windowMillis) {
+            double overlap = 1.0 - (double) (now - windowStart) / windowMillis;
+            return previous * overlap + current;
+        }
+    }
+}
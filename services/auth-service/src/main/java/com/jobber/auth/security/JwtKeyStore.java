@@ -0,0 +1,167 @@
+package com.jobber.auth.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * EC P-256 keys used to sign (ES256) and verify access tokens.
+ * <p>
+ * The active key signs new tokens and is advertised under its {@code kid}. Retired public
+ * keys are still published in the JWKS so tokens signed before a rotation keep verifying
+ * until they expire. Rotation is therefore: add the new key as active, move the old public
+ * key to {@code auth.jwt.retired-public-keys}, and drop it after one token lifetime.
+ * <p>
+ * Keys are base64 DER ({@code PKCS#8} private, {@code X.509} public). Without a configured
+ * signing key the service refuses to start, unless {@code auth.jwt.allow-ephemeral-key} is set
+ * for development: an ephemeral key pair only works for a single instance, and every restart
+ * invalidates the tokens it signed.
+ */
+@Slf4j
+@Component
+public class JwtKeyStore {
+
+    private static final String CURVE = "secp256r1";
+    private static final int COORDINATE_BYTES = 32;
+
+    private final String activeKid;
+    private final PrivateKey signingKey;
+    private final Map<String, PublicKey> publicKeys;
+
+    @Autowired
+    public JwtKeyStore(@Value("${auth.jwt.signing.kid:}") String kid,
+                       @Value("${auth.jwt.signing.private-key:}") String privateKey,
+                       @Value("${auth.jwt.signing.public-key:}") String publicKey,
+                       @Value("${auth.jwt.retired-public-keys:}") String retiredPublicKeys,
+                       @Value("${auth.jwt.allow-ephemeral-key:false}") boolean allowEphemeralKey) {
+        Map<String, PublicKey> keys = new LinkedHashMap<>();
+        if (privateKey.isBlank()) {
+            if (!allowEphemeralKey) {
+                throw new IllegalStateException("auth.jwt.signing.private-key is not configured; set JWT_SIGNING_KID, "
+                        + "JWT_SIGNING_PRIVATE_KEY and JWT_SIGNING_PUBLIC_KEY, or auth.jwt.allow-ephemeral-key "
+                        + "for a single development instance");
+            }
+            log.warn("No auth.jwt.signing key configured; using an ephemeral key. Tokens will not "
+                    + "survive a restart and cannot be shared between instances.");
+            KeyPair keyPair = generateKeyPair();
+            this.activeKid = kid.isBlank() ? UUID.randomUUID().toString() : kid;
+            this.signingKey = keyPair.getPrivate();
+            keys.put(activeKid, keyPair.getPublic());
+        } else {
+            if (kid.isBlank() || publicKey.isBlank()) {
+                throw new IllegalStateException("auth.jwt.signing.kid and auth.jwt.signing.public-key are required");
+            }
+            this.activeKid = kid;
+            this.signingKey = decodePrivateKey(privateKey);
+            keys.put(activeKid, decodePublicKey(publicKey));
+        }
+        for (String entry : retiredPublicKeys.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int separator = entry.indexOf(':');
+            if (separator < 1) {
+                throw new IllegalStateException("auth.jwt.retired-public-keys entries must be <kid>:<base64 key>");
+            }
+            keys.putIfAbsent(entry.substring(0, separator).trim(), decodePublicKey(entry.substring(separator + 1).trim()));
+        }
+        this.publicKeys = Collections.unmodifiableMap(keys);
+    }
+
+    /**
+     * Creates a key store around a freshly generated key pair.
+     */
+    public static JwtKeyStore ephemeral() {
+        return new JwtKeyStore("", "", "", "", true);
+    }
+
+    public String getActiveKid() {
+        return activeKid;
+    }
+
+    public PrivateKey getSigningKey() {
+        return signingKey;
+    }
+
+    /**
+     * @return the public key for the given key id, or {@code null} if it is unknown
+     */
+    public PublicKey getPublicKey(String kid) {
+        return publicKeys.get(kid);
+    }
+
+    /**
+     * @return the public keys as a JWK Set (RFC 7517)
+     */
+    public Map<String, Object> toJwks() {
+        List<Map<String, String>> keys = new ArrayList<>(publicKeys.size());
+        publicKeys.forEach((kid, key) -> {
+            ECPublicKey ecKey = (ECPublicKey) key;
+            Map<String, String> jwk = new LinkedHashMap<>();
+            jwk.put("kty", "EC");
+            jwk.put("crv", "P-256");
+            jwk.put("use", "sig");
+            jwk.put("alg", "ES256");
+            jwk.put("kid", kid);
+            jwk.put("x", encodeCoordinate(ecKey.getW().getAffineX()));
+            jwk.put("y", encodeCoordinate(ecKey.getW().getAffineY()));
+            keys.add(jwk);
+        });
+        return Map.of("keys", keys);
+    }
+
+    private static String encodeCoordinate(BigInteger coordinate) {
+        byte[] bytes = coordinate.toByteArray();
+        byte[] fixed = new byte[COORDINATE_BYTES];
+        // BigInteger may add a leading sign byte or drop leading zeros; JWK wants exactly 32 bytes.
+        int length = Math.min(bytes.length, COORDINATE_BYTES);
+        System.arraycopy(bytes, bytes.length - length, fixed, COORDINATE_BYTES - length, length);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(fixed);
+    }
+
+    private static KeyPair generateKeyPair() {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+            generator.initialize(new ECGenParameterSpec(CURVE));
+            return generator.generateKeyPair();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("EC key generation is not available", e);
+        }
+    }
+
+    private static PrivateKey decodePrivateKey(String base64) {
+        try {
+            return KeyFactory.getInstance("EC").generatePrivate(new PKCS8EncodedKeySpec(Base64.getDecoder().decode(base64)));
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("Invalid EC private key", e);
+        }
+    }
+
+    private static PublicKey decodePublicKey(String base64) {
+        try {
+            return KeyFactory.getInstance("EC").generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(base64)));
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("Invalid EC public key", e);
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.jobber.auth.security;
+
+import com.jobber.auth.exceptions.TooManyAttemptsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Brute-force protection for login. Failed attempts are counted per identifier (the username
+ * or email as typed), per account and per client IP. A locked identifier or IP is rejected
+ * before any database lookup; a locked account is rejected after the lookup but before any
+ * bcrypt work, so alternating between an account's username and email does not double its
+ * allowance.
+ */
+@Slf4j
+@Component
+public class LoginThrottle {
+
+    private final boolean enabled;
+    private final FailureLimiter usernameLimiter;
+    private final FailureLimiter ipLimiter;
+
+    private final Timer passwordCheckTimer;
+    private final Counter throttledByUsername;
+    private final Counter throttledByIp;
+    private final Counter cpuSecondsSaved;
+
+    @Autowired
+    public LoginThrottle(MeterRegistry meterRegistry,
+                         @Value("${auth.login-throttle.enabled:true}") boolean enabled,
+                         @Value("${auth.login-throttle.stripes:64}") int stripes,
+                         @Value("${auth.login-throttle.max-keys:100000}") int maxKeys,
+                         @Value("${auth.login-throttle.window:15m}") Duration window,
+                         @Value("${auth.login-throttle.username.max-failures:5}") int usernameMaxFailures,
+                         @Value("${auth.login-throttle.ip.max-failures:50}") int ipMaxFailures,
+                         @Value("${auth.login-throttle.lockout.base:30s}") Duration baseLockout,
+                         @Value("${auth.login-throttle.lockout.multiplier:2.0}") double lockoutMultiplier,
+                         @Value("${auth.login-throttle.lockout.max:1h}") Duration maxLockout) {
+        this(meterRegistry, enabled, stripes, maxKeys, window, usernameMaxFailures, ipMaxFailures,
+                baseLockout, lockoutMultiplier, maxLockout, System::currentTimeMillis);
+    }
+
+    LoginThrottle(MeterRegistry meterRegistry, boolean enabled, int stripes, int maxKeys, Duration window,
+                  int usernameMaxFailures, int ipMaxFailures, Duration baseLockout, double lockoutMultiplier,
+                  Duration maxLockout, LongSupplier clock) {
+        this.enabled = enabled;
+        this.usernameLimiter = new FailureLimiter(stripes, maxKeys, usernameMaxFailures, window,
+                baseLockout, lockoutMultiplier, maxLockout, clock);
+        this.ipLimiter = new FailureLimiter(stripes, maxKeys, ipMaxFailures, window,
+                baseLockout, lockoutMultiplier, maxLockout, clock);
+
+        this.passwordCheckTimer = Timer.builder("auth.login.password.check")
+                .description("Time spent verifying a password hash")
+                .register(meterRegistry);
+        this.throttledByUsername = Counter.builder("auth.login.throttled")
+                .tag("key", "username")
+                .register(meterRegistry);
+        this.throttledByIp = Counter.builder("auth.login.throttled")
+                .tag("key", "ip")
+                .register(meterRegistry);
+        this.cpuSecondsSaved = Counter.builder("auth.login.throttle.cpu.saved")
+                .description("Estimated password-hashing CPU time avoided by rejecting throttled attempts")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("auth.login.throttle.keys", () -> usernameLimiter.size() + ipLimiter.size())
+                .register(meterRegistry);
+    }
+
+    /**
+     * Rejects the attempt if either the identifier or the client IP is currently locked.
+     *
+     * @throws TooManyAttemptsException if the attempt must not be processed
+     */
+    public void checkAllowed(String identifier, String clientIp) {
+        if (!enabled) {
+            return;
+        }
+        long usernameLock = identifier == null ? 0 : usernameLimiter.lockedFor(usernameKey(identifier));
+        if (usernameLock > 0) {
+            throttledByUsername.increment();
+            reject(usernameLock);
+        }
+        long ipLock = clientIp == null ? 0 : ipLimiter.lockedFor(clientIp);
+        if (ipLock > 0) {
+            throttledByIp.increment();
+            reject(ipLock);
+        }
+    }
+
+    /**
+     * Rejects the attempt if the account it resolved to is currently locked, whichever
+     * identifier it was reached by.
+     *
+     * @throws TooManyAttemptsException if the attempt must not be processed
+     */
+    public void checkAccount(UUID accountId) {
+        if (!enabled) {
+            return;
+        }
+        long accountLock = usernameLimiter.lockedFor(accountKey(accountId));
+        if (accountLock > 0) {
+            throttledByUsername.increment();
+            reject(accountLock);
+        }
+    }
+
+    /**
+     * @param accountId the account the identifier resolved to, or {@code null} if it matched none
+     */
+    public void recordFailure(String identifier, UUID accountId, String clientIp) {
+        if (!enabled) {
+            return;
+        }
+        if (identifier != null) {
+            long lockout = usernameLimiter.recordFailure(usernameKey(identifier));
+            if (lockout > 0) {
+                log.warn("Locking login for user {} for {} ms after repeated failures", identifier, lockout);
+            }
+        }
+        if (accountId != null) {
+            long lockout = usernameLimiter.recordFailure(accountKey(accountId));
+            if (lockout > 0) {
+                log.warn("Locking login for account {} for {} ms after repeated failures", accountId, lockout);
+            }
+        }
+        if (clientIp != null) {
+            long lockout = ipLimiter.recordFailure(clientIp);
+            if (lockout > 0) {
+                log.warn("Locking login from {} for {} ms after repeated failures", clientIp, lockout);
+            }
+        }
+    }
+
+    /**
+     * Clears the identifier's and the account's failure history. The IP history is kept,
+     * since one address may be cycling through many accounts.
+     */
+    public void recordSuccess(String identifier, UUID accountId) {
+        if (!enabled) {
+            return;
+        }
+        if (identifier != null) {
+            usernameLimiter.reset(usernameKey(identifier));
+        }
+        if (accountId != null) {
+            usernameLimiter.reset(accountKey(accountId));
+        }
+    }
+
+    /**
+     * Runs the password comparison and records how long it took, which is what a
+     * throttled attempt is credited with saving.
+     */
+    public boolean timePasswordCheck(BooleanSupplier passwordCheck) {
+        long started = System.nanoTime();
+        try {
+            return passwordCheck.getAsBoolean();
+        } finally {
+            passwordCheckTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void reject(long lockedForMillis) {
+        cpuSecondsSaved.increment(passwordCheckTimer.mean(TimeUnit.SECONDS));
+        long retryAfterSeconds = Math.max(1, TimeUnit.MILLISECONDS.toSeconds(lockedForMillis));
+        throw new TooManyAttemptsException("Too many failed login attempts, try again later", retryAfterSeconds);
+    }
+
+    private static String usernameKey(String identifier) {
+        return identifier.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /** Prefixed so that no username or email can share an account's counter. */
+    private static String accountKey(UUID accountId) {
+        return "account:" + accountId;
+    }
+}
@@ -1,11 +1,24 @@
 package com.jobber.auth.services;
 
+import com.jobber.auth.domain.dtos.request.EmailRequest;
 import com.jobber.auth.domain.dtos.request.LoginRequest;
+import com.jobber.auth.domain.dtos.request.ResetPasswordRequest;
 import com.jobber.auth.domain.dtos.request.SignUpRequest;
+import com.jobber.auth.domain.dtos.request.VerifyEmailRequest;
+import com.jobber.auth.domain.dtos.request.VerifyOtpRequest;
 import com.jobber.auth.domain.dtos.response.AuthResponse;
 
+import java.util.Map;
+import java.util.Set;
+
 public interface AuthService {
     AuthResponse register(SignUpRequest signUpRequest);
     AuthResponse login(LoginRequest loginRequest);
+    AuthResponse verifyOtp(VerifyOtpRequest verifyOtpRequest);
+    AuthResponse verifyEmail(VerifyEmailRequest verifyEmailRequest);
+    void resendEmailVerification(EmailRequest emailRequest);
+    void requestPasswordReset(EmailRequest emailRequest);
+    AuthResponse resetPassword(ResetPasswordRequest resetPasswordRequest);
     AuthResponse getByUserName(String username);
+    Map<String, AuthResponse> getByUserNames(Set<String> usernames);
 }
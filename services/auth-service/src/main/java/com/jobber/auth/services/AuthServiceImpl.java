@@ -1,25 +1,71 @@
 package com.jobber.auth.services;
 
+import com.jobber.auth.activity.LoginActivityBuffer;
+import com.jobber.auth.domain.dtos.request.EmailRequest;
 import com.jobber.auth.domain.dtos.request.LoginRequest;
+import com.jobber.auth.domain.dtos.request.ResetPasswordRequest;
 import com.jobber.auth.domain.dtos.request.SignUpRequest;
+import com.jobber.auth.domain.dtos.request.VerifyEmailRequest;
+import com.jobber.auth.domain.dtos.request.VerifyOtpRequest;
 import com.jobber.auth.domain.dtos.response.AuthResponse;
 import com.jobber.auth.entities.Auth;
+import com.jobber.auth.entities.AuthProfile;
 import com.jobber.auth.exceptions.ResourceAlreadyExistException;
 import com.jobber.auth.exceptions.ResourceNotFoundException;
+import com.jobber.auth.otp.KnownDeviceStore;
+import com.jobber.auth.otp.OtpNotifier;
+import com.jobber.auth.otp.OtpStore;
+import com.jobber.auth.outbox.OutboxWriter;
+import com.jobber.auth.repositories.AuthProfileRepository;
 import com.jobber.auth.repositories.AuthRepository;
+import com.jobber.auth.security.ClientIpResolver;
+import com.jobber.auth.security.LoginThrottle;
+import com.jobber.auth.tokens.AccountTokenNotifier;
+import com.jobber.auth.tokens.AccountTokens;
+import com.jobber.common.events.UserCreatedEvent;
+import com.jobber.common.exceptions.BadRequestException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 public class AuthServiceImpl implements AuthService {
 
     private final AuthRepository authRepository;
+    private final AuthProfileRepository authProfileRepository;
     private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
     private final JwtService jwtService;
+    private final LoginThrottle loginThrottle;
+    private final KnownDeviceStore knownDeviceStore;
+    private final OtpStore otpStore;
+    private final OtpNotifier otpNotifier;
+    private final LoginActivityBuffer loginActivityBuffer;
+    private final OutboxWriter outboxWriter;
+    private final AccountTokenNotifier accountTokenNotifier;
+
+    @Value("${auth.user-info.max-batch-size:500}")
+    private int maxUserInfoBatchSize = 500;
+
+    @Value("${auth.account-tokens.email-verification-ttl:48h}")
+    private Duration emailVerificationTtl = Duration.ofHours(48);
+
+    @Value("${auth.account-tokens.password-reset-ttl:1h}")
+    private Duration passwordResetTtl = Duration.ofHours(1);
 
     @Override
+    @Transactional
     public AuthResponse register(SignUpRequest request) {
         boolean userExists = authRepository.findByEmailOrUsername(
                 request.getEmail(), request.getUsername()
@@ -38,11 +84,25 @@ public class AuthServiceImpl implements AuthService {
                 .browserName(request.getBrowserName())
                 .deviceType(request.getDeviceType())
                 .build();
+        String verificationToken = newAuth.generateEmailVerificationToken(emailVerificationTtl);
 
         authRepository.save(newAuth);
+        knownDeviceStore.remember(newAuth.getId(),
+                KnownDeviceStore.fingerprint(request.getBrowserName(), request.getDeviceType()));
+
+        // Committed together with the auth row; the outbox relay creates the buyer profile.
+        outboxWriter.append(newAuth.getId(), UserCreatedEvent.TYPE, UserCreatedEvent.builder()
+                .eventId(UUID.randomUUID())
+                .userId(newAuth.getId())
+                .username(newAuth.getUsername())
+                .email(newAuth.getEmail())
+                .country(newAuth.getCountry())
+                .profilePicture(newAuth.getProfilePicture())
+                .occurredAt(Instant.now())
+                .build());
+
+        accountTokenNotifier.sendEmailVerification(newAuth, verificationToken);
 
-        // TODO: generate verification link
-        // TODO: publish event
         // TODO: generate JWT or session token
 
         String token = jwtService.generateToken(newAuth.getUsername());
@@ -55,22 +115,43 @@ public class AuthServiceImpl implements AuthService {
 
     @Override
     public AuthResponse login(LoginRequest loginRequest) {
-        Auth auth = authRepository.findByEmailOrUsername(
-                loginRequest.getEmail(), loginRequest.getUsername()
-        ).orElseThrow(() -> new ResourceNotFoundException("Invalid credentials"));
+        String identifier = loginRequest.getUsername() != null ? loginRequest.getUsername() : loginRequest.getEmail();
+        String clientIp = ClientIpResolver.currentClientIp();
+
+        // Rejected before the lookup so a locked key costs neither a query nor a bcrypt round.
+        loginThrottle.checkAllowed(identifier, clientIp);
+
+        Auth auth = findCredentials(loginRequest).orElse(null);
 
-        if (!passwordEncoder.matches(loginRequest.getPassword(), auth.getPassword())) {
+        if (auth != null) {
+            // Counted per account too, so switching between username and email does not reset it.
+            loginThrottle.checkAccount(auth.getId());
+        }
+        if (auth == null || !loginThrottle.timePasswordCheck(
+                () -> passwordEncoder.matches(loginRequest.getPassword(), auth.getPassword()))) {
+            loginThrottle.recordFailure(identifier, auth == null ? null : auth.getId(), clientIp);
             throw new ResourceNotFoundException("Invalid credentials");
         }
+        loginThrottle.recordSuccess(identifier, auth.getId());
 
-        // If login from a new browser, trigger OTP (just a placeholder)
-        boolean isSameBrowser = loginRequest.getBrowserName() != null &&
-                loginRequest.getBrowserName().equals(auth.getBrowserName());
-
-        if (!isSameBrowser) {
-            // TODO: Send OTP, email notification, or security alert
+        // Logins from a known device write nothing; a new device has to confirm an OTP first.
+        long deviceHash = KnownDeviceStore.fingerprint(loginRequest.getBrowserName(), loginRequest.getDeviceType());
+        if (!knownDeviceStore.isKnown(auth.getId(), deviceHash)) {
+            // Accounts created before auth_known_devices only carry their sign-up browser.
+            boolean isSameBrowser = loginRequest.getBrowserName() != null &&
+                    loginRequest.getBrowserName().equals(auth.getBrowserName());
+            if (!isSameBrowser) {
+                otpNotifier.sendLoginOtp(auth, otpStore.issue(auth.getId(), deviceHash));
+                return AuthResponse.builder()
+                        .userId(auth.getId())
+                        .otpRequired(true)
+                        .build();
+            }
+            knownDeviceStore.remember(auth.getId(), deviceHash);
         }
 
+        // Written behind in batches rather than as a row UPDATE per login.
+        loginActivityBuffer.record(auth.getId(), loginRequest.getBrowserName(), loginRequest.getDeviceType());
         String token = jwtService.generateToken(auth.getUsername());
 
         // TODO: generate JWT or session token
@@ -81,13 +162,104 @@ public class AuthServiceImpl implements AuthService {
     }
 
     @Override
-    public AuthResponse getByUserName(String username) {
-        Auth auth = authRepository.findByUsername(username);
-        if (auth == null) {
-            throw new ResourceNotFoundException("User not found");
+    public AuthResponse verifyOtp(VerifyOtpRequest verifyOtpRequest) {
+        OptionalLong deviceHash = otpStore.verify(verifyOtpRequest.getUserId(), verifyOtpRequest.getOtp());
+        if (deviceHash.isEmpty()) {
+            throw new BadRequestException("Invalid or expired OTP");
         }
+        // Only the username is needed here, so read the cached profile rather than the credentials row.
+        AuthProfile auth = authProfileRepository.findById(verifyOtpRequest.getUserId())
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        knownDeviceStore.remember(auth.getId(), deviceHash.getAsLong());
+        // Only the device fingerprint is kept with the OTP, so the stored browser/device are left as they are.
+        loginActivityBuffer.record(auth.getId(), null, null);
+
+        return AuthResponse.builder()
+                .userId(auth.getId())
+                .token(jwtService.generateToken(auth.getUsername()))
+                .build();
+    }
+
+    @Override
+    @Transactional
+    public AuthResponse verifyEmail(VerifyEmailRequest request) {
+        // Only the hash is stored, so the lookup is an exact match on the unique index.
+        Auth auth = authRepository.findByEmailVerificationToken(AccountTokens.hash(request.getToken()))
+                .filter(Auth::isEmailVerificationTokenValid)
+                .orElseThrow(() -> new BadRequestException("Invalid or expired verification token"));
+        auth.markEmailVerified();
+        return AuthResponse.builder()
+                .userId(auth.getId())
+                .build();
+    }
+
+    @Override
+    @Transactional
+    public void resendEmailVerification(EmailRequest request) {
+        // Same outcome whether or not the email exists, so this cannot be used to probe for accounts.
+        authRepository.findByEmail(request.getEmail())
+                .filter(auth -> !auth.isEmailVerified())
+                .ifPresent(auth -> accountTokenNotifier.sendEmailVerification(auth,
+                        auth.generateEmailVerificationToken(emailVerificationTtl)));
+    }
+
+    @Override
+    @Transactional
+    public void requestPasswordReset(EmailRequest request) {
+        // Same outcome whether or not the email exists, so this cannot be used to probe for accounts.
+        authRepository.findByEmail(request.getEmail())
+                .ifPresent(auth -> accountTokenNotifier.sendPasswordReset(auth,
+                        auth.generatePasswordResetToken(passwordResetTtl)));
+    }
+
+    @Override
+    @Transactional
+    public AuthResponse resetPassword(ResetPasswordRequest request) {
+        Auth auth = authRepository.findByPasswordResetToken(AccountTokens.hash(request.getToken()))
+                .filter(Auth::isPasswordResetTokenValid)
+                .orElseThrow(() -> new BadRequestException("Invalid or expired password reset token"));
+        auth.setPassword(passwordEncoder.encode(request.getPassword()));
+        auth.clearSensitiveData();
         return AuthResponse.builder()
                 .userId(auth.getId())
                 .build();
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public AuthResponse getByUserName(String username) {
+        AuthProfile profile = authProfileRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        return AuthResponse.builder()
+                .userId(profile.getId())
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, AuthResponse> getByUserNames(Set<String> usernames) {
+        if (usernames.size() > maxUserInfoBatchSize) {
+            throw new BadRequestException("At most " + maxUserInfoBatchSize + " usernames can be requested at once");
+        }
+        Map<String, AuthResponse> responses = new LinkedHashMap<>();
+        authProfileRepository.findAllByUsername(usernames).forEach(profile ->
+                responses.put(profile.getUsername(), AuthResponse.builder().userId(profile.getId()).build()));
+        return responses;
+    }
+
+    /**
+     * A username is resolved through the natural-id cache and only the account it names is
+     * read from {@code auths}; an email, or a username that matched nothing, is looked up
+     * directly. The password hash itself is never cached.
+     */
+    private Optional<Auth> findCredentials(LoginRequest loginRequest) {
+        if (loginRequest.getUsername() != null) {
+            Optional<Auth> auth = authProfileRepository.findByUsername(loginRequest.getUsername())
+                    .flatMap(profile -> authRepository.findById(profile.getId()));
+            if (auth.isPresent() || loginRequest.getEmail() == null) {
+                return auth;
+            }
+        }
+        return loginRequest.getEmail() == null ? Optional.empty() : authRepository.findByEmail(loginRequest.getEmail());
+    }
 }
@@ -0,0 +1,10 @@
+package com.jobber.auth.services;
+
+import com.jobber.auth.domain.dtos.response.BulkImportResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface BulkImportService {
+    BulkImportResponse importUsers(InputStream ndjson) throws IOException;
+}
@@ -0,0 +1,327 @@
+package com.jobber.auth.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jobber.auth.domain.dtos.request.SignUpRequest;
+import com.jobber.auth.domain.dtos.response.BulkImportResponse;
+import com.jobber.auth.ids.UuidV7;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Imports users from an NDJSON stream (one {@link SignUpRequest} per line).
+ * Lines are grouped into fixed-size chunks; each chunk has its passwords hashed in
+ * parallel and is then written with a single JDBC batch. Invalid or conflicting lines
+ * are reported individually and never abort the rest of the import.
+ */
+@Slf4j
+@Service
+public class BulkImportServiceImpl implements BulkImportService {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO auths (id, username, password, email, country, profile_picture,
+                               browser_name, device_type, email_verified, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String EXISTING_SQL =
+            "SELECT username, email FROM auths WHERE username IN (:usernames) OR email IN (:emails)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ExecutorService hashingExecutor;
+    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    private final int batchSize;
+    private final int maxReportedErrors;
+
+    private final Timer batchTimer;
+    private final Counter importedRows;
+    private final Counter failedRows;
+    private final AtomicLong lastBatchRowsPerSecond = new AtomicLong();
+
+    public BulkImportServiceImpl(JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 ObjectMapper objectMapper,
+                                 Validator validator,
+                                 @Qualifier("passwordHashingExecutor") ExecutorService hashingExecutor,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${auth.bulk-import.batch-size:500}") int batchSize,
+                                 @Value("${auth.bulk-import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.hashingExecutor = hashingExecutor;
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+
+        this.batchTimer = Timer.builder("auth.bulk.import.batch")
+                .description("Time to hash and insert one bulk-import batch")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.importedRows = Counter.builder("auth.bulk.import.rows")
+                .tag("outcome", "imported")
+                .register(meterRegistry);
+        this.failedRows = Counter.builder("auth.bulk.import.rows")
+                .tag("outcome", "failed")
+                .register(meterRegistry);
+        Gauge.builder("auth.bulk.import.throughput", lastBatchRowsPerSecond, AtomicLong::get)
+                .description("Rows per second achieved by the most recent batch")
+                .baseUnit("rows/s")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public BulkImportResponse importUsers(InputStream ndjson) throws IOException {
+        long started = System.nanoTime();
+        ImportReport report = new ImportReport(maxReportedErrors);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8))) {
+            List<PendingRow> chunk = new ArrayList<>(batchSize);
+            long lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                report.received++;
+                PendingRow row = parse(line, lineNumber, report);
+                if (row == null) {
+                    continue;
+                }
+                chunk.add(row);
+                if (chunk.size() == batchSize) {
+                    processChunk(chunk, report);
+                    chunk = new ArrayList<>(batchSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                processChunk(chunk, report);
+            }
+        }
+
+        long elapsedNanos = System.nanoTime() - started;
+        double seconds = elapsedNanos / 1_000_000_000d;
+        log.info("Bulk import finished: received={}, imported={}, failed={} in {} ms",
+                report.received, report.imported, report.failed, TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+
+        return BulkImportResponse.builder()
+                .received(report.received)
+                .imported(report.imported)
+                .failed(report.failed)
+                .durationMs(TimeUnit.NANOSECONDS.toMillis(elapsedNanos))
+                .rowsPerSecond(seconds > 0 ? report.imported / seconds : 0)
+                .errors(report.errors)
+                .errorsTruncated(report.failed > report.errors.size())
+                .build();
+    }
+
+    private PendingRow parse(String line, long lineNumber, ImportReport report) {
+        SignUpRequest request;
+        try {
+            request = objectMapper.readValue(line, SignUpRequest.class);
+        } catch (JsonProcessingException e) {
+            report.fail(lineNumber, null, "Malformed JSON: " + e.getOriginalMessage());
+            failedRows.increment();
+            return null;
+        }
+
+        Set<ConstraintViolation<SignUpRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            String message = violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+            report.fail(lineNumber, request.getUsername(), message);
+            failedRows.increment();
+            return null;
+        }
+        return new PendingRow(lineNumber, request);
+    }
+
+    private void processChunk(List<PendingRow> chunk, ImportReport report) {
+        long started = System.nanoTime();
+
+        List<PendingRow> accepted = rejectConflicts(chunk, report);
+        if (!accepted.isEmpty()) {
+            hashPasswords(accepted);
+            insert(accepted, report);
+        }
+
+        long elapsedNanos = System.nanoTime() - started;
+        batchTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        if (elapsedNanos > 0) {
+            lastBatchRowsPerSecond.set(accepted.size() * 1_000_000_000L / elapsedNanos);
+        }
+    }
+
+    /**
+     * Drops rows whose username or email repeats within the chunk or already exists,
+     * using one IN query per chunk instead of a lookup per row.
+     */
+    private List<PendingRow> rejectConflicts(List<PendingRow> chunk, ImportReport report) {
+        Set<String> usernames = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        List<PendingRow> unique = new ArrayList<>(chunk.size());
+        for (PendingRow row : chunk) {
+            if (!usernames.add(row.request.getUsername()) || !emails.add(row.request.getEmail())) {
+                reject(row, "Duplicate username or email in import", report);
+                continue;
+            }
+            unique.add(row);
+        }
+
+        Set<String> existingUsernames = new HashSet<>();
+        Set<String> existingEmails = new HashSet<>();
+        if (unique.isEmpty()) {
+            return unique;
+        }
+        namedJdbcTemplate.query(EXISTING_SQL,
+                new MapSqlParameterSource()
+                        .addValue("usernames", usernames)
+                        .addValue("emails", emails),
+                rs -> {
+                    existingUsernames.add(rs.getString("username"));
+                    existingEmails.add(rs.getString("email"));
+                });
+
+        List<PendingRow> accepted = new ArrayList<>(unique.size());
+        for (PendingRow row : unique) {
+            if (existingUsernames.contains(row.request.getUsername())
+                    || existingEmails.contains(row.request.getEmail())) {
+                reject(row, "User with this email or username already exists", report);
+                continue;
+            }
+            accepted.add(row);
+        }
+        return accepted;
+    }
+
+    private void hashPasswords(List<PendingRow> rows) {
+        List<CompletableFuture<Void>> futures = new ArrayList<>(rows.size());
+        for (PendingRow row : rows) {
+            futures.add(CompletableFuture.runAsync(
+                    () -> row.passwordHash = passwordEncoder.encode(row.request.getPassword()),
+                    hashingExecutor));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+    }
+
+    private void insert(List<PendingRow> rows, ImportReport report) {
+        LocalDateTime now = LocalDateTime.now();
+        for (PendingRow row : rows) {
+            row.id = UuidV7.next();
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(), (ps, row) -> bind(ps, row, now)));
+            report.imported += rows.size();
+            importedRows.increment(rows.size());
+        } catch (DataAccessException batchFailure) {
+            // A single bad row rolls back the whole batch; replay row by row to isolate it.
+            log.warn("Bulk import batch of {} rows failed, retrying individually: {}",
+                    rows.size(), batchFailure.getMostSpecificCause().getMessage());
+            for (PendingRow row : rows) {
+                try {
+                    jdbcTemplate.update(INSERT_SQL, ps -> bind(ps, row, now));
+                    report.imported++;
+                    importedRows.increment();
+                } catch (DataAccessException rowFailure) {
+                    reject(row, rowFailure.getMostSpecificCause().getMessage(), report);
+                }
+            }
+        }
+    }
+
+    private static void bind(PreparedStatement ps, PendingRow row, LocalDateTime now) throws SQLException {
+        SignUpRequest request = row.request;
+        ps.setObject(1, row.id);
+        ps.setString(2, request.getUsername());
+        ps.setString(3, row.passwordHash);
+        ps.setString(4, request.getEmail());
+        ps.setString(5, request.getCountry());
+        ps.setString(6, request.getProfilePicture());
+        ps.setString(7, request.getBrowserName());
+        ps.setString(8, request.getDeviceType());
+        ps.setBoolean(9, false);
+        ps.setTimestamp(10, Timestamp.valueOf(now));
+        ps.setTimestamp(11, Timestamp.valueOf(now));
+    }
+
+    private void reject(PendingRow row, String message, ImportReport report) {
+        report.fail(row.lineNumber, row.request.getUsername(), message);
+        failedRows.increment();
+    }
+
+    private static final class PendingRow {
+        private final long lineNumber;
+        private final SignUpRequest request;
+        private UUID id;
+        private volatile String passwordHash;
+
+        private PendingRow(long lineNumber, SignUpRequest request) {
+            this.lineNumber = lineNumber;
+            this.request = request;
+        }
+    }
+
+    private static final class ImportReport {
+        private final int maxErrors;
+        private final List<BulkImportResponse.RecordError> errors = new ArrayList<>();
+        private long received;
+        private long imported;
+        private long failed;
+
+        private ImportReport(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        private void fail(long line, String username, String message) {
+            failed++;
+            if (errors.size() < maxErrors) {
+                errors.add(new BulkImportResponse.RecordError(line, username, message));
+            }
+        }
+    }
+}
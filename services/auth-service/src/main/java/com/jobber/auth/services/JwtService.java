@@ -1,30 +1,62 @@
 package com.jobber.auth.services;
 
+import com.jobber.auth.security.JwtKeyStore;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
 import org.springframework.stereotype.Service;
 
 import java.security.Key;
 import java.util.Date;
 import java.util.function.Function;
 
+/**
+ * Issues and verifies ES256 access tokens. Every token carries the {@code kid} of the key
+ * that signed it, so verifiers (this service and the gateway, via the JWKS endpoint) can
+ * pick the right public key across rotations.
+ */
 @Service
 public class JwtService {
     private static final long EXPIRATION_TIME = 1000 * 60 * 60 * 24; // 24 hours
-    private static final String SECRET_KEY = "mySuperSecretKeyForJWTGenerationThatShouldBeVerySecure!";
+
+    private final JwtKeyStore keyStore;
+    private final JwtParser parser;
+
+    public JwtService(JwtKeyStore keyStore) {
+        this.keyStore = keyStore;
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        Key key = header.getKeyId() == null ? null : keyStore.getPublicKey(header.getKeyId());
+                        if (key == null) {
+                            throw new JwtException("Unknown signing key id: " + header.getKeyId());
+                        }
+                        return key;
+                    }
+                })
+                .build();
+    }
 
     public Key getSigningKey() {
-        return Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
+        return keyStore.getSigningKey();
+    }
+
+    public String getSigningKeyId() {
+        return keyStore.getActiveKid();
     }
 
     public String generateToken(String subject) {
         return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, keyStore.getActiveKid())
                 .setSubject(subject)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(getSigningKey(), SignatureAlgorithm.ES256)
                 .compact();
     }
 
@@ -52,11 +84,7 @@ public class JwtService {
     }
 
     public Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
     }
 
 }
@@ -0,0 +1,96 @@
+package com.jobber.auth.tokens;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Clears expired email verification and password reset tokens from {@code auths}, so the
+ * unique token indexes only hold live tokens. Rows are cleared in chunks of
+ * {@code chunk-size}, each statement its own short transaction, up to {@code max-chunks}
+ * chunks per token type and run; the expiration indexes keep each chunk a range scan.
+ */
+@Slf4j
+@Component
+public class AccountTokenCleanup {
+
+    enum TokenType {
+        EMAIL_VERIFICATION("email_verification_token", "email-verification"),
+        PASSWORD_RESET("password_reset_token", "password-reset");
+
+        private final String sql;
+        private final String tag;
+
+        TokenType(String column, String tag) {
+            this.sql = """
+                    UPDATE auths SET %1$s = NULL, %1$s_expiration = NULL
+                    WHERE id IN (SELECT id FROM auths WHERE %1$s_expiration < ? LIMIT ?)
+                    """.formatted(column);
+            this.tag = tag;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Clock clock;
+    private final int chunkSize;
+    private final int maxChunks;
+    private final Map<TokenType, Counter> cleared = new EnumMap<>(TokenType.class);
+
+    @Autowired
+    public AccountTokenCleanup(JdbcTemplate jdbcTemplate,
+                               MeterRegistry meterRegistry,
+                               @Value("${auth.account-tokens.cleanup-chunk-size:1000}") int chunkSize,
+                               @Value("${auth.account-tokens.cleanup-max-chunks:100}") int maxChunks) {
+        this(jdbcTemplate, meterRegistry, chunkSize, maxChunks, Clock.systemDefaultZone());
+    }
+
+    AccountTokenCleanup(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry, int chunkSize, int maxChunks,
+                        Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.clock = clock;
+        this.chunkSize = chunkSize;
+        this.maxChunks = maxChunks;
+        for (TokenType type : TokenType.values()) {
+            cleared.put(type, Counter.builder("auth.account-tokens.cleared")
+                    .description("Expired email verification and password reset tokens removed from auths")
+                    .tag("type", type.tag)
+                    .register(meterRegistry));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${auth.account-tokens.cleanup-interval:PT15M}")
+    public void run() {
+        for (TokenType type : TokenType.values()) {
+            clearExpired(type);
+        }
+    }
+
+    /**
+     * @return the number of tokens cleared
+     */
+    long clearExpired(TokenType type) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now(clock));
+        long total = 0;
+        for (int chunk = 0; chunk < maxChunks; chunk++) {
+            int rows = jdbcTemplate.update(type.sql, now, chunkSize);
+            total += rows;
+            cleared.get(type).increment(rows);
+            if (rows < chunkSize) {
+                return total;
+            }
+        }
+        log.info("Cleared {} expired {} tokens, more remain for the next run", total, type.tag);
+        return total;
+    }
+}
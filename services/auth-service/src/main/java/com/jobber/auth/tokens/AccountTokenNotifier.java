@@ -0,0 +1,13 @@
+package com.jobber.auth.tokens;
+
+import com.jobber.auth.entities.Auth;
+
+/**
+ * Delivers email verification and password reset tokens to the user.
+ */
+public interface AccountTokenNotifier {
+
+    void sendEmailVerification(Auth auth, String token);
+
+    void sendPasswordReset(Auth auth, String token);
+}
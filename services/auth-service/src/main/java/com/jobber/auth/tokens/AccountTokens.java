@@ -0,0 +1,48 @@
+package com.jobber.auth.tokens;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HexFormat;
+
+/**
+ * Single-use tokens sent by email for email verification and password reset. The raw token
+ * only ever leaves in the email; {@code auths} stores its SHA-256 as {@value #HASH_LENGTH}
+ * hex characters, so a leaked row cannot be replayed and every lookup is an exact match on
+ * a fixed-length, uniquely indexed column. The tokens carry 256 random bits, which is why a
+ * fast unsalted hash is enough here, unlike passwords.
+ */
+public final class AccountTokens {
+
+    public static final int HASH_LENGTH = 64;
+
+    private static final int TOKEN_BYTES = 32;
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private AccountTokens() {
+    }
+
+    /**
+     * @return a new URL-safe token to send to the user
+     */
+    public static String generate() {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        RANDOM.nextBytes(bytes);
+        return ENCODER.encodeToString(bytes);
+    }
+
+    /**
+     * @return the value stored for {@code token}, always {@value #HASH_LENGTH} lowercase hex characters
+     */
+    public static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.jobber.auth.tokens;
+
+import com.jobber.auth.entities.Auth;
+import com.jobber.auth.outbox.OutboxWriter;
+import com.jobber.common.events.AccountTokenIssuedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Hands issued tokens to the notification service through the outbox, in the transaction
+ * that stores their hashes: a token is mailed if and only if it can be redeemed.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxAccountTokenNotifier implements AccountTokenNotifier {
+
+    private final OutboxWriter outboxWriter;
+
+    @Override
+    public void sendEmailVerification(Auth auth, String token) {
+        append(auth, AccountTokenIssuedEvent.Purpose.EMAIL_VERIFICATION, token);
+    }
+
+    @Override
+    public void sendPasswordReset(Auth auth, String token) {
+        append(auth, AccountTokenIssuedEvent.Purpose.PASSWORD_RESET, token);
+    }
+
+    private void append(Auth auth, AccountTokenIssuedEvent.Purpose purpose, String token) {
+        outboxWriter.append(auth.getId(), AccountTokenIssuedEvent.TYPE, AccountTokenIssuedEvent.builder()
+                .eventId(UUID.randomUUID())
+                .userId(auth.getId())
+                .username(auth.getUsername())
+                .email(auth.getEmail())
+                .purpose(purpose)
+                .token(token)
+                .occurredAt(Instant.now())
+                .build());
+    }
+}
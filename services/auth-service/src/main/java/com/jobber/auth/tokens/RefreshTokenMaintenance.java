@@ -0,0 +1,232 @@
+package com.jobber.auth.tokens;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps {@code refresh_tokens} from growing without bound.
+ * <p>
+ * When the table is range-partitioned by {@code expiry_date} (see
+ * {@code db/partition-refresh-tokens.sql}) it holds one partition per day, named
+ * {@code refresh_tokens_pYYYYMMDD}. Each run creates the partitions for the next
+ * {@code partitions-ahead} days and drops whole partitions whose tokens all expired more
+ * than {@code retention} ago, so no row is deleted one by one. Otherwise expired rows are
+ * deleted in chunks of {@code purge-chunk-size}, each in its own short transaction, up to
+ * {@code purge-max-chunks} chunks per run.
+ */
+@Slf4j
+@Component
+public class RefreshTokenMaintenance {
+
+    static final String TABLE = "refresh_tokens";
+
+    private static final Pattern PARTITION_NAME = Pattern.compile(TABLE + "_p(\\d{8})");
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private static final String IS_PARTITIONED_SQL =
+            "SELECT c.relkind = 'p' FROM pg_class c WHERE c.oid = to_regclass('" + TABLE + "')";
+    private static final String LIST_PARTITIONS_SQL = """
+            SELECT child.relname
+            FROM pg_inherits i
+            JOIN pg_class parent ON parent.oid = i.inhparent
+            JOIN pg_class child ON child.oid = i.inhrelid
+            WHERE parent.relname = '%s'
+            """.formatted(TABLE);
+    private static final String ESTIMATED_ROWS_SQL =
+            "SELECT GREATEST(reltuples, 0)::bigint FROM pg_class WHERE relname = ?";
+    private static final String DELETE_CHUNK_SQL = """
+            DELETE FROM refresh_tokens
+            WHERE id IN (SELECT id FROM refresh_tokens WHERE expiry_date < ? LIMIT ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final int partitionsAhead;
+    private final Duration retention;
+    private final int purgeChunkSize;
+    private final int purgeMaxChunks;
+    private final Duration ddlLockTimeout;
+
+    private final Timer partitionRuns;
+    private final Timer chunkedRuns;
+    private final Counter rowsDroppedWithPartitions;
+    private final Counter rowsDeleted;
+    private final Counter partitionsCreated;
+    private final Counter partitionsDropped;
+
+    @Autowired
+    public RefreshTokenMaintenance(JdbcTemplate jdbcTemplate,
+                                   PlatformTransactionManager transactionManager,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${auth.refresh-tokens.partitions-ahead:40}") int partitionsAhead,
+                                   @Value("${auth.refresh-tokens.retention:P1D}") Duration retention,
+                                   @Value("${auth.refresh-tokens.purge-chunk-size:5000}") int purgeChunkSize,
+                                   @Value("${auth.refresh-tokens.purge-max-chunks:200}") int purgeMaxChunks,
+                                   @Value("${auth.refresh-tokens.ddl-lock-timeout:PT2S}") Duration ddlLockTimeout) {
+        this(jdbcTemplate, transactionManager, meterRegistry, partitionsAhead, retention, purgeChunkSize,
+                purgeMaxChunks, ddlLockTimeout, Clock.systemDefaultZone());
+    }
+
+    RefreshTokenMaintenance(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry, int partitionsAhead, Duration retention,
+                            int purgeChunkSize, int purgeMaxChunks, Duration ddlLockTimeout, Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        this.partitionsAhead = partitionsAhead;
+        this.retention = retention;
+        this.purgeChunkSize = purgeChunkSize;
+        this.purgeMaxChunks = purgeMaxChunks;
+        this.ddlLockTimeout = ddlLockTimeout;
+
+        this.partitionRuns = Timer.builder("auth.refresh-tokens.maintenance").tag("mode", "partitions")
+                .register(meterRegistry);
+        this.chunkedRuns = Timer.builder("auth.refresh-tokens.maintenance").tag("mode", "chunked-delete")
+                .register(meterRegistry);
+        this.rowsDroppedWithPartitions = Counter.builder("auth.refresh-tokens.purged")
+                .description("Expired refresh tokens removed; estimated from table statistics for dropped partitions")
+                .tag("method", "drop-partition")
+                .register(meterRegistry);
+        this.rowsDeleted = Counter.builder("auth.refresh-tokens.purged")
+                .description("Expired refresh tokens removed; estimated from table statistics for dropped partitions")
+                .tag("method", "delete")
+                .register(meterRegistry);
+        this.partitionsCreated = Counter.builder("auth.refresh-tokens.partitions.created").register(meterRegistry);
+        this.partitionsDropped = Counter.builder("auth.refresh-tokens.partitions.dropped").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${auth.refresh-tokens.maintenance-interval:PT1H}")
+    public void run() {
+        if (isPartitioned()) {
+            partitionRuns.record(this::maintainPartitions);
+        } else {
+            chunkedRuns.record(this::purgeInChunks);
+        }
+    }
+
+    void maintainPartitions() {
+        Set<LocalDate> existing = new TreeSet<>();
+        for (String name : jdbcTemplate.queryForList(LIST_PARTITIONS_SQL, String.class)) {
+            Matcher matcher = PARTITION_NAME.matcher(name);
+            if (matcher.matches()) {
+                existing.add(LocalDate.parse(matcher.group(1), PARTITION_SUFFIX));
+            }
+        }
+        PartitionPlan plan = plan(existing, LocalDateTime.now(clock), partitionsAhead, retention);
+
+        for (LocalDate day : plan.toCreate()) {
+            String sql = "CREATE TABLE IF NOT EXISTS %s PARTITION OF %s FOR VALUES FROM ('%s') TO ('%s')"
+                    .formatted(partitionName(day), TABLE, day, day.plusDays(1));
+            if (executeDdl(sql)) {
+                partitionsCreated.increment();
+            }
+        }
+        for (LocalDate day : plan.toDrop()) {
+            String partition = partitionName(day);
+            Long rows = jdbcTemplate.queryForObject(ESTIMATED_ROWS_SQL, Long.class, partition);
+            if (executeDdl("DROP TABLE IF EXISTS " + partition)) {
+                partitionsDropped.increment();
+                rowsDroppedWithPartitions.increment(rows == null ? 0 : rows);
+            }
+        }
+        if (!plan.toCreate().isEmpty() || !plan.toDrop().isEmpty()) {
+            log.info("Refresh token partitions: created {}, dropped {}", plan.toCreate().size(), plan.toDrop().size());
+        }
+    }
+
+    /**
+     * @return the number of rows deleted
+     */
+    long purgeInChunks() {
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now(clock).minus(retention));
+        long deleted = 0;
+        for (int chunk = 0; chunk < purgeMaxChunks; chunk++) {
+            int rows = jdbcTemplate.update(DELETE_CHUNK_SQL, cutoff, purgeChunkSize);
+            deleted += rows;
+            rowsDeleted.increment(rows);
+            if (rows < purgeChunkSize) {
+                return deleted;
+            }
+        }
+        log.info("Deleted {} expired refresh tokens, more remain for the next run", deleted);
+        return deleted;
+    }
+
+    /**
+     * Works out which daily partitions to create and which to drop. A partition is dropped
+     * once its last possible expiry is more than {@code retention} in the past.
+     */
+    static PartitionPlan plan(Set<LocalDate> existing, LocalDateTime now, int partitionsAhead, Duration retention) {
+        List<LocalDate> toCreate = new ArrayList<>();
+        for (LocalDate day = now.toLocalDate(); !day.isAfter(now.toLocalDate().plusDays(partitionsAhead));
+             day = day.plusDays(1)) {
+            if (!existing.contains(day)) {
+                toCreate.add(day);
+            }
+        }
+        LocalDateTime cutoff = now.minus(retention);
+        List<LocalDate> toDrop = existing.stream()
+                .filter(day -> !day.plusDays(1).atStartOfDay().isAfter(cutoff))
+                .toList();
+        return new PartitionPlan(toCreate, toDrop);
+    }
+
+    static String partitionName(LocalDate day) {
+        return TABLE + "_p" + PARTITION_SUFFIX.format(day);
+    }
+
+    private boolean isPartitioned() {
+        try {
+            return Boolean.TRUE.equals(jdbcTemplate.queryForObject(IS_PARTITIONED_SQL, Boolean.class));
+        } catch (DataAccessException e) {
+            // Not Postgres, or the table does not exist yet.
+            return false;
+        }
+    }
+
+    /**
+     * Runs a partition DDL statement with a lock timeout, so a long-running transaction on
+     * {@code refresh_tokens} delays the change to the next run instead of queueing logins
+     * behind it.
+     */
+    private boolean executeDdl(String sql) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.execute("SET LOCAL lock_timeout = '" + ddlLockTimeout.toMillis() + "ms'");
+                jdbcTemplate.execute(sql);
+            });
+            return true;
+        } catch (DataAccessException e) {
+            log.warn("Refresh token partition maintenance failed, will retry: {} ({})", sql,
+                    e.getMostSpecificCause().getMessage());
+            return false;
+        }
+    }
+
+    record PartitionPlan(List<LocalDate> toCreate, List<LocalDate> toDrop) {
+    }
+}
@@ -0,0 +1,27 @@
+-- Prepares auths for hashed email verification and password reset tokens (see AccountTokens).
+-- Run once before deploying; Hibernate's schema update does not shrink existing columns.
+-- Tokens stored before this change were never usable and are discarded.
+-- Indexes are built concurrently so the table stays writable; run outside a transaction.
+
+UPDATE auths SET email_verification_token = NULL
+WHERE email_verification_token IS NOT NULL;
+UPDATE auths SET password_reset_token = NULL, password_reset_token_expiration = NULL
+WHERE password_reset_token IS NOT NULL;
+
+ALTER TABLE auths
+    ALTER COLUMN email_verification_token TYPE varchar(64),
+    ALTER COLUMN password_reset_token TYPE varchar(64),
+    ADD COLUMN IF NOT EXISTS email_verification_token_expiration timestamp(6);
+
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS uk_auths_email_verification_token
+    ON auths (email_verification_token);
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS uk_auths_password_reset_token
+    ON auths (password_reset_token);
+ALTER TABLE auths
+    ADD CONSTRAINT uk_auths_email_verification_token UNIQUE USING INDEX uk_auths_email_verification_token,
+    ADD CONSTRAINT uk_auths_password_reset_token UNIQUE USING INDEX uk_auths_password_reset_token;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_auths_email_verification_token_expiration
+    ON auths (email_verification_token_expiration);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_auths_password_reset_token_expiration
+    ON auths (password_reset_token_expiration);
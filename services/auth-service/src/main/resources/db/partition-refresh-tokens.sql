@@ -0,0 +1,54 @@
+-- Converts refresh_tokens into a table range-partitioned by expiry_date with one partition
+-- per day. Run once, in a maintenance window, while auth-service is stopped.
+-- RefreshTokenMaintenance then creates future partitions and drops expired ones.
+-- Expired tokens are not copied.
+
+BEGIN;
+
+ALTER TABLE refresh_tokens RENAME TO refresh_tokens_unpartitioned;
+ALTER TABLE refresh_tokens_unpartitioned RENAME CONSTRAINT refresh_tokens_pkey TO refresh_tokens_unpartitioned_pkey;
+ALTER TABLE refresh_tokens_unpartitioned DROP CONSTRAINT IF EXISTS uk_refresh_tokens_token;
+DROP INDEX IF EXISTS idx_refresh_tokens_expiry_date;
+
+-- Primary and unique keys of a partitioned table must include the partition key.
+CREATE TABLE refresh_tokens (
+    id          uuid         NOT NULL,
+    token       varchar(255) NOT NULL,
+    user_id     uuid         NOT NULL,
+    expiry_date timestamp(6) NOT NULL,
+    created_at  timestamp(6) NOT NULL,
+    updated_at  timestamp(6),
+    is_revoked  boolean      NOT NULL,
+    device_info varchar(255),
+    ip_address  varchar(255),
+    CONSTRAINT refresh_tokens_pkey PRIMARY KEY (id, expiry_date),
+    CONSTRAINT uk_refresh_tokens_token UNIQUE (token, expiry_date)
+) PARTITION BY RANGE (expiry_date);
+
+CREATE INDEX idx_refresh_tokens_expiry_date ON refresh_tokens (expiry_date);
+
+-- Catches tokens issued beyond the pre-created partitions; it should stay empty.
+CREATE TABLE refresh_tokens_default PARTITION OF refresh_tokens DEFAULT;
+
+DO $$
+DECLARE
+    day date := current_date;
+    last_day date := GREATEST(current_date + 40,
+                              (SELECT max(expiry_date)::date FROM refresh_tokens_unpartitioned));
+BEGIN
+    WHILE day <= last_day LOOP
+        EXECUTE format('CREATE TABLE refresh_tokens_p%s PARTITION OF refresh_tokens FOR VALUES FROM (%L) TO (%L)',
+                       to_char(day, 'YYYYMMDD'), day, day + 1);
+        day := day + 1;
+    END LOOP;
+END $$;
+
+INSERT INTO refresh_tokens (id, token, user_id, expiry_date, created_at, updated_at, is_revoked,
+                            device_info, ip_address)
+SELECT id, token, user_id, expiry_date, created_at, updated_at, is_revoked, device_info, ip_address
+FROM refresh_tokens_unpartitioned
+WHERE expiry_date >= current_date;
+
+DROP TABLE refresh_tokens_unpartitioned;
+
+COMMIT;
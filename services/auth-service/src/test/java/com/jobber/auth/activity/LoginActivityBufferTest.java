@@ -0,0 +1,166 @@
+package com.jobber.auth.activity;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link LoginActivityBuffer} against an embedded H2 database.
+ */
+class LoginActivityBufferTest {
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private final AtomicLong now = new AtomicLong(1_700_000_000_000L);
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("""
+                CREATE TABLE auths (
+                    id UUID PRIMARY KEY,
+                    browser_name VARCHAR(255),
+                    device_type VARCHAR(255),
+                    last_login TIMESTAMP
+                )
+                """);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    /**
+     * Test: Should write only the latest activity per user, keeping unset fields.
+     */
+    @Test
+    void flush_CoalescesRepeatedLoginsPerUser() {
+        UUID userId = insertUsers(1).get(0);
+        LoginActivityBuffer buffer = buffer(100, 10);
+
+        buffer.record(userId, "Chrome", "Desktop");
+        now.addAndGet(1_000);
+        buffer.record(userId, "Firefox", null);
+        buffer.flush();
+
+        assertThat(jdbcTemplate.queryForMap("SELECT browser_name, device_type, last_login FROM auths"))
+                .containsEntry("BROWSER_NAME", "Firefox")
+                .containsEntry("DEVICE_TYPE", "Desktop");
+        assertThat(meterRegistry.get("auth.login.activity.rows").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("auth.login.activity.coalesced").counter().count()).isEqualTo(1);
+        assertThat(buffer.pendingCount()).isZero();
+    }
+
+    /**
+     * Test: Should flush synchronously instead of growing past the configured bound.
+     */
+    @Test
+    void record_BufferFull_FlushesInline() {
+        List<UUID> userIds = insertUsers(5);
+        LoginActivityBuffer buffer = buffer(3, 10);
+
+        userIds.forEach(userId -> buffer.record(userId, "Chrome", "Desktop"));
+
+        assertThat(buffer.pendingCount()).isLessThanOrEqualTo(3);
+        assertThat(meterRegistry.get("auth.login.activity.overflow.flushes").counter().count()).isEqualTo(1);
+        buffer.flushOnShutdown();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM auths WHERE last_login IS NOT NULL", Integer.class)).isEqualTo(5);
+    }
+
+    /**
+     * Test: Should stay within the bound and stop flushing inline while the database fails.
+     */
+    @Test
+    void record_FlushFailing_DropsInsteadOfGrowing() {
+        List<UUID> userIds = insertUsers(10);
+        LoginActivityBuffer buffer = buffer(3, 10);
+        jdbcTemplate.execute("ALTER TABLE auths RENAME TO auths_offline");
+
+        userIds.forEach(userId -> buffer.record(userId, "Chrome", "Desktop"));
+        buffer.flush();
+
+        assertThat(buffer.pendingCount()).isLessThanOrEqualTo(3);
+        assertThat(meterRegistry.get("auth.login.activity.overflow.flushes").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("auth.login.activity.dropped").counter().count()).isEqualTo(7);
+
+        jdbcTemplate.execute("ALTER TABLE auths_offline RENAME TO auths");
+        buffer.flush();
+
+        assertThat(buffer.pendingCount()).isZero();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM auths WHERE last_login IS NOT NULL", Integer.class)).isEqualTo(3);
+    }
+
+    /**
+     * Test: 5k logins/sec for 10 seconds over 2,000 active users, flushed every second,
+     * compared with one UPDATE statement per login.
+     */
+    @Test
+    void flush_At5kLoginsPerSecond_ReducesWriteStatements() {
+        List<UUID> userIds = insertUsers(2_000);
+        LoginActivityBuffer buffer = buffer(100_000, 500);
+        Random random = new Random(7);
+        int loginsPerSecond = 5_000;
+        int seconds = 10;
+
+        for (int second = 0; second < seconds; second++) {
+            for (int i = 0; i < loginsPerSecond; i++) {
+                now.addAndGet(1000L / loginsPerSecond);
+                buffer.record(userIds.get(random.nextInt(userIds.size())), "Chrome", "Desktop");
+            }
+            buffer.flush();
+        }
+
+        long logins = (long) loginsPerSecond * seconds;
+        double rows = meterRegistry.get("auth.login.activity.rows").counter().count();
+        double batches = meterRegistry.get("auth.login.activity.batches").counter().count();
+
+        // At most one row per active user per flush, and 500 rows per round trip.
+        assertThat(rows).isLessThanOrEqualTo(userIds.size() * seconds);
+        assertThat(logins / rows).as("logins per row update").isGreaterThan(2.4);
+        assertThat(batches).isLessThanOrEqualTo(4 * seconds);
+        assertThat(logins / batches).as("logins per batch round trip").isGreaterThan(1_000);
+        assertThat(meterRegistry.get("auth.login.activity.flush.lag").timer().max(TimeUnit.MILLISECONDS))
+                .isLessThanOrEqualTo(1_000);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM auths WHERE last_login IS NOT NULL", Integer.class)).isEqualTo(userIds.size());
+    }
+
+    private LoginActivityBuffer buffer(int maxPending, int batchSize) {
+        return new LoginActivityBuffer(jdbcTemplate, meterRegistry, maxPending, batchSize, now::get);
+    }
+
+    private List<UUID> insertUsers(int count) {
+        List<UUID> userIds = new ArrayList<>(count);
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            UUID userId = UUID.randomUUID();
+            userIds.add(userId);
+            rows.add(new Object[]{userId});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO auths (id) VALUES (?)", rows);
+        return userIds;
+    }
+}
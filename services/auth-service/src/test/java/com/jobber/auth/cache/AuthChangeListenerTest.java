@@ -0,0 +1,70 @@
+package com.jobber.auth.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuthChangeListenerTest {
+
+    @Mock
+    private AuthProfileCache authProfileCache;
+
+    private AuthChangeListener listener;
+
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        listener = new AuthChangeListener(mock(DataSource.class), authProfileCache,
+                new ObjectMapper(), true, Duration.ofMillis(500), Duration.ofSeconds(5));
+    }
+
+    /**
+     * Test: Should evict the profile but keep the username when only the email changed.
+     */
+    @Test
+    void handle_EmailChanged_KeepsUsername() {
+        listener.handle(payload("alice", "alice"));
+
+        verify(authProfileCache).evictProfile(userId);
+        verify(authProfileCache, never()).evictUsername(anyString());
+    }
+
+    /**
+     * Test: Should evict the old username of a renamed account.
+     */
+    @Test
+    void handle_Renamed_EvictsOldUsername() {
+        listener.handle(payload("alice", "alicia"));
+
+        verify(authProfileCache).evictProfile(userId);
+        verify(authProfileCache).evictUsername("alice");
+    }
+
+    /**
+     * Test: Should evict the username of a deleted account.
+     */
+    @Test
+    void handle_Deleted_EvictsUsername() {
+        listener.handle("{\"id\":\"" + userId + "\",\"oldUsername\":\"alice\",\"newUsername\":null}");
+
+        verify(authProfileCache).evictProfile(userId);
+        verify(authProfileCache).evictUsername("alice");
+    }
+
+    private String payload(String oldUsername, String newUsername) {
+        return "{\"id\":\"" + userId + "\",\"oldUsername\":\"" + oldUsername
+                + "\",\"newUsername\":\"" + newUsername + "\"}";
+    }
+}
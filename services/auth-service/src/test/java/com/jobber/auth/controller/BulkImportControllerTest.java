@@ -0,0 +1,65 @@
+package com.jobber.auth.controller;
+
+import com.jobber.auth.controllers.BulkImportController;
+import com.jobber.auth.domain.dtos.response.BulkImportResponse;
+import com.jobber.auth.services.BulkImportService;
+import com.jobber.common.exceptions.ForbiddenException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BulkImportControllerTest {
+
+    @Mock
+    private BulkImportService bulkImportService;
+
+    private final InputStream body = new ByteArrayInputStream(new byte[0]);
+
+    /**
+     * Test: Should run the import when the admin token matches.
+     */
+    @Test
+    void bulkImport_ValidToken_Imports() throws Exception {
+        BulkImportResponse response = BulkImportResponse.builder().build();
+        when(bulkImportService.importUsers(body)).thenReturn(response);
+        BulkImportController controller = new BulkImportController(bulkImportService, "s3cret");
+
+        ResponseEntity<BulkImportResponse> result = controller.bulkImport("s3cret", body);
+
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertSame(response, result.getBody());
+    }
+
+    /**
+     * Test: Should reject a missing or wrong admin token without reading the body.
+     */
+    @Test
+    void bulkImport_InvalidToken_Forbidden() {
+        BulkImportController controller = new BulkImportController(bulkImportService, "s3cret");
+
+        assertThrows(ForbiddenException.class, () -> controller.bulkImport(null, body));
+        assertThrows(ForbiddenException.class, () -> controller.bulkImport("guess", body));
+        verifyNoInteractions(bulkImportService);
+    }
+
+    /**
+     * Test: Should reject every request while no admin token is configured.
+     */
+    @Test
+    void bulkImport_NoTokenConfigured_Forbidden() {
+        BulkImportController controller = new BulkImportController(bulkImportService, "");
+
+        assertThrows(ForbiddenException.class, () -> controller.bulkImport("", body));
+        verifyNoInteractions(bulkImportService);
+    }
+}
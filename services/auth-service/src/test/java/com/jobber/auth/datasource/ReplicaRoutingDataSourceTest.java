@@ -0,0 +1,244 @@
+package com.jobber.auth.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ReplicaRoutingDataSource} with two embedded H2 databases standing in for
+ * the primary and the replica, and {@link LastWriteCookie} keeping writes with the client.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private static final String LAG_QUERY = "SELECT seconds FROM replica_lag";
+    private static final Duration STICKY_WINDOW = Duration.ofMinutes(1);
+    private static final Instant NOW = Instant.parse("2026-05-01T10:00:00Z");
+
+    private EmbeddedDatabase primary;
+    private EmbeddedDatabase replica;
+    private SimpleMeterRegistry meterRegistry;
+    private ReplicaRoutingDataSource routingDataSource;
+    private JdbcTemplate jdbcTemplate;
+    private DataSourceTransactionManager transactionManager;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica = database("replica");
+        new JdbcTemplate(replica).execute("CREATE TABLE replica_lag (seconds DOUBLE)");
+        setReplicaLag(0.2);
+
+        meterRegistry = new SimpleMeterRegistry();
+        routingDataSource = newInstance(meterRegistry);
+        useInstance(routingDataSource);
+        startRequest(new MockHttpServletRequest());
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        primary.shutdown();
+        replica.shutdown();
+    }
+
+    /**
+     * Test: Should run read-only transactions on the replica.
+     */
+    @Test
+    void readOnlyTransaction_ReplicaHealthy_UsesReplica() {
+        assertThat(serverOf(true)).isEqualTo("replica");
+        assertThat(routingCount("replica", "read_only")).isEqualTo(1);
+    }
+
+    /**
+     * Test: Should run read-write transactions on the primary.
+     */
+    @Test
+    void readWriteTransaction_UsesPrimary() {
+        assertThat(serverOf(false)).isEqualTo("primary");
+        assertThat(routingCount("primary", "write")).isEqualTo(1);
+    }
+
+    /**
+     * Test: Should keep a client's reads on the primary after it wrote, on whichever instance
+     * serves its next request, but not other clients' reads.
+     */
+    @Test
+    void readOnlyTransaction_AfterWriteBySameClient_StaysOnPrimaryOnEveryInstance() {
+        write();
+        assertThat(serverOf(true)).isEqualTo("primary");
+        assertThat(routingCount("primary", "sticky")).isEqualTo(1);
+
+        MockHttpServletResponse written = response;
+        MockHttpServletRequest next = new MockHttpServletRequest();
+        next.setCookies(written.getCookie(LastWriteCookie.COOKIE));
+        startRequest(next);
+        useInstance(newInstance(new SimpleMeterRegistry()));
+        assertThat(serverOf(true)).isEqualTo("primary");
+
+        MockHttpServletRequest echoed = new MockHttpServletRequest();
+        echoed.addHeader(LastWriteCookie.HEADER, written.getHeader(LastWriteCookie.HEADER));
+        startRequest(echoed);
+        assertThat(serverOf(true)).isEqualTo("primary");
+
+        startRequest(new MockHttpServletRequest());
+        assertThat(serverOf(true)).isEqualTo("replica");
+    }
+
+    /**
+     * Test: Should not pin the client to the primary for a read-write transaction that only read.
+     */
+    @Test
+    void readOnlyTransaction_AfterReadWriteTransactionWithoutWrites_UsesReplica() {
+        serverOf(false);
+
+        assertThat(serverOf(true)).isEqualTo("replica");
+        assertThat(response.getCookie(LastWriteCookie.COOKIE)).isNull();
+    }
+
+    /**
+     * Test: Should not pin the client to the primary for a write that was rolled back.
+     */
+    @Test
+    void readOnlyTransaction_AfterRolledBackWrite_UsesReplica() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE server SET name = name");
+            status.setRollbackOnly();
+        });
+
+        assertThat(serverOf(true)).isEqualTo("replica");
+        assertThat(response.getCookie(LastWriteCookie.COOKIE)).isNull();
+    }
+
+    /**
+     * Test: Should ignore a last write older than the sticky window, or claimed in the future.
+     */
+    @Test
+    void readOnlyTransaction_LastWriteOutsideWindow_UsesReplica() {
+        for (Instant lastWrite : new Instant[] {NOW.minus(STICKY_WINDOW), NOW.plus(Duration.ofDays(365))}) {
+            MockHttpServletRequest request = new MockHttpServletRequest();
+            request.addHeader(LastWriteCookie.HEADER, Long.toString(lastWrite.toEpochMilli()));
+            startRequest(request);
+
+            assertThat(serverOf(true)).isEqualTo("replica");
+        }
+    }
+
+    /**
+     * Test: Should route reads to the primary while the replica lags too far behind.
+     */
+    @Test
+    void readOnlyTransaction_ReplicaLagging_UsesPrimaryUntilCaughtUp() {
+        setReplicaLag(30);
+        routingDataSource.refreshReplicaLag();
+
+        assertThat(serverOf(true)).isEqualTo("primary");
+        assertThat(routingCount("primary", "lag")).isEqualTo(1);
+        assertThat(meterRegistry.get("auth.datasource.replica.lag").gauge().value()).isEqualTo(30.0);
+
+        setReplicaLag(1);
+        routingDataSource.refreshReplicaLag();
+        assertThat(serverOf(true)).isEqualTo("replica");
+    }
+
+    /**
+     * Test: Should route reads to the primary when the lag cannot be measured.
+     */
+    @Test
+    void readOnlyTransaction_LagProbeFails_UsesPrimary() {
+        new JdbcTemplate(replica).execute("DROP TABLE replica_lag");
+        routingDataSource.refreshReplicaLag();
+
+        assertThat(routingDataSource.getReplicaLagSeconds()).isNaN();
+        assertThat(serverOf(true)).isEqualTo("primary");
+    }
+
+    /**
+     * Test: Should run everything on the primary when no replica is configured.
+     */
+    @Test
+    void readOnlyTransaction_NoReplica_UsesPrimary() {
+        ReplicaRoutingDataSource withoutReplica = new ReplicaRoutingDataSource(primary, null,
+                new LastWriteCookie(STICKY_WINDOW), LAG_QUERY, Duration.ofSeconds(10), STICKY_WINDOW,
+                new SimpleMeterRegistry());
+        withoutReplica.afterPropertiesSet();
+        withoutReplica.refreshReplicaLag();
+        useInstance(withoutReplica);
+
+        assertThat(withoutReplica.hasReplica()).isFalse();
+        assertThat(serverOf(true)).isEqualTo("primary");
+    }
+
+    private ReplicaRoutingDataSource newInstance(SimpleMeterRegistry registry) {
+        ReplicaRoutingDataSource instance = new ReplicaRoutingDataSource(primary, replica,
+                new LastWriteCookie(STICKY_WINDOW), LAG_QUERY, Duration.ofSeconds(10), STICKY_WINDOW, registry,
+                Clock.fixed(NOW, ZoneOffset.UTC));
+        instance.afterPropertiesSet();
+        instance.refreshReplicaLag();
+        return instance;
+    }
+
+    private void useInstance(ReplicaRoutingDataSource instance) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(instance);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+    }
+
+    private void startRequest(MockHttpServletRequest request) {
+        response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+    }
+
+    private String serverOf(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM server", String.class));
+    }
+
+    private void write() {
+        new TransactionTemplate(transactionManager)
+                .executeWithoutResult(status -> jdbcTemplate.update("UPDATE server SET name = name"));
+    }
+
+    private void setReplicaLag(double seconds) {
+        JdbcTemplate replicaJdbc = new JdbcTemplate(replica);
+        replicaJdbc.update("DELETE FROM replica_lag");
+        replicaJdbc.update("INSERT INTO replica_lag (seconds) VALUES (?)", seconds);
+    }
+
+    private double routingCount(String target, String reason) {
+        return meterRegistry.get("auth.datasource.routing").tag("target", target).tag("reason", reason)
+                .counter().count();
+    }
+
+    private static EmbeddedDatabase database(String name) {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE server (name VARCHAR(20))");
+        jdbcTemplate.update("INSERT INTO server (name) VALUES (?)", name);
+        return database;
+    }
+}
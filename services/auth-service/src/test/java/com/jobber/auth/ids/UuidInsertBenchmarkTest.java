@@ -0,0 +1,80 @@
+package com.jobber.auth.ids;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Inserts the same number of rows keyed by random (v4) and time-ordered (v7) UUIDs into a
+ * local Postgres and reports throughput and primary-key index size. Run with
+ * {@code -Dbenchmarks=true}; the database and row count can be set with
+ * {@code -Dbenchmark.postgres.url=...} and {@code -Dbenchmark.rows=...} (10M by default).
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class UuidInsertBenchmarkTest {
+
+    private static final String URL = System.getProperty("benchmark.postgres.url",
+            "jdbc:postgresql://localhost:5432/jobber_dev?user=postgres&password=postgres&reWriteBatchedInserts=true");
+    private static final long ROWS = Long.getLong("benchmark.rows", 10_000_000L);
+    private static final int BATCH = 1_000;
+    private static final int BATCHES_PER_COMMIT = 50;
+
+    @Test
+    void insert_RandomVersusTimeOrderedIds() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(URL)) {
+            Result random = run(connection, "uuid_bench_v4", UUID::randomUUID);
+            Result ordered = run(connection, "uuid_bench_v7", UuidV7::next);
+
+            System.out.printf("UUID inserts (%,d rows): v4 %,.0f rows/s, pk %,d MB; v7 %,.0f rows/s, pk %,d MB%n",
+                    ROWS, random.rowsPerSecond, random.indexBytes >> 20,
+                    ordered.rowsPerSecond, ordered.indexBytes >> 20);
+        }
+    }
+
+    private static Result run(Connection connection, String table, Supplier<UUID> ids) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + table);
+            // Same shape as the indexed part of auths: uuid key plus a timestamp.
+            statement.execute("CREATE TABLE " + table + " (id uuid PRIMARY KEY, created_at timestamp NOT NULL)");
+        }
+        connection.setAutoCommit(false);
+        long started = System.nanoTime();
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO " + table + " (id, created_at) VALUES (?, now())")) {
+            for (long row = 1; row <= ROWS; row++) {
+                insert.setObject(1, ids.get());
+                insert.addBatch();
+                if (row % BATCH == 0 || row == ROWS) {
+                    insert.executeBatch();
+                    if (row % (BATCH * BATCHES_PER_COMMIT) == 0 || row == ROWS) {
+                        connection.commit();
+                    }
+                }
+            }
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        connection.setAutoCommit(true);
+
+        long indexBytes;
+        try (Statement statement = connection.createStatement();
+             ResultSet size = statement.executeQuery("SELECT pg_relation_size('" + table + "_pkey')")) {
+            size.next();
+            indexBytes = size.getLong(1);
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE " + table);
+        }
+        return new Result(ROWS / seconds, indexBytes);
+    }
+
+    private record Result(double rowsPerSecond, long indexBytes) {
+    }
+}
@@ -0,0 +1,69 @@
+package com.jobber.auth.ids;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UuidV7Test {
+
+    @Test
+    void generate_SetsVersionVariantAndTimestamp() {
+        UuidV7 generator = new UuidV7(() -> 1_700_000_000_123L);
+
+        UUID id = generator.generate();
+
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+        assertThat(UuidV7.timestamp(id)).isEqualTo(1_700_000_000_123L);
+    }
+
+    @Test
+    void generate_SameMillisecond_StaysInCreationOrder() {
+        UuidV7 generator = new UuidV7(() -> 1_700_000_000_000L);
+
+        // More ids than the 12-bit sequence holds, so the timestamp has to move ahead.
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(generator.generate().toString());
+        }
+
+        // The canonical text form sorts like the bytes, which is how Postgres orders uuid.
+        assertThat(ids).isSorted().doesNotHaveDuplicates();
+    }
+
+    @Test
+    void generate_ClockMovesBack_NeverGoesBackwards() {
+        AtomicLong clock = new AtomicLong(1_700_000_000_500L);
+        UuidV7 generator = new UuidV7(clock::get);
+
+        UUID before = generator.generate();
+        clock.set(1_700_000_000_000L);
+        UUID after = generator.generate();
+
+        assertThat(after.toString()).isGreaterThan(before.toString());
+        assertThat(UuidV7.timestamp(after)).isEqualTo(1_700_000_000_500L);
+    }
+
+    @Test
+    void generate_LaterMillisecond_SortsAfterEarlierIds() {
+        AtomicLong clock = new AtomicLong(1_700_000_000_000L);
+        UuidV7 generator = new UuidV7(clock::get);
+
+        UUID first = generator.generate();
+        clock.incrementAndGet();
+
+        assertThat(generator.generate().toString()).isGreaterThan(first.toString());
+    }
+
+    @Test
+    void timestamp_RandomUuid_IsRejected() {
+        assertThatThrownBy(() -> UuidV7.timestamp(UUID.randomUUID()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
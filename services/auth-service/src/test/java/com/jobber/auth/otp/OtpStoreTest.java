@@ -0,0 +1,264 @@
+package com.jobber.auth.otp;
+
+import com.jobber.auth.entities.PendingOtp;
+import com.jobber.auth.repositories.PendingOtpRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assumptions.assumeThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OtpStoreTest {
+
+    private final Map<UUID, PendingOtp> rows = new ConcurrentHashMap<>();
+    private PendingOtpRepository pendingOtpRepository;
+
+    private MutableClock clock;
+    private OtpStore otpStore;
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(1_700_000_000_000L);
+        pendingOtpRepository = tableBackedRepository();
+        otpStore = newInstance();
+    }
+
+    @Test
+    void issue_ReturnsSixDigitCodeAndPersistsCompactRow() {
+        String otp = otpStore.issue(userId, 42L);
+
+        assertThat(otp).hasSize(6).containsOnlyDigits();
+        ArgumentCaptor<PendingOtp> saved = ArgumentCaptor.forClass(PendingOtp.class);
+        verify(pendingOtpRepository).save(saved.capture());
+        assertThat(OtpCodes.format(saved.getValue().getCode(), 6)).isEqualTo(otp);
+        assertThat(saved.getValue().getDeviceHash()).isEqualTo(42L);
+    }
+
+    @Test
+    void verify_CorrectCode_ReturnsDeviceAndConsumesOtp() {
+        String otp = otpStore.issue(userId, 42L);
+
+        assertThat(otpStore.verify(userId, otp)).isEqualTo(OptionalLong.of(42L));
+        assertThat(rows).doesNotContainKey(userId);
+        assertThat(otpStore.verify(userId, otp)).isEmpty();
+    }
+
+    @Test
+    void verify_TooManyWrongCodes_DiscardsOtp() {
+        String otp = otpStore.issue(userId, 42L);
+        String wrong = wrongCode(otp);
+
+        assertThat(otpStore.verify(userId, wrong)).isEmpty();
+        assertThat(otpStore.verify(userId, wrong)).isEmpty();
+        assertThat(otpStore.verify(userId, wrong)).isEmpty();
+
+        assertThat(rows).doesNotContainKey(userId);
+        assertThat(otpStore.verify(userId, otp)).isEmpty();
+    }
+
+    @Test
+    void expire_AfterTtl_DropsOtpAndDeletesRowsInOneStatement() {
+        otpStore.issue(userId, 42L);
+        UUID other = UUID.randomUUID();
+        otpStore.issue(other, 7L);
+
+        clock.advance(Duration.ofMinutes(5).plusSeconds(1));
+        otpStore.expire();
+
+        assertThat(otpStore.pendingCount()).isZero();
+        ArgumentCaptor<List<UUID>> deleted = ArgumentCaptor.captor();
+        verify(pendingOtpRepository).deleteExpired(deleted.capture(), any(LocalDateTime.class));
+        assertThat(deleted.getValue()).containsExactlyInAnyOrder(userId, other);
+    }
+
+    @Test
+    void expire_ReissuedOtp_IsKept() {
+        otpStore.issue(userId, 42L);
+        clock.advance(Duration.ofMinutes(4));
+        String reissued = otpStore.issue(userId, 42L);
+
+        clock.advance(Duration.ofMinutes(2));
+        otpStore.expire();
+
+        verify(pendingOtpRepository, never()).deleteExpired(any(), any());
+        assertThat(otpStore.verify(userId, reissued)).isEqualTo(OptionalLong.of(42L));
+    }
+
+    @Test
+    void verify_OtpIssuedByAnotherInstance_IsLoadedFromTable() {
+        String otp = newInstance().issue(userId, 9L);
+
+        assertThat(otpStore.verify(userId, otp)).isEqualTo(OptionalLong.of(9L));
+        assertThat(rows).doesNotContainKey(userId);
+    }
+
+    /**
+     * Test: Should accept an OTP once even though both instances hold it in memory.
+     */
+    @Test
+    void verify_SameOtpOnTwoInstances_AcceptedOnce() {
+        OtpStore other = newInstance();
+        String otp = otpStore.issue(userId, 42L);
+        String wrong = wrongCode(otp);
+        assertThat(other.verify(userId, wrong)).isEmpty();
+
+        assertThat(other.verify(userId, otp)).isEqualTo(OptionalLong.of(42L));
+        assertThat(otpStore.verify(userId, otp)).isEmpty();
+        assertThat(other.verify(userId, otp)).isEmpty();
+    }
+
+    /**
+     * Test: Should count wrong codes across instances, so spreading guesses gains nothing.
+     */
+    @Test
+    void verify_WrongCodesOnTwoInstances_CountedTogether() {
+        OtpStore other = newInstance();
+        String otp = otpStore.issue(userId, 42L);
+        String wrong = wrongCode(otp);
+
+        assertThat(otpStore.verify(userId, wrong)).isEmpty();
+        assertThat(other.verify(userId, wrong)).isEmpty();
+        assertThat(otpStore.verify(userId, wrong)).isEmpty();
+
+        assertThat(other.verify(userId, otp)).isEmpty();
+        assertThat(otpStore.verify(userId, otp)).isEmpty();
+    }
+
+    /**
+     * Test: Should accept a code reissued by another instance even though this one holds the old code.
+     */
+    @Test
+    void verify_ReissuedOnAnotherInstance_StaleHintReplaced() {
+        OtpStore other = newInstance();
+        String first = otpStore.issue(userId, 42L);
+        String second = other.issue(userId, 43L);
+        assumeThat(second).isNotEqualTo(first);
+
+        assertThat(otpStore.verify(userId, second)).isEqualTo(OptionalLong.of(43L));
+    }
+
+    @Test
+    void format_PadsWithLeadingZeros() {
+        assertThat(OtpCodes.format(42, 6)).isEqualTo("000042");
+        assertThat(OtpCodes.matches(42, "000042", 6)).isTrue();
+        assertThat(OtpCodes.matches(42, "42", 6)).isFalse();
+    }
+
+    private OtpStore newInstance() {
+        return new OtpStore(pendingOtpRepository, new SimpleMeterRegistry(), 6, Duration.ofMinutes(5), 3,
+                Duration.ofSeconds(1), 64, clock);
+    }
+
+    private static String wrongCode(String otp) {
+        return otp.equals("000000") ? "000001" : "000000";
+    }
+
+    /**
+     * A repository over {@link #rows} whose statements behave like those on {@code auth_otps},
+     * each applied atomically to one row.
+     */
+    private PendingOtpRepository tableBackedRepository() {
+        PendingOtpRepository repository = mock(PendingOtpRepository.class);
+        when(repository.save(any())).thenAnswer(invocation -> {
+            PendingOtp row = invocation.getArgument(0);
+            rows.put(row.getUserId(), copy(row));
+            return row;
+        });
+        when(repository.findById(any())).thenAnswer(invocation ->
+                Optional.ofNullable(rows.get(invocation.<UUID>getArgument(0))).map(OtpStoreTest::copy));
+        when(repository.consume(any(), anyInt(), anyLong(), anyInt(), any())).thenAnswer(invocation -> {
+            int code = invocation.getArgument(1);
+            long deviceHash = invocation.getArgument(2);
+            int maxAttempts = invocation.getArgument(3);
+            LocalDateTime now = invocation.getArgument(4);
+            boolean[] deleted = {false};
+            rows.computeIfPresent(invocation.getArgument(0), (id, row) -> {
+                deleted[0] = row.getCode() == code && row.getDeviceHash() == deviceHash
+                        && row.getAttempts() < maxAttempts && row.getExpiresAt().isAfter(now);
+                return deleted[0] ? null : row;
+            });
+            return deleted[0] ? 1 : 0;
+        });
+        when(repository.recordFailedAttempt(any(), anyInt(), any())).thenAnswer(invocation -> {
+            int maxAttempts = invocation.getArgument(1);
+            LocalDateTime now = invocation.getArgument(2);
+            int[] attempts = {0};
+            rows.computeIfPresent(invocation.getArgument(0), (id, row) -> {
+                if (row.getAttempts() < maxAttempts && row.getExpiresAt().isAfter(now)) {
+                    row.setAttempts(row.getAttempts() + 1);
+                    attempts[0] = row.getAttempts();
+                }
+                return row;
+            });
+            return attempts[0] > 0 ? 1 : 0;
+        });
+        when(repository.findAttempts(any())).thenAnswer(invocation ->
+                Optional.ofNullable(rows.get(invocation.<UUID>getArgument(0))).map(PendingOtp::getAttempts));
+        when(repository.deleteExhausted(any(), anyInt())).thenAnswer(invocation -> {
+            int maxAttempts = invocation.getArgument(1);
+            return rows.computeIfPresent(invocation.getArgument(0), (id, row) ->
+                    row.getAttempts() >= maxAttempts ? null : row) == null ? 1 : 0;
+        });
+        return repository;
+    }
+
+    private static PendingOtp copy(PendingOtp row) {
+        return PendingOtp.builder()
+                .userId(row.getUserId())
+                .code(row.getCode())
+                .deviceHash(row.getDeviceHash())
+                .expiresAt(row.getExpiresAt())
+                .attempts(row.getAttempts())
+                .build();
+    }
+
+    private static final class MutableClock extends Clock {
+        private long millis;
+
+        private MutableClock(long millis) {
+            this.millis = millis;
+        }
+
+        private void advance(Duration duration) {
+            millis += duration.toMillis();
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.jobber.auth.otp;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimingWheelTest {
+
+    @Test
+    void advance_ReturnsOnlyKeysPastTheirDeadline() {
+        TimingWheel<String> wheel = new TimingWheel<>(Duration.ofSeconds(1), 8, 0);
+        wheel.schedule("a", 2_000);
+        wheel.schedule("b", 5_000);
+
+        assertThat(wheel.advance(1_500)).isEmpty();
+        assertThat(wheel.advance(2_000)).containsExactly("a");
+        assertThat(wheel.advance(4_999)).isEmpty();
+        assertThat(wheel.advance(5_000)).containsExactly("b");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void advance_DeadlineBeyondOneRotation_WaitsForItsRound() {
+        TimingWheel<String> wheel = new TimingWheel<>(Duration.ofSeconds(1), 4, 0);
+        wheel.schedule("far", 10_000);
+
+        // Slot 10 & 3 == 2 is visited at ticks 2 and 6 before the deadline.
+        assertThat(wheel.advance(2_000)).isEmpty();
+        assertThat(wheel.advance(6_000)).isEmpty();
+        assertThat(wheel.advance(10_000)).containsExactly("far");
+    }
+
+    @Test
+    void advance_AfterLongPause_ExpiresEverythingDue() {
+        TimingWheel<Integer> wheel = new TimingWheel<>(Duration.ofMillis(100), 16, 0);
+        for (int i = 1; i <= 100; i++) {
+            wheel.schedule(i, i * 50L);
+        }
+
+        assertThat(wheel.advance(60_000)).hasSize(100);
+        assertThat(wheel.size()).isZero();
+    }
+}
@@ -0,0 +1,209 @@
+package com.jobber.auth.outbox;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link OutboxRelay} against an embedded H2 database.
+ */
+class OutboxRelayTest {
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private InMemoryEventPublisher publisher;
+    private SimpleMeterRegistry meterRegistry;
+    private MutableClock clock;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("""
+                CREATE TABLE outbox_events (
+                    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                    aggregate_id UUID NOT NULL,
+                    event_type VARCHAR(100) NOT NULL,
+                    payload VARCHAR(4000) NOT NULL,
+                    created_at TIMESTAMP NOT NULL,
+                    available_at TIMESTAMP NOT NULL,
+                    attempts INT DEFAULT 0 NOT NULL,
+                    last_error VARCHAR(500),
+                    parked_at TIMESTAMP
+                )
+                """);
+        publisher = new InMemoryEventPublisher();
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    /**
+     * Test: Should publish every event in outbox order across batches and delete them.
+     */
+    @Test
+    void relay_PublishesInOrderAndDeletesBatches() {
+        insertEvents(5);
+
+        relay(publisher).relay();
+
+        assertThat(publisher.getPublished())
+                .extracting(OutboxMessage::payload)
+                .containsExactly("{\"n\":0}", "{\"n\":1}", "{\"n\":2}", "{\"n\":3}", "{\"n\":4}");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_events", Integer.class)).isZero();
+        assertThat(meterRegistry.get("auth.outbox.relay.batch").timer().count()).isEqualTo(3);
+    }
+
+    /**
+     * Test: Should keep the batch in the outbox when the broker rejects it.
+     */
+    @Test
+    void relay_PublisherFails_KeepsEventsForRetry() {
+        insertEvents(3);
+        EventPublisher failing = messages -> {
+            throw new IllegalStateException("broker unavailable");
+        };
+
+        relay(failing).relay();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_events", Integer.class)).isEqualTo(3);
+        assertThat(meterRegistry.get("auth.outbox.publish.failures").counter().count()).isEqualTo(1);
+
+        clock.advance(Duration.ofSeconds(1));
+        relay(publisher).relay();
+        assertThat(publisher.getPublished()).hasSize(3);
+    }
+
+    /**
+     * Test: Should publish the other events one by one after a batch failed because of one
+     * event, and park that event once it has failed max-attempts times.
+     */
+    @Test
+    void relay_OneEventAlwaysRejected_OthersPublishedAndItIsParked() {
+        insertEvents(4);
+        EventPublisher rejectingSecond = messages -> {
+            if (messages.stream().anyMatch(message -> message.payload().equals("{\"n\":1}"))) {
+                throw new IllegalStateException("400 Bad Request");
+            }
+            publisher.publish(messages);
+        };
+        OutboxRelay relay = new OutboxRelay(jdbcTemplate, new DataSourceTransactionManager(database), rejectingSecond,
+                meterRegistry, 10, 10, 3, Duration.ofMinutes(1), Duration.ofSeconds(1), Duration.ofMinutes(5), clock);
+
+        relay.relay();
+        assertThat(publisher.getPublished()).isEmpty();
+
+        clock.advance(Duration.ofSeconds(1));
+        relay.relay();
+        relay.relay();
+        assertThat(publisher.getPublished()).extracting(OutboxMessage::payload)
+                .containsExactly("{\"n\":0}", "{\"n\":2}", "{\"n\":3}");
+
+        clock.advance(Duration.ofSeconds(2));
+        relay.relay();
+        clock.advance(Duration.ofSeconds(1));
+        relay.relay();
+
+        Map<String, Object> parked = jdbcTemplate.queryForMap(
+                "SELECT payload, attempts, last_error, parked_at FROM outbox_events");
+        assertThat(parked).containsEntry("PAYLOAD", "{\"n\":1}").containsEntry("ATTEMPTS", 3)
+                .containsEntry("LAST_ERROR", "400 Bad Request");
+        assertThat(parked.get("PARKED_AT")).isNotNull();
+        assertThat(meterRegistry.get("auth.outbox.parked").counter().count()).isEqualTo(1);
+
+        clock.advance(Duration.ofHours(1));
+        relay.relay();
+        assertThat(meterRegistry.get("auth.outbox.publish.failures").counter().count()).isEqualTo(3);
+    }
+
+    /**
+     * Test: Should publish with no transaction open, and not offer a claimed batch to another
+     * relay until its claim times out.
+     */
+    @Test
+    void relay_BatchClaimed_PublishedOutsideTransactionAndHiddenFromOtherRelays() {
+        insertEvents(2);
+        List<Boolean> inTransaction = new ArrayList<>();
+        List<Integer> claimableMeanwhile = new ArrayList<>();
+        OutboxRelay other = relay(publisher);
+        EventPublisher observing = messages -> {
+            inTransaction.add(TransactionSynchronizationManager.isActualTransactionActive());
+            claimableMeanwhile.add(other.claimBatch().rows().size());
+            throw new IllegalStateException("relay died");
+        };
+
+        OutboxRelay relay = relay(observing);
+        relay.publish(relay.claimBatch());
+
+        assertThat(inTransaction).containsExactly(false);
+        assertThat(claimableMeanwhile).containsExactly(0);
+    }
+
+    private OutboxRelay relay(EventPublisher eventPublisher) {
+        return new OutboxRelay(jdbcTemplate, new DataSourceTransactionManager(database), eventPublisher,
+                meterRegistry, 2, 10, 10, Duration.ofMinutes(1), Duration.ofSeconds(1), Duration.ofMinutes(5), clock);
+    }
+
+    private void insertEvents(int count) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        for (int i = 0; i < count; i++) {
+            jdbcTemplate.update("INSERT INTO outbox_events"
+                    + " (aggregate_id, event_type, payload, created_at, available_at) VALUES (?, ?, ?, ?, ?)",
+                    UUID.randomUUID(), "UserCreated", "{\"n\":" + i + "}", now, now);
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        private void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.jobber.auth.repositories;
+
+import com.jobber.auth.entities.Auth;
+import com.jobber.auth.entities.AuthProfile;
+import com.jobber.auth.cache.AuthProfileCache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link AuthProfileRepository}, its second-level cache regions and {@link AuthProfileCache}.
+ * Uses H2 in-memory database for isolated testing.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+@Import(AuthProfileCache.class)
+class AuthProfileRepositoryTest {
+
+    @Autowired
+    private AuthProfileRepository authProfileRepository;
+
+    @Autowired
+    private AuthRepository authRepository;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AuthProfileCache authProfileCache;
+
+    private UUID userId;
+
+    /**
+     * Sets up test data before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        entityManagerFactory.getCache().evictAll();
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictNaturalIdData();
+        userId = authRepository.saveAndFlush(Auth.builder()
+                .username("mukesh123")
+                .password("Password@123")
+                .email("mukesh@example.com")
+                .country("India")
+                .emailVerified(true)
+                .build()).getId();
+        testEntityManager.clear();
+    }
+
+    /**
+     * Test: Should load the profile by id without exposing credentials.
+     */
+    @Test
+    void findById_ExistingUser_ReturnsProfile() {
+        Optional<AuthProfile> profile = authProfileRepository.findById(userId);
+
+        assertThat(profile).isPresent();
+        assertThat(profile.get().getUsername()).isEqualTo("mukesh123");
+        assertThat(profile.get().getEmail()).isEqualTo("mukesh@example.com");
+        assertThat(profile.get().isEmailVerified()).isTrue();
+    }
+
+    /**
+     * Test: Should serve a repeated lookup from the cache region instead of the table.
+     */
+    @Test
+    void findById_RepeatedLookup_ServedFromSecondLevelCache() {
+        authProfileRepository.findById(userId);
+        assertThat(entityManagerFactory.getCache().contains(AuthProfile.class, userId)).isTrue();
+
+        // Remove the row behind Hibernate's back: only the cache can still answer.
+        jdbcTemplate.update("DELETE FROM auths WHERE id = ?", userId);
+        testEntityManager.clear();
+
+        assertThat(authProfileRepository.findById(userId))
+                .map(AuthProfile::getUsername)
+                .contains("mukesh123");
+    }
+
+    /**
+     * Test: Should return empty for an unknown id.
+     */
+    @Test
+    void findById_UnknownUser_ReturnsEmpty() {
+        assertThat(authProfileRepository.findById(UUID.randomUUID())).isEmpty();
+    }
+
+    /**
+     * Test: Should resolve the profile by username without exposing credentials.
+     */
+    @Test
+    void findByUsername_ExistingUser_ReturnsProfile() {
+        Optional<AuthProfile> profile = authProfileRepository.findByUsername("mukesh123");
+
+        assertThat(profile).isPresent();
+        assertThat(profile.get().getId()).isEqualTo(userId);
+        assertThat(profile.get().getEmail()).isEqualTo("mukesh@example.com");
+    }
+
+    /**
+     * Test: Should serve a repeated username lookup from the cache regions instead of the table.
+     */
+    @Test
+    void findByUsername_RepeatedLookup_ServedFromSecondLevelCache() {
+        authProfileRepository.findByUsername("mukesh123");
+        assertThat(entityManagerFactory.getCache().contains(AuthProfile.class, userId)).isTrue();
+
+        // Remove the row behind Hibernate's back: only the caches can still answer.
+        jdbcTemplate.update("DELETE FROM auths WHERE id = ?", userId);
+        testEntityManager.clear();
+
+        assertThat(authProfileRepository.findByUsername("mukesh123"))
+                .map(AuthProfile::getId)
+                .contains(userId);
+    }
+
+    /**
+     * Test: Should return empty for an unknown username.
+     */
+    @Test
+    void findByUsername_UnknownUser_ReturnsEmpty() {
+        assertThat(authProfileRepository.findByUsername("notfound")).isEmpty();
+    }
+
+    /**
+     * Test: Should resolve the known usernames of a batch and skip the unknown ones.
+     */
+    @Test
+    void findAllByUsername_MixedBatch_ReturnsKnownProfiles() {
+        List<AuthProfile> profiles = authProfileRepository.findAllByUsername(List.of("mukesh123", "notfound"));
+
+        assertThat(profiles).extracting(AuthProfile::getId).containsExactly(userId);
+    }
+
+    /**
+     * Test: Should read the table again once a renamed username has been evicted.
+     */
+    @Test
+    void evictUsername_AfterRename_LookupReflectsDatabase() {
+        authProfileRepository.findByUsername("mukesh123");
+        jdbcTemplate.update("UPDATE auths SET username = ? WHERE id = ?", "mukesh456", userId);
+        testEntityManager.clear();
+
+        authProfileCache.evictProfile(userId);
+        authProfileCache.evictUsername("mukesh123");
+
+        assertThat(authProfileRepository.findByUsername("mukesh123")).isEmpty();
+        assertThat(authProfileRepository.findByUsername("mukesh456"))
+                .map(AuthProfile::getId)
+                .contains(userId);
+    }
+}
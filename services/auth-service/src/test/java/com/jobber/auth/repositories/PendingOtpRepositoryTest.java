@@ -0,0 +1,73 @@
+package com.jobber.auth.repositories;
+
+import com.jobber.auth.entities.PendingOtp;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the counting statements of {@link PendingOtpRepository}.
+ * Uses H2 in-memory database for isolated testing.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+class PendingOtpRepositoryTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 5, 1, 10, 0);
+
+    @Autowired
+    private PendingOtpRepository pendingOtpRepository;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    private final UUID userId = UUID.randomUUID();
+
+    /**
+     * Sets up a live OTP before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        pendingOtpRepository.saveAndFlush(PendingOtp.builder()
+                .userId(userId)
+                .code(123456)
+                .deviceHash(42L)
+                .expiresAt(NOW.plusMinutes(5))
+                .attempts(0)
+                .build());
+        testEntityManager.clear();
+    }
+
+    /**
+     * Test: Should count wrong codes up to the limit and no further.
+     */
+    @Test
+    void recordFailedAttempt_LiveOtp_CountsUpToLimit() {
+        assertThat(pendingOtpRepository.recordFailedAttempt(userId, 2, NOW)).isEqualTo(1);
+        assertThat(pendingOtpRepository.recordFailedAttempt(userId, 2, NOW)).isEqualTo(1);
+        assertThat(pendingOtpRepository.recordFailedAttempt(userId, 2, NOW)).isZero();
+
+        assertThat(pendingOtpRepository.findAttempts(userId)).contains(2);
+    }
+
+    /**
+     * Test: Should not count against an expired or unknown OTP.
+     */
+    @Test
+    void recordFailedAttempt_ExpiredOrUnknown_CountsNothing() {
+        assertThat(pendingOtpRepository.recordFailedAttempt(userId, 5, NOW.plusMinutes(5))).isZero();
+        assertThat(pendingOtpRepository.recordFailedAttempt(UUID.randomUUID(), 5, NOW)).isZero();
+
+        assertThat(pendingOtpRepository.findAttempts(userId)).contains(0);
+        assertThat(pendingOtpRepository.findAttempts(UUID.randomUUID())).isEmpty();
+    }
+}
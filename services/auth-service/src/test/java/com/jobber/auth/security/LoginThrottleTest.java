@@ -0,0 +1,184 @@
+package com.jobber.auth.security;
+
+import com.jobber.auth.exceptions.TooManyAttemptsException;
+import com.jobber.auth.exceptions.TooManyAttemptsHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoginThrottleTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+    private SimpleMeterRegistry meterRegistry;
+    private LoginThrottle loginThrottle;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        loginThrottle = throttle(3, 10, 1000);
+    }
+
+    @Test
+    void checkAllowed_AfterMaxUsernameFailures_Rejects() {
+        for (int i = 0; i < 3; i++) {
+            loginThrottle.recordFailure("Mukesh", null, "10.0.0.1");
+        }
+
+        assertThatThrownBy(() -> loginThrottle.checkAllowed("mukesh", "10.0.0.2"))
+                .isInstanceOf(TooManyAttemptsException.class);
+        assertThat(meterRegistry.get("auth.login.throttled").tag("key", "username").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void checkAllowed_LockoutExpires_AllowsAgainWithLongerBackoff() {
+        for (int i = 0; i < 3; i++) {
+            loginThrottle.recordFailure("mukesh", null, null);
+        }
+        now.addAndGet(Duration.ofSeconds(31).toMillis());
+        assertThatCode(() -> loginThrottle.checkAllowed("mukesh", null)).doesNotThrowAnyException();
+
+        for (int i = 0; i < 3; i++) {
+            loginThrottle.recordFailure("mukesh", null, null);
+        }
+        now.addAndGet(Duration.ofSeconds(31).toMillis());
+
+        assertThatThrownBy(() -> loginThrottle.checkAllowed("mukesh", null))
+                .isInstanceOf(TooManyAttemptsException.class);
+    }
+
+    @Test
+    void recordSuccess_ClearsUsernameButNotIpHistory() {
+        loginThrottle.recordFailure("mukesh", null, "10.0.0.1");
+        loginThrottle.recordFailure("mukesh", null, "10.0.0.1");
+        loginThrottle.recordSuccess("mukesh", null);
+        loginThrottle.recordFailure("mukesh", null, "10.0.0.1");
+
+        assertThatCode(() -> loginThrottle.checkAllowed("mukesh", null)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void checkAllowed_SprayFromOneIp_LocksIp() {
+        for (int i = 0; i < 10; i++) {
+            loginThrottle.recordFailure("user" + i, null, "10.0.0.1");
+        }
+
+        assertThatThrownBy(() -> loginThrottle.checkAllowed("someone-else", "10.0.0.1"))
+                .isInstanceOf(TooManyAttemptsException.class);
+        assertThatCode(() -> loginThrottle.checkAllowed("someone-else", "10.0.0.2")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void recordFailure_ConcurrentFailures_AreCountedExactly() throws Exception {
+        LoginThrottle concurrentThrottle = throttle(8 * 500, 1_000_000, 1000);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < 8; t++) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 500 - 1; i++) {
+                    concurrentThrottle.recordFailure("victim", null, null);
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        // 8 * 499 failures: still below the limit of 4000.
+        assertThatCode(() -> concurrentThrottle.checkAllowed("victim", null)).doesNotThrowAnyException();
+        for (int i = 0; i < 8; i++) {
+            concurrentThrottle.recordFailure("victim", null, null);
+        }
+        assertThatThrownBy(() -> concurrentThrottle.checkAllowed("victim", null))
+                .isInstanceOf(TooManyAttemptsException.class);
+    }
+
+    @Test
+    void recordFailure_ManyKeys_StaysWithinMaxKeys() {
+        for (int i = 0; i < 10_000; i++) {
+            loginThrottle.recordFailure("user" + i, null, null);
+        }
+
+        assertThat(meterRegistry.get("auth.login.throttle.keys").gauge().value()).isLessThanOrEqualTo(2000);
+    }
+
+    @Test
+    void checkAccount_FailuresSpreadOverUsernameAndEmail_LocksAccount() {
+        UUID accountId = UUID.randomUUID();
+        loginThrottle.recordFailure("mukesh", accountId, null);
+        loginThrottle.recordFailure("mukesh@example.com", accountId, null);
+        loginThrottle.recordFailure("mukesh", accountId, null);
+
+        assertThatCode(() -> loginThrottle.checkAllowed("mukesh@example.com", null)).doesNotThrowAnyException();
+        assertThatThrownBy(() -> loginThrottle.checkAccount(accountId))
+                .isInstanceOf(TooManyAttemptsException.class);
+
+        loginThrottle.recordSuccess("mukesh", accountId);
+        assertThatCode(() -> loginThrottle.checkAccount(accountId)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void recordFailure_StripesFullOfFreshKeys_DoNotEvictLockedKeys() {
+        for (int i = 0; i < 3; i++) {
+            loginThrottle.recordFailure("mukesh", null, null);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            loginThrottle.recordFailure("user" + i, null, null);
+        }
+
+        assertThatThrownBy(() -> loginThrottle.checkAllowed("mukesh", null))
+                .isInstanceOf(TooManyAttemptsException.class);
+    }
+
+    @Test
+    void recordFailure_StripeFullOfLockedKeys_GrowsAndCountsNewKey() {
+        FailureLimiter limiter = new FailureLimiter(1, 1, 2, Duration.ofMinutes(15),
+                Duration.ofSeconds(30), 2.0, Duration.ofHours(1), now::get);
+        limiter.recordFailure("mukesh");
+        assertThat(limiter.recordFailure("mukesh")).isPositive();
+
+        assertThat(limiter.recordFailure("intruder")).isZero();
+        assertThat(limiter.recordFailure("intruder")).isPositive();
+        assertThat(limiter.lockedFor("mukesh")).isPositive();
+        assertThat(limiter.size()).isEqualTo(2);
+    }
+
+    @Test
+    void handle_TooManyAttempts_SendsRetryAfter() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            loginThrottle.recordFailure("mukesh", null, null);
+        }
+        now.addAndGet(Duration.ofSeconds(10).toMillis());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        try {
+            loginThrottle.checkAllowed("mukesh", null);
+        } catch (TooManyAttemptsException e) {
+            new TooManyAttemptsHandler().handle(e, response);
+        }
+
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("20");
+    }
+
+    private LoginThrottle throttle(int usernameMaxFailures, int ipMaxFailures, int maxKeys) {
+        return new LoginThrottle(meterRegistry, true, 16, maxKeys, Duration.ofMinutes(15),
+                usernameMaxFailures, ipMaxFailures, Duration.ofSeconds(30), 2.0, Duration.ofHours(1), now::get);
+    }
+}
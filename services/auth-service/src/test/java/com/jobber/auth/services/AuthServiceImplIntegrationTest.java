@@ -1,12 +1,19 @@
 package com.jobber.auth.services;
 
+import com.jobber.auth.cache.AuthProfileCache;
+import com.jobber.auth.domain.dtos.request.EmailRequest;
 import com.jobber.auth.domain.dtos.request.LoginRequest;
+import com.jobber.auth.domain.dtos.request.ResetPasswordRequest;
 import com.jobber.auth.domain.dtos.request.SignUpRequest;
+import com.jobber.auth.domain.dtos.request.VerifyEmailRequest;
 import com.jobber.auth.domain.dtos.response.AuthResponse;
 import com.jobber.auth.entities.Auth;
 import com.jobber.auth.exceptions.ResourceAlreadyExistException;
 import com.jobber.auth.exceptions.ResourceNotFoundException;
 import com.jobber.auth.repositories.AuthRepository;
+import com.jobber.auth.tokens.AccountTokenNotifier;
+import com.jobber.auth.tokens.AccountTokens;
+import com.jobber.common.exceptions.BadRequestException;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,18 +21,25 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDateTime;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 /**
  * Integration tests for {@link AuthServiceImpl}.
  * This test class verifies registration and login logic using an H2 embedded database.
  */
-@SpringBootTest
+@SpringBootTest(properties = "auth.jwt.allow-ephemeral-key=true")
 @AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
 @ActiveProfiles("test")
 @Import(BCryptPasswordEncoder.class)
@@ -40,12 +54,20 @@ public class AuthServiceImplIntegrationTest {
     @Autowired
     private BCryptPasswordEncoder passwordEncoder;
 
+    @Autowired
+    private AuthProfileCache authProfileCache;
+
+    @MockBean
+    private AccountTokenNotifier accountTokenNotifier;
+
     /**
      * Sets up a known user in the repository before each test.
      */
     @BeforeEach
     void setUp() {
         authRepository.deleteAll();
+        // H2 has no change trigger, so drop what earlier tests cached for the deleted rows.
+        authProfileCache.evictAll();
 
         Auth existingUser = Auth.builder()
                 .username("existing")
@@ -141,4 +163,85 @@ public class AuthServiceImplIntegrationTest {
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessageContaining("Invalid credentials");
     }
+
+    /**
+     * Test: Should verify the email with the token sent at registration and store only its hash.
+     */
+    @Test
+    void verifyEmail_TokenFromRegistration_MarksEmailVerified() {
+        AuthResponse registered = authService.register(SignUpRequest.builder()
+                .username("verifier")
+                .email("verifier@example.com")
+                .password("Password@123")
+                .country("India")
+                .build());
+        ArgumentCaptor<String> token = ArgumentCaptor.forClass(String.class);
+        verify(accountTokenNotifier).sendEmailVerification(any(Auth.class), token.capture());
+
+        Auth stored = authRepository.findById(registered.getUserId()).orElseThrow();
+        assertThat(stored.getEmailVerificationToken())
+                .hasSize(AccountTokens.HASH_LENGTH)
+                .isEqualTo(AccountTokens.hash(token.getValue()))
+                .isNotEqualTo(token.getValue());
+
+        authService.verifyEmail(VerifyEmailRequest.builder().token(token.getValue()).build());
+
+        Auth verified = authRepository.findById(registered.getUserId()).orElseThrow();
+        assertThat(verified.isEmailVerified()).isTrue();
+        assertThat(verified.getEmailVerificationToken()).isNull();
+        assertThatThrownBy(() -> authService.verifyEmail(VerifyEmailRequest.builder().token(token.getValue()).build()))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    /**
+     * Test: Should reset the password with the emailed token, and only once.
+     */
+    @Test
+    void resetPassword_ValidToken_ChangesPasswordAndConsumesToken() {
+        authService.requestPasswordReset(EmailRequest.builder().email("existing@example.com").build());
+        ArgumentCaptor<String> token = ArgumentCaptor.forClass(String.class);
+        verify(accountTokenNotifier).sendPasswordReset(any(Auth.class), token.capture());
+
+        ResetPasswordRequest reset = ResetPasswordRequest.builder()
+                .token(token.getValue())
+                .password("NewPassword@456")
+                .build();
+        authService.resetPassword(reset);
+
+        Auth auth = authRepository.findByEmail("existing@example.com").orElseThrow();
+        assertThat(passwordEncoder.matches("NewPassword@456", auth.getPassword())).isTrue();
+        assertThat(auth.getPasswordResetToken()).isNull();
+        assertThatThrownBy(() -> authService.resetPassword(reset))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("Invalid or expired");
+    }
+
+    /**
+     * Test: Should reject an expired password reset token.
+     */
+    @Test
+    void resetPassword_ExpiredToken_Throws() {
+        authService.requestPasswordReset(EmailRequest.builder().email("existing@example.com").build());
+        ArgumentCaptor<String> token = ArgumentCaptor.forClass(String.class);
+        verify(accountTokenNotifier).sendPasswordReset(any(Auth.class), token.capture());
+        Auth auth = authRepository.findByEmail("existing@example.com").orElseThrow();
+        auth.setPasswordResetTokenExpiration(LocalDateTime.now().minusMinutes(1));
+        authRepository.save(auth);
+
+        assertThatThrownBy(() -> authService.resetPassword(ResetPasswordRequest.builder()
+                .token(token.getValue())
+                .password("NewPassword@456")
+                .build()))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    /**
+     * Test: Should accept a reset request for an unknown email without sending anything.
+     */
+    @Test
+    void requestPasswordReset_UnknownEmail_SendsNothing() {
+        authService.requestPasswordReset(EmailRequest.builder().email("nobody@example.com").build());
+
+        verify(accountTokenNotifier, never()).sendPasswordReset(any(), any());
+    }
 }
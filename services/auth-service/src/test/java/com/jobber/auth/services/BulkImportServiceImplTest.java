@@ -0,0 +1,126 @@
+package com.jobber.auth.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jobber.auth.domain.dtos.response.BulkImportResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link BulkImportServiceImpl} against an embedded H2 database.
+ */
+class BulkImportServiceImplTest {
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private ExecutorService hashingExecutor;
+    private SimpleMeterRegistry meterRegistry;
+    private BulkImportServiceImpl bulkImportService;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("""
+                CREATE TABLE auths (
+                    id UUID PRIMARY KEY,
+                    username VARCHAR(255) NOT NULL UNIQUE,
+                    password VARCHAR(255) NOT NULL,
+                    email VARCHAR(255) NOT NULL UNIQUE,
+                    country VARCHAR(100),
+                    profile_picture VARCHAR(255),
+                    browser_name VARCHAR(255),
+                    device_type VARCHAR(255),
+                    email_verified BOOLEAN NOT NULL,
+                    created_at TIMESTAMP NOT NULL,
+                    updated_at TIMESTAMP NOT NULL
+                )
+                """);
+
+        hashingExecutor = Executors.newFixedThreadPool(2);
+        meterRegistry = new SimpleMeterRegistry();
+        bulkImportService = new BulkImportServiceImpl(
+                jdbcTemplate,
+                new DataSourceTransactionManager(database),
+                new ObjectMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                hashingExecutor,
+                meterRegistry,
+                2,
+                10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        hashingExecutor.shutdownNow();
+        database.shutdown();
+    }
+
+    /**
+     * Test: Should insert valid rows across several batches with hashed passwords.
+     */
+    @Test
+    void shouldImportValidRowsInBatches() throws Exception {
+        BulkImportResponse response = bulkImportService.importUsers(ndjson(
+                user("alice", "alice@example.com"),
+                user("bob", "bob@example.com"),
+                user("carol", "carol@example.com")));
+
+        assertThat(response.getReceived()).isEqualTo(3);
+        assertThat(response.getImported()).isEqualTo(3);
+        assertThat(response.getFailed()).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM auths", Integer.class)).isEqualTo(3);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT password FROM auths WHERE username = 'alice'", String.class)).startsWith("$2a$");
+        assertThat(meterRegistry.get("auth.bulk.import.batch").timer().count()).isEqualTo(2);
+    }
+
+    /**
+     * Test: Should report bad lines individually and keep importing the rest.
+     */
+    @Test
+    void shouldReportPerRecordErrorsWithoutAbortingImport() throws Exception {
+        bulkImportService.importUsers(ndjson(user("existing", "existing@example.com")));
+
+        BulkImportResponse response = bulkImportService.importUsers(ndjson(
+                "{not json",
+                user("existing", "other@example.com"),
+                "{\"username\":\"nopass\",\"email\":\"nopass@example.com\",\"country\":\"India\"}",
+                user("dave", "dave@example.com"),
+                user("dave", "dave2@example.com")));
+
+        assertThat(response.getReceived()).isEqualTo(5);
+        assertThat(response.getImported()).isEqualTo(1);
+        assertThat(response.getFailed()).isEqualTo(4);
+        assertThat(response.getErrors())
+                .extracting(BulkImportResponse.RecordError::getLine)
+                .containsExactlyInAnyOrder(1L, 2L, 3L, 5L);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM auths", Integer.class)).isEqualTo(2);
+    }
+
+    private static String user(String username, String email) {
+        return "{\"username\":\"" + username + "\",\"email\":\"" + email
+                + "\",\"password\":\"Password@123\",\"country\":\"India\"}";
+    }
+
+    private static ByteArrayInputStream ndjson(String... lines) {
+        return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,17 +1,24 @@
 package com.jobber.auth.services;
 
+import com.jobber.auth.security.JwtKeyStore;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.Date;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -19,7 +26,6 @@ import static org.junit.jupiter.api.Assertions.*;
 @ExtendWith(MockitoExtension.class)
 public class JwtServiceIntegerationTest {
 
-    @InjectMocks
     private JwtService jwtService;
 
     private String testUsername;
@@ -28,6 +34,7 @@ public class JwtServiceIntegerationTest {
 
     @BeforeEach
     void setUp() {
+        jwtService = new JwtService(JwtKeyStore.ephemeral());
         testUsername = "testuser@example.com";
         validToken = jwtService.generateToken(testUsername);
 
@@ -37,7 +44,8 @@ public class JwtServiceIntegerationTest {
                 .setSubject(testUsername)
                 .setIssuedAt(new Date(oneHourAgo))
                 .setExpiration(new Date(oneHourAgo + TimeUnit.MINUTES.toMillis(1))) // Expired 59 minutes ago
-                .signWith(jwtService.getSigningKey(), SignatureAlgorithm.HS256)
+                .setHeaderParam(JwsHeader.KEY_ID, jwtService.getSigningKeyId())
+                .signWith(jwtService.getSigningKey(), SignatureAlgorithm.ES256)
                 .compact();
     }
 
@@ -153,4 +161,62 @@ public class JwtServiceIntegerationTest {
                 () -> jwtService.extractAllClaims(expiredToken));
     }
 
+    @Test
+    void generateToken_HeaderCarriesKidAndEs256() {
+        // Act
+        String header = new String(Base64.getUrlDecoder().decode(validToken.substring(0, validToken.indexOf('.'))),
+                StandardCharsets.UTF_8);
+
+        // Assert
+        assertTrue(header.contains("\"alg\":\"ES256\""));
+        assertTrue(header.contains("\"kid\":\"" + jwtService.getSigningKeyId() + "\""));
+    }
+
+    @Test
+    void extractAllClaims_Hs256TokenWithSharedSecret_ThrowsException() {
+        // Arrange
+        String hmacToken = Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, jwtService.getSigningKeyId())
+                .setSubject(testUsername)
+                .signWith(Keys.hmacShaKeyFor("mySuperSecretKeyForJWTGenerationThatShouldBeVerySecure!".getBytes()),
+                        SignatureAlgorithm.HS256)
+                .compact();
+
+        // Act & Assert
+        assertThrows(JwtException.class, () -> jwtService.extractAllClaims(hmacToken));
+    }
+
+    @Test
+    void extractAllClaims_TokenFromRetiredKey_StillVerifies() {
+        // Arrange: sign with an old key, then rotate so it is only published as retired.
+        JwtKeyStore oldKeys = JwtKeyStore.ephemeral();
+        String oldToken = new JwtService(oldKeys).generateToken(testUsername);
+        String retired = oldKeys.getActiveKid() + ":"
+                + Base64.getEncoder().encodeToString(oldKeys.getPublicKey(oldKeys.getActiveKid()).getEncoded());
+        JwtKeyStore rotated = new JwtKeyStore("", "", "", retired, true);
+        JwtService rotatedService = new JwtService(rotated);
+
+        // Act & Assert
+        assertEquals(testUsername, rotatedService.extractUsername(oldToken));
+        assertEquals(testUsername, rotatedService.extractUsername(rotatedService.generateToken(testUsername)));
+        List<?> keys = (List<?>) rotated.toJwks().get("keys");
+        assertEquals(2, keys.size());
+        assertEquals(43, ((Map<?, ?>) keys.get(0)).get("x").toString().length());
+    }
+
+    @Test
+    void extractAllClaims_UnknownKid_ThrowsException() {
+        // Arrange
+        String foreignToken = new JwtService(JwtKeyStore.ephemeral()).generateToken(testUsername);
+
+        // Act & Assert
+        assertThrows(JwtException.class, () -> jwtService.extractAllClaims(foreignToken));
+    }
+
+    @Test
+    void keyStore_NoSigningKeyOutsideDevelopment_RefusesToStart() {
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> new JwtKeyStore("", "", "", "", false));
+    }
+
 }
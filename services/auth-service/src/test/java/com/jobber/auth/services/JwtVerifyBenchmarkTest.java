@@ -0,0 +1,59 @@
+package com.jobber.auth.services;
+
+import com.jobber.auth.security.JwtKeyStore;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the per-token cost of verifying ES256 against the previous HS256 tokens.
+ * Run with {@code -Dbenchmarks=true}; it is skipped in normal builds.
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class JwtVerifyBenchmarkTest {
+
+    private static final int WARMUP = 2_000;
+    private static final int ITERATIONS = 10_000;
+
+    @Test
+    void verifyCost_Es256VersusHs256() {
+        Key hmacKey = Keys.hmacShaKeyFor("mySuperSecretKeyForJWTGenerationThatShouldBeVerySecure!".getBytes());
+        String hsToken = Jwts.builder()
+                .setSubject("benchmark-user")
+                .setExpiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+                .signWith(hmacKey, SignatureAlgorithm.HS256)
+                .compact();
+        JwtParser hsParser = Jwts.parserBuilder().setSigningKey(hmacKey).build();
+
+        JwtService jwtService = new JwtService(JwtKeyStore.ephemeral());
+        String esToken = jwtService.generateToken("benchmark-user");
+
+        double hsMicros = measure(token -> hsParser.parseClaimsJws(token).getBody(), hsToken);
+        double esMicros = measure(jwtService::extractAllClaims, esToken);
+
+        System.out.printf("JWT verify: HS256 %.1f us/op, ES256 %.1f us/op (%.1fx)%n",
+                hsMicros, esMicros, esMicros / hsMicros);
+    }
+
+    private static double measure(Function<String, Claims> verifier, String token) {
+        for (int i = 0; i < WARMUP; i++) {
+            verifier.apply(token);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            assertEquals("benchmark-user", verifier.apply(token).getSubject());
+        }
+        return (System.nanoTime() - start) / 1_000.0 / ITERATIONS;
+    }
+}
@@ -0,0 +1,110 @@
+package com.jobber.auth.tokens;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link AccountTokenCleanup} against an embedded H2 database.
+ */
+class AccountTokenCleanupTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 3, 10, 12, 0);
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("""
+                CREATE TABLE auths (
+                    id UUID PRIMARY KEY,
+                    email_verification_token VARCHAR(64) UNIQUE,
+                    email_verification_token_expiration TIMESTAMP,
+                    password_reset_token VARCHAR(64) UNIQUE,
+                    password_reset_token_expiration TIMESTAMP
+                )
+                """);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    /**
+     * Test: Should clear only expired tokens of both types and leave live ones in place.
+     */
+    @Test
+    void run_ClearsExpiredTokensOnly() {
+        insert(12, "email_verification_token", NOW.minusHours(1));
+        insert(3, "email_verification_token", NOW.plusHours(1));
+        insert(7, "password_reset_token", NOW.minusMinutes(5));
+        insert(2, "password_reset_token", NOW.plusMinutes(30));
+
+        cleanup(5, 100).run();
+
+        assertThat(remaining("email_verification_token")).isEqualTo(3);
+        assertThat(remaining("password_reset_token")).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM auths WHERE password_reset_token IS NULL "
+                + "AND password_reset_token_expiration IS NOT NULL", Integer.class)).isZero();
+        assertThat(cleared("email-verification")).isEqualTo(12);
+        assertThat(cleared("password-reset")).isEqualTo(7);
+    }
+
+    /**
+     * Test: Should stop after the configured number of chunks and leave the rest for the next run.
+     */
+    @Test
+    void clearExpired_MaxChunksReached_LeavesRemainderForNextRun() {
+        insert(25, "password_reset_token", NOW.minusDays(1));
+        AccountTokenCleanup cleanup = cleanup(10, 2);
+
+        assertThat(cleanup.clearExpired(AccountTokenCleanup.TokenType.PASSWORD_RESET)).isEqualTo(20);
+        assertThat(remaining("password_reset_token")).isEqualTo(5);
+
+        assertThat(cleanup.clearExpired(AccountTokenCleanup.TokenType.PASSWORD_RESET)).isEqualTo(5);
+        assertThat(remaining("password_reset_token")).isZero();
+    }
+
+    private AccountTokenCleanup cleanup(int chunkSize, int maxChunks) {
+        Clock clock = Clock.fixed(NOW.atZone(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault());
+        return new AccountTokenCleanup(jdbcTemplate, meterRegistry, chunkSize, maxChunks, clock);
+    }
+
+    private void insert(int count, String column, LocalDateTime expiration) {
+        for (int i = 0; i < count; i++) {
+            jdbcTemplate.update("INSERT INTO auths (id, " + column + ", " + column + "_expiration) VALUES (?, ?, ?)",
+                    UUID.randomUUID(), AccountTokens.hash(AccountTokens.generate()), Timestamp.valueOf(expiration));
+        }
+    }
+
+    private int remaining(String column) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM auths WHERE " + column + " IS NOT NULL",
+                Integer.class);
+    }
+
+    private double cleared(String type) {
+        return meterRegistry.get("auth.account-tokens.cleared").tag("type", type).counter().count();
+    }
+}
@@ -0,0 +1,85 @@
+package com.jobber.auth.tokens;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Looks up password reset tokens by hash in a local Postgres table shaped like {@code auths},
+ * once through the unique token index and once with the index dropped, as before this
+ * change. Every row carries a token. Run with {@code -Dbenchmarks=true}; the database and
+ * row count can be set with {@code -Dbenchmark.postgres.url=...} and
+ * {@code -Dbenchmark.rows=...} (5M by default).
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class AccountTokenLookupBenchmarkTest {
+
+    private static final String URL = System.getProperty("benchmark.postgres.url",
+            "jdbc:postgresql://localhost:5432/jobber_dev?user=postgres&password=postgres");
+    private static final long ROWS = Long.getLong("benchmark.rows", 5_000_000L);
+    private static final int INDEXED_LOOKUPS = 10_000;
+    private static final int SCAN_LOOKUPS = 20;
+    private static final String TABLE = "account_token_bench";
+
+    @Test
+    void lookup_UniqueIndexVersusScan() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(URL)) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("DROP TABLE IF EXISTS " + TABLE);
+                statement.execute("CREATE TABLE " + TABLE + " (id uuid PRIMARY KEY, username varchar(50) NOT NULL, "
+                        + "password varchar(255) NOT NULL, password_reset_token varchar(64), "
+                        + "password_reset_token_expiration timestamp)");
+                // Token i is the hash of "token-i", so lookups can pick any row without reading it first.
+                statement.execute("INSERT INTO " + TABLE + " SELECT gen_random_uuid(), 'user' || i, repeat('x', 60), "
+                        + "encode(sha256(convert_to('token-' || i, 'UTF8')), 'hex'), now() + interval '1 hour' "
+                        + "FROM generate_series(1, " + ROWS + ") i");
+                statement.execute("CREATE UNIQUE INDEX " + TABLE + "_token ON " + TABLE + " (password_reset_token)");
+                statement.execute("ANALYZE " + TABLE);
+            }
+
+            double indexed = lookups(connection, INDEXED_LOOKUPS);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("DROP INDEX " + TABLE + "_token");
+            }
+            double scanned = lookups(connection, SCAN_LOOKUPS);
+
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("DROP TABLE " + TABLE);
+            }
+            System.out.printf("Token lookup (%,d rows): unique index %.3f ms/lookup, sequential scan %.1f ms/lookup%n",
+                    ROWS, indexed, scanned);
+        }
+    }
+
+    /**
+     * @return the mean milliseconds per lookup of a random existing token
+     */
+    private static double lookups(Connection connection, int count) throws SQLException {
+        List<String> hashes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            hashes.add(AccountTokens.hash("token-" + ThreadLocalRandom.current().nextLong(1, ROWS + 1)));
+        }
+        try (PreparedStatement select = connection.prepareStatement(
+                "SELECT id, password_reset_token_expiration FROM " + TABLE + " WHERE password_reset_token = ?")) {
+            long started = System.nanoTime();
+            for (String hash : hashes) {
+                select.setString(1, hash);
+                try (ResultSet row = select.executeQuery()) {
+                    if (!row.next()) {
+                        throw new IllegalStateException("Token not found: " + hash);
+                    }
+                }
+            }
+            return (System.nanoTime() - started) / 1e6 / count;
+        }
+    }
+}
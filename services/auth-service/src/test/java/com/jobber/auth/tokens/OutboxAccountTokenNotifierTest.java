@@ -0,0 +1,48 @@
+package com.jobber.auth.tokens;
+
+import com.jobber.auth.entities.Auth;
+import com.jobber.auth.outbox.OutboxWriter;
+import com.jobber.common.events.AccountTokenIssuedEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxAccountTokenNotifierTest {
+
+    @Mock
+    private OutboxWriter outboxWriter;
+
+    @InjectMocks
+    private OutboxAccountTokenNotifier notifier;
+
+    /**
+     * Test: Should append the raw reset token for the notification service.
+     */
+    @Test
+    void sendPasswordReset_AppendsEventWithToken() {
+        Auth auth = Auth.builder()
+                .id(UUID.randomUUID())
+                .username("mukesh")
+                .email("mukesh@example.com")
+                .build();
+
+        notifier.sendPasswordReset(auth, "raw-token");
+
+        ArgumentCaptor<AccountTokenIssuedEvent> event = ArgumentCaptor.forClass(AccountTokenIssuedEvent.class);
+        verify(outboxWriter).append(eq(auth.getId()), eq(AccountTokenIssuedEvent.TYPE), event.capture());
+        assertThat(event.getValue().getPurpose()).isEqualTo(AccountTokenIssuedEvent.Purpose.PASSWORD_RESET);
+        assertThat(event.getValue().getToken()).isEqualTo("raw-token");
+        assertThat(event.getValue().getEmail()).isEqualTo("mukesh@example.com");
+        assertThat(event.getValue().getEventId()).isNotNull();
+    }
+}
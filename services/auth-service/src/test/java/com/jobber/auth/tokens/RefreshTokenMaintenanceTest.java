@@ -0,0 +1,144 @@
+package com.jobber.auth.tokens;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link RefreshTokenMaintenance}. The chunked purge runs against an embedded H2
+ * database; partition handling is covered through the plan it computes.
+ */
+class RefreshTokenMaintenanceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 3, 10, 12, 0);
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("""
+                CREATE TABLE refresh_tokens (
+                    id UUID PRIMARY KEY,
+                    token VARCHAR(255) NOT NULL,
+                    user_id UUID NOT NULL,
+                    expiry_date TIMESTAMP NOT NULL,
+                    created_at TIMESTAMP NOT NULL
+                )
+                """);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    /**
+     * Test: Should delete only tokens expired longer than the retention, in bounded chunks.
+     */
+    @Test
+    void run_Unpartitioned_DeletesExpiredRowsInChunks() {
+        insertTokens(25, NOW.minusDays(3));
+        insertTokens(4, NOW.minusHours(2));
+        insertTokens(6, NOW.plusDays(7));
+
+        maintenance(10, 100).run();
+
+        assertThat(count()).isEqualTo(10);
+        assertThat(purged("delete")).isEqualTo(25);
+        assertThat(meterRegistry.get("auth.refresh-tokens.maintenance").tag("mode", "chunked-delete")
+                .timer().count()).isEqualTo(1);
+    }
+
+    /**
+     * Test: Should stop after the configured number of chunks and leave the rest for the next run.
+     */
+    @Test
+    void purgeInChunks_MaxChunksReached_LeavesRemainderForNextRun() {
+        insertTokens(50, NOW.minusDays(3));
+        RefreshTokenMaintenance maintenance = maintenance(10, 2);
+
+        assertThat(maintenance.purgeInChunks()).isEqualTo(20);
+        assertThat(count()).isEqualTo(30);
+
+        maintenance.purgeInChunks();
+        maintenance.purgeInChunks();
+        assertThat(count()).isEqualTo(0);
+    }
+
+    /**
+     * Test: Should create the missing days ahead and drop days whose tokens all expired before the retention.
+     */
+    @Test
+    void plan_CreatesMissingDaysAndDropsExpiredDays() {
+        Set<LocalDate> existing = Set.of(
+                LocalDate.of(2026, 3, 7),
+                LocalDate.of(2026, 3, 8),
+                LocalDate.of(2026, 3, 9),
+                LocalDate.of(2026, 3, 10),
+                LocalDate.of(2026, 3, 11));
+
+        RefreshTokenMaintenance.PartitionPlan plan =
+                RefreshTokenMaintenance.plan(existing, NOW, 3, Duration.ofDays(1));
+
+        assertThat(plan.toCreate()).containsExactly(LocalDate.of(2026, 3, 12), LocalDate.of(2026, 3, 13));
+        // The 8th ends at midnight on the 9th, which is more than a day before noon on the 10th.
+        assertThat(plan.toDrop()).containsExactlyInAnyOrder(LocalDate.of(2026, 3, 7), LocalDate.of(2026, 3, 8));
+    }
+
+    /**
+     * Test: Should name partitions by day so they can be matched back to their range.
+     */
+    @Test
+    void partitionName_UsesBasicIsoDate() {
+        assertThat(RefreshTokenMaintenance.partitionName(LocalDate.of(2026, 3, 9)))
+                .isEqualTo("refresh_tokens_p20260309");
+    }
+
+    private RefreshTokenMaintenance maintenance(int chunkSize, int maxChunks) {
+        Clock clock = Clock.fixed(NOW.atZone(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault());
+        return new RefreshTokenMaintenance(jdbcTemplate, new DataSourceTransactionManager(database), meterRegistry,
+                40, Duration.ofDays(1), chunkSize, maxChunks, Duration.ofSeconds(2), clock);
+    }
+
+    private void insertTokens(int count, LocalDateTime expiry) {
+        for (int i = 0; i < count; i++) {
+            jdbcTemplate.update("INSERT INTO refresh_tokens (id, token, user_id, expiry_date, created_at) "
+                            + "VALUES (?, ?, ?, ?, ?)",
+                    UUID.randomUUID(), UUID.randomUUID().toString(), UUID.randomUUID(),
+                    Timestamp.valueOf(expiry), Timestamp.valueOf(NOW.minusDays(30)));
+        }
+    }
+
+    private int count() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM refresh_tokens", Integer.class);
+    }
+
+    private double purged(String method) {
+        return meterRegistry.get("auth.refresh-tokens.purged").tag("method", method).counter().count();
+    }
+}
@@ -0,0 +1,34 @@
+package com.jobber.common.events;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Published by auth-service when it issues an email verification or password reset token,
+ * for the notification service to mail to the user. Carries the raw token, which auth-service
+ * itself only stores hashed. Delivery is at-least-once, so a repeated {@code eventId} must
+ * not send a second mail.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountTokenIssuedEvent {
+
+  public static final String TYPE = "AccountTokenIssued";
+
+  public enum Purpose { EMAIL_VERIFICATION, PASSWORD_RESET }
+
+  private UUID eventId;
+  private UUID userId;
+  private String username;
+  private String email;
+  private Purpose purpose;
+  private String token;
+  private Instant occurredAt;
+}
@@ -0,0 +1,30 @@
+package com.jobber.common.events;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Published by auth-service when a user signs up. Delivery is at-least-once, so consumers
+ * must treat a repeated {@code eventId} (or user) as a no-op.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserCreatedEvent {
+
+  public static final String TYPE = "UserCreated";
+
+  private UUID eventId;
+  private UUID userId;
+  private String username;
+  private String email;
+  private String country;
+  private String profilePicture;
+  private Instant occurredAt;
+}
@@ -1,5 +1,9 @@
 package com.jobber.common.exceptions;
 
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
 public class BadRequestException extends BaseException {
   public BadRequestException(String message) {
     super(message, "BAD_REQUEST");
@@ -1,7 +1,11 @@
 package com.jobber.common.exceptions;
 
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.FORBIDDEN)
 public class ForbiddenException extends BaseException {
   public ForbiddenException(String message) {
     super(message, "FORBIDDEN");
   }
-}
\ No newline at end of file
+}
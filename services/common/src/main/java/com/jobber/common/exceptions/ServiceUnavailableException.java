@@ -1,5 +1,9 @@
 package com.jobber.common.exceptions;
 
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
 public class ServiceUnavailableException extends BaseException {
   public ServiceUnavailableException(String message) {
     super(message, "SERVICE_UNAVAILABLE");
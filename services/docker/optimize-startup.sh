@@ -0,0 +1,50 @@
+#!/bin/sh
+# Prepares a Spring Boot jar for fast startup and writes the java launch arguments to
+# launch.args (used as "java @launch.args").
+#
+#   optimize-startup.sh <app.jar> <classes.jar> <true|false>
+#
+# <classes.jar> is the plain jar the repackage goal keeps as *.jar.original. With "true" the
+# dependencies are unpacked from the executable jar, since AppCDS only archives classes
+# loaded from plain jars on the class path, and a training run that stops once the context
+# is refreshed records the loaded classes into app.jsa. The jars must have been built with
+# -P startup-optimized. With "false" the executable jar is launched as is.
+set -eu
+
+JAR="$1"
+CLASSES_JAR="$2"
+OPTIMIZED="$3"
+
+if [ "$OPTIMIZED" != "true" ]; then
+    rm "$CLASSES_JAR"
+    echo "-jar $JAR" > launch.args
+    exit 0
+fi
+
+unzip -q "$JAR" 'META-INF/MANIFEST.MF' 'BOOT-INF/classpath.idx' 'BOOT-INF/lib/*' -d app
+mv "$CLASSES_JAR" app/application.jar
+rm "$JAR"
+
+MAIN_CLASS=$(sed -n 's/^Start-Class: *//p' app/META-INF/MANIFEST.MF | tr -d '\r')
+# classpath.idx keeps the jar order of the build; the archive is only used when the class
+# path at runtime matches the one it was trained with.
+CLASSPATH="app/application.jar"
+for lib in $(sed -n 's/^- "\(.*\)"$/\1/p' app/BOOT-INF/classpath.idx); do
+    CLASSPATH="$CLASSPATH:app/$lib"
+done
+
+# The training run must not depend on the database, the registry or the config server:
+# no schema update, no JDBC metadata lookup, no Mongo index creation and no Eureka traffic.
+# Signing keys are mounted at runtime only, so auth-service trains with a throwaway key.
+java -XX:ArchiveClassesAtExit=app.jsa \
+    -Dauth.jwt.allow-ephemeral-key=true \
+    -Dspring.aot.enabled=true \
+    -Dspring.context.exit=onRefresh \
+    -Dspring.jpa.hibernate.ddl-auto=none \
+    -Dspring.jpa.properties.hibernate.temp.use_jdbc_metadata_defaults=false \
+    -Dspring.data.mongodb.auto-index-creation=false \
+    -Deureka.client.register-with-eureka=false \
+    -Deureka.client.fetch-registry=false \
+    -cp "$CLASSPATH" "$MAIN_CLASS"
+
+echo "-XX:SharedArchiveFile=app.jsa -Xshare:auto -Dspring.aot.enabled=true -cp $CLASSPATH $MAIN_CLASS" > launch.args
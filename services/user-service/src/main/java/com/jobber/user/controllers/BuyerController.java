@@ -8,10 +8,18 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.jobber.common.events.UserCreatedEvent;
+import com.jobber.user.dtos.requests.BatchLookupRequest;
 import com.jobber.user.dtos.requests.BuyerCreateRequest;
+import com.jobber.user.dtos.requests.BuyerPurchaseRequest;
+import com.jobber.user.dtos.requests.SeedRequest;
+import com.jobber.user.dtos.responses.BuyerBatchResponse;
+import com.jobber.user.dtos.responses.BuyerPurchasesResponse;
 import com.jobber.user.dtos.responses.BuyerResponse;
+import com.jobber.user.dtos.responses.SeedResponse;
 import com.jobber.user.services.buyer.BuyerService;
 
 import jakarta.validation.Valid;
@@ -61,24 +69,77 @@ public class BuyerController {
   }
 
   /**
-   * Get a random buyer.
+   * Get many buyers at once, by ids or by usernames.
    *
-   * @param size the number of buyers to retrieve
-   * @return the buyer response
+   * @param request the ids or the usernames, at most {@code user.batch.max-size}
+   * @return the buyers found, in request order, and the ids or usernames not found
+   */
+  @PostMapping("/batch")
+  public ResponseEntity<BuyerBatchResponse> getBuyers(@RequestBody BatchLookupRequest request) {
+    return ResponseEntity.ok(buyerService.getBuyers(request));
+  }
+
+  /**
+   * Get random buyers, sampled by the database.
+   *
+   * @param size the number of buyers to retrieve, at most {@code user.random-sample.max-size}
+   * @return the buyer responses, without purchase history
    */
   @GetMapping("/random/{size}")
   public ResponseEntity<List<BuyerResponse>> getRandomBuyer(@PathVariable("size") int size) {
     return ResponseEntity.ok(buyerService.getRandomBuyer(size));
   }
 
+  /**
+   * Record a gig bought by a buyer.
+   *
+   * @param buyerId the buyer
+   * @param request the gig bought
+   * @return no content once the purchase is stored
+   */
+  @PostMapping("/id/{buyerId}/purchases")
+  public ResponseEntity<Void> recordPurchase(@PathVariable("buyerId") String buyerId,
+      @Valid @RequestBody BuyerPurchaseRequest request) {
+    buyerService.recordPurchase(buyerId, request);
+    return ResponseEntity.noContent().build();
+  }
+
+  /**
+   * Get a buyer's purchase history, newest first, one page at a time.
+   *
+   * @param buyerId the buyer
+   * @param cursor  the {@code nextCursor} of the previous page; absent for the first page
+   * @param limit   the page size, at most {@code user.purchases.max-page-size}
+   * @return the page of purchases and the cursor of the next page
+   */
+  @GetMapping("/id/{buyerId}/purchases")
+  public ResponseEntity<BuyerPurchasesResponse> getPurchases(@PathVariable("buyerId") String buyerId,
+      @RequestParam(name = "cursor", required = false) String cursor,
+      @RequestParam(name = "limit", required = false) Integer limit) {
+    return ResponseEntity.ok(buyerService.getPurchases(buyerId, cursor, limit));
+  }
+
+  /**
+   * Consume a batch of user-created events from the auth-service outbox.
+   *
+   * @param events the events to apply; redelivered events are ignored
+   * @return no content once the batch is stored
+   */
+  @PostMapping("/events/user-created")
+  public ResponseEntity<Void> consumeUserCreatedEvents(@RequestBody List<UserCreatedEvent> events) {
+    buyerService.createBuyersFromEvents(events);
+    return ResponseEntity.noContent().build();
+  }
+
   /**
    * Seed buyers.
    *
-   * @param count the number of buyers to seed
-   * @return the buyer response
+   * @param count   the number of buyers to seed, at most {@code user.seed.max-count}
+   * @param request the profile ({@code uniform} or {@code realistic}) and random seed
+   * @return a summary of the run; the buyers themselves are not returned
    */
   @PostMapping("/seed/{count}")
-  public ResponseEntity<List<BuyerResponse>> seedBuyers(@PathVariable("count") int count) {
-    return ResponseEntity.ok(buyerService.seedBuyers(count));
+  public ResponseEntity<SeedResponse> seedBuyers(@PathVariable("count") int count, SeedRequest request) {
+    return ResponseEntity.ok(buyerService.seedBuyers(count, request));
   }
 }
@@ -2,11 +2,26 @@ package com.jobber.user.controllers;
 
 import java.util.List;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.jobber.user.dtos.requests.BatchLookupRequest;
+import com.jobber.user.dtos.requests.SeedRequest;
 import com.jobber.user.dtos.requests.SellerCreateRequest;
+import com.jobber.user.dtos.requests.SellerExportRequest;
+import com.jobber.user.dtos.requests.SellerJobStatsEvent;
+import com.jobber.user.dtos.requests.SellerMatchRequest;
+import com.jobber.user.dtos.requests.SellerRatingRequest;
+import com.jobber.user.dtos.requests.SellerSearchRequest;
+import com.jobber.user.dtos.responses.SeedResponse;
+import com.jobber.user.dtos.responses.SellerBatchResponse;
+import com.jobber.user.dtos.responses.SellerMatchResponse;
+import com.jobber.user.dtos.responses.SellerRatingIngestResponse;
 import com.jobber.user.dtos.responses.SellerResponse;
+import com.jobber.user.dtos.responses.SellerSearchResponse;
+import com.jobber.user.dtos.responses.SellerSummary;
 import com.jobber.user.services.seller.SellerService;
 
 import jakarta.validation.Valid;
@@ -56,23 +71,109 @@ public class SellerController {
   }
 
   /**
-   * Get random seller.
+   * Get many sellers at once, by ids or by usernames, for pages listing orders or reviews of
+   * several sellers.
    *
-   * @return the random seller response
+   * @param request the ids or the usernames, at most {@code user.batch.max-size}
+   * @return the sellers found, in request order, and the ids or usernames not found
+   */
+  @PostMapping("/batch")
+  public ResponseEntity<SellerBatchResponse> getSellers(@RequestBody BatchLookupRequest request) {
+    return ResponseEntity.ok(sellerService.getSellers(request));
+  }
+
+  /**
+   * Get random sellers, sampled by the database.
+   *
+   * @param size the number of sellers to retrieve, at most {@code user.random-sample.max-size}
+   * @param view {@code card} (default) for compact sellers, or {@code full}
+   * @return the random sellers
    */
   @GetMapping("/random/{size}")
-  public ResponseEntity<List<SellerResponse>> getRandomSeller(@PathVariable("size") int size) {
-    return ResponseEntity.ok(sellerService.getRandomSellers(size));
+  public ResponseEntity<List<SellerSummary>> getRandomSeller(@PathVariable("size") int size,
+      @RequestParam(name = "view", required = false) String view) {
+    return ResponseEntity.ok(sellerService.getRandomSellers(size, view));
+  }
+
+  /**
+   * Search sellers, one page at a time. Filters are optional and combined with AND; pass the
+   * returned {@code nextCursor} as {@code cursor} to get the next page.
+   *
+   * @param request skills, country, language, sort ({@code rating} or {@code newest}), cursor, limit and
+   *                view ({@code card} or {@code full})
+   * @return the page of sellers and the cursor of the next page
+   */
+  @GetMapping("/search")
+  public ResponseEntity<SellerSearchResponse> searchSellers(SellerSearchRequest request) {
+    return ResponseEntity.ok(sellerService.searchSellers(request));
+  }
+
+  /**
+   * Export sellers as newline-delimited JSON, one seller per line in id order, streamed from a
+   * database cursor. For an incremental export, bound the creation time; sellers then come in
+   * creation order. To resume an export that broke off, pass the last seller received as
+   * {@code after}: its id, or its {@code createdAt} and id separated by a comma when bounded.
+   *
+   * @param request after, createdFrom (inclusive), createdBefore (exclusive), both ISO date-times, and
+   *                view ({@code full} or {@code card})
+   * @return the sellers, written as they are read
+   */
+  @GetMapping("/export")
+  public ResponseEntity<StreamingResponseBody> exportSellers(SellerExportRequest request) {
+    return ResponseEntity.ok()
+        .contentType(MediaType.APPLICATION_NDJSON)
+        .body(sellerService.exportSellers(request));
+  }
+
+  /**
+   * Match sellers by skills, country and language in memory, with counts of the skills,
+   * countries and languages among the matches for narrowing the filter further.
+   *
+   * @param request skills (all required), anySkills, countries, languages, limit and view ({@code card} or
+   *                {@code full})
+   * @return the number of matches, the first {@code limit} of them and the facet counts
+   */
+  @GetMapping("/match")
+  public ResponseEntity<SellerMatchResponse> matchSellers(SellerMatchRequest request) {
+    return ResponseEntity.ok(sellerService.matchSellers(request));
+  }
+
+  /**
+   * Ingest seller ratings from reviews. Ratings are applied to the sellers within a flush
+   * interval, so the response is 202 Accepted; retrying a rating with the same review id is safe.
+   *
+   * @param ratings the review id, seller id and stars of each rating
+   * @return the number accepted, the number already ingested and the ratings for unknown sellers
+   */
+  @PostMapping("/ratings")
+  public ResponseEntity<SellerRatingIngestResponse> rateSellers(@RequestBody List<SellerRatingRequest> ratings) {
+    return ResponseEntity.accepted().body(sellerService.rateSellers(ratings));
+  }
+
+  /**
+   * Record changes to sellers' job statistics from order and gig events. The changes are
+   * journaled and applied to the sellers within a flush interval, so the response is 202 Accepted.
+   * While the database is behind, the response is 503 Service Unavailable and the events should
+   * be sent again later.
+   *
+   * @param events the seller id and the deltas of each event
+   * @return an empty response
+   */
+  @PostMapping("/job-stats")
+  public ResponseEntity<Void> recordJobStats(@RequestBody List<SellerJobStatsEvent> events) {
+    sellerService.recordJobStats(events);
+    return ResponseEntity.accepted().build();
   }
 
   /**
    * Seed sellers based on count.
    *
-   * @param count the number of sellers to seed
-   * @return the seeded sellers
+   * @param count   the number of sellers to seed, at most {@code user.seed.max-count}
+   * @param request the profile ({@code uniform} or {@code realistic}) and random seed
+   * @return a summary of the run; the sellers themselves are not returned
    */
   @PostMapping("/seed/{count}")
-  public ResponseEntity<List<SellerResponse>> seedSellers(@PathVariable("count") int count) {
-    return ResponseEntity.ok(sellerService.seedSellers(count));
+  public ResponseEntity<SeedResponse> seedSellers(@PathVariable("count") int count, SeedRequest request) {
+    return ResponseEntity.ok(sellerService.seedSellers(count, request));
   }
 }
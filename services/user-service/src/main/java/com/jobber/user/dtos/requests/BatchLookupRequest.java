@@ -0,0 +1,24 @@
+package com.jobber.user.dtos.requests;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Profiles to look up in one request, either by id or by username.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchLookupRequest {
+
+  /** Ids to look up; set either this or {@code usernames} */
+  private List<String> ids;
+
+  /** Usernames to look up; set either this or {@code ids} */
+  private List<String> usernames;
+}
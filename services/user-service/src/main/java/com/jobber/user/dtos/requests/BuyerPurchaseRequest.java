@@ -0,0 +1,20 @@
+package com.jobber.user.dtos.requests;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A gig bought by a buyer.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BuyerPurchaseRequest {
+
+  @NotBlank(message = "Gig ID is required")
+  private String gigId;
+}
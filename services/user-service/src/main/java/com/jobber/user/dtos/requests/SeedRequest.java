@@ -0,0 +1,22 @@
+package com.jobber.user.dtos.requests;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Query parameters of the seed endpoints.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeedRequest {
+
+  /** {@code uniform} (default) or {@code realistic} */
+  private String profile;
+
+  /** Random seed; the same seed and count produce the same data. Random when absent. */
+  private Long seed;
+}
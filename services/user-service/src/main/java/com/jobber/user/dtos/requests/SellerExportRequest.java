@@ -0,0 +1,38 @@
+package com.jobber.user.dtos.requests;
+
+import java.time.LocalDateTime;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Query parameters of the seller export.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SellerExportRequest {
+
+  /**
+   * The last seller received by an interrupted export; absent to start from the first. Its id,
+   * or when the export is bounded by creation time, its {@code createdAt} and id separated by a
+   * comma, e.g. {@code 2026-01-01T09:30:00.125,65f1c0ffee0000000000002a}
+   */
+  private String after;
+
+  /** Only sellers created at or after this time, e.g. {@code 2026-01-01T00:00:00} */
+  @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+  private LocalDateTime createdFrom;
+
+  /** Only sellers created before this time */
+  @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+  private LocalDateTime createdBefore;
+
+  /** {@code full} (default) or {@code card} */
+  private String view;
+}
@@ -0,0 +1,34 @@
+package com.jobber.user.dtos.requests;
+
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A change to a seller's job statistics caused by an order or gig event. Counts and earnings
+ * are deltas, negative when a job leaves a state; fields left out do not change.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SellerJobStatsEvent {
+
+  private String sellerId;
+
+  private int ongoingJobs;
+
+  private int completedJobs;
+
+  private int cancelledJobs;
+
+  private double totalEarnings;
+
+  private int totalGigs;
+
+  /** Date of a delivery; the seller keeps the latest one */
+  private LocalDate recentDelivery;
+}
@@ -0,0 +1,35 @@
+package com.jobber.user.dtos.requests;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Query parameters of seller matching. Each list is optional; the lists are combined with AND.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SellerMatchRequest {
+
+  /** Skills the seller must all have */
+  private List<String> skills;
+
+  /** Skills the seller must have at least one of */
+  private List<String> anySkills;
+
+  /** Countries, one of which must be the seller's */
+  private List<String> countries;
+
+  /** Languages, at least one of which the seller must speak */
+  private List<String> languages;
+
+  private Integer limit;
+
+  /** {@code card} (default) for compact sellers, or {@code full} */
+  private String view;
+}
@@ -0,0 +1,24 @@
+package com.jobber.user.dtos.requests;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A rating left for a seller in a review.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SellerRatingRequest {
+
+  /** Id of the review; a rating sent again with the same id is ignored */
+  private String reviewId;
+
+  private String sellerId;
+
+  /** Stars, 1 to 5 */
+  private int rating;
+}
@@ -0,0 +1,37 @@
+package com.jobber.user.dtos.requests;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Query parameters of seller search.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SellerSearchRequest {
+
+  /** Skills the seller must all have */
+  private List<String> skills;
+
+  private String country;
+
+  /** A language the seller speaks */
+  private String language;
+
+  /** {@code rating} (default) or {@code newest} */
+  private String sort;
+
+  /** The {@code nextCursor} of the previous page; absent for the first page */
+  private String cursor;
+
+  private Integer limit;
+
+  /** {@code card} (default) for compact sellers, or {@code full} */
+  private String view;
+}
@@ -0,0 +1,24 @@
+package com.jobber.user.dtos.responses;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Buyers looked up by a batch of ids or usernames.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BuyerBatchResponse {
+
+  /** The buyers found, in the order they were requested, each once */
+  private List<BuyerResponse> buyers;
+
+  /** Requested ids or usernames with no buyer */
+  private List<String> missing;
+}
@@ -0,0 +1,34 @@
+package com.jobber.user.dtos.responses;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One page of a buyer's purchase history, newest first.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BuyerPurchasesResponse {
+
+  private List<PurchaseResponse> purchases;
+
+  /** Pass as {@code cursor} to get the next page; {@code null} on the last page */
+  private String nextCursor;
+
+  @Data
+  @AllArgsConstructor
+  @NoArgsConstructor
+  public static class PurchaseResponse {
+    private String gigId;
+
+    /** {@code null} for purchases made before purchase times were recorded */
+    private LocalDateTime purchasedAt;
+  }
+}
@@ -6,7 +6,6 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
-import java.util.List;
 
 @Data
 @Builder
@@ -20,6 +19,5 @@ public class BuyerResponse {
   private String profilePicture;
   private String country;
   private Boolean isSeller;
-  private List<String> purchasedGigs;
   private LocalDateTime createdAt;
 }
@@ -0,0 +1,34 @@
+package com.jobber.user.dtos.responses;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Summary of a seed run.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeedResponse {
+
+  private String collection;
+
+  private String profile;
+
+  /** Pass back as {@code seed} to generate the same data again */
+  private long seed;
+
+  private int requested;
+
+  private long inserted;
+
+  /** Documents rejected by the database, such as duplicates of a unique key */
+  private long failed;
+
+  private int chunks;
+
+  private long durationMillis;
+}
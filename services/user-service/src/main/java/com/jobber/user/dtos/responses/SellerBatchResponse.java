@@ -0,0 +1,24 @@
+package com.jobber.user.dtos.responses;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Sellers looked up by a batch of ids or usernames.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SellerBatchResponse {
+
+  /** The sellers found, in the order they were requested, each once */
+  private List<SellerResponse> sellers;
+
+  /** Requested ids or usernames with no seller */
+  private List<String> missing;
+}
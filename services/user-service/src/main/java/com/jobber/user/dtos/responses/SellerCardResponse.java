@@ -0,0 +1,48 @@
+package com.jobber.user.dtos.responses;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Compact seller for lists and card grids. The full profile is {@link SellerResponse}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public final class SellerCardResponse implements SellerSummary {
+
+  private String id;
+
+  private String fullName;
+
+  private String username;
+
+  private String profilePicture;
+
+  private String oneliner;
+
+  private String country;
+
+  private List<SellerResponse.LanguageResponse> languages;
+
+  private List<String> skills;
+
+  private int ratingsCount;
+
+  private double ratingAverage;
+
+  private int responseTime;
+
+  private LocalDate recentDelivery;
+
+  private int completedJobs;
+
+  private LocalDateTime createdAt;
+}
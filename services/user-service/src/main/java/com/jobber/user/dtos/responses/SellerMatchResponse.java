@@ -0,0 +1,31 @@
+package com.jobber.user.dtos.responses;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Sellers matching a skill, country and language filter.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SellerMatchResponse {
+
+  /** Number of sellers matching the filter */
+  private int total;
+
+  /** The first {@code limit} matches, as {@link SellerCardResponse}s or {@link SellerResponse}s for the full view */
+  private List<SellerSummary> sellers;
+
+  /**
+   * The most common skills, countries and languages among the matches, keyed by
+   * {@code skills}, {@code countries} and {@code languages}, with their seller counts
+   */
+  private Map<String, Map<String, Integer>> facets;
+}
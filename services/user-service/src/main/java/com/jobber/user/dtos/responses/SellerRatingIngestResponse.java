@@ -0,0 +1,26 @@
+package com.jobber.user.dtos.responses;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a batch of seller ratings. Accepted ratings reach the sellers at the next flush.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SellerRatingIngestResponse {
+
+  private int accepted;
+
+  /** Ratings whose review id was already ingested */
+  private int duplicates;
+
+  /** Review ids of ratings for sellers that do not exist; these are not recorded */
+  private List<String> unknownSellerReviewIds;
+}
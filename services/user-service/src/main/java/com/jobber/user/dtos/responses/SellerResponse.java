@@ -13,7 +13,7 @@ import java.util.List;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class SellerResponse {
+public final class SellerResponse implements SellerSummary {
 
   private String id;
 
@@ -41,6 +41,8 @@ public class SellerResponse {
 
   private int ratingSum;
 
+  private double ratingAverage;
+
   private RatingCategoriesResponse ratingCategories;
 
   private int responseTime;
@@ -0,0 +1,24 @@
+package com.jobber.user.dtos.responses;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One page of seller search results.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SellerSearchResponse {
+
+  /** {@link SellerCardResponse}s, or {@link SellerResponse}s for the full view */
+  private List<SellerSummary> sellers;
+
+  /** Pass as {@code cursor} to get the next page; {@code null} on the last page */
+  private String nextCursor;
+}
@@ -0,0 +1,41 @@
+package com.jobber.user.dtos.responses;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * What every seller view returns: the card fields. Lists that honour {@code view} hold
+ * {@link SellerCardResponse}s, or {@link SellerResponse}s, which add the rest of the profile,
+ * for the full view.
+ */
+public sealed interface SellerSummary permits SellerCardResponse, SellerResponse {
+
+  String getId();
+
+  String getFullName();
+
+  String getUsername();
+
+  String getProfilePicture();
+
+  String getOneliner();
+
+  String getCountry();
+
+  List<SellerResponse.LanguageResponse> getLanguages();
+
+  List<String> getSkills();
+
+  int getRatingsCount();
+
+  double getRatingAverage();
+
+  int getResponseTime();
+
+  LocalDate getRecentDelivery();
+
+  int getCompletedJobs();
+
+  LocalDateTime getCreatedAt();
+}
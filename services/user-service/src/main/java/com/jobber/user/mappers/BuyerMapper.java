@@ -1,15 +1,22 @@
 package com.jobber.user.mappers;
 
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 import com.jobber.user.dtos.requests.BuyerCreateRequest;
+import com.jobber.user.dtos.responses.BuyerPurchasesResponse;
 import com.jobber.user.dtos.responses.BuyerResponse;
 import com.jobber.user.models.Buyer;
+import com.jobber.user.models.BuyerPurchaseBucket;
 
 @Mapper(componentModel = "spring")
 public interface BuyerMapper {
 
+  @Mapping(target = "id", ignore = true)
+  @Mapping(target = "createdAt", ignore = true)
   Buyer toBuyer(BuyerCreateRequest request);
 
   BuyerResponse toBuyerResponse(Buyer buyer);
+
+  BuyerPurchasesResponse.PurchaseResponse toPurchaseResponse(BuyerPurchaseBucket.Purchase purchase);
 }
\ No newline at end of file
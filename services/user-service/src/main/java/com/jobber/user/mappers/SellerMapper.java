@@ -1,9 +1,12 @@
 package com.jobber.user.mappers;
 
 import com.jobber.user.dtos.requests.SellerCreateRequest;
+import com.jobber.user.dtos.responses.SellerCardResponse;
 import com.jobber.user.dtos.responses.SellerResponse;
 import com.jobber.user.models.Seller;
+import org.mapstruct.BeanMapping;
 import org.mapstruct.Mapper;
+import org.mapstruct.ReportingPolicy;
 import org.mapstruct.factory.Mappers;
 
 import java.util.List;
@@ -17,6 +20,8 @@ public interface SellerMapper {
 
   SellerResponse toSellerResponse(Seller seller);
 
+  SellerCardResponse toSellerCardResponse(Seller seller);
+
   SellerResponse.RatingCategoriesResponse toRatingCategoriesResponse(Seller.RatingCategories ratingCategories);
 
   SellerResponse.RatingLevelResponse toRatingLevelResponse(Seller.RatingLevel ratingLevel);
@@ -39,6 +44,8 @@ public interface SellerMapper {
 
   // ========== CreateRequest → Entity ==========
 
+  // Ids, timestamps, ratings and job stats are maintained by the service, never sent by clients.
+  @BeanMapping(unmappedTargetPolicy = ReportingPolicy.IGNORE)
   Seller toSeller(SellerCreateRequest request);
 
   Seller.Language toLanguage(SellerCreateRequest.LanguageRequest request);
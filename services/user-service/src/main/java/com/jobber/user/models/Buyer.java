@@ -1,6 +1,7 @@
 package com.jobber.user.models;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import jakarta.validation.constraints.Email;
@@ -14,11 +15,13 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
-import java.util.List;
 
 /**
  * Represents a Buyer or Seller in the system.
  * Stored in the "sellers" MongoDB collection.
+ * <p>
+ * Purchase history is kept in {@link BuyerPurchaseBucket}s. Documents written before that may
+ * still hold a {@code purchasedGigs} array until BuyerPurchaseMigration moves it.
  */
 @Document(collection = "buyers")
 @Data
@@ -34,11 +37,13 @@ public class Buyer {
     /** Username of the user */
     @NotBlank(message = "Username is required")
     @Size(min = 3, max = 30, message = "Username must be between 3 and 30 characters")
+    @Indexed(name = "username", unique = true)
     private String username;
 
     /** User's email */
     @NotBlank(message = "Email is required")
     @Email(message = "Email should be valid")
+    @Indexed(name = "email", unique = true)
     private String email;
 
     /** Optional profile picture URL */
@@ -52,9 +57,6 @@ public class Buyer {
     @NotNull(message = "isSeller field must be specified")
     private Boolean isSeller;
 
-    /** List of purchased gig IDs (stored as ObjectId strings) */
-    private List<String> purchasedGigs;
-
     /** Account creation timestamp */
     @Builder.Default
     private LocalDateTime createdAt = LocalDateTime.now();
@@ -0,0 +1,59 @@
+package com.jobber.user.models;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A fixed-size slice of a buyer's purchase history. A buyer's purchases are spread over
+ * buckets numbered by {@code seq} in purchase order, each holding at most
+ * {@code user.purchases.bucket-size} purchases, so neither the buyer nor any bucket grows
+ * without bound. New purchases go to the bucket with the highest non-negative {@code seq};
+ * history migrated from {@code Buyer.purchasedGigs} takes negative numbers, so it sorts
+ * before anything bought since.
+ */
+@Document(collection = "buyer_purchase_buckets")
+@CompoundIndex(name = "buyerId_seq", def = "{'buyerId': 1, 'seq': -1}", unique = true)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BuyerPurchaseBucket {
+
+    @Id
+    private String id;
+
+    private String buyerId;
+
+    /** Position of the bucket in the buyer's history, oldest first */
+    private int seq;
+
+    /** Number of purchases in the bucket, kept alongside the array so a query can find open buckets */
+    private int count;
+
+    /** Purchases in the order they were made */
+    private List<Purchase> purchases;
+
+    // =================== Embedded/Nested Documents =================== //
+
+    /**
+     * A gig bought by the buyer.
+     */
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Purchase {
+        private String gigId;
+
+        /** When the gig was bought; {@code null} for purchases migrated from the old array */
+        private LocalDateTime purchasedAt;
+    }
+}
@@ -2,6 +2,9 @@ package com.jobber.user.models;
 
 import lombok.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import jakarta.validation.constraints.*;
@@ -13,8 +16,27 @@ import java.util.List;
 /**
  * MongoDB document representing a Seller profile.
  * Includes metadata such as personal info, ratings, experience, education, and job statistics.
+ * <p>
+ * The compound indexes serve seller search: one equality filter followed by the sort key
+ * and {@code _id}, which makes the sort order total for keyset pagination. {@code skills} and
+ * {@code languages.language} are arrays, and an index cannot hold two array fields, so each
+ * filter has its own indexes; further filters are applied to the fetched documents.
+ * {@code updatedAt_id} lets every instance list the sellers changed since its last look, to
+ * drop them from its profile cache. {@code username} and {@code email} are unique, which also
+ * settles two sign-ups racing past the existence check.
  */
 @Document(collection = "sellers")
+@CompoundIndexes({
+    @CompoundIndex(name = "rating_id", def = "{'ratingAverage': -1, '_id': -1}"),
+    @CompoundIndex(name = "createdAt_id", def = "{'createdAt': -1, '_id': -1}"),
+    @CompoundIndex(name = "skills_rating_id", def = "{'skills': 1, 'ratingAverage': -1, '_id': -1}"),
+    @CompoundIndex(name = "skills_createdAt_id", def = "{'skills': 1, 'createdAt': -1, '_id': -1}"),
+    @CompoundIndex(name = "country_rating_id", def = "{'country': 1, 'ratingAverage': -1, '_id': -1}"),
+    @CompoundIndex(name = "country_createdAt_id", def = "{'country': 1, 'createdAt': -1, '_id': -1}"),
+    @CompoundIndex(name = "language_rating_id", def = "{'languages.language': 1, 'ratingAverage': -1, '_id': -1}"),
+    @CompoundIndex(name = "language_createdAt_id", def = "{'languages.language': 1, 'createdAt': -1, '_id': -1}"),
+    @CompoundIndex(name = "updatedAt_id", def = "{'updatedAt': 1, '_id': 1}")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -31,11 +53,13 @@ public class Seller {
 
     /** Unique username of the seller */
     @NotBlank(message = "Username is required")
+    @Indexed(name = "username", unique = true)
     private String username;
 
     /** Unique and valid email address */
     @NotBlank(message = "Email is required")
     @Email(message = "Invalid email format")
+    @Indexed(name = "email", unique = true)
     private String email;
 
     /** Profile picture URL (e.g., Cloudinary) */
@@ -74,6 +98,13 @@ public class Seller {
     @Builder.Default
     private int ratingSum = 0;
 
+    /** ratingSum / ratingsCount, stored so search can sort on it through an index */
+    @Builder.Default
+    private double ratingAverage = 0;
+
+    /** Rating flushes applied to this seller whose reviews may still be replayed; see SellerRatingIngest */
+    private List<String> pendingRatingFlushes;
+
     /** Ratings broken into categories (1 to 5 stars) */
     @Builder.Default
     private RatingCategories ratingCategories = new RatingCategories();
@@ -117,10 +148,20 @@ public class Seller {
     @Builder.Default
     private int totalGigs = 0;
 
+    /** Job statistics flushes applied to this seller whose journal may still be replayed; see SellerJobStatsCounter */
+    private List<String> pendingJobStatsFlushes;
+
     /** Timestamp of seller account creation */
     @Builder.Default
     private LocalDateTime createdAt = LocalDateTime.now();
 
+    /** Incremented by every update that changes the profile, so a cached copy can tell it is out of date */
+    @Builder.Default
+    private long version = 0;
+
+    /** Database server time of the last profile update; {@code null} until the seller is first updated */
+    private LocalDateTime updatedAt;
+
     // =================== Embedded/Nested Documents =================== //
 
     /**
@@ -0,0 +1,48 @@
+package com.jobber.user.models;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A rating ingested for a seller, keyed by the id of the review it came from. The key makes
+ * a retried rating a duplicate insert instead of a second count. Applied reviews expire after
+ * 30 days, longer than any client retries.
+ */
+@Document(collection = "seller_reviews")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SellerReview {
+
+    /** Id of the review, assigned by the caller */
+    @Id
+    private String id;
+
+    private String sellerId;
+
+    /** Stars, 1 to 5 */
+    private int rating;
+
+    /** The flush that adds this rating to the seller, once one has picked it up */
+    @Indexed(name = "flushId")
+    private String flushId;
+
+    /** Whether the rating has been added to the seller; unapplied ones are found again after a crash */
+    @Indexed(name = "unapplied", partialFilter = "{ 'applied': false }")
+    private boolean applied;
+
+    @Indexed(name = "appliedAt_ttl", expireAfter = "30d")
+    private LocalDateTime appliedAt;
+
+    @Builder.Default
+    private LocalDateTime createdAt = LocalDateTime.now();
+}
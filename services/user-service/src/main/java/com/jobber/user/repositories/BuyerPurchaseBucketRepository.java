@@ -0,0 +1,18 @@
+package com.jobber.user.repositories;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import com.jobber.user.models.BuyerPurchaseBucket;
+
+public interface BuyerPurchaseBucketRepository
+    extends MongoRepository<BuyerPurchaseBucket, String>, BuyerPurchaseBucketRepositoryCustom {
+
+  /**
+   * @return the buyer's buckets numbered {@code seq} or lower, newest first
+   */
+  List<BuyerPurchaseBucket> findByBuyerIdAndSeqLessThanEqualOrderBySeqDesc(String buyerId, int seq,
+      Pageable pageable);
+}
@@ -0,0 +1,27 @@
+package com.jobber.user.repositories;
+
+import java.util.List;
+
+import com.jobber.user.models.BuyerPurchaseBucket;
+
+/**
+ * Writes to purchase buckets that Spring Data cannot derive.
+ */
+public interface BuyerPurchaseBucketRepositoryCustom {
+
+  /**
+   * Adds a purchase to the buyer's newest bucket with a single {@code $push}, or starts the
+   * next bucket when the newest is full or there is none.
+   *
+   * @param bucketSize the most purchases a bucket holds
+   */
+  void append(String buyerId, BuyerPurchaseBucket.Purchase purchase, int bucketSize);
+
+  /**
+   * Inserts buckets in one unordered bulk write. Buckets whose buyer and {@code seq} are
+   * already stored are skipped, so inserting the same buckets again is a no-op.
+   *
+   * @return the number of buckets inserted
+   */
+  int insertMissing(List<BuyerPurchaseBucket> buckets);
+}
@@ -0,0 +1,90 @@
+package com.jobber.user.repositories;
+
+import java.util.List;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.jobber.user.models.BuyerPurchaseBucket;
+import com.mongodb.ErrorCategory;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class BuyerPurchaseBucketRepositoryCustomImpl implements BuyerPurchaseBucketRepositoryCustom {
+
+  /** Concurrent appends that can each find the newest bucket full before one of them starts the next */
+  private static final int MAX_APPEND_ATTEMPTS = 10;
+
+  private final MongoTemplate mongoTemplate;
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Only the newest bucket is ever open: buckets are filled in order, and migrated buckets
+   * (negative {@code seq}) are never appended to. When two appends race to start the next
+   * bucket, the unique index on buyer and {@code seq} lets one insert win and the other
+   * push onto it.
+   */
+  @Override
+  public void append(String buyerId, BuyerPurchaseBucket.Purchase purchase, int bucketSize) {
+    for (int attempt = 0; attempt < MAX_APPEND_ATTEMPTS; attempt++) {
+      Query open = Query.query(Criteria.where("buyerId").is(buyerId).and("seq").gte(0).and("count").lt(bucketSize))
+          .with(Sort.by(Sort.Direction.DESC, "seq"));
+      BuyerPurchaseBucket pushed = mongoTemplate.findAndModify(open,
+          new Update().push("purchases", purchase).inc("count", 1), FindAndModifyOptions.none(),
+          BuyerPurchaseBucket.class);
+      if (pushed != null) {
+        return;
+      }
+
+      Query newest = Query.query(Criteria.where("buyerId").is(buyerId).and("seq").gte(0))
+          .with(Sort.by(Sort.Direction.DESC, "seq"))
+          .limit(1);
+      newest.fields().include("seq");
+      BuyerPurchaseBucket last = mongoTemplate.findOne(newest, BuyerPurchaseBucket.class);
+      try {
+        mongoTemplate.insert(BuyerPurchaseBucket.builder()
+            .buyerId(buyerId)
+            .seq(last == null ? 0 : last.getSeq() + 1)
+            .count(1)
+            .purchases(List.of(purchase))
+            .build());
+        return;
+      } catch (DuplicateKeyException e) {
+        // Another append started that bucket first; push onto it.
+      }
+    }
+    throw new IllegalStateException("Could not append a purchase for buyer " + buyerId + " after "
+        + MAX_APPEND_ATTEMPTS + " attempts");
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int insertMissing(List<BuyerPurchaseBucket> buckets) {
+    if (buckets.isEmpty()) {
+      return 0;
+    }
+    try {
+      return mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, BuyerPurchaseBucket.class)
+          .insert(buckets)
+          .execute()
+          .getInsertedCount();
+    } catch (BulkOperationException e) {
+      if (e.getErrors().stream()
+          .anyMatch(error -> ErrorCategory.fromErrorCode(error.getCode()) != ErrorCategory.DUPLICATE_KEY)) {
+        throw e;
+      }
+      return e.getResult().getInsertedCount();
+    }
+  }
+}
@@ -1,13 +1,21 @@
 package com.jobber.user.repositories;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.data.mongodb.repository.MongoRepository;
 
 import com.jobber.user.models.Buyer;
 
-public interface BuyerRepository extends MongoRepository<Buyer, String> {
+public interface BuyerRepository extends MongoRepository<Buyer, String>, BuyerRepositoryCustom {
 
   Buyer findByUsername(String username);
 
+  /**
+   * @return the buyers with any of the usernames, in no particular order
+   */
+  List<Buyer> findByUsernameIn(Collection<String> usernames);
+
   boolean existsByUsername(String username);
 
   boolean existsByEmail(String email);
@@ -0,0 +1,48 @@
+package com.jobber.user.repositories;
+
+import java.util.Collection;
+import java.util.List;
+
+import com.jobber.user.models.Buyer;
+
+/**
+ * Buyer queries and bulk writes that Spring Data cannot derive.
+ */
+public interface BuyerRepositoryCustom {
+
+  /**
+   * Inserts the buyers whose username does not exist yet, in a single unordered bulk write.
+   * Existing buyers are left untouched, so replaying the same buyers is a no-op. A buyer
+   * rejected by a unique index, because the username was taken concurrently or the email
+   * belongs to another buyer, is skipped without failing the others.
+   *
+   * @param buyers the buyers to insert
+   * @return the number of buyers actually inserted
+   */
+  int insertMissingByUsername(List<Buyer> buyers);
+
+  /**
+   * Picks buyers at random on the server with a {@code $sample} stage, so only the sampled
+   * documents are sent to the service. The unbounded {@code purchasedGigs} array is not
+   * returned.
+   *
+   * @param size the number of buyers to pick; fewer are returned if the collection is smaller
+   * @return the sampled buyers
+   */
+  List<Buyer> findRandom(int size);
+
+  /**
+   * Returns the next buyers, in {@code _id} order, that still have a {@code purchasedGigs}
+   * array, for moving it to purchase buckets.
+   *
+   * @param afterId the last buyer of the previous batch, or {@code null} to start
+   * @param limit   the most buyers to return
+   * @return the buyers and their array
+   */
+  List<LegacyPurchases> findLegacyPurchases(String afterId, int limit);
+
+  /**
+   * Removes the {@code purchasedGigs} array from the buyers, once it is in purchase buckets.
+   */
+  void clearLegacyPurchases(Collection<String> buyerIds);
+}
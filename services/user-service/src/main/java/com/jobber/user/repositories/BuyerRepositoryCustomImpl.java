@@ -0,0 +1,104 @@
+package com.jobber.user.repositories;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.jobber.user.models.Buyer;
+import com.mongodb.ErrorCategory;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class BuyerRepositoryCustomImpl implements BuyerRepositoryCustom {
+
+  static final String[] SAMPLE_FIELDS = { "username", "email", "profilePicture", "country", "isSeller", "createdAt" };
+
+  /** The embedded purchase history replaced by purchase buckets */
+  private static final String LEGACY_PURCHASES_FIELD = "purchasedGigs";
+
+  private final MongoTemplate mongoTemplate;
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int insertMissingByUsername(List<Buyer> buyers) {
+    if (buyers.isEmpty()) {
+      return 0;
+    }
+    BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Buyer.class);
+    for (Buyer buyer : buyers) {
+      bulk.upsert(Query.query(Criteria.where("username").is(buyer.getUsername())), new Update()
+          .setOnInsert("email", buyer.getEmail())
+          .setOnInsert("profilePicture", buyer.getProfilePicture())
+          .setOnInsert("country", buyer.getCountry())
+          .setOnInsert("isSeller", buyer.getIsSeller())
+          .setOnInsert("createdAt", buyer.getCreatedAt()));
+    }
+    try {
+      return bulk.execute().getUpserts().size();
+    } catch (BulkOperationException e) {
+      // A buyer created meanwhile, or another username with the same email: the event is already applied.
+      if (e.getErrors().stream()
+          .anyMatch(error -> ErrorCategory.fromErrorCode(error.getCode()) != ErrorCategory.DUPLICATE_KEY)) {
+        throw e;
+      }
+      return e.getResult().getUpserts().size();
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public List<Buyer> findRandom(int size) {
+    return mongoTemplate.aggregate(Aggregation.newAggregation(Buyer.class,
+            Aggregation.sample(size),
+            Aggregation.project(SAMPLE_FIELDS)),
+        Buyer.class).getMappedResults();
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Read as raw documents, since {@link Buyer} no longer maps the array. Walking {@code _id}
+   * from the previous batch keeps each batch an index range scan instead of rescanning the
+   * buyers already migrated.
+   */
+  @Override
+  public List<LegacyPurchases> findLegacyPurchases(String afterId, int limit) {
+    Criteria criteria = Criteria.where(LEGACY_PURCHASES_FIELD).exists(true);
+    if (afterId != null) {
+      criteria = criteria.and("_id").gt(new ObjectId(afterId));
+    }
+    Query query = Query.query(criteria).with(Sort.by("_id")).limit(limit);
+    query.fields().include(LEGACY_PURCHASES_FIELD);
+    return mongoTemplate.find(query, Document.class, mongoTemplate.getCollectionName(Buyer.class)).stream()
+        .map(document -> new LegacyPurchases(document.getObjectId("_id").toHexString(),
+            document.getList(LEGACY_PURCHASES_FIELD, String.class, List.of())))
+        .toList();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void clearLegacyPurchases(Collection<String> buyerIds) {
+    if (buyerIds.isEmpty()) {
+      return;
+    }
+    mongoTemplate.updateMulti(Query.query(Criteria.where("id").in(buyerIds)),
+        new Update().unset(LEGACY_PURCHASES_FIELD), Buyer.class);
+  }
+}
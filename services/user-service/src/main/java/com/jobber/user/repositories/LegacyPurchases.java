@@ -0,0 +1,11 @@
+package com.jobber.user.repositories;
+
+import java.util.List;
+
+/**
+ * A buyer's purchase history as stored in the old {@code purchasedGigs} array.
+ *
+ * @param gigIds the purchased gigs, oldest first
+ */
+public record LegacyPurchases(String buyerId, List<String> gigIds) {
+}
@@ -0,0 +1,166 @@
+package com.jobber.user.repositories;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mapping.context.MappingContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Checks at startup that every index declared on the mapped documents exists, in place of
+ * Spring Data's {@code auto-index-creation}, which builds them synchronously while the context
+ * starts and stops it on the first failure. What happens to a missing index depends on
+ * {@code user.indexes.on-missing}:
+ * <ul>
+ * <li>{@code create} logs it and builds it on a background thread, so the service becomes
+ * ready at once and the queries that need the index scan until it is built;</li>
+ * <li>{@code warn} only logs it, for indexes built by hand in a quiet period;</li>
+ * <li>{@code fail} stops the service before it is ready.</li>
+ * </ul>
+ * An index counts as present when one with the same keys and uniqueness exists, whatever its
+ * name. A build that fails, typically a unique index over existing duplicates, is logged and
+ * the index stays missing; {@code user.indexes.missing} counts those not in place.
+ */
+@Slf4j
+@Component
+public class MongoIndexVerifier {
+
+  public enum OnMissing {
+    CREATE, WARN, FAIL
+  }
+
+  /**
+   * A declared index that was not found.
+   */
+  record MissingIndex(String collection, IndexDefinition definition) {
+
+    @Override
+    public String toString() {
+      Object name = definition.getIndexOptions().get("name");
+      return collection + "." + (name != null ? name : definition.getIndexKeys().toJson());
+    }
+  }
+
+  private final MongoTemplate mongoTemplate;
+  private final OnMissing onMissing;
+  private final Executor builder;
+  private final AtomicInteger missing = new AtomicInteger();
+
+  @Autowired
+  public MongoIndexVerifier(MongoTemplate mongoTemplate, MeterRegistry meterRegistry,
+      @Value("${user.indexes.on-missing:create}") OnMissing onMissing) {
+    this(mongoTemplate, meterRegistry, onMissing,
+        build -> Thread.ofVirtual().name("mongo-index-builder").start(build));
+  }
+
+  MongoIndexVerifier(MongoTemplate mongoTemplate, MeterRegistry meterRegistry, OnMissing onMissing,
+      Executor builder) {
+    this.mongoTemplate = mongoTemplate;
+    this.onMissing = onMissing;
+    this.builder = builder;
+    Gauge.builder("user.indexes.missing", missing, AtomicInteger::get)
+        .description("Declared MongoDB indexes that are not built")
+        .register(meterRegistry);
+  }
+
+  @EventListener(ApplicationStartedEvent.class)
+  public void verify() {
+    List<MissingIndex> absent;
+    try {
+      absent = findMissing();
+    } catch (DataAccessException e) {
+      if (onMissing == OnMissing.FAIL) {
+        throw e;
+      }
+      log.warn("Could not list MongoDB indexes, they are not verified: {}", e.getMessage());
+      return;
+    }
+    missing.set(absent.size());
+    if (absent.isEmpty()) {
+      return;
+    }
+
+    switch (onMissing) {
+      case FAIL -> throw new IllegalStateException("Missing MongoDB indexes: " + absent);
+      case WARN -> log.warn("Missing MongoDB indexes, queries that need them scan their collection: {}", absent);
+      case CREATE -> {
+        log.warn("Missing MongoDB indexes, building them in the background: {}", absent);
+        builder.execute(() -> build(absent));
+      }
+    }
+  }
+
+  /**
+   * @return the indexes declared on the mapped documents that have no counterpart in MongoDB
+   */
+  List<MissingIndex> findMissing() {
+    MappingContext<? extends MongoPersistentEntity<?>, MongoPersistentProperty> mappingContext =
+        mongoTemplate.getConverter().getMappingContext();
+    MongoPersistentEntityIndexResolver resolver = new MongoPersistentEntityIndexResolver(mappingContext);
+    List<MissingIndex> absent = new ArrayList<>();
+    for (MongoPersistentEntity<?> entity : mappingContext.getPersistentEntities()) {
+      if (!entity.isAnnotationPresent(org.springframework.data.mongodb.core.mapping.Document.class)) {
+        continue;
+      }
+      String collection = entity.getCollection();
+      Set<String> existing = new HashSet<>();
+      for (Document index : mongoTemplate.getCollection(collection).listIndexes()) {
+        existing.add(signature(index.get("key", Document.class), index.get("unique")));
+      }
+      for (IndexDefinition definition : resolver.resolveIndexFor(entity.getType())) {
+        if (!existing.contains(signature(definition.getIndexKeys(), definition.getIndexOptions().get("unique")))) {
+          absent.add(new MissingIndex(collection, definition));
+        }
+      }
+    }
+    return absent;
+  }
+
+  private void build(List<MissingIndex> absent) {
+    for (MissingIndex index : absent) {
+      long started = System.nanoTime();
+      try {
+        mongoTemplate.indexOps(index.collection()).ensureIndex(index.definition());
+        missing.decrementAndGet();
+        log.info("Built MongoDB index {} in {} ms", index, (System.nanoTime() - started) / 1_000_000);
+      } catch (DuplicateKeyException e) {
+        log.error("Cannot build unique index {} while the collection holds duplicates: {}", index, e.getMessage());
+      } catch (DataAccessException e) {
+        log.error("Cannot build index {}: {}", index, e.getMessage());
+      }
+    }
+  }
+
+  /**
+   * @return the keys in order with their directions, and the uniqueness; key directions read
+   *     back as doubles when an index was created from the shell
+   */
+  private static String signature(Document keys, Object unique) {
+    String fields = keys.entrySet().stream()
+        .map(key -> key.getKey() + ":"
+            + (key.getValue() instanceof Number direction ? direction.intValue() : key.getValue()))
+        .collect(Collectors.joining(","));
+    return fields + (Boolean.TRUE.equals(unique) ? " unique" : "");
+  }
+}
@@ -0,0 +1,13 @@
+package com.jobber.user.repositories;
+
+import java.time.LocalDate;
+
+/**
+ * Job statistics changes to apply to one seller: the counts and earnings are added, and
+ * {@code recentDelivery} replaces the stored date if it is later.
+ *
+ * @param recentDelivery the latest delivery among the changes, or {@code null} if none
+ */
+public record SellerJobStatsDelta(String sellerId, int ongoingJobs, int completedJobs, int cancelledJobs,
+    double totalEarnings, int totalGigs, LocalDate recentDelivery) {
+}
@@ -0,0 +1,35 @@
+package com.jobber.user.repositories;
+
+/**
+ * New ratings to add to one seller.
+ *
+ * @param sellerId      the seller
+ * @param countsByStars at index {@code s}, the number of new {@code s}-star ratings; index 0 is unused
+ */
+public record SellerRatingDelta(String sellerId, int[] countsByStars) {
+
+  /** Names of the {@code ratingCategories} fields, by stars */
+  static final String[] CATEGORIES = {null, "one", "two", "three", "four", "five"};
+
+  /**
+   * @return the number of new ratings
+   */
+  public int count() {
+    int count = 0;
+    for (int stars = 1; stars <= 5; stars++) {
+      count += countsByStars[stars];
+    }
+    return count;
+  }
+
+  /**
+   * @return the sum of the new ratings' stars
+   */
+  public int sum() {
+    int sum = 0;
+    for (int stars = 1; stars <= 5; stars++) {
+      sum += stars * countsByStars[stars];
+    }
+    return sum;
+  }
+}
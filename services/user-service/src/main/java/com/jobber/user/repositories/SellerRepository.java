@@ -2,14 +2,28 @@ package com.jobber.user.repositories;
 
 import com.jobber.user.models.Seller;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 
-public interface SellerRepository extends MongoRepository<Seller, String> {
+public interface SellerRepository extends MongoRepository<Seller, String>, SellerRepositoryCustom {
   Seller findByEmail(String email);
 
   boolean existsByEmail(String email);
 
   Optional<Seller> findByUsername(String username);
+
+  /**
+   * @return the sellers with any of the usernames, in no particular order
+   */
+  List<Seller> findByUsernameIn(Collection<String> usernames);
+
+  /**
+   * @return the sellers among {@code ids} that exist, with only their id loaded
+   */
+  @Query(value = "{ '_id': { '$in': ?0 } }", fields = "{ '_id': 1 }")
+  List<Seller> findIdsByIdIn(Collection<String> ids);
 }
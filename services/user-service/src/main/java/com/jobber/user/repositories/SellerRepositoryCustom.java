@@ -0,0 +1,127 @@
+package com.jobber.user.repositories;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import com.jobber.user.models.Seller;
+
+/**
+ * Seller queries that Spring Data cannot derive.
+ */
+public interface SellerRepositoryCustom {
+
+  /**
+   * Picks sellers at random on the server with a {@code $sample} stage, so only the sampled
+   * documents are sent to the service.
+   *
+   * @param size the number of sellers to pick; fewer are returned if the collection is smaller
+   * @param view the fields to load
+   * @return the sampled sellers, limited to the fields of the view
+   */
+  List<Seller> findRandom(int size, SellerView view);
+
+  /**
+   * Returns one page of sellers matching the filters, in the query's sort order. Pages are
+   * addressed by the last seller of the previous page rather than an offset, so every page is
+   * a bounded index range scan.
+   *
+   * @param query the filters, sort, position and page size
+   * @param view  the fields to load
+   * @return up to {@code query.limit()} sellers
+   */
+  List<Seller> search(SellerSearchQuery query, SellerView view);
+
+  /**
+   * Loads sellers by id with only the fields of a view, so the driver does not decode the rest.
+   *
+   * @return the sellers found, in no particular order
+   */
+  List<Seller> findByIds(Collection<String> ids, SellerView view);
+
+  /**
+   * Lists the sellers updated at or after {@code since}, in {@code (updatedAt, _id)} order, with
+   * only their username, version, update time and index terms loaded. Pass the last seller of a
+   * full page as {@code since} and {@code afterId} to get the next page.
+   *
+   * @param since   the earliest update time to return
+   * @param afterId skips sellers updated exactly at {@code since} up to this id; {@code null}
+   *                for none
+   * @param limit   the page size
+   */
+  List<Seller> findChanges(LocalDateTime since, String afterId, int limit);
+
+  /**
+   * @return the most recent {@code updatedAt} of any seller, or {@code null} if none was ever
+   *     updated
+   */
+  LocalDateTime findLatestUpdate();
+
+  /**
+   * Streams every seller with only the skills, country and languages loaded, fetched from the
+   * server in batches, for building the in-memory term index. The stream must be closed.
+   *
+   * @return the sellers, in natural order
+   */
+  Stream<Seller> streamIndexTerms();
+
+  /**
+   * Streams sellers for exports, fetched from the server {@code batchSize} at a time. A full
+   * export walks the {@code _id} index in id order; one bounded by creation time walks
+   * {@code createdAt_id} in {@code (createdAt, _id)} order, reading only the window. Either way
+   * the server never sorts and an export can resume after the last seller it received. The
+   * stream must be closed.
+   *
+   * @param afterId        only sellers after this one; {@code null} to start from the first
+   * @param afterCreatedAt when bounded by creation time, the creation time of {@code afterId};
+   *                       ignored otherwise
+   * @param createdFrom    only sellers created at or after this time; {@code null} for no bound
+   * @param createdBefore  only sellers created before this time; {@code null} for no bound
+   * @param view           the fields to load
+   * @param batchSize      the sellers per cursor batch
+   */
+  Stream<Seller> streamExport(String afterId, LocalDateTime afterCreatedAt, LocalDateTime createdFrom,
+      LocalDateTime createdBefore, SellerView view, int batchSize);
+
+  /**
+   * Adds new ratings to sellers with {@code $inc} on the totals and rating categories, one
+   * update per seller in a single bulk write, then recomputes {@code ratingAverage}. Each
+   * seller records the flush id until {@link #clearRatingFlush} is called, so applying the
+   * same flush again in the meantime changes nothing. Every seller in the flush gets a new
+   * {@code version} and {@code updatedAt}.
+   *
+   * @param flushId identifies this set of deltas; reuse it when retrying
+   * @param deltas  at most one per seller
+   */
+  void applyRatings(String flushId, Collection<SellerRatingDelta> deltas);
+
+  /**
+   * Forgets a flush applied by {@link #applyRatings}, once nothing can replay it.
+   */
+  void clearRatingFlush(String flushId, Collection<String> sellerIds);
+
+  /**
+   * Adds job statistics changes to sellers with {@code $inc} on the counts and earnings and
+   * {@code $max} on {@code recentDelivery}, one update per seller in a single bulk write. Each
+   * seller records the flush id until {@link #clearJobStatsFlush} is called, so applying the
+   * same flush again in the meantime changes nothing. Updated sellers get a new
+   * {@code version} and {@code updatedAt}.
+   *
+   * @param flushId identifies this set of deltas; reuse it when retrying
+   * @param deltas  at most one per seller
+   */
+  void applyJobStats(String flushId, Collection<SellerJobStatsDelta> deltas);
+
+  /**
+   * Forgets a flush applied by {@link #applyJobStats}, once nothing can replay it.
+   */
+  void clearJobStatsFlush(String flushId, Collection<String> sellerIds);
+
+  /**
+   * Sets {@code ratingAverage} on sellers stored before the field existed.
+   *
+   * @return the number of sellers updated
+   */
+  long backfillRatingAverage();
+}
@@ -0,0 +1,288 @@
+package com.jobber.user.repositories;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.SystemVariable;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.jobber.user.models.Seller;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class SellerRepositoryCustomImpl implements SellerRepositoryCustom {
+
+  /** Fields read by the in-memory term index */
+  static final String[] INDEX_TERM_FIELDS = {"skills", "country", "languages.language"};
+
+  /** Fields read by the change feed: what the profile cache and the term index need */
+  static final String[] CHANGE_FIELDS = {"username", "version", "updatedAt", "skills", "country",
+      "languages.language"};
+
+  private static final int INDEX_TERM_BATCH_SIZE = 5000;
+
+  private static final String ID_INDEX = "_id_";
+  private static final String CREATED_AT_INDEX = "createdAt_id";
+
+  /** Also marks the profile changed, since every rating update ends with it */
+  private static final AggregationUpdate SET_RATING_AVERAGE = AggregationUpdate.update()
+      .set("ratingAverage")
+      .toValue(ConditionalOperators.when(ComparisonOperators.valueOf("ratingsCount").greaterThanValue(0))
+          .then(ArithmeticOperators.valueOf("ratingSum").divideBy("ratingsCount"))
+          .otherwise(0))
+      .set("version").toValue(ArithmeticOperators.valueOf(ConditionalOperators.ifNull("version").then(0)).add(1))
+      .set("updatedAt").toValue(SystemVariable.NOW);
+
+  private final MongoTemplate mongoTemplate;
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public List<Seller> findRandom(int size, SellerView view) {
+    return mongoTemplate.aggregate(Aggregation.newAggregation(Seller.class,
+            Aggregation.sample(size),
+            Aggregation.project(view.getFields())),
+        Seller.class).getMappedResults();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public List<Seller> search(SellerSearchQuery query, SellerView view) {
+    Query find = searchQuery(query);
+    find.fields().include(view.getFields());
+    return mongoTemplate.find(find, Seller.class);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public List<Seller> findByIds(Collection<String> ids, SellerView view) {
+    Query query = Query.query(Criteria.where("id").in(ids));
+    query.fields().include(view.getFields());
+    return mongoTemplate.find(query, Seller.class);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public List<Seller> findChanges(LocalDateTime since, String afterId, int limit) {
+    // Ids nested in $or are not converted by the query mapper.
+    Criteria changed = afterId == null
+        ? Criteria.where("updatedAt").gte(since)
+        : new Criteria().orOperator(Criteria.where("updatedAt").gt(since),
+            Criteria.where("updatedAt").is(since).and("id").gt(new ObjectId(afterId)));
+    Query query = Query.query(changed)
+        .with(Sort.by("updatedAt", "id"))
+        .limit(limit);
+    query.fields().include(CHANGE_FIELDS);
+    return mongoTemplate.find(query, Seller.class);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public LocalDateTime findLatestUpdate() {
+    Query query = Query.query(Criteria.where("updatedAt").exists(true))
+        .with(Sort.by(Sort.Direction.DESC, "updatedAt"))
+        .limit(1);
+    query.fields().include("updatedAt");
+    Seller seller = mongoTemplate.findOne(query, Seller.class);
+    return seller == null ? null : seller.getUpdatedAt();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Stream<Seller> streamIndexTerms() {
+    Query query = new Query().cursorBatchSize(INDEX_TERM_BATCH_SIZE);
+    query.fields().include(INDEX_TERM_FIELDS);
+    return mongoTemplate.stream(query, Seller.class);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Stream<Seller> streamExport(String afterId, LocalDateTime afterCreatedAt, LocalDateTime createdFrom,
+      LocalDateTime createdBefore, SellerView view, int batchSize) {
+    Query query;
+    if (createdFrom == null && createdBefore == null) {
+      query = afterId == null ? new Query() : Query.query(Criteria.where("id").gt(new ObjectId(afterId)));
+      // Without the hint the planner could pick another index and sort in memory.
+      query.with(Sort.by("id")).withHint(ID_INDEX);
+    } else {
+      List<Criteria> filters = new ArrayList<>();
+      Criteria created = Criteria.where("createdAt");
+      if (createdFrom != null) {
+        created.gte(createdFrom);
+      }
+      if (createdBefore != null) {
+        created.lt(createdBefore);
+      }
+      filters.add(created);
+      if (afterId != null) {
+        filters.add(new Criteria().orOperator(Criteria.where("createdAt").gt(afterCreatedAt),
+            Criteria.where("createdAt").is(afterCreatedAt).and("id").gt(new ObjectId(afterId))));
+      }
+      query = new Query(new Criteria().andOperator(filters));
+      // Walked backwards, the descending index gives the ascending order without a sort.
+      query.with(Sort.by("createdAt", "id")).withHint(CREATED_AT_INDEX);
+    }
+    query.cursorBatchSize(batchSize);
+    query.fields().include(view.getFields());
+    return mongoTemplate.stream(query, Seller.class);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long backfillRatingAverage() {
+    return mongoTemplate.updateMulti(Query.query(Criteria.where("ratingAverage").exists(false)), SET_RATING_AVERAGE,
+        Seller.class).getModifiedCount();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void applyRatings(String flushId, Collection<SellerRatingDelta> deltas) {
+    if (deltas.isEmpty()) {
+      return;
+    }
+    // Ordered, so each average is recomputed after its seller's increments.
+    BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.ORDERED, Seller.class);
+    for (SellerRatingDelta delta : deltas) {
+      Update update = new Update()
+          .inc("ratingsCount", delta.count())
+          .inc("ratingSum", delta.sum());
+      for (int stars = 1; stars <= 5; stars++) {
+        int count = delta.countsByStars()[stars];
+        if (count > 0) {
+          String category = "ratingCategories." + SellerRatingDelta.CATEGORIES[stars];
+          update.inc(category + ".value", stars * count).inc(category + ".count", count);
+        }
+      }
+      update.addToSet("pendingRatingFlushes", flushId);
+
+      bulk.updateOne(Query.query(Criteria.where("id").is(delta.sellerId()).and("pendingRatingFlushes").ne(flushId)),
+          update);
+      bulk.updateOne(Query.query(Criteria.where("id").is(delta.sellerId())), SET_RATING_AVERAGE);
+    }
+    bulk.execute();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void clearRatingFlush(String flushId, Collection<String> sellerIds) {
+    mongoTemplate.updateMulti(Query.query(Criteria.where("id").in(sellerIds)),
+        new Update().pull("pendingRatingFlushes", flushId), Seller.class);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void applyJobStats(String flushId, Collection<SellerJobStatsDelta> deltas) {
+    if (deltas.isEmpty()) {
+      return;
+    }
+    BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Seller.class);
+    for (SellerJobStatsDelta delta : deltas) {
+      Update update = new Update()
+          .addToSet("pendingJobStatsFlushes", flushId)
+          .inc("version", 1)
+          .currentDate("updatedAt");
+      incIfNonZero(update, "ongoingJobs", delta.ongoingJobs());
+      incIfNonZero(update, "completedJobs", delta.completedJobs());
+      incIfNonZero(update, "cancelledJobs", delta.cancelledJobs());
+      incIfNonZero(update, "totalEarnings", delta.totalEarnings());
+      incIfNonZero(update, "totalGigs", delta.totalGigs());
+      if (delta.recentDelivery() != null) {
+        update.max("recentDelivery", delta.recentDelivery());
+      }
+
+      bulk.updateOne(Query.query(Criteria.where("id").is(delta.sellerId()).and("pendingJobStatsFlushes").ne(flushId)),
+          update);
+    }
+    bulk.execute();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void clearJobStatsFlush(String flushId, Collection<String> sellerIds) {
+    mongoTemplate.updateMulti(Query.query(Criteria.where("id").in(sellerIds)),
+        new Update().pull("pendingJobStatsFlushes", flushId), Seller.class);
+  }
+
+  private static void incIfNonZero(Update update, String field, double delta) {
+    if (delta != 0) {
+      update.inc(field, delta);
+    }
+  }
+
+  private static void incIfNonZero(Update update, String field, int delta) {
+    if (delta != 0) {
+      update.inc(field, delta);
+    }
+  }
+
+  /**
+   * Builds the search as equality filters plus a range on the sort key, so the planner can
+   * walk one compound index in order. Sellers sharing the previous page's last sort value are
+   * told apart by {@code _id}: {@code key <= last} bounds the scan and the {@code $nor}
+   * drops the ties that were already returned.
+   */
+  Query searchQuery(SellerSearchQuery search) {
+    String sortField = search.sort().getField();
+    List<Criteria> filters = new ArrayList<>();
+    if (search.skills() != null && !search.skills().isEmpty()) {
+      filters.add(Criteria.where("skills").all(search.skills()));
+    }
+    if (search.country() != null) {
+      filters.add(Criteria.where("country").is(search.country()));
+    }
+    if (search.language() != null) {
+      filters.add(Criteria.where("languages.language").is(search.language()));
+    }
+    if (search.after() != null) {
+      Object last = search.after().value();
+      // Ids nested in $nor are not converted by the query mapper, and a string never compares
+      // with an ObjectId.
+      ObjectId lastId = new ObjectId(search.after().id());
+      filters.add(Criteria.where(sortField).lte(last)
+          .norOperator(Criteria.where(sortField).is(last).and("id").gte(lastId)));
+    }
+
+    Query query = filters.isEmpty() ? new Query() : new Query(new Criteria().andOperator(filters));
+    return query
+        .with(Sort.by(Sort.Direction.DESC, sortField, "id"))
+        .limit(search.limit());
+  }
+}
@@ -0,0 +1,8 @@
+package com.jobber.user.repositories;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import com.jobber.user.models.SellerReview;
+
+public interface SellerReviewRepository extends MongoRepository<SellerReview, String>, SellerReviewRepositoryCustom {
+}
@@ -0,0 +1,41 @@
+package com.jobber.user.repositories;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import com.jobber.user.models.SellerReview;
+
+/**
+ * Bulk writes on the seller review ledger.
+ */
+public interface SellerReviewRepositoryCustom {
+
+  /**
+   * Inserts the reviews in one unordered bulk write. Reviews whose id is already stored are
+   * skipped, so a retried review is not recorded twice.
+   *
+   * @param reviews the reviews to record
+   * @return the reviews that were new
+   */
+  List<SellerReview> insertNew(List<SellerReview> reviews);
+
+  /**
+   * Claims the reviews for the flush {@code flushId}. Only reviews that no other flush has
+   * claimed are stamped, so concurrent flushes never share a review.
+   *
+   * @return the id, seller and rating of every review the flush holds, including those it
+   *     claimed on an earlier attempt
+   */
+  List<SellerReview> assignFlush(Collection<String> reviewIds, String flushId);
+
+  /**
+   * Marks the reviews of the flush {@code flushId} as added to their sellers.
+   */
+  void markApplied(String flushId);
+
+  /**
+   * @return the reviews recorded before {@code createdBefore} that were not added to their sellers yet
+   */
+  List<SellerReview> findUnapplied(LocalDateTime createdBefore);
+}
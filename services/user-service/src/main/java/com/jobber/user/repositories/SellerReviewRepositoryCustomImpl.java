@@ -0,0 +1,83 @@
+package com.jobber.user.repositories;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.jobber.user.models.SellerReview;
+import com.mongodb.ErrorCategory;
+import com.mongodb.bulk.BulkWriteError;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class SellerReviewRepositoryCustomImpl implements SellerReviewRepositoryCustom {
+
+  private final MongoTemplate mongoTemplate;
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public List<SellerReview> insertNew(List<SellerReview> reviews) {
+    if (reviews.isEmpty()) {
+      return reviews;
+    }
+    try {
+      mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SellerReview.class).insert(reviews).execute();
+      return reviews;
+    } catch (BulkOperationException e) {
+      if (e.getErrors().stream()
+          .anyMatch(error -> ErrorCategory.fromErrorCode(error.getCode()) != ErrorCategory.DUPLICATE_KEY)) {
+        throw e;
+      }
+      Set<Integer> duplicates = e.getErrors().stream().map(BulkWriteError::getIndex).collect(Collectors.toSet());
+      return IntStream.range(0, reviews.size())
+          .filter(i -> !duplicates.contains(i))
+          .mapToObj(reviews::get)
+          .toList();
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public List<SellerReview> assignFlush(Collection<String> reviewIds, String flushId) {
+    Criteria unclaimedOrOurs = new Criteria().orOperator(Criteria.where("flushId").is(null),
+        Criteria.where("flushId").is(flushId));
+    mongoTemplate.updateMulti(Query.query(Criteria.where("id").in(reviewIds).andOperator(unclaimedOrOurs)),
+        Update.update("flushId", flushId), SellerReview.class);
+    Query claimed = Query.query(Criteria.where("flushId").is(flushId));
+    claimed.fields().include("sellerId", "rating");
+    return mongoTemplate.find(claimed, SellerReview.class);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void markApplied(String flushId) {
+    mongoTemplate.updateMulti(Query.query(Criteria.where("flushId").is(flushId)),
+        new Update().set("applied", true).set("appliedAt", LocalDateTime.now()), SellerReview.class);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public List<SellerReview> findUnapplied(LocalDateTime createdBefore) {
+    return mongoTemplate.find(Query.query(Criteria.where("applied").is(false).and("createdAt").lt(createdBefore)),
+        SellerReview.class);
+  }
+}
@@ -0,0 +1,27 @@
+package com.jobber.user.repositories;
+
+import java.util.List;
+
+/**
+ * A page of seller search.
+ *
+ * @param skills   skills the seller must all have; empty for any
+ * @param country  country to match, or {@code null} for any
+ * @param language spoken language to match, or {@code null} for any
+ * @param sort     the order of the results
+ * @param after    the last seller of the previous page, or {@code null} for the first page
+ * @param limit    the maximum number of sellers to return
+ */
+public record SellerSearchQuery(List<String> skills, String country, String language, SellerSort sort,
+    Position after, int limit) {
+
+  /**
+   * Where a page ends: the sort key and id of its last seller.
+   *
+   * @param value the sort key, a {@code Double} for {@link SellerSort#RATING} and a
+   *              {@code LocalDateTime} for {@link SellerSort#NEWEST}
+   * @param id    the seller id
+   */
+  public record Position(Object value, String id) {
+  }
+}
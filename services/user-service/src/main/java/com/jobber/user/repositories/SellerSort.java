@@ -0,0 +1,26 @@
+package com.jobber.user.repositories;
+
+/**
+ * Orders available to seller search. Both are descending and break ties on {@code _id}.
+ */
+public enum SellerSort {
+
+  /** Highest average rating first. */
+  RATING("ratingAverage"),
+
+  /** Most recently created first. */
+  NEWEST("createdAt");
+
+  private final String field;
+
+  SellerSort(String field) {
+    this.field = field;
+  }
+
+  /**
+   * @return the document field sorted on
+   */
+  public String getField() {
+    return field;
+  }
+}
@@ -0,0 +1,38 @@
+package com.jobber.user.repositories;
+
+/**
+ * How much of each seller a list returns, and so which fields are fetched from MongoDB.
+ */
+public enum SellerView {
+
+  /**
+   * What a seller card in a grid shows. Leaves out the profile text and the experience,
+   * education, certificate and link arrays, which make up most of a full seller.
+   */
+  CARD(new String[] {
+      "fullName", "username", "profilePicture", "oneliner", "country", "languages", "skills", "ratingsCount",
+      "ratingAverage", "responseTime", "recentDelivery", "completedJobs", "createdAt"
+  }),
+
+  /** Everything mapped into a seller response. */
+  FULL(new String[] {
+      "fullName", "username", "email", "profilePicture", "profilePublicId", "description", "oneliner",
+      "country", "languages", "skills", "ratingsCount", "ratingSum", "ratingAverage", "ratingCategories",
+      "responseTime", "recentDelivery", "experience", "education", "socialLinks", "certificates", "ongoingJobs",
+      "completedJobs", "cancelledJobs", "totalEarnings", "totalGigs", "createdAt"
+  });
+
+  private final String[] fields;
+
+  SellerView(String[] fields) {
+    this.fields = fields;
+  }
+
+  /**
+   * @return the document fields to project, besides {@code _id}; the search sort keys are
+   *     always among them, so a page's cursor can be built from its last seller
+   */
+  String[] getFields() {
+    return fields;
+  }
+}
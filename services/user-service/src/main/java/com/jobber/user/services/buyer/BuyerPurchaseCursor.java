@@ -0,0 +1,51 @@
+package com.jobber.user.services.buyer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import com.jobber.common.exceptions.BadRequestException;
+
+/**
+ * Opaque cursors for purchase history pages. A cursor names the bucket and the index within
+ * it of the first purchase not yet returned; pages run from the newest purchase back.
+ */
+final class BuyerPurchaseCursor {
+
+  /**
+   * Where the next page starts: the purchases of bucket {@code seq} before {@code index},
+   * then the older buckets.
+   */
+  record Position(int seq, int index) {
+  }
+
+  private static final char SEPARATOR = '|';
+  private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+  private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+  private BuyerPurchaseCursor() {
+  }
+
+  static String encode(Position position) {
+    String cursor = Integer.toString(position.seq()) + SEPARATOR + position.index();
+    return ENCODER.encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * @throws BadRequestException if the cursor is malformed
+   */
+  static Position decode(String cursor) {
+    try {
+      String[] parts = new String(DECODER.decode(cursor), StandardCharsets.UTF_8).split("\\|", -1);
+      if (parts.length != 2) {
+        throw new BadRequestException("Invalid cursor");
+      }
+      Position position = new Position(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]));
+      if (position.index() < 0) {
+        throw new BadRequestException("Invalid cursor");
+      }
+      return position;
+    } catch (IllegalArgumentException e) {
+      throw new BadRequestException("Invalid cursor");
+    }
+  }
+}
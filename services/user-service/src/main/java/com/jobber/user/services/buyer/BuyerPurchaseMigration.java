@@ -0,0 +1,102 @@
+package com.jobber.user.services.buyer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.jobber.user.models.BuyerPurchaseBucket;
+import com.jobber.user.repositories.BuyerPurchaseBucketRepository;
+import com.jobber.user.repositories.BuyerRepository;
+import com.jobber.user.repositories.LegacyPurchases;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves the old {@code purchasedGigs} arrays into purchase buckets in the background, one
+ * batch of {@code batch-size} buyers every {@code interval}, until no buyer has one left.
+ * Each array becomes buckets numbered up to -1, so it sorts before any purchase made since
+ * the buyer switched to buckets. Bucket numbers depend only on the array, so a batch
+ * interrupted between writing the buckets and removing the arrays is simply done again, and
+ * instances running the migration at the same time do not conflict.
+ */
+@Slf4j
+@Component
+public class BuyerPurchaseMigration {
+
+  private final BuyerRepository buyerRepository;
+  private final BuyerPurchaseBucketRepository bucketRepository;
+  private final int batchSize;
+  private final int bucketSize;
+  private final Counter migrated;
+
+  /** The last buyer of the previous batch; buyers before it have no array left */
+  private String lastBuyerId;
+  private boolean done;
+
+  public BuyerPurchaseMigration(BuyerRepository buyerRepository, BuyerPurchaseBucketRepository bucketRepository,
+      MeterRegistry meterRegistry, @Value("${user.purchases.migration.batch-size:500}") int batchSize,
+      @Value("${user.purchases.bucket-size:100}") int bucketSize) {
+    this.buyerRepository = buyerRepository;
+    this.bucketRepository = bucketRepository;
+    this.batchSize = batchSize;
+    this.bucketSize = bucketSize;
+    this.migrated = Counter.builder("user.purchases.migrated-buyers")
+        .description("Buyers whose purchasedGigs array was moved to purchase buckets")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Migrates the next batch of buyers.
+   *
+   * @return the number of buyers migrated; 0 once the migration is complete
+   */
+  @Scheduled(fixedDelayString = "${user.purchases.migration.interval:PT1S}")
+  public synchronized int migrateBatch() {
+    if (done) {
+      return 0;
+    }
+    List<LegacyPurchases> batch = buyerRepository.findLegacyPurchases(lastBuyerId, batchSize);
+    List<BuyerPurchaseBucket> buckets = new ArrayList<>();
+    for (LegacyPurchases legacy : batch) {
+      buckets.addAll(toBuckets(legacy));
+    }
+    bucketRepository.insertMissing(buckets);
+    buyerRepository.clearLegacyPurchases(batch.stream().map(LegacyPurchases::buyerId).toList());
+    migrated.increment(batch.size());
+
+    if (!batch.isEmpty()) {
+      lastBuyerId = batch.get(batch.size() - 1).buyerId();
+    }
+    if (batch.size() < batchSize) {
+      done = true;
+      log.info("Purchase history migration complete; {} buyers migrated by this instance", (long) migrated.count());
+    }
+    return batch.size();
+  }
+
+  /**
+   * Splits the array from the newest purchase back, so every bucket but the oldest is full.
+   */
+  private List<BuyerPurchaseBucket> toBuckets(LegacyPurchases legacy) {
+    List<BuyerPurchaseBucket> buckets = new ArrayList<>();
+    int seq = -1;
+    for (int end = legacy.gigIds().size(); end > 0; end -= bucketSize, seq--) {
+      List<BuyerPurchaseBucket.Purchase> purchases = legacy.gigIds().subList(Math.max(0, end - bucketSize), end)
+          .stream()
+          .map(gigId -> new BuyerPurchaseBucket.Purchase(gigId, null))
+          .toList();
+      buckets.add(BuyerPurchaseBucket.builder()
+          .buyerId(legacy.buyerId())
+          .seq(seq)
+          .count(purchases.size())
+          .purchases(purchases)
+          .build());
+    }
+    return buckets;
+  }
+}
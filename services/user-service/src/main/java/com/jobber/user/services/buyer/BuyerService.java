@@ -2,8 +2,16 @@ package com.jobber.user.services.buyer;
 
 import java.util.List;
 
+import com.jobber.common.events.UserCreatedEvent;
+
+import com.jobber.user.dtos.requests.BatchLookupRequest;
 import com.jobber.user.dtos.requests.BuyerCreateRequest;
+import com.jobber.user.dtos.requests.BuyerPurchaseRequest;
+import com.jobber.user.dtos.requests.SeedRequest;
+import com.jobber.user.dtos.responses.BuyerBatchResponse;
+import com.jobber.user.dtos.responses.BuyerPurchasesResponse;
 import com.jobber.user.dtos.responses.BuyerResponse;
+import com.jobber.user.dtos.responses.SeedResponse;
 
 public interface BuyerService {
 
@@ -15,5 +23,47 @@ public interface BuyerService {
 
   List<BuyerResponse> getRandomBuyer(int size);
 
-  List<BuyerResponse> seedBuyers(int count);
+  /**
+   * Looks up buyers by a batch of ids or usernames with one query.
+   *
+   * @param request the ids or the usernames, at most {@code user.batch.max-size} distinct ones
+   * @return the buyers found, in request order, and the keys with no buyer
+   * @throws com.jobber.common.exceptions.BadRequestException if both or neither list is set,
+   *     a key is blank or there are too many
+   */
+  BuyerBatchResponse getBuyers(BatchLookupRequest request);
+
+  /**
+   * Adds a purchase to the buyer's history.
+   *
+   * @throws com.jobber.common.exceptions.NotFoundException if the buyer does not exist
+   */
+  void recordPurchase(String buyerId, BuyerPurchaseRequest request);
+
+  /**
+   * Returns the buyer's purchases, newest first, one page at a time.
+   *
+   * @param cursor the {@code nextCursor} of the previous page, or {@code null} for the first
+   * @param limit  the page size, or {@code null} for the default
+   * @return the page and the cursor of the next one
+   */
+  BuyerPurchasesResponse getPurchases(String buyerId, String cursor, Integer limit);
+
+  /**
+   * Generates and stores buyers in parallel chunks.
+   *
+   * @param count   the number of buyers
+   * @param request the data profile and random seed
+   * @return a summary of the run
+   */
+  SeedResponse seedBuyers(int count, SeedRequest request);
+
+  /**
+   * Creates buyer profiles for newly signed-up users in one bulk write.
+   * Events for users that already have a profile are ignored.
+   *
+   * @param events user-created events from auth-service
+   * @return the number of buyers created
+   */
+  int createBuyersFromEvents(List<UserCreatedEvent> events);
 }
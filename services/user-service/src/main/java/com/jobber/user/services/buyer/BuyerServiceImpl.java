@@ -1,19 +1,38 @@
 package com.jobber.user.services.buyer;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import com.jobber.common.events.UserCreatedEvent;
+import com.jobber.common.exceptions.BadRequestException;
 import com.jobber.common.exceptions.ConflictException;
 import com.jobber.common.exceptions.NotFoundException;
+import com.jobber.user.repositories.BuyerPurchaseBucketRepository;
 import com.jobber.user.repositories.BuyerRepository;
 
+import com.jobber.user.dtos.requests.BatchLookupRequest;
 import com.jobber.user.dtos.requests.BuyerCreateRequest;
+import com.jobber.user.dtos.requests.BuyerPurchaseRequest;
+import com.jobber.user.dtos.requests.SeedRequest;
+import com.jobber.user.dtos.responses.BuyerBatchResponse;
+import com.jobber.user.dtos.responses.BuyerPurchasesResponse;
 import com.jobber.user.dtos.responses.BuyerResponse;
+import com.jobber.user.dtos.responses.SeedResponse;
 import com.jobber.user.mappers.BuyerMapper;
 import com.jobber.user.models.Buyer;
+import com.jobber.user.models.BuyerPurchaseBucket;
+import com.jobber.user.services.seed.BulkSeeder;
+import com.jobber.user.services.seed.SeedData;
 
 import lombok.RequiredArgsConstructor;
 
@@ -25,7 +44,24 @@ import lombok.RequiredArgsConstructor;
 public class BuyerServiceImpl implements BuyerService {
 
   private final BuyerRepository buyerRepository;
+  private final BuyerPurchaseBucketRepository bucketRepository;
   private final BuyerMapper buyerMapper;
+  private final BulkSeeder bulkSeeder;
+
+  @Value("${user.random-sample.max-size:100}")
+  private int maxRandomSampleSize = 100;
+
+  @Value("${user.batch.max-size:100}")
+  private int maxBatchSize = 100;
+
+  @Value("${user.purchases.bucket-size:100}")
+  private int bucketSize = 100;
+
+  @Value("${user.purchases.default-page-size:20}")
+  private int defaultPageSize = 20;
+
+  @Value("${user.purchases.max-page-size:100}")
+  private int maxPageSize = 100;
 
   /**
    * {@inheritDoc}
@@ -40,7 +76,12 @@ public class BuyerServiceImpl implements BuyerService {
       throw new ConflictException("Buyer already exists");
     }
 
-    return buyerMapper.toBuyerResponse(buyerRepository.save(buyerMapper.toBuyer(request)));
+    try {
+      return buyerMapper.toBuyerResponse(buyerRepository.save(buyerMapper.toBuyer(request)));
+    } catch (DuplicateKeyException e) {
+      // Created concurrently since the checks above.
+      throw new ConflictException("Buyer already exists");
+    }
   }
 
   /**
@@ -65,34 +106,137 @@ public class BuyerServiceImpl implements BuyerService {
    */
   @Override
   public List<BuyerResponse> getRandomBuyer(int size) {
-    return buyerRepository.findAll().stream().map(buyerMapper::toBuyerResponse).collect(Collectors.toList());
+    if (size < 1 || size > maxRandomSampleSize) {
+      throw new BadRequestException("Size must be between 1 and " + maxRandomSampleSize);
+    }
+    // Sampled by Mongo, so only the picked buyers are loaded whatever the collection size.
+    return buyerRepository.findRandom(size).stream().map(buyerMapper::toBuyerResponse).collect(Collectors.toList());
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public BuyerBatchResponse getBuyers(BatchLookupRequest request) {
+    List<String> keys = batchKeys(request);
+    boolean byUsername = request.getUsernames() != null;
+
+    Map<String, Buyer> found = new HashMap<>();
+    if (!keys.isEmpty()) {
+      List<Buyer> buyers = byUsername ? buyerRepository.findByUsernameIn(keys) : buyerRepository.findAllById(keys);
+      buyers.forEach(buyer -> found.put(byUsername ? buyer.getUsername() : buyer.getId(), buyer));
+    }
+
+    List<BuyerResponse> buyers = new ArrayList<>(found.size());
+    List<String> missing = new ArrayList<>();
+    for (String key : keys) {
+      Buyer buyer = found.get(key);
+      if (buyer != null) {
+        buyers.add(buyerMapper.toBuyerResponse(buyer));
+      } else {
+        missing.add(key);
+      }
+    }
+    return BuyerBatchResponse.builder().buyers(buyers).missing(missing).build();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void recordPurchase(String buyerId, BuyerPurchaseRequest request) {
+    if (request.getGigId() == null || request.getGigId().isBlank()) {
+      throw new BadRequestException("Gig ID is required");
+    }
+    if (!buyerRepository.existsById(buyerId)) {
+      throw new NotFoundException("Buyer not found");
+    }
+    bucketRepository.append(buyerId, new BuyerPurchaseBucket.Purchase(request.getGigId(), LocalDateTime.now()),
+        bucketSize);
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Reads the buckets a few at a time from the cursor's bucket back, walking each one from its
+   * end, until the page is full and one more purchase shows there is a next page.
+   */
+  @Override
+  public BuyerPurchasesResponse getPurchases(String buyerId, String cursor, Integer limit) {
+    if (limit != null && (limit < 1 || limit > maxPageSize)) {
+      throw new BadRequestException("Limit must be between 1 and " + maxPageSize);
+    }
+    int pageSize = limit != null ? limit : defaultPageSize;
+    BuyerPurchaseCursor.Position from = cursor == null || cursor.isBlank() ? null : BuyerPurchaseCursor.decode(cursor);
+
+    List<BuyerPurchasesResponse.PurchaseResponse> page = new ArrayList<>(pageSize);
+    int bucketsPerRead = pageSize / bucketSize + 2;
+    int seq = from != null ? from.seq() : Integer.MAX_VALUE;
+    while (true) {
+      List<BuyerPurchaseBucket> buckets = bucketRepository.findByBuyerIdAndSeqLessThanEqualOrderBySeqDesc(buyerId,
+          seq, PageRequest.of(0, bucketsPerRead));
+      for (BuyerPurchaseBucket bucket : buckets) {
+        List<BuyerPurchaseBucket.Purchase> purchases = bucket.getPurchases();
+        int end = from != null && bucket.getSeq() == from.seq()
+            ? Math.min(from.index(), purchases.size())
+            : purchases.size();
+        for (int i = end - 1; i >= 0; i--) {
+          if (page.size() == pageSize) {
+            return BuyerPurchasesResponse.builder()
+                .purchases(page)
+                .nextCursor(BuyerPurchaseCursor.encode(new BuyerPurchaseCursor.Position(bucket.getSeq(), i + 1)))
+                .build();
+          }
+          page.add(buyerMapper.toPurchaseResponse(purchases.get(i)));
+        }
+      }
+      if (buckets.size() < bucketsPerRead) {
+        return BuyerPurchasesResponse.builder().purchases(page).build();
+      }
+      seq = buckets.get(buckets.size() - 1).getSeq() - 1;
+    }
   }
 
   /**
-   * Seeds the database with a specified number of dummy Buyer entries.
-   *
-   * @param count the number of buyers to seed
-   * @return list of BuyerResponse DTOs for the seeded buyers
+   * {@inheritDoc}
    */
   @Override
-  public List<BuyerResponse> seedBuyers(int count) {
-    List<Buyer> buyers = new ArrayList<>();
-
-    for (int i = 0; i < count; i++) {
-      BuyerCreateRequest request = new BuyerCreateRequest();
-      request.setUsername("buyer_" + i);
-      request.setEmail("buyer" + i + "@example.com");
-      request.setProfilePicture("https://example.com/images/buyer" + i + ".jpg");
-      request.setCountry("India");
-      request.setIsSeller(false);
-
-      buyers.add(buyerMapper.toBuyer(request));
+  public SeedResponse seedBuyers(int count, SeedRequest request) {
+    return bulkSeeder.seed(Buyer.class, count, request, SeedData::buyer);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int createBuyersFromEvents(List<UserCreatedEvent> events) {
+    // A batch may carry the same user twice after a redelivery; the last event wins.
+    Map<String, Buyer> buyers = new LinkedHashMap<>();
+    for (UserCreatedEvent event : events) {
+      buyers.put(event.getUsername(), Buyer.builder()
+          .username(event.getUsername())
+          .email(event.getEmail())
+          .country(event.getCountry())
+          .profilePicture(event.getProfilePicture())
+          .isSeller(false)
+          .build());
     }
+    return buyerRepository.insertMissingByUsername(new ArrayList<>(buyers.values()));
+  }
 
-    return buyerRepository.saveAll(buyers)
-        .stream()
-        .map(buyerMapper::toBuyerResponse)
-        .toList();
+  private List<String> batchKeys(BatchLookupRequest request) {
+    if ((request.getIds() == null) == (request.getUsernames() == null)) {
+      throw new BadRequestException("Set either ids or usernames");
+    }
+    List<String> requested = request.getIds() != null ? request.getIds() : request.getUsernames();
+    if (requested.stream().anyMatch(key -> key == null || key.isBlank())) {
+      throw new BadRequestException("Ids and usernames must not be blank");
+    }
+    List<String> keys = requested.stream().distinct().toList();
+    if (keys.size() > maxBatchSize) {
+      throw new BadRequestException("At most " + maxBatchSize + " ids or usernames can be looked up at once");
+    }
+    return keys;
   }
 
 }
@@ -0,0 +1,172 @@
+package com.jobber.user.services.seed;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.random.RandomGenerator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import com.jobber.common.exceptions.BadRequestException;
+import com.jobber.user.dtos.requests.SeedRequest;
+import com.jobber.user.dtos.responses.SeedResponse;
+import com.mongodb.bulk.BulkWriteError;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Seeds a collection with generated documents without holding them all in memory. The count
+ * is split into chunks of {@code chunk-size}; {@code parallelism} workers each take the next
+ * chunk, generate it and write it as one unordered bulk insert, so at most
+ * {@code parallelism × chunk-size} documents are in memory whatever the count. Every chunk
+ * draws from its own random generator derived from the seed, so the data does not depend on
+ * which worker ran it.
+ */
+@Slf4j
+@Component
+public class BulkSeeder {
+
+  /**
+   * Generates the document numbered {@code i} of a seed run.
+   */
+  @FunctionalInterface
+  public interface Generator<T> {
+
+    T generate(int i, SeedProfile profile, RandomGenerator random);
+  }
+
+  private final MongoTemplate mongoTemplate;
+  private final int chunkSize;
+  private final int parallelism;
+  private final int maxCount;
+
+  @Autowired
+  public BulkSeeder(MongoTemplate mongoTemplate, @Value("${user.seed.chunk-size:1000}") int chunkSize,
+      @Value("${user.seed.parallelism:4}") int parallelism, @Value("${user.seed.max-count:5000000}") int maxCount) {
+    this.mongoTemplate = mongoTemplate;
+    this.chunkSize = chunkSize;
+    this.parallelism = parallelism;
+    this.maxCount = maxCount;
+  }
+
+  /**
+   * @param type  the document class, which names the collection
+   * @param count the number of documents to generate
+   * @throws BadRequestException if the count or profile is invalid
+   */
+  public <T> SeedResponse seed(Class<T> type, int count, SeedRequest request, Generator<T> generator) {
+    return seed(type, count, request, generator, stored -> {
+    });
+  }
+
+  /**
+   * @param type        the document class, which names the collection
+   * @param count       the number of documents to generate
+   * @param afterInsert called from the workers with the documents of each chunk that were stored
+   * @throws BadRequestException if the count or profile is invalid
+   */
+  public <T> SeedResponse seed(Class<T> type, int count, SeedRequest request, Generator<T> generator,
+      Consumer<List<T>> afterInsert) {
+    if (count < 1 || count > maxCount) {
+      throw new BadRequestException("Count must be between 1 and " + maxCount);
+    }
+    SeedProfile profile = SeedProfile.parse(request.getProfile());
+    long seed = request.getSeed() != null ? request.getSeed() : ThreadLocalRandom.current().nextLong();
+    String collection = mongoTemplate.getCollectionName(type);
+    int chunks = (count + chunkSize - 1) / chunkSize;
+    log.info("Seeding {} {} ({} profile, seed {}) in {} chunks", count, collection, profile, seed, chunks);
+
+    AtomicInteger nextChunk = new AtomicInteger();
+    LongAdder inserted = new LongAdder();
+    LongAdder failed = new LongAdder();
+    AtomicReference<String> firstError = new AtomicReference<>();
+    Runnable worker = () -> {
+      for (int chunk = nextChunk.getAndIncrement(); chunk < chunks; chunk = nextChunk.getAndIncrement()) {
+        RandomGenerator random = new SplittableRandom(seed ^ (chunk * 0x9E3779B97F4A7C15L));
+        int from = chunk * chunkSize;
+        List<T> documents = new ArrayList<>(Math.min(chunkSize, count - from));
+        for (int i = from; i < Math.min(from + chunkSize, count); i++) {
+          documents.add(generator.generate(i, profile, random));
+        }
+        List<T> stored = insert(type, documents, firstError);
+        inserted.add(stored.size());
+        failed.add(documents.size() - stored.size());
+        afterInsert.accept(stored);
+      }
+    };
+
+    long started = System.nanoTime();
+    ExecutorService workers = Executors.newFixedThreadPool(Math.min(parallelism, chunks));
+    try {
+      List<Future<?>> running = new ArrayList<>();
+      for (int i = 0; i < Math.min(parallelism, chunks); i++) {
+        running.add(workers.submit(worker));
+      }
+      for (Future<?> future : running) {
+        try {
+          future.get();
+        } catch (ExecutionException e) {
+          // Stop the other workers after their current chunk.
+          nextChunk.set(chunks);
+          throw e.getCause() instanceof RuntimeException runtime ? runtime : new IllegalStateException(e.getCause());
+        }
+      }
+    } catch (InterruptedException e) {
+      nextChunk.set(chunks);
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Seeding was interrupted", e);
+    } finally {
+      workers.shutdown();
+    }
+
+    if (failed.sum() > 0) {
+      log.warn("{} of {} seeded {} were rejected, first error: {}", failed.sum(), count, collection,
+          firstError.get());
+    }
+    return SeedResponse.builder()
+        .collection(collection)
+        .profile(profile.name().toLowerCase())
+        .seed(seed)
+        .requested(count)
+        .inserted(inserted.sum())
+        .failed(failed.sum())
+        .chunks(chunks)
+        .durationMillis((System.nanoTime() - started) / 1_000_000)
+        .build();
+  }
+
+  /**
+   * @return the documents that were stored; in unordered mode the rest of a chunk is still
+   *     written when some documents are rejected
+   */
+  private <T> List<T> insert(Class<T> type, List<T> documents, AtomicReference<String> firstError) {
+    try {
+      mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, type).insert(documents).execute();
+      return documents;
+    } catch (BulkOperationException e) {
+      firstError.compareAndSet(null, e.getErrors().get(0).getMessage());
+      Set<Integer> rejected = e.getErrors().stream().map(BulkWriteError::getIndex).collect(Collectors.toSet());
+      return IntStream.range(0, documents.size())
+          .filter(i -> !rejected.contains(i))
+          .mapToObj(documents::get)
+          .toList();
+    }
+  }
+}
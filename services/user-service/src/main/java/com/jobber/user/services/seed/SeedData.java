@@ -0,0 +1,181 @@
+package com.jobber.user.services.seed;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.random.RandomGenerator;
+
+import org.bson.types.ObjectId;
+
+import com.jobber.user.models.Buyer;
+import com.jobber.user.models.Seller;
+
+/**
+ * Generated sellers and buyers for the seed endpoints.
+ */
+public final class SeedData {
+
+  /** Skills in falling popularity; picked with Zipf-like weights, so the head is shared widely. */
+  private static final String[] SKILLS = {
+      "JavaScript", "Python", "React", "Java", "Node.js", "SQL", "TypeScript", "HTML", "CSS", "WordPress",
+      "Spring Boot", "PHP", "Docker", "AWS", "Figma", "Photoshop", "MongoDB", "Angular", "C#", "Kubernetes",
+      "Vue.js", "Django", "Flutter", "Excel", "SEO", "Go", "PostgreSQL", "Laravel", "Illustrator", "Swift",
+      "Kotlin", "Data Analysis", "Machine Learning", "Copywriting", "Video Editing", "Shopify", "GraphQL",
+      "Redis", "Terraform", "Rust", "Ruby on Rails", "Unity", "Power BI", "Tableau", "After Effects", "Blender",
+      "Translation", "Social Media Marketing", "Google Ads", "Technical Writing", "Solidity", "Scala", "Elixir",
+      "Salesforce", "SAP", "Webflow", "Bubble", "Zapier", "Voice Over", "Podcast Editing"
+  };
+  private static final double[] SKILL_WEIGHTS = zipf(SKILLS.length, 1.0);
+
+  /** Countries and their share of sellers and buyers, in percent */
+  private static final Map<String, Integer> COUNTRY_SHARES = Map.ofEntries(
+      Map.entry("India", 24), Map.entry("United States", 14), Map.entry("Pakistan", 8), Map.entry("Nigeria", 6),
+      Map.entry("Philippines", 6), Map.entry("United Kingdom", 5), Map.entry("Bangladesh", 5),
+      Map.entry("Ukraine", 4), Map.entry("Brazil", 4), Map.entry("Kenya", 3), Map.entry("Egypt", 3),
+      Map.entry("Indonesia", 3), Map.entry("Germany", 3), Map.entry("Canada", 3), Map.entry("Vietnam", 2),
+      Map.entry("Poland", 2), Map.entry("Nepal", 2), Map.entry("Sri Lanka", 1), Map.entry("Argentina", 1),
+      Map.entry("Romania", 1));
+  private static final String[] COUNTRIES = COUNTRY_SHARES.keySet().stream().sorted().toArray(String[]::new);
+  private static final double[] COUNTRY_WEIGHTS = cumulative(
+      Arrays.stream(COUNTRIES).mapToDouble(COUNTRY_SHARES::get).toArray());
+
+  /** The main language of each country other than English */
+  private static final Map<String, String> NATIVE_LANGUAGES = Map.ofEntries(
+      Map.entry("India", "Hindi"), Map.entry("Pakistan", "Urdu"), Map.entry("Nigeria", "Yoruba"),
+      Map.entry("Philippines", "Filipino"), Map.entry("Bangladesh", "Bengali"), Map.entry("Ukraine", "Ukrainian"),
+      Map.entry("Brazil", "Portuguese"), Map.entry("Kenya", "Swahili"), Map.entry("Egypt", "Arabic"),
+      Map.entry("Indonesia", "Indonesian"), Map.entry("Germany", "German"), Map.entry("Canada", "French"),
+      Map.entry("Vietnam", "Vietnamese"), Map.entry("Poland", "Polish"), Map.entry("Nepal", "Nepali"),
+      Map.entry("Sri Lanka", "Sinhala"), Map.entry("Argentina", "Spanish"), Map.entry("Romania", "Romanian"));
+  private static final String[] EXTRA_LANGUAGES = {"Spanish", "French", "German", "Arabic", "Portuguese", "Russian"};
+
+  private SeedData() {
+  }
+
+  public static Seller seller(int i, SeedProfile profile, RandomGenerator random) {
+    return profile == SeedProfile.REALISTIC ? realisticSeller(i, random) : uniformSeller(i);
+  }
+
+  public static Buyer buyer(int i, SeedProfile profile, RandomGenerator random) {
+    return Buyer.builder()
+        .username("buyer_" + i)
+        .email("buyer" + i + "@example.com")
+        .profilePicture("https://example.com/images/buyer" + i + ".jpg")
+        .country(profile == SeedProfile.REALISTIC ? pick(random, COUNTRIES, COUNTRY_WEIGHTS) : "India")
+        .isSeller(false)
+        .createdAt(profile == SeedProfile.REALISTIC
+            ? LocalDateTime.now().minusMinutes(random.nextLong(3L * 365 * 24 * 60))
+            : LocalDateTime.now())
+        .build();
+  }
+
+  private static Seller uniformSeller(int i) {
+    return sellerBuilder(i)
+        .country("India")
+        .languages(List.of(new Seller.Language("English", "Fluent"), new Seller.Language("Hindi", "Native")))
+        .skills(List.of("Java", "Spring Boot", "MongoDB"))
+        .recentDelivery(LocalDate.now().minusDays(i))
+        .createdAt(LocalDateTime.now().minusDays(i))
+        .build();
+  }
+
+  private static Seller realisticSeller(int i, RandomGenerator random) {
+    String country = pick(random, COUNTRIES, COUNTRY_WEIGHTS);
+
+    Set<String> skills = new LinkedHashSet<>();
+    int skillCount = 2 + random.nextInt(5);
+    while (skills.size() < skillCount) {
+      skills.add(SKILLS[pickIndex(random, SKILL_WEIGHTS)]);
+    }
+
+    List<Seller.Language> languages = new ArrayList<>();
+    if (NATIVE_LANGUAGES.containsKey(country)) {
+      languages.add(new Seller.Language(NATIVE_LANGUAGES.get(country), "Native"));
+      if (random.nextDouble() < 0.85) {
+        languages.add(new Seller.Language("English", random.nextBoolean() ? "Fluent" : "Conversational"));
+      }
+    } else {
+      languages.add(new Seller.Language("English", "Native"));
+    }
+    if (random.nextDouble() < 0.15) {
+      String extra = EXTRA_LANGUAGES[random.nextInt(EXTRA_LANGUAGES.length)];
+      if (languages.stream().noneMatch(language -> language.getLanguage().equals(extra))) {
+        languages.add(new Seller.Language(extra, "Basic"));
+      }
+    }
+
+    // A third of sellers are unrated; the rest have a long-tailed count and mostly high averages.
+    int ratingsCount = random.nextDouble() < 0.3 ? 0 : (int) Math.min(500, Math.exp(random.nextDouble() * 6.2));
+    double average = 5 - Math.abs(random.nextGaussian()) * 0.6;
+    int ratingSum = (int) Math.round(Math.max(1, average) * ratingsCount);
+    LocalDateTime createdAt = LocalDateTime.now().minusMinutes(random.nextLong(3L * 365 * 24 * 60));
+
+    return sellerBuilder(i)
+        .country(country)
+        .languages(languages)
+        .skills(new ArrayList<>(skills))
+        .ratingsCount(ratingsCount)
+        .ratingSum(ratingSum)
+        .ratingAverage(ratingsCount > 0 ? (double) ratingSum / ratingsCount : 0)
+        .completedJobs(ratingsCount + random.nextInt(ratingsCount / 4 + 1))
+        .responseTime(1 + random.nextInt(48))
+        .recentDelivery(ratingsCount > 0 ? LocalDate.now().minusDays(random.nextInt(90)) : null)
+        .createdAt(createdAt)
+        .build();
+  }
+
+  private static Seller.SellerBuilder sellerBuilder(int i) {
+    return Seller.builder()
+        // Assigned here rather than by the bulk insert, so indexing the seeded sellers sees their ids.
+        .id(new ObjectId().toHexString())
+        // Stamped like a created seller, so the change feed indexes it on the other instances.
+        .version(1)
+        .updatedAt(LocalDateTime.now())
+        .fullName("Seller " + i)
+        .username("seller" + i)
+        .email("seller" + i + "@example.com")
+        .profilePicture("https://example.com/images/seller" + i + ".jpg")
+        .profilePublicId("publicId" + i)
+        .description("Experienced seller in various domains.")
+        .oneliner("Expert in multiple fields")
+        .experience(List.of(
+            new Seller.Experience("Company " + i, "Developer", "2020", "2022", "Worked on backend systems", false)))
+        .education(List.of(new Seller.Education("India", "University " + i, "Bachelor's", "Computer Science", "2020")))
+        .socialLinks(List.of("https://linkedin.com/in/seller" + i))
+        .certificates(List.of(new Seller.Certificate("Java Certification", "Oracle", 2021)));
+  }
+
+  private static String pick(RandomGenerator random, String[] values, double[] cumulativeWeights) {
+    return values[pickIndex(random, cumulativeWeights)];
+  }
+
+  private static int pickIndex(RandomGenerator random, double[] cumulativeWeights) {
+    double target = random.nextDouble() * cumulativeWeights[cumulativeWeights.length - 1];
+    int index = Arrays.binarySearch(cumulativeWeights, target);
+    return Math.min(index >= 0 ? index + 1 : -index - 1, cumulativeWeights.length - 1);
+  }
+
+  /** Cumulative weights where rank {@code k} is drawn in proportion to {@code 1 / k^exponent} */
+  private static double[] zipf(int size, double exponent) {
+    double[] weights = new double[size];
+    for (int k = 0; k < size; k++) {
+      weights[k] = 1 / Math.pow(k + 1, exponent);
+    }
+    return cumulative(weights);
+  }
+
+  private static double[] cumulative(double[] weights) {
+    double[] cumulative = new double[weights.length];
+    double total = 0;
+    for (int i = 0; i < weights.length; i++) {
+      total += weights[i];
+      cumulative[i] = total;
+    }
+    return cumulative;
+  }
+}
@@ -0,0 +1,32 @@
+package com.jobber.user.services.seed;
+
+import com.jobber.common.exceptions.BadRequestException;
+
+/**
+ * The shape of seeded documents.
+ */
+public enum SeedProfile {
+
+  /** Every document alike apart from its number, as the seed endpoints always produced */
+  UNIFORM,
+
+  /**
+   * Skills, countries and languages drawn from skewed distributions, a few very common and a
+   * long tail, with ratings and creation dates spread out, for benchmark datasets
+   */
+  REALISTIC;
+
+  /**
+   * @throws BadRequestException if {@code profile} names no profile
+   */
+  static SeedProfile parse(String profile) {
+    if (profile == null || profile.isBlank()) {
+      return UNIFORM;
+    }
+    try {
+      return valueOf(profile.trim().toUpperCase());
+    } catch (IllegalArgumentException e) {
+      throw new BadRequestException("Profile must be one of uniform, realistic");
+    }
+  }
+}
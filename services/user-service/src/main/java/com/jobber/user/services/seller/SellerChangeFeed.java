@@ -0,0 +1,107 @@
+package com.jobber.user.services.seller;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.jobber.user.models.Seller;
+import com.jobber.user.repositories.SellerRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Tells this instance's in-memory views of sellers about changes made through any instance.
+ * <p>
+ * Every {@code poll-interval} the sellers whose {@code updatedAt} moved past the last poll are
+ * listed from the {@code updatedAt_id} index and handed to every {@link Listener}. Each poll
+ * reads back {@code poll-overlap} before the newest change already seen, which catches updates
+ * that became visible after a later one, and sellers created with the clock of an instance
+ * slightly behind; listeners therefore see a change more than once and must tolerate it. A
+ * page is only passed when every listener took the previous one, so a failed poll is retried
+ * from where it stopped.
+ */
+@Slf4j
+@Component
+public class SellerChangeFeed {
+
+  /**
+   * Receives changed sellers, with their username, version, update time and index terms.
+   */
+  public interface Listener {
+
+    void sellersChanged(List<Seller> changes);
+  }
+
+  private final SellerRepository sellerRepository;
+  private final List<Listener> listeners;
+  private final Clock clock;
+  private final Duration pollOverlap;
+  private final int pollBatchSize;
+
+  /** The newest {@code updatedAt} seen by a poll; {@code null} before the first */
+  private LocalDateTime watermark;
+
+  @Autowired
+  public SellerChangeFeed(SellerRepository sellerRepository, List<Listener> listeners,
+      @Value("${user.seller-changes.poll-overlap:PT5S}") Duration pollOverlap,
+      @Value("${user.seller-changes.poll-batch-size:1000}") int pollBatchSize) {
+    this(sellerRepository, listeners, pollOverlap, pollBatchSize, Clock.systemDefaultZone());
+  }
+
+  SellerChangeFeed(SellerRepository sellerRepository, List<Listener> listeners, Duration pollOverlap,
+      int pollBatchSize, Clock clock) {
+    this.sellerRepository = sellerRepository;
+    this.listeners = listeners;
+    this.pollOverlap = pollOverlap;
+    this.pollBatchSize = pollBatchSize;
+    this.clock = clock;
+  }
+
+  /**
+   * Passes the sellers updated since the last poll, by this or any other instance, to the
+   * listeners. The first poll only records the newest update already stored as its starting
+   * point.
+   *
+   * @return the number of changes passed on, including those read again within the overlap
+   */
+  @Scheduled(fixedDelayString = "${user.seller-changes.poll-interval:PT1S}")
+  public synchronized int poll() {
+    int passed = 0;
+    try {
+      if (watermark == null) {
+        LocalDateTime latest = sellerRepository.findLatestUpdate();
+        watermark = latest != null ? latest : LocalDateTime.now(clock);
+        return 0;
+      }
+      LocalDateTime since = watermark.minus(pollOverlap);
+      String afterId = null;
+      List<Seller> changes;
+      do {
+        changes = sellerRepository.findChanges(since, afterId, pollBatchSize);
+        if (changes.isEmpty()) {
+          break;
+        }
+        for (Listener listener : listeners) {
+          listener.sellersChanged(changes);
+        }
+        passed += changes.size();
+        Seller last = changes.get(changes.size() - 1);
+        since = last.getUpdatedAt();
+        afterId = last.getId();
+        if (since.isAfter(watermark)) {
+          watermark = since;
+        }
+      } while (changes.size() == pollBatchSize);
+    } catch (DataAccessException e) {
+      log.warn("Polling for seller changes failed, will retry: {}", e.getMessage());
+    }
+    return passed;
+  }
+}
@@ -0,0 +1,305 @@
+package com.jobber.user.services.seller;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jobber.common.exceptions.BadRequestException;
+import com.jobber.common.exceptions.ServiceUnavailableException;
+import com.jobber.user.dtos.requests.SellerJobStatsEvent;
+import com.jobber.user.repositories.SellerJobStatsDelta;
+import com.jobber.user.repositories.SellerRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps sellers' job statistics ({@code ongoingJobs}, {@code completedJobs},
+ * {@code cancelledJobs}, {@code totalEarnings}, {@code totalGigs}, {@code recentDelivery})
+ * from order and gig events without rewriting the seller for each event. Events are summed
+ * per seller in {@code stripes} independently locked accumulators and written every
+ * {@code flush-interval}, or sooner once {@code flush-threshold} events are pending, as one
+ * {@code $inc}/{@code $max} update per seller in a single bulk write.
+ * <p>
+ * Every event is appended to a local {@link SellerJobStatsJournal} before it is acknowledged.
+ * A flush rotates the journal under the same lock that drains the accumulators, so the closed
+ * segment holds exactly the events being flushed, and the segment is deleted only after the
+ * sellers are updated. The segment id is the flush id guarding the sellers' updates, so
+ * replaying a segment left by a crash adds each event once.
+ * <p>
+ * A flush that fails is retried only by the scheduled flush, so request threads never wait on
+ * a database that is down. Meanwhile events are still journaled until {@code max-pending} of
+ * them are waiting to be applied; further batches are refused until the flushes catch up.
+ */
+@Slf4j
+@Component
+public class SellerJobStatsCounter {
+
+  private static final class Tally {
+    private int ongoingJobs;
+    private int completedJobs;
+    private int cancelledJobs;
+    private double totalEarnings;
+    private int totalGigs;
+    private LocalDate recentDelivery;
+
+    void add(SellerJobStatsEvent event) {
+      ongoingJobs += event.getOngoingJobs();
+      completedJobs += event.getCompletedJobs();
+      cancelledJobs += event.getCancelledJobs();
+      totalEarnings += event.getTotalEarnings();
+      totalGigs += event.getTotalGigs();
+      if (event.getRecentDelivery() != null
+          && (recentDelivery == null || event.getRecentDelivery().isAfter(recentDelivery))) {
+        recentDelivery = event.getRecentDelivery();
+      }
+    }
+
+    SellerJobStatsDelta toDelta(String sellerId) {
+      return new SellerJobStatsDelta(sellerId, ongoingJobs, completedJobs, cancelledJobs, totalEarnings, totalGigs,
+          recentDelivery);
+    }
+  }
+
+  private record Flush(String id, List<SellerJobStatsDelta> deltas, long events) {
+
+    List<String> sellerIds() {
+      return deltas.stream().map(SellerJobStatsDelta::sellerId).toList();
+    }
+  }
+
+  private final SellerRepository sellerRepository;
+  private final SellerJobStatsJournal journal;
+  private final int flushThreshold;
+  private final long maxPending;
+
+  /** Accumulators by seller, partitioned by seller id hash; each is guarded by its own monitor */
+  private final List<Map<String, Tally>> stripes;
+  /** Held shared while recording and exclusively while draining, so the journal and accumulators switch together */
+  private final ReadWriteLock epochLock = new ReentrantReadWriteLock();
+  private final ReentrantLock flushLock = new ReentrantLock();
+  private final AtomicLong pending = new AtomicLong();
+  /** Events accepted but not yet applied, whether pending or in a failed flush */
+  private final AtomicLong unapplied = new AtomicLong();
+  /** Flushes that failed, retried in order before new events */
+  private final Queue<Flush> failedFlushes = new ConcurrentLinkedQueue<>();
+
+  private final Counter events;
+  private final Counter sellerUpdates;
+  private final Counter rejected;
+
+  @Autowired
+  public SellerJobStatsCounter(SellerRepository sellerRepository, ObjectMapper objectMapper,
+      MeterRegistry meterRegistry, @Value("${user.job-stats.journal-dir:data/job-stats-journal}") Path journalDir,
+      @Value("${user.job-stats.fsync:true}") boolean fsync, @Value("${user.job-stats.stripes:16}") int stripes,
+      @Value("${user.job-stats.flush-threshold:50000}") int flushThreshold,
+      @Value("${user.job-stats.max-pending:1000000}") long maxPending) {
+    this.sellerRepository = sellerRepository;
+    this.journal = new SellerJobStatsJournal(journalDir, fsync, objectMapper);
+    this.flushThreshold = flushThreshold;
+    this.maxPending = maxPending;
+    this.stripes = new ArrayList<>(stripes);
+    for (int i = 0; i < stripes; i++) {
+      this.stripes.add(new HashMap<>());
+    }
+    this.events = Counter.builder("user.job-stats.events").register(meterRegistry);
+    this.sellerUpdates = Counter.builder("user.job-stats.seller-updates")
+        .description("Seller documents updated by job stats flushes; events / updates is the coalescing factor")
+        .register(meterRegistry);
+    this.rejected = Counter.builder("user.job-stats.rejected")
+        .description("Events refused because max-pending events were not yet applied")
+        .register(meterRegistry);
+    Gauge.builder("user.job-stats.pending", pending, AtomicLong::get)
+        .description("Events recorded but not yet drained by a flush")
+        .register(meterRegistry);
+    Gauge.builder("user.job-stats.unapplied", unapplied, AtomicLong::get)
+        .description("Events recorded but not yet applied to the sellers, including failed flushes")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Journals the events and adds them to the sellers' accumulators. Flushes on the calling
+   * thread when the pending events reach {@code flush-threshold}, no flush is running and none
+   * is waiting to be retried.
+   *
+   * @throws BadRequestException         if an event has no seller id or invalid earnings
+   * @throws ServiceUnavailableException if {@code max-pending} events are waiting to be applied;
+   *                                     none were recorded
+   * @throws UncheckedIOException        if the events could not be journaled; none were recorded
+   */
+  public void record(List<SellerJobStatsEvent> batch) {
+    for (SellerJobStatsEvent event : batch) {
+      if (event.getSellerId() == null || event.getSellerId().isBlank()) {
+        throw new BadRequestException("Every job stats event needs a sellerId");
+      }
+      if (!Double.isFinite(event.getTotalEarnings())) {
+        throw new BadRequestException("totalEarnings must be a finite number");
+      }
+    }
+    if (batch.isEmpty()) {
+      return;
+    }
+    if (unapplied.addAndGet(batch.size()) > maxPending) {
+      unapplied.addAndGet(-batch.size());
+      rejected.increment(batch.size());
+      throw new ServiceUnavailableException("Too many job stats events are waiting to be applied, retry later");
+    }
+
+    long pendingNow;
+    epochLock.readLock().lock();
+    try {
+      journal.append(batch);
+      for (SellerJobStatsEvent event : batch) {
+        Map<String, Tally> stripe = stripe(event.getSellerId());
+        synchronized (stripe) {
+          stripe.computeIfAbsent(event.getSellerId(), sellerId -> new Tally()).add(event);
+        }
+      }
+      // Counted under the lock, so the drain that takes these events also takes their count.
+      pendingNow = pending.addAndGet(batch.size());
+    } catch (UncheckedIOException e) {
+      unapplied.addAndGet(-batch.size());
+      throw e;
+    } finally {
+      epochLock.readLock().unlock();
+    }
+    events.increment(batch.size());
+
+    // After a failure only the scheduled flush retries, rather than every request.
+    if (pendingNow >= flushThreshold && failedFlushes.isEmpty() && flushLock.tryLock()) {
+      try {
+        flushLocked();
+      } finally {
+        flushLock.unlock();
+      }
+    }
+  }
+
+  /**
+   * Writes the accumulated changes to the sellers. Runs every {@code flush-interval}.
+   */
+  @Scheduled(fixedDelayString = "${user.job-stats.flush-interval:PT1S}")
+  public void flush() {
+    flushLock.lock();
+    try {
+      flushLocked();
+    } finally {
+      flushLock.unlock();
+    }
+  }
+
+  /**
+   * Queues the segments left by a previous run, so the next flush applies them before new events.
+   */
+  @PostConstruct
+  public void recover() {
+    int recovered = 0;
+    for (String segmentId : journal.leftoverSegments()) {
+      Map<String, Tally> tallies = new HashMap<>();
+      int[] count = {0};
+      journal.read(segmentId, event -> {
+        tallies.computeIfAbsent(event.getSellerId(), sellerId -> new Tally()).add(event);
+        count[0]++;
+      });
+      failedFlushes.add(new Flush(segmentId, deltas(tallies), count[0]));
+      unapplied.addAndGet(count[0]);
+      recovered += count[0];
+    }
+    if (!journal.leftoverSegments().isEmpty()) {
+      log.info("Recovered {} job stats events from {} journal segments", recovered,
+          journal.leftoverSegments().size());
+    }
+  }
+
+  /**
+   * Flushes once more and closes the journal. Whatever could not be flushed stays in the
+   * journal for the next start.
+   */
+  @PreDestroy
+  public void close() {
+    flush();
+    journal.close();
+  }
+
+  private void flushLocked() {
+    for (Flush failed = failedFlushes.peek(); failed != null; failed = failedFlushes.peek()) {
+      if (!apply(failed)) {
+        return;
+      }
+      failedFlushes.poll();
+    }
+
+    String segmentId;
+    long drained;
+    Map<String, Tally> taken = new HashMap<>();
+    epochLock.writeLock().lock();
+    try {
+      segmentId = journal.rotate();
+      for (Map<String, Tally> stripe : stripes) {
+        synchronized (stripe) {
+          taken.putAll(stripe);
+          stripe.clear();
+        }
+      }
+      drained = pending.getAndSet(0);
+    } finally {
+      epochLock.writeLock().unlock();
+    }
+    if (segmentId == null) {
+      return;
+    }
+    Flush flush = new Flush(segmentId, deltas(taken), drained);
+    if (!apply(flush)) {
+      failedFlushes.add(flush);
+    }
+  }
+
+  /**
+   * @return whether the flush was applied; on failure it can be applied again as is
+   */
+  private boolean apply(Flush flush) {
+    try {
+      sellerRepository.applyJobStats(flush.id(), flush.deltas());
+      journal.delete(flush.id());
+      if (!flush.deltas().isEmpty()) {
+        sellerRepository.clearJobStatsFlush(flush.id(), flush.sellerIds());
+      }
+      sellerUpdates.increment(flush.deltas().size());
+      unapplied.addAndGet(-flush.events());
+      return true;
+    } catch (DataAccessException | UncheckedIOException e) {
+      log.warn("Job stats flush {} for {} sellers failed, will retry: {}", flush.id(), flush.deltas().size(),
+          e.getMessage());
+      return false;
+    }
+  }
+
+  private Map<String, Tally> stripe(String sellerId) {
+    return stripes.get(Math.floorMod(sellerId.hashCode(), stripes.size()));
+  }
+
+  private static List<SellerJobStatsDelta> deltas(Map<String, Tally> tallies) {
+    return tallies.entrySet().stream().map(entry -> entry.getValue().toDelta(entry.getKey())).toList();
+  }
+}
@@ -0,0 +1,184 @@
+package com.jobber.user.services.seller;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.bson.types.ObjectId;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jobber.user.dtos.requests.SellerJobStatsEvent;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Append-only log of job statistics events that may not be in MongoDB yet, on local disk so a
+ * crash between flushes loses no counts. Events are appended to the open segment as JSON
+ * lines; a flush rotates to a new segment and deletes the old one once its events are stored.
+ * Segments are named by an {@link ObjectId}, which also serves as the flush id, so they sort in
+ * the order they were written.
+ */
+@Slf4j
+class SellerJobStatsJournal implements Closeable {
+
+  private static final String SUFFIX = ".ndjson";
+
+  private final Path directory;
+  private final boolean fsync;
+  private final ObjectMapper objectMapper;
+  private final List<String> leftoverSegments;
+
+  private String segmentId;
+  private FileChannel channel;
+  private boolean empty;
+
+  /**
+   * @param directory where segments are kept; must not be shared with another instance
+   * @param fsync     whether {@link #append} forces the events to disk before returning
+   * @throws UncheckedIOException if the directory cannot be read or the first segment created
+   */
+  SellerJobStatsJournal(Path directory, boolean fsync, ObjectMapper objectMapper) {
+    this.directory = directory;
+    this.fsync = fsync;
+    this.objectMapper = objectMapper;
+    try {
+      Files.createDirectories(directory);
+      try (Stream<Path> files = Files.list(directory)) {
+        leftoverSegments = files.map(file -> file.getFileName().toString())
+            .filter(name -> name.endsWith(SUFFIX))
+            .map(name -> name.substring(0, name.length() - SUFFIX.length()))
+            .sorted()
+            .toList();
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot read the job stats journal in " + directory, e);
+    }
+    open();
+  }
+
+  /**
+   * @return the segments left by a previous run, oldest first; their events may not be stored
+   */
+  List<String> leftoverSegments() {
+    return leftoverSegments;
+  }
+
+  /**
+   * Appends the events to the open segment in one write.
+   *
+   * @throws UncheckedIOException if the events could not be written
+   */
+  synchronized void append(List<SellerJobStatsEvent> events) {
+    try {
+      ByteArrayOutputStream lines = new ByteArrayOutputStream(events.size() * 128);
+      for (SellerJobStatsEvent event : events) {
+        lines.write(objectMapper.writeValueAsBytes(event));
+        lines.write('\n');
+      }
+      ByteBuffer buffer = ByteBuffer.wrap(lines.toByteArray());
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+      if (fsync) {
+        channel.force(false);
+      }
+      empty = false;
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot append to job stats journal segment " + segmentId, e);
+    }
+  }
+
+  /**
+   * Closes the open segment and starts a new one.
+   *
+   * @return the id of the closed segment, or {@code null} if nothing was appended to it, in
+   *     which case it stays open
+   */
+  synchronized String rotate() {
+    if (empty) {
+      return null;
+    }
+    String closed = segmentId;
+    closeChannel();
+    open();
+    return closed;
+  }
+
+  /**
+   * Reads back the events of a closed segment. A line cut short by a crash is skipped.
+   */
+  void read(String segmentId, Consumer<SellerJobStatsEvent> consumer) {
+    try (BufferedReader reader = Files.newBufferedReader(path(segmentId))) {
+      for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+        if (line.isBlank()) {
+          continue;
+        }
+        try {
+          consumer.accept(objectMapper.readValue(line, SellerJobStatsEvent.class));
+        } catch (JsonProcessingException e) {
+          log.warn("Skipping unreadable line in job stats journal segment {}: {}", segmentId, e.getOriginalMessage());
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot read job stats journal segment " + segmentId, e);
+    }
+  }
+
+  /**
+   * Deletes a closed segment once its events are stored.
+   *
+   * @throws UncheckedIOException if the segment could not be deleted
+   */
+  void delete(String segmentId) {
+    try {
+      Files.deleteIfExists(path(segmentId));
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot delete job stats journal segment " + segmentId, e);
+    }
+  }
+
+  /**
+   * Closes the open segment, deleting it if nothing was appended.
+   */
+  @Override
+  public synchronized void close() {
+    closeChannel();
+    if (empty) {
+      delete(segmentId);
+    }
+  }
+
+  private void open() {
+    segmentId = new ObjectId().toHexString();
+    try {
+      channel = FileChannel.open(path(segmentId), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE,
+          StandardOpenOption.APPEND);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot create job stats journal segment in " + directory, e);
+    }
+    empty = true;
+  }
+
+  private void closeChannel() {
+    try {
+      channel.close();
+    } catch (IOException e) {
+      log.warn("Closing job stats journal segment {} failed: {}", segmentId, e.getMessage());
+    }
+  }
+
+  private Path path(String segmentId) {
+    return directory.resolve(segmentId + SUFFIX);
+  }
+}
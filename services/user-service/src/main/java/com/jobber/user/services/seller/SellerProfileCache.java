@@ -0,0 +1,217 @@
+package com.jobber.user.services.seller;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.jobber.user.dtos.responses.SellerResponse;
+import com.jobber.user.mappers.SellerMapper;
+import com.jobber.user.models.Seller;
+import com.jobber.user.repositories.SellerRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * In-process cache of mapped seller profiles, by id and by username, bounded by the
+ * approximate JSON size of the profiles rather than their number.
+ * <p>
+ * Every instance keeps its own copy, so updates made through any instance are found through
+ * the {@link SellerChangeFeed}: cached profiles older than a changed seller's {@code version}
+ * are dropped. The feed's overlap also catches profiles loaded while their update was being
+ * polled, and the version comparison makes its repeats free. A stale profile is thus served for
+ * about one poll interval after an update, and never longer than {@code expire-after-write}.
+ * <p>
+ * Cached profiles are shared between requests and must not be modified.
+ */
+@Component
+public class SellerProfileCache implements SellerChangeFeed.Listener {
+
+  private static final int USERNAME_INDEX_SIZE = 100_000;
+
+  private record CachedSeller(SellerResponse response, long version, int weight) {
+  }
+
+  private final SellerRepository sellerRepository;
+  private final SellerMapper sellerMapper;
+  private final ObjectMapper objectMapper;
+  private final Clock clock;
+
+  private final Cache<String, CachedSeller> sellers;
+  /** Username to seller id; checked against the cached profile before use */
+  private final Cache<String, String> usernames;
+
+  private final Timer staleness;
+
+  @Autowired
+  public SellerProfileCache(SellerRepository sellerRepository, SellerMapper sellerMapper, ObjectMapper objectMapper,
+      MeterRegistry meterRegistry, @Value("${user.seller-cache.max-weight:64MB}") DataSize maxWeight,
+      @Value("${user.seller-cache.expire-after-write:PT10M}") Duration expireAfterWrite) {
+    this(sellerRepository, sellerMapper, objectMapper, meterRegistry, maxWeight, expireAfterWrite,
+        Clock.systemDefaultZone());
+  }
+
+  SellerProfileCache(SellerRepository sellerRepository, SellerMapper sellerMapper, ObjectMapper objectMapper,
+      MeterRegistry meterRegistry, DataSize maxWeight, Duration expireAfterWrite, Clock clock) {
+    this.sellerRepository = sellerRepository;
+    this.sellerMapper = sellerMapper;
+    this.objectMapper = objectMapper;
+    this.clock = clock;
+    this.sellers = Caffeine.newBuilder()
+        .maximumWeight(maxWeight.toBytes())
+        .weigher((String id, CachedSeller cached) -> cached.weight())
+        .expireAfterWrite(expireAfterWrite)
+        .recordStats()
+        .build();
+    this.usernames = Caffeine.newBuilder()
+        .maximumSize(USERNAME_INDEX_SIZE)
+        .expireAfterWrite(expireAfterWrite)
+        .build();
+
+    CaffeineCacheMetrics.monitor(meterRegistry, sellers, "sellers");
+    Gauge.builder("user.seller-cache.hit-ratio", sellers, cache -> cache.stats().hitRate())
+        .description("Share of seller profile reads served from this instance's cache")
+        .register(meterRegistry);
+    Gauge.builder("user.seller-cache.weight", sellers,
+            cache -> cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L))
+        .description("Approximate bytes of cached seller profiles")
+        .baseUnit("bytes")
+        .register(meterRegistry);
+    this.staleness = Timer.builder("user.seller-cache.staleness")
+        .description("Time from a seller update to dropping the outdated profile here, including clock skew")
+        .register(meterRegistry);
+  }
+
+  /**
+   * @return the seller's profile, loaded from MongoDB if it is not cached, or {@code null} if
+   *     there is no such seller
+   */
+  public SellerResponse getById(String sellerId) {
+    CachedSeller cached = sellers.get(sellerId,
+        id -> sellerRepository.findById(id).map(this::toCached).orElse(null));
+    return cached == null ? null : cached.response();
+  }
+
+  /**
+   * @return the seller's profile, loaded from MongoDB if it is not cached, or {@code null} if
+   *     there is no such seller
+   */
+  public SellerResponse getByUsername(String username) {
+    String sellerId = usernames.getIfPresent(username);
+    if (sellerId != null) {
+      SellerResponse cached = getById(sellerId);
+      if (cached != null && username.equals(cached.getUsername())) {
+        return cached;
+      }
+      usernames.invalidate(username);
+    }
+
+    Seller seller = sellerRepository.findByUsername(username).orElse(null);
+    if (seller == null) {
+      return null;
+    }
+    usernames.put(username, seller.getId());
+    return sellers.get(seller.getId(), id -> toCached(seller)).response();
+  }
+
+  /**
+   * Looks up many profiles, loading those not cached with one query.
+   *
+   * @return the profiles of the sellers found, by id
+   */
+  public Map<String, SellerResponse> getAllById(Collection<String> sellerIds) {
+    Map<String, SellerResponse> found = new HashMap<>();
+    sellers.getAll(sellerIds, this::loadAll).forEach((id, cached) -> found.put(id, cached.response()));
+    return found;
+  }
+
+  /**
+   * Looks up many profiles, loading those not cached with one query.
+   *
+   * @return the profiles of the sellers found, by username
+   */
+  public Map<String, SellerResponse> getAllByUsername(Collection<String> requested) {
+    Map<String, SellerResponse> found = new HashMap<>();
+    List<String> missed = new ArrayList<>();
+    for (String username : requested) {
+      String sellerId = usernames.getIfPresent(username);
+      CachedSeller cached = sellerId == null ? null : sellers.getIfPresent(sellerId);
+      if (cached != null && username.equals(cached.response().getUsername())) {
+        found.put(username, cached.response());
+      } else {
+        missed.add(username);
+      }
+    }
+    if (!missed.isEmpty()) {
+      for (Seller seller : sellerRepository.findByUsernameIn(missed)) {
+        usernames.put(seller.getUsername(), seller.getId());
+        // Through the map view, as the miss is already counted.
+        found.put(seller.getUsername(),
+            sellers.asMap().computeIfAbsent(seller.getId(), id -> toCached(seller)).response());
+      }
+    }
+    return found;
+  }
+
+  /**
+   * Drops the cached profiles of the changed sellers that are older than the change.
+   */
+  @Override
+  public void sellersChanged(List<Seller> changes) {
+    changes.forEach(this::invalidate);
+  }
+
+  private void invalidate(Seller change) {
+    // Through the map view, so polling does not count as cache reads.
+    CachedSeller cached = sellers.asMap().get(change.getId());
+    if (cached == null || cached.version() >= change.getVersion()) {
+      return;
+    }
+    // A profile reloaded in the meantime stays; the next poll's overlap checks it again.
+    if (!sellers.asMap().remove(change.getId(), cached)) {
+      return;
+    }
+    usernames.invalidate(cached.response().getUsername());
+    if (change.getUsername() != null) {
+      usernames.invalidate(change.getUsername());
+    }
+    staleness.record(Duration.between(change.getUpdatedAt(), LocalDateTime.now(clock)));
+  }
+
+  private Map<String, CachedSeller> loadAll(Collection<? extends String> sellerIds) {
+    Map<String, CachedSeller> loaded = new HashMap<>();
+    for (Seller seller : sellerRepository.findAllById(List.copyOf(sellerIds))) {
+      loaded.put(seller.getId(), toCached(seller));
+    }
+    return loaded;
+  }
+
+  private CachedSeller toCached(Seller seller) {
+    SellerResponse response = sellerMapper.toSellerResponse(seller);
+    return new CachedSeller(response, seller.getVersion(), weigh(response));
+  }
+
+  private int weigh(SellerResponse response) {
+    try {
+      return objectMapper.writeValueAsBytes(response).length;
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Cannot serialize seller " + response.getId(), e);
+    }
+  }
+}
@@ -0,0 +1,31 @@
+package com.jobber.user.services.seller;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.jobber.user.repositories.SellerRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Fills in {@code ratingAverage} on sellers stored before search existed. Without it they
+ * would sort below every rated seller and never match a rating cursor. Runs once the service
+ * is up and is a no-op after the first run.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SellerRatingAverageBackfill {
+
+  private final SellerRepository sellerRepository;
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void backfill() {
+    long updated = sellerRepository.backfillRatingAverage();
+    if (updated > 0) {
+      log.info("Backfilled ratingAverage on {} sellers", updated);
+    }
+  }
+}
@@ -0,0 +1,219 @@
+package com.jobber.user.services.seller;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.jobber.common.exceptions.BadRequestException;
+import com.jobber.user.dtos.requests.SellerRatingRequest;
+import com.jobber.user.dtos.responses.SellerRatingIngestResponse;
+import com.jobber.user.models.Seller;
+import com.jobber.user.models.SellerReview;
+import com.jobber.user.repositories.SellerRatingDelta;
+import com.jobber.user.repositories.SellerRepository;
+import com.jobber.user.repositories.SellerReviewRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Ingests seller ratings. Each rating is first recorded in {@code seller_reviews} under its
+ * review id, which turns a retry into a no-op, then queued in memory. Every
+ * {@code flush-interval} the queued ratings are written as one {@code $inc} per seller however
+ * many ratings it received, so a burst on a popular seller costs one document write instead
+ * of a load-modify-save per rating.
+ * <p>
+ * A flush claims its reviews by stamping them with a flush id, but only those no other flush
+ * holds, and adds to the sellers only the reviews it actually claimed. It applies the sellers'
+ * updates guarded by that id, marks the reviews applied and then clears the id from the
+ * sellers. Replaying a stamped flush, on retry or after a crash, therefore adds each rating
+ * once, and two instances recovering the same review count it once. At startup, reviews left
+ * unapplied for longer than {@code recovery-grace} are replayed; younger ones may still be
+ * queued on another instance.
+ */
+@Slf4j
+@Component
+public class SellerRatingIngest {
+
+  private record Flush(String id, List<String> reviewIds) {
+  }
+
+  private final SellerRepository sellerRepository;
+  private final SellerReviewRepository sellerReviewRepository;
+  private final Duration recoveryGrace;
+  private final Clock clock;
+
+  /** Ids of recorded reviews waiting for the next flush */
+  private final Queue<String> pending = new ConcurrentLinkedQueue<>();
+  /** Flushes that failed, retried in order before new tallies */
+  private final Queue<Flush> failedFlushes = new ConcurrentLinkedQueue<>();
+
+  private final Counter accepted;
+  private final Counter duplicates;
+  private final Counter sellerUpdates;
+
+  @Autowired
+  public SellerRatingIngest(SellerRepository sellerRepository, SellerReviewRepository sellerReviewRepository,
+      MeterRegistry meterRegistry, @Value("${user.ratings.recovery-grace:PT10M}") Duration recoveryGrace) {
+    this(sellerRepository, sellerReviewRepository, meterRegistry, recoveryGrace, Clock.systemDefaultZone());
+  }
+
+  SellerRatingIngest(SellerRepository sellerRepository, SellerReviewRepository sellerReviewRepository,
+      MeterRegistry meterRegistry, Duration recoveryGrace, Clock clock) {
+    this.sellerRepository = sellerRepository;
+    this.sellerReviewRepository = sellerReviewRepository;
+    this.recoveryGrace = recoveryGrace;
+    this.clock = clock;
+    this.accepted = Counter.builder("user.ratings.ingested").tag("result", "accepted").register(meterRegistry);
+    this.duplicates = Counter.builder("user.ratings.ingested").tag("result", "duplicate").register(meterRegistry);
+    this.sellerUpdates = Counter.builder("user.ratings.seller-updates")
+        .description("Seller documents updated by rating flushes; ingested / updates is the coalescing factor")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Records the ratings and queues them for the next flush.
+   *
+   * @throws BadRequestException if a rating lacks an id or is not 1 to 5 stars
+   */
+  public SellerRatingIngestResponse ingest(List<SellerRatingRequest> ratings) {
+    for (SellerRatingRequest rating : ratings) {
+      if (rating.getReviewId() == null || rating.getReviewId().isBlank()
+          || rating.getSellerId() == null || rating.getSellerId().isBlank()) {
+        throw new BadRequestException("Every rating needs a reviewId and a sellerId");
+      }
+      if (rating.getRating() < 1 || rating.getRating() > 5) {
+        throw new BadRequestException("Rating must be between 1 and 5");
+      }
+    }
+
+    Set<String> sellerIds = ratings.stream().map(SellerRatingRequest::getSellerId).collect(Collectors.toSet());
+    Set<String> existing = sellerRepository.findIdsByIdIn(sellerIds).stream()
+        .map(Seller::getId)
+        .collect(Collectors.toSet());
+    List<SellerReview> reviews = new ArrayList<>();
+    List<String> unknownSellerReviewIds = new ArrayList<>();
+    for (SellerRatingRequest rating : ratings) {
+      if (existing.contains(rating.getSellerId())) {
+        reviews.add(SellerReview.builder()
+            .id(rating.getReviewId())
+            .sellerId(rating.getSellerId())
+            .rating(rating.getRating())
+            .createdAt(LocalDateTime.now(clock))
+            .build());
+      } else {
+        unknownSellerReviewIds.add(rating.getReviewId());
+      }
+    }
+
+    List<SellerReview> recorded = sellerReviewRepository.insertNew(reviews);
+    recorded.forEach(review -> pending.add(review.getId()));
+    accepted.increment(recorded.size());
+    duplicates.increment(reviews.size() - recorded.size());
+
+    return SellerRatingIngestResponse.builder()
+        .accepted(recorded.size())
+        .duplicates(reviews.size() - recorded.size())
+        .unknownSellerReviewIds(unknownSellerReviewIds)
+        .build();
+  }
+
+  /**
+   * Writes the tallied ratings to the sellers. Runs every {@code flush-interval} and once more
+   * on shutdown.
+   */
+  @PreDestroy
+  @Scheduled(fixedDelayString = "${user.ratings.flush-interval:PT1S}")
+  public synchronized void flush() {
+    for (Flush failed = failedFlushes.peek(); failed != null; failed = failedFlushes.peek()) {
+      if (!apply(failed)) {
+        return;
+      }
+      failedFlushes.poll();
+    }
+
+    List<String> reviewIds = new ArrayList<>();
+    for (String reviewId = pending.poll(); reviewId != null; reviewId = pending.poll()) {
+      reviewIds.add(reviewId);
+    }
+    if (reviewIds.isEmpty()) {
+      return;
+    }
+    Flush flush = new Flush(new ObjectId().toHexString(), reviewIds);
+    if (!apply(flush)) {
+      failedFlushes.add(flush);
+    }
+  }
+
+  /**
+   * Picks up reviews that were recorded but never marked applied, as after a crash.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void recover() {
+    List<SellerReview> unapplied = sellerReviewRepository.findUnapplied(LocalDateTime.now(clock).minus(recoveryGrace));
+    if (unapplied.isEmpty()) {
+      return;
+    }
+    Map<String, List<SellerReview>> stamped = new HashMap<>();
+    for (SellerReview review : unapplied) {
+      if (review.getFlushId() == null) {
+        pending.add(review.getId());
+      } else {
+        stamped.computeIfAbsent(review.getFlushId(), id -> new ArrayList<>()).add(review);
+      }
+    }
+    // Replayed under their original id, so sellers that already got them are skipped.
+    stamped.forEach((flushId, reviews) ->
+        failedFlushes.add(new Flush(flushId, reviews.stream().map(SellerReview::getId).toList())));
+    log.info("Recovered {} unapplied seller ratings, {} of them from {} interrupted flushes", unapplied.size(),
+        stamped.values().stream().mapToInt(List::size).sum(), stamped.size());
+  }
+
+  /**
+   * @return whether the flush was applied; on failure it can be applied again as is
+   */
+  private boolean apply(Flush flush) {
+    try {
+      List<SellerReview> claimed = sellerReviewRepository.assignFlush(flush.reviewIds(), flush.id());
+      if (claimed.size() < flush.reviewIds().size()) {
+        log.debug("Rating flush {} skips {} reviews held by another flush", flush.id(),
+            flush.reviewIds().size() - claimed.size());
+      }
+      Map<String, int[]> counts = new HashMap<>();
+      for (SellerReview review : claimed) {
+        counts.computeIfAbsent(review.getSellerId(), id -> new int[6])[review.getRating()]++;
+      }
+      List<SellerRatingDelta> deltas = counts.entrySet().stream()
+          .map(e -> new SellerRatingDelta(e.getKey(), e.getValue()))
+          .toList();
+      sellerRepository.applyRatings(flush.id(), deltas);
+      sellerReviewRepository.markApplied(flush.id());
+      sellerRepository.clearRatingFlush(flush.id(), counts.keySet());
+      sellerUpdates.increment(deltas.size());
+      return true;
+    } catch (DataAccessException e) {
+      log.warn("Rating flush {} of {} reviews failed, will retry: {}", flush.id(), flush.reviewIds().size(),
+          e.getMessage());
+      return false;
+    }
+  }
+}
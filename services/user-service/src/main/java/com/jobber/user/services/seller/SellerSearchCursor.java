@@ -0,0 +1,59 @@
+package com.jobber.user.services.seller;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import org.bson.types.ObjectId;
+
+import com.jobber.common.exceptions.BadRequestException;
+import com.jobber.user.models.Seller;
+import com.jobber.user.repositories.SellerSearchQuery;
+import com.jobber.user.repositories.SellerSort;
+
+/**
+ * Opaque keyset cursors for seller search. A cursor names the sort it was issued for and the
+ * sort key and id of the last seller on the page; clients pass it back unchanged to get the
+ * next page.
+ */
+final class SellerSearchCursor {
+
+  private static final char SEPARATOR = '|';
+  private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+  private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+  private SellerSearchCursor() {
+  }
+
+  /**
+   * @return the cursor for the page that follows {@code last}
+   */
+  static String after(Seller last, SellerSort sort) {
+    String value = switch (sort) {
+      case RATING -> Double.toString(last.getRatingAverage());
+      case NEWEST -> last.getCreatedAt().toString();
+    };
+    String cursor = sort.name() + SEPARATOR + value + SEPARATOR + last.getId();
+    return ENCODER.encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * @throws BadRequestException if the cursor is malformed or was issued for another sort
+   */
+  static SellerSearchQuery.Position decode(String cursor, SellerSort sort) {
+    try {
+      String[] parts = new String(DECODER.decode(cursor), StandardCharsets.UTF_8).split("\\|", -1);
+      if (parts.length != 3 || !parts[0].equals(sort.name()) || !ObjectId.isValid(parts[2])) {
+        throw new BadRequestException("Invalid cursor for sort " + sort.name().toLowerCase());
+      }
+      Object value = switch (sort) {
+        case RATING -> Double.valueOf(parts[1]);
+        case NEWEST -> LocalDateTime.parse(parts[1]);
+      };
+      return new SellerSearchQuery.Position(value, parts[2]);
+    } catch (IllegalArgumentException | DateTimeParseException e) {
+      throw new BadRequestException("Invalid cursor");
+    }
+  }
+}
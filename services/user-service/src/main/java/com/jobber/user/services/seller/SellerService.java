@@ -2,8 +2,24 @@ package com.jobber.user.services.seller;
 
 import java.util.List;
 
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.jobber.user.dtos.requests.BatchLookupRequest;
+import com.jobber.user.dtos.requests.SeedRequest;
 import com.jobber.user.dtos.requests.SellerCreateRequest;
+import com.jobber.user.dtos.requests.SellerExportRequest;
+import com.jobber.user.dtos.requests.SellerJobStatsEvent;
+import com.jobber.user.dtos.requests.SellerMatchRequest;
+import com.jobber.user.dtos.requests.SellerRatingRequest;
+import com.jobber.user.dtos.requests.SellerSearchRequest;
+import com.jobber.user.dtos.responses.SeedResponse;
+import com.jobber.user.dtos.responses.SellerBatchResponse;
+import com.jobber.user.dtos.responses.SellerCardResponse;
+import com.jobber.user.dtos.responses.SellerMatchResponse;
+import com.jobber.user.dtos.responses.SellerRatingIngestResponse;
 import com.jobber.user.dtos.responses.SellerResponse;
+import com.jobber.user.dtos.responses.SellerSearchResponse;
+import com.jobber.user.dtos.responses.SellerSummary;
 
 public interface SellerService {
 
@@ -13,7 +29,81 @@ public interface SellerService {
 
   SellerResponse getSellerByUsername(String username);
 
-  List<SellerResponse> getRandomSellers(int count);
+  /**
+   * Looks up sellers by a batch of ids or usernames, from the profile cache where possible
+   * and with one query for the rest.
+   *
+   * @param request the ids or the usernames, at most {@code user.batch.max-size} distinct ones
+   * @return the sellers found, in request order, and the keys with no seller
+   * @throws com.jobber.common.exceptions.BadRequestException if both or neither list is set,
+   *     a key is blank or there are too many
+   */
+  SellerBatchResponse getSellers(BatchLookupRequest request);
+
+  /**
+   * Picks sellers at random.
+   *
+   * @param count the number of sellers, at most {@code user.random-sample.max-size}
+   * @param view  {@code card} (default) or {@code full}
+   * @return {@link SellerCardResponse}s, or {@link SellerResponse}s
+   *     for the full view
+   */
+  List<SellerSummary> getRandomSellers(int count, String view);
+
+  /**
+   * Searches sellers by skills, country and language, one keyset page at a time.
+   *
+   * @param request the filters, sort, cursor and page size
+   * @return the page and the cursor of the next one
+   */
+  SellerSearchResponse searchSellers(SellerSearchRequest request);
+
+  /**
+   * Checks an export and returns the writer of its body: one seller per line as JSON, in id
+   * order, or in creation order when bounded by creation time, read through a database cursor
+   * so memory use does not grow with the collection.
+   *
+   * @param request the resume position, the creation time window and the view
+   * @return the body, written once the response is sent
+   * @throws com.jobber.common.exceptions.BadRequestException if the resume position does not
+   *     fit the export, the window is empty or the view is unknown
+   */
+  StreamingResponseBody exportSellers(SellerExportRequest request);
+
+  /**
+   * Matches sellers by skills, country and language in the in-memory term index, with facet
+   * counts of the matches.
+   *
+   * @param request the filters and the number of sellers to return
+   * @return the match count, the first matching sellers and the facets
+   */
+  SellerMatchResponse matchSellers(SellerMatchRequest request);
+
+  /**
+   * Records ratings from reviews and adds them to the sellers at the next flush. A rating
+   * whose review id was already ingested is ignored.
+   *
+   * @param ratings the ratings, for any number of sellers
+   * @return how many were accepted, how many were duplicates and which sellers were unknown
+   */
+  SellerRatingIngestResponse rateSellers(List<SellerRatingRequest> ratings);
+
+  /**
+   * Records changes to sellers' job statistics from order and gig events. They are journaled
+   * before this returns and reach the sellers at the next flush.
+   *
+   * @param events the changes, for any number of sellers
+   * @throws com.jobber.common.exceptions.ServiceUnavailableException if too many earlier events
+   *     are still waiting to be applied
+   */
+  void recordJobStats(List<SellerJobStatsEvent> events);
 
-  List<SellerResponse> seedSellers(int count);
+  /**
+   * Generates and stores sellers in parallel chunks, indexing each stored chunk.
+   *
+   * @param count   the number of sellers
+   * @param request the data profile and random seed
+   * @return a summary of the run
+   */
+  SeedResponse seedSellers(int count, SeedRequest request);
 }
@@ -1,21 +1,50 @@
 package com.jobber.user.services.seller;
 
-import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Random;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jobber.common.exceptions.BadRequestException;
 import com.jobber.common.exceptions.ConflictException;
 import com.jobber.common.exceptions.NotFoundException;
+import com.jobber.user.dtos.requests.BatchLookupRequest;
+import com.jobber.user.dtos.requests.SeedRequest;
 import com.jobber.user.dtos.requests.SellerCreateRequest;
+import com.jobber.user.dtos.requests.SellerExportRequest;
+import com.jobber.user.dtos.requests.SellerJobStatsEvent;
+import com.jobber.user.dtos.requests.SellerMatchRequest;
+import com.jobber.user.dtos.requests.SellerRatingRequest;
+import com.jobber.user.dtos.requests.SellerSearchRequest;
+import com.jobber.user.dtos.responses.SeedResponse;
+import com.jobber.user.dtos.responses.SellerBatchResponse;
+import com.jobber.user.dtos.responses.SellerMatchResponse;
+import com.jobber.user.dtos.responses.SellerRatingIngestResponse;
 import com.jobber.user.dtos.responses.SellerResponse;
+import com.jobber.user.dtos.responses.SellerSearchResponse;
+import com.jobber.user.dtos.responses.SellerSummary;
 import com.jobber.user.mappers.SellerMapper;
 import com.jobber.user.models.Seller;
 import com.jobber.user.repositories.SellerRepository;
+import com.jobber.user.repositories.SellerSearchQuery;
+import com.jobber.user.repositories.SellerSort;
+import com.jobber.user.repositories.SellerView;
+import com.jobber.user.services.seed.BulkSeeder;
+import com.jobber.user.services.seed.SeedData;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -30,7 +59,30 @@ public class SellerServiceImpl implements SellerService {
 
   private final SellerRepository sellerRepository;
   private final SellerMapper sellerMapper;
-  private final Random random = new Random();
+  private final SellerTermIndex sellerTermIndex;
+  private final BulkSeeder bulkSeeder;
+  private final SellerRatingIngest sellerRatingIngest;
+  private final SellerJobStatsCounter sellerJobStatsCounter;
+  private final SellerProfileCache sellerProfileCache;
+  private final ObjectMapper objectMapper;
+
+  @Value("${user.random-sample.max-size:100}")
+  private int maxRandomSampleSize = 100;
+
+  @Value("${user.batch.max-size:100}")
+  private int maxBatchSize = 100;
+
+  @Value("${user.search.default-page-size:20}")
+  private int defaultSearchPageSize = 20;
+
+  @Value("${user.search.max-page-size:100}")
+  private int maxSearchPageSize = 100;
+
+  @Value("${user.seller-index.facet-size:10}")
+  private int facetSize = 10;
+
+  @Value("${user.export.batch-size:1000}")
+  private int exportBatchSize = 1000;
 
   /**
    * {@inheritDoc}
@@ -44,7 +96,18 @@ public class SellerServiceImpl implements SellerService {
     }
 
     Seller newSeller = sellerMapper.toSeller(request);
-    Seller createdSeller = sellerRepository.save(newSeller);
+    // Stamped by the application clock rather than the server's, as updates are; the change
+    // feed's overlap covers the skew, and the other instances index the seller from it.
+    newSeller.setVersion(1);
+    newSeller.setUpdatedAt(LocalDateTime.now());
+    Seller createdSeller;
+    try {
+      createdSeller = sellerRepository.save(newSeller);
+    } catch (DuplicateKeyException e) {
+      // Taken username, or the same email created concurrently.
+      throw new ConflictException("Seller already exists");
+    }
+    sellerTermIndex.index(createdSeller);
 
     log.info("Created seller: {}", createdSeller);
 
@@ -57,9 +120,11 @@ public class SellerServiceImpl implements SellerService {
   @Override
   public SellerResponse getSellerById(String sellerId) {
     log.info("Getting seller by id: {}", sellerId);
-    Seller seller = sellerRepository.findById(sellerId)
-        .orElseThrow(() -> new NotFoundException("Seller not found"));
-    return sellerMapper.toSellerResponse(seller);
+    SellerResponse seller = sellerProfileCache.getById(sellerId);
+    if (seller == null) {
+      throw new NotFoundException("Seller not found");
+    }
+    return seller;
   }
 
   /**
@@ -68,84 +133,250 @@ public class SellerServiceImpl implements SellerService {
   @Override
   public SellerResponse getSellerByUsername(String username) {
     log.info("Getting seller by username: {}", username);
-    Seller seller = sellerRepository.findByUsername(username)
-        .orElseThrow(() -> new NotFoundException("Seller not found"));
-    return sellerMapper.toSellerResponse(seller);
+    SellerResponse seller = sellerProfileCache.getByUsername(username);
+    if (seller == null) {
+      throw new NotFoundException("Seller not found");
+    }
+    return seller;
   }
 
   /**
    * {@inheritDoc}
    */
   @Override
-  public List<SellerResponse> getRandomSellers(int count) {
+  public SellerBatchResponse getSellers(BatchLookupRequest request) {
+    List<String> keys = batchKeys(request);
+    log.info("Getting {} sellers", keys.size());
+    Map<String, SellerResponse> found = request.getUsernames() != null
+        ? sellerProfileCache.getAllByUsername(keys)
+        : sellerProfileCache.getAllById(keys);
+
+    List<SellerResponse> sellers = new ArrayList<>(found.size());
+    List<String> missing = new ArrayList<>();
+    for (String key : keys) {
+      SellerResponse seller = found.get(key);
+      if (seller != null) {
+        sellers.add(seller);
+      } else {
+        missing.add(key);
+      }
+    }
+    return SellerBatchResponse.builder().sellers(sellers).missing(missing).build();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public List<SellerSummary> getRandomSellers(int count, String view) {
     log.info("Getting {} random sellers", count);
-    List<Seller> allSellers = sellerRepository.findAll();
+    if (count < 1 || count > maxRandomSampleSize) {
+      throw new BadRequestException("Size must be between 1 and " + maxRandomSampleSize);
+    }
+
+    SellerView sellerView = parseView(view);
+
+    // Sampled by Mongo, so only the picked sellers are loaded whatever the collection size.
+    List<Seller> sellers = sellerRepository.findRandom(count, sellerView);
 
-    if (allSellers.isEmpty()) {
+    if (sellers.isEmpty()) {
       throw new NotFoundException("No sellers available");
     }
 
-    // Ensure we don't request more sellers than available
-    int maxCount = Math.min(count, allSellers.size());
+    return toView(sellers, sellerView);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public SellerSearchResponse searchSellers(SellerSearchRequest request) {
+    SellerSort sort = parseSort(request.getSort());
+    SellerView view = parseView(request.getView());
+    int limit = pageSize(request.getLimit());
+    SellerSearchQuery.Position after = request.getCursor() == null || request.getCursor().isBlank()
+        ? null
+        : SellerSearchCursor.decode(request.getCursor(), sort);
 
-    // Shuffle and pick the first 'maxCount' sellers
-    return random.ints(0, allSellers.size())
-        .distinct()
-        .limit(maxCount)
-        .mapToObj(allSellers::get)
-        .map(sellerMapper::toSellerResponse)
-        .collect(Collectors.toList());
+    // One extra seller tells whether there is a next page without a count query.
+    List<Seller> sellers = sellerRepository.search(new SellerSearchQuery(request.getSkills(),
+        blankToNull(request.getCountry()), blankToNull(request.getLanguage()), sort, after, limit + 1), view);
+    boolean hasNext = sellers.size() > limit;
+    List<Seller> page = hasNext ? sellers.subList(0, limit) : sellers;
+
+    return SellerSearchResponse.builder()
+        .sellers(toView(page, view))
+        .nextCursor(hasNext ? SellerSearchCursor.after(page.get(limit - 1), sort) : null)
+        .build();
   }
 
   /**
    * {@inheritDoc}
+   * <p>
+   * The cursor fetches {@code user.export.batch-size} sellers at a time and the output is
+   * flushed after each batch. Writes block while the client is behind, and the next batch is
+   * only fetched once the current one is written, so a slow client holds one batch in memory
+   * rather than the collection. A client that stops reading for longer than the server keeps
+   * an idle cursor loses the export, and resumes it with {@code after}.
    */
   @Override
-  public List<SellerResponse> seedSellers(int count) {
-    log.info("Seeding {} sellers", count);
-
-    List<Seller> sellers = new ArrayList<>();
-
-    for (int i = 0; i < count; i++) {
-      Seller seller = Seller.builder()
-          .fullName("Seller " + i)
-          .username("seller" + i)
-          .email("seller" + i + "@example.com")
-          .profilePicture("https://example.com/images/seller" + i + ".jpg")
-          .profilePublicId("publicId" + i)
-          .description("Experienced seller in various domains.")
-          .oneliner("Expert in multiple fields")
-          .country("India")
-          .languages(List.of(new Seller.Language("English", "Fluent"), new Seller.Language("Hindi", "Native")))
-          .skills(List.of("Java", "Spring Boot", "MongoDB"))
-          .recentDelivery(LocalDate.now().minusDays(i))
-          .experience(List.of(
-              new Seller.Experience("Company " + i, "Developer", "2020", "2022", "Worked on backend systems", false)))
-          .education(
-              List.of(new Seller.Education("India", "University " + i, "Bachelor's", "Computer Science", "2020")))
-          .socialLinks(List.of("https://linkedin.com/in/seller" + i))
-          .certificates(List.of(new Seller.Certificate("Java Certification", "Oracle", 2021)))
-          .ratingsCount(0)
-          .ratingSum(0)
-          .ongoingJobs(0)
-          .completedJobs(0)
-          .cancelledJobs(0)
-          .totalEarnings(0)
-          .totalGigs(0)
-          .responseTime(0)
-          .createdAt(LocalDateTime.now().minusDays(i))
-          .build();
-
-      sellers.add(seller);
-    }
-
-    // Save all sellers to the DB
-    sellerRepository.saveAll(sellers);
-
-    // Map to response DTOs
-    return sellers.stream()
-        .map(sellerMapper::toSellerResponse)
-        .collect(Collectors.toList());
+  public StreamingResponseBody exportSellers(SellerExportRequest request) {
+    LocalDateTime createdFrom = request.getCreatedFrom();
+    LocalDateTime createdBefore = request.getCreatedBefore();
+    if (createdFrom != null && createdBefore != null && !createdFrom.isBefore(createdBefore)) {
+      throw new BadRequestException("createdFrom must be before createdBefore");
+    }
+    // A bounded export runs in creation order, so it resumes from a creation time and an id.
+    String resume = blankToNull(request.getAfter());
+    LocalDateTime afterCreatedAt = resume != null && (createdFrom != null || createdBefore != null)
+        ? resumeCreatedAt(resume)
+        : null;
+    String after = afterCreatedAt != null ? resume.substring(resume.indexOf(',') + 1) : resume;
+    if (after != null && !ObjectId.isValid(after)) {
+      throw new BadRequestException("After must be a seller id");
+    }
+    SellerView view = request.getView() == null || request.getView().isBlank()
+        ? SellerView.FULL
+        : parseView(request.getView());
+
+    return out -> {
+      long started = System.nanoTime();
+      long exported = 0;
+      try (Stream<Seller> sellers = sellerRepository.streamExport(after, afterCreatedAt, createdFrom,
+          createdBefore, view, exportBatchSize)) {
+        for (Iterator<Seller> it = sellers.iterator(); it.hasNext();) {
+          Seller seller = it.next();
+          out.write(objectMapper.writeValueAsBytes(view == SellerView.CARD
+              ? sellerMapper.toSellerCardResponse(seller)
+              : sellerMapper.toSellerResponse(seller)));
+          out.write('\n');
+          if (++exported % exportBatchSize == 0) {
+            out.flush();
+          }
+        }
+      }
+      out.flush();
+      log.info("Exported {} sellers in {} ms", exported, (System.nanoTime() - started) / 1_000_000);
+    };
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public SellerMatchResponse matchSellers(SellerMatchRequest request) {
+    SellerView view = parseView(request.getView());
+    int limit = pageSize(request.getLimit());
+    SellerTermIndex.Match match = sellerTermIndex.match(new SellerTermQuery(request.getSkills(),
+        request.getAnySkills(), request.getCountries(), request.getLanguages()), limit, facetSize);
+
+    // findByIds does not keep the order of the ids.
+    Map<String, Seller> sellers = new HashMap<>();
+    sellerRepository.findByIds(match.sellerIds(), view).forEach(seller -> sellers.put(seller.getId(), seller));
+
+    Map<String, Map<String, Integer>> facets = new LinkedHashMap<>();
+    facets.put("skills", match.facets().get(SellerTermIndex.Field.SKILL));
+    facets.put("countries", match.facets().get(SellerTermIndex.Field.COUNTRY));
+    facets.put("languages", match.facets().get(SellerTermIndex.Field.LANGUAGE));
+
+    return SellerMatchResponse.builder()
+        .total(match.total())
+        .sellers(toView(match.sellerIds().stream().map(sellers::get).filter(Objects::nonNull).toList(), view))
+        .facets(facets)
+        .build();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public SellerRatingIngestResponse rateSellers(List<SellerRatingRequest> ratings) {
+    log.info("Ingesting {} seller ratings", ratings.size());
+    return sellerRatingIngest.ingest(ratings);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void recordJobStats(List<SellerJobStatsEvent> events) {
+    log.debug("Recording {} seller job stats events", events.size());
+    sellerJobStatsCounter.record(events);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public SeedResponse seedSellers(int count, SeedRequest request) {
+    return bulkSeeder.seed(Seller.class, count, request, SeedData::seller, sellerTermIndex::index);
+  }
+
+  private List<String> batchKeys(BatchLookupRequest request) {
+    if ((request.getIds() == null) == (request.getUsernames() == null)) {
+      throw new BadRequestException("Set either ids or usernames");
+    }
+    List<String> requested = request.getIds() != null ? request.getIds() : request.getUsernames();
+    if (requested.stream().anyMatch(key -> key == null || key.isBlank())) {
+      throw new BadRequestException("Ids and usernames must not be blank");
+    }
+    List<String> keys = requested.stream().distinct().toList();
+    if (keys.size() > maxBatchSize) {
+      throw new BadRequestException("At most " + maxBatchSize + " ids or usernames can be looked up at once");
+    }
+    return keys;
+  }
+
+  private int pageSize(Integer limit) {
+    int size = limit == null ? defaultSearchPageSize : limit;
+    if (size < 1 || size > maxSearchPageSize) {
+      throw new BadRequestException("Limit must be between 1 and " + maxSearchPageSize);
+    }
+    return size;
+  }
+
+  private List<SellerSummary> toView(List<Seller> sellers, SellerView view) {
+    return view == SellerView.CARD
+        ? sellers.stream().<SellerSummary>map(sellerMapper::toSellerCardResponse).collect(Collectors.toList())
+        : sellers.stream().<SellerSummary>map(sellerMapper::toSellerResponse).collect(Collectors.toList());
+  }
+
+  private static SellerView parseView(String view) {
+    if (view == null || view.isBlank()) {
+      return SellerView.CARD;
+    }
+    try {
+      return SellerView.valueOf(view.trim().toUpperCase());
+    } catch (IllegalArgumentException e) {
+      throw new BadRequestException("View must be one of card, full");
+    }
+  }
+
+  private static SellerSort parseSort(String sort) {
+    if (sort == null || sort.isBlank()) {
+      return SellerSort.RATING;
+    }
+    try {
+      return SellerSort.valueOf(sort.trim().toUpperCase());
+    } catch (IllegalArgumentException e) {
+      throw new BadRequestException("Sort must be one of rating, newest");
+    }
+  }
+
+  /**
+   * @return the creation time leading {@code <createdAt>,<id>}
+   */
+  private static LocalDateTime resumeCreatedAt(String after) {
+    int comma = after.indexOf(',');
+    try {
+      return LocalDateTime.parse(comma < 0 ? after : after.substring(0, comma));
+    } catch (DateTimeParseException e) {
+      throw new BadRequestException("After must be the createdAt and id of a seller, separated by a comma");
+    }
+  }
+
+  private static String blankToNull(String value) {
+    return value == null || value.isBlank() ? null : value;
   }
 
 }
@@ -0,0 +1,354 @@
+package com.jobber.user.services.seller;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.jobber.user.models.Seller;
+import com.jobber.user.repositories.SellerRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory inverted index from skill, country and language terms to the sellers that have
+ * them. Every seller gets a dense int ordinal and every term a compressed bitmap of ordinals,
+ * so "Java AND Spring Boot in India" is a few bitmap intersections, smallest first, instead of
+ * a multikey index scan per skill, and a facet count is one intersection cardinality per term.
+ * <p>
+ * The index is rebuilt by streaming {@code sellers} once the service is up, before it reports
+ * itself ready. Sellers saved through this instance are indexed at once by {@link #index}, and
+ * those saved through any instance within a poll interval from the {@link SellerChangeFeed},
+ * which carries their terms. Terms match ignoring
+ * case and extra whitespace. Ordinals are never reused: indexing a seller again replaces its
+ * terms under the same ordinal.
+ */
+@Slf4j
+@Component
+public class SellerTermIndex implements SellerChangeFeed.Listener {
+
+  public enum Field {
+    SKILL, COUNTRY, LANGUAGE
+  }
+
+  /**
+   * The result of a lookup.
+   *
+   * @param total     the number of matching sellers
+   * @param sellerIds the first matching sellers, in indexing order
+   * @param facets    per field, the most common terms among the matches and their seller counts
+   */
+  public record Match(int total, List<String> sellerIds, Map<Field, Map<String, Integer>> facets) {
+  }
+
+  private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+  private final SellerRepository sellerRepository;
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private Postings postings = new Postings();
+  /** Sellers indexed while a rebuild streams the collection; {@code null} when none runs. */
+  private List<Seller> indexedDuringRebuild;
+
+  public SellerTermIndex(SellerRepository sellerRepository, MeterRegistry meterRegistry) {
+    this.sellerRepository = sellerRepository;
+    Gauge.builder("user.seller-index.sellers", this, index -> index.read(() -> index.postings.ids.size()))
+        .description("Sellers in the in-memory skill, country and language index")
+        .register(meterRegistry);
+    Gauge.builder("user.seller-index.terms", this, index -> index.read(() -> index.postings.termCount()))
+        .description("Distinct skill, country and language terms in the index")
+        .register(meterRegistry);
+    Gauge.builder("user.seller-index.bitmaps.size", this, index -> index.read(() -> index.postings.sizeInBytes()))
+        .description("Memory held by the index bitmaps")
+        .baseUnit("bytes")
+        .register(meterRegistry);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void rebuild() {
+    long started = System.nanoTime();
+    try (Stream<Seller> sellers = sellerRepository.streamIndexTerms()) {
+      rebuild(sellers);
+    }
+    log.info("Indexed {} sellers under {} terms in {} ms", read(() -> postings.ids.size()),
+        read(() -> postings.termCount()), (System.nanoTime() - started) / 1_000_000);
+  }
+
+  /**
+   * Replaces the index with one built from {@code sellers}. Lookups keep using the current
+   * index until the new one is complete; sellers indexed meanwhile are applied to both.
+   */
+  synchronized void rebuild(Stream<Seller> sellers) {
+    write(() -> indexedDuringRebuild = new ArrayList<>());
+    Postings rebuilt = new Postings();
+    boolean complete = false;
+    try {
+      sellers.forEach(rebuilt::put);
+      complete = true;
+    } finally {
+      boolean swap = complete;
+      write(() -> {
+        if (swap) {
+          indexedDuringRebuild.forEach(rebuilt::put);
+          rebuilt.optimize();
+          postings = rebuilt;
+        }
+        indexedDuringRebuild = null;
+      });
+    }
+  }
+
+  /**
+   * Adds a saved seller, or replaces the terms of one already indexed.
+   */
+  public void index(Seller seller) {
+    index(List.of(seller));
+  }
+
+  public void index(Collection<Seller> sellers) {
+    if (sellers.isEmpty()) {
+      return;
+    }
+    write(() -> {
+      sellers.forEach(postings::put);
+      if (indexedDuringRebuild != null) {
+        indexedDuringRebuild.addAll(sellers);
+      }
+    });
+  }
+
+  /**
+   * Replaces the terms of sellers created or updated through any instance.
+   */
+  @Override
+  public void sellersChanged(List<Seller> changes) {
+    index(changes);
+  }
+
+  /**
+   * @param limit     the maximum number of seller ids to return
+   * @param facetSize the maximum number of terms to count per field
+   */
+  public Match match(SellerTermQuery query, int limit, int facetSize) {
+    return read(() -> {
+      RoaringBitmap matches = postings.match(query);
+      Map<Field, Map<String, Integer>> facets = new EnumMap<>(Field.class);
+      for (Field field : Field.values()) {
+        facets.put(field, postings.facets(field, matches, facetSize));
+      }
+      return new Match(matches.getCardinality(), postings.ids(matches, limit), facets);
+    });
+  }
+
+  /**
+   * @return the term under which {@code value} is indexed, or {@code null} if it is blank
+   */
+  static String normalize(String value) {
+    if (value == null) {
+      return null;
+    }
+    String term = WHITESPACE.matcher(value.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    return term.isEmpty() ? null : term;
+  }
+
+  private <T> T read(Supplier<T> action) {
+    lock.readLock().lock();
+    try {
+      return action.get();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private void write(Runnable action) {
+    lock.writeLock().lock();
+    try {
+      action.run();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private static final class Posting {
+
+    private final Field field;
+    private final String term;
+    /** The spelling first seen, returned in facets */
+    private final String label;
+    private final RoaringBitmap sellers = new RoaringBitmap();
+
+    private Posting(Field field, String term, String label) {
+      this.field = field;
+      this.term = term;
+      this.label = label;
+    }
+  }
+
+  /** The index state; guarded by the enclosing lock once published. */
+  private static final class Postings {
+
+    private static final RoaringBitmap NONE = new RoaringBitmap();
+
+    private final Map<String, Integer> ordinals = new HashMap<>();
+    private final List<String> ids = new ArrayList<>();
+    /** The postings each seller is in, by ordinal, so its terms can be replaced */
+    private final List<List<Posting>> postingsByOrdinal = new ArrayList<>();
+    private final Map<Field, Map<String, Posting>> terms = new EnumMap<>(Field.class);
+    private final RoaringBitmap all = new RoaringBitmap();
+
+    private Postings() {
+      for (Field field : Field.values()) {
+        terms.put(field, new HashMap<>());
+      }
+    }
+
+    void put(Seller seller) {
+      Integer ordinal = ordinals.get(seller.getId());
+      if (ordinal == null) {
+        ordinal = ids.size();
+        ordinals.put(seller.getId(), ordinal);
+        ids.add(seller.getId());
+        postingsByOrdinal.add(List.of());
+        all.add(ordinal);
+      } else {
+        for (Posting posting : postingsByOrdinal.get(ordinal)) {
+          posting.sellers.remove(ordinal);
+          if (posting.sellers.isEmpty()) {
+            terms.get(posting.field).remove(posting.term);
+          }
+        }
+      }
+
+      List<Posting> sellerPostings = new ArrayList<>();
+      if (seller.getSkills() != null) {
+        for (String skill : seller.getSkills()) {
+          add(Field.SKILL, skill, ordinal, sellerPostings);
+        }
+      }
+      add(Field.COUNTRY, seller.getCountry(), ordinal, sellerPostings);
+      if (seller.getLanguages() != null) {
+        for (Seller.Language language : seller.getLanguages()) {
+          if (language != null) {
+            add(Field.LANGUAGE, language.getLanguage(), ordinal, sellerPostings);
+          }
+        }
+      }
+      postingsByOrdinal.set(ordinal, sellerPostings);
+    }
+
+    private void add(Field field, String value, int ordinal, List<Posting> sellerPostings) {
+      String term = normalize(value);
+      if (term == null) {
+        return;
+      }
+      Posting posting = terms.get(field).computeIfAbsent(term, t -> new Posting(field, t, value.trim()));
+      if (posting.sellers.checkedAdd(ordinal)) {
+        sellerPostings.add(posting);
+      }
+    }
+
+    RoaringBitmap match(SellerTermQuery query) {
+      List<RoaringBitmap> required = new ArrayList<>();
+      for (String skill : query.allSkills()) {
+        if (normalize(skill) != null) {
+          required.add(posting(Field.SKILL, skill));
+        }
+      }
+      addAnyOf(required, Field.SKILL, query.anySkills());
+      addAnyOf(required, Field.COUNTRY, query.countries());
+      addAnyOf(required, Field.LANGUAGE, query.languages());
+      if (required.isEmpty()) {
+        return all.clone();
+      }
+
+      required.sort(Comparator.comparingInt(RoaringBitmap::getCardinality));
+      RoaringBitmap matches = required.get(0).clone();
+      for (int i = 1; i < required.size() && !matches.isEmpty(); i++) {
+        matches.and(required.get(i));
+      }
+      return matches;
+    }
+
+    private void addAnyOf(List<RoaringBitmap> required, Field field, List<String> values) {
+      List<RoaringBitmap> any = new ArrayList<>();
+      for (String value : values) {
+        if (normalize(value) != null) {
+          any.add(posting(field, value));
+        }
+      }
+      if (!any.isEmpty()) {
+        required.add(FastAggregation.or(any.iterator()));
+      }
+    }
+
+    private RoaringBitmap posting(Field field, String value) {
+      Posting posting = terms.get(field).get(normalize(value));
+      return posting == null ? NONE : posting.sellers;
+    }
+
+    List<String> ids(RoaringBitmap matches, int limit) {
+      List<String> result = new ArrayList<>(Math.min(limit, matches.getCardinality()));
+      IntIterator ordinals = matches.getIntIterator();
+      while (ordinals.hasNext() && result.size() < limit) {
+        result.add(ids.get(ordinals.next()));
+      }
+      return result;
+    }
+
+    Map<String, Integer> facets(Field field, RoaringBitmap matches, int size) {
+      record Count(String label, int sellers) {
+      }
+      List<Count> counts = new ArrayList<>();
+      for (Posting posting : terms.get(field).values()) {
+        int sellers = RoaringBitmap.andCardinality(posting.sellers, matches);
+        if (sellers > 0) {
+          counts.add(new Count(posting.label, sellers));
+        }
+      }
+      counts.sort(Comparator.comparingInt(Count::sellers).reversed().thenComparing(Count::label));
+
+      Map<String, Integer> facets = new LinkedHashMap<>();
+      for (Count count : counts.subList(0, Math.min(size, counts.size()))) {
+        facets.put(count.label(), count.sellers());
+      }
+      return facets;
+    }
+
+    void optimize() {
+      all.runOptimize();
+      terms.values().forEach(field -> field.values().forEach(posting -> posting.sellers.runOptimize()));
+    }
+
+    int termCount() {
+      return terms.values().stream().mapToInt(Map::size).sum();
+    }
+
+    long sizeInBytes() {
+      long size = all.getLongSizeInBytes();
+      for (Map<String, Posting> field : terms.values()) {
+        for (Posting posting : field.values()) {
+          size += posting.sellers.getLongSizeInBytes();
+        }
+      }
+      return size;
+    }
+  }
+}
@@ -0,0 +1,23 @@
+package com.jobber.user.services.seller;
+
+import java.util.List;
+
+/**
+ * A lookup in {@link SellerTermIndex}. Each list is optional; empty lists match every seller.
+ * The clauses are combined with AND.
+ *
+ * @param allSkills skills the seller must all have
+ * @param anySkills skills the seller must have at least one of
+ * @param countries countries, one of which must be the seller's
+ * @param languages languages, at least one of which the seller must speak
+ */
+public record SellerTermQuery(List<String> allSkills, List<String> anySkills, List<String> countries,
+    List<String> languages) {
+
+  public SellerTermQuery {
+    allSkills = allSkills == null ? List.of() : allSkills;
+    anySkills = anySkills == null ? List.of() : anySkills;
+    countries = countries == null ? List.of() : countries;
+    languages = languages == null ? List.of() : languages;
+  }
+}
@@ -0,0 +1,120 @@
+package com.jobber.user.repositories;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import com.jobber.user.models.Buyer;
+import com.jobber.user.models.BuyerPurchaseBucket;
+import com.jobber.user.models.Seller;
+import com.jobber.user.testing.InMemoryMongo;
+import com.mongodb.client.model.IndexOptions;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests for {@link MongoIndexVerifier} against an in-memory MongoDB server, with background
+ * builds run in the calling thread.
+ */
+class MongoIndexVerifierTest {
+
+  @RegisterExtension
+  final InMemoryMongo mongo = new InMemoryMongo();
+
+  private MongoTemplate mongoTemplate;
+  private SimpleMeterRegistry meterRegistry;
+
+  @BeforeEach
+  void setUp() {
+    mongoTemplate = mongo.template();
+    meterRegistry = new SimpleMeterRegistry();
+    // Registered by the entity scan in the service.
+    for (Class<?> type : List.of(Seller.class, Buyer.class, BuyerPurchaseBucket.class)) {
+      mongoTemplate.getConverter().getMappingContext().getPersistentEntity(type);
+    }
+  }
+
+  /**
+   * Test: Should build every declared index that is missing, and find none missing afterwards.
+   */
+  @Test
+  void verify_CreateMode_BuildsMissingIndexes() {
+    MongoIndexVerifier verifier = verifier(MongoIndexVerifier.OnMissing.CREATE);
+    assertThat(verifier.findMissing()).extracting(MongoIndexVerifier.MissingIndex::toString)
+        .contains("sellers.username", "sellers.email", "sellers.updatedAt_id", "buyers.username", "buyers.email",
+            "buyer_purchase_buckets.buyerId_seq");
+
+    verifier.verify();
+
+    assertThat(indexNames("buyers")).contains("username", "email");
+    assertThat(verifier.findMissing()).isEmpty();
+    assertThat(meterRegistry.get("user.indexes.missing").gauge().value()).isZero();
+  }
+
+  /**
+   * Test: Should accept an index with the declared keys under another name, but not one that
+   * lacks the declared uniqueness.
+   */
+  @Test
+  void findMissing_IndexesCreatedByHand_MatchedByKeysAndUniqueness() {
+    mongoTemplate.getCollection("buyers").createIndex(new Document("username", 1),
+        new IndexOptions().name("by_hand").unique(true));
+    mongoTemplate.getCollection("buyers").createIndex(new Document("email", 1));
+
+    assertThat(verifier(MongoIndexVerifier.OnMissing.WARN).findMissing())
+        .extracting(MongoIndexVerifier.MissingIndex::toString)
+        .contains("buyers.email")
+        .doesNotContain("buyers.username");
+  }
+
+  /**
+   * Test: Should stop startup in fail mode and build nothing in warn mode.
+   */
+  @Test
+  void verify_FailAndWarnModes_DoNotBuild() {
+    assertThatThrownBy(() -> verifier(MongoIndexVerifier.OnMissing.FAIL).verify())
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("buyers.username");
+
+    verifier(MongoIndexVerifier.OnMissing.WARN).verify();
+
+    assertThat(indexNames("buyers")).doesNotContain("username");
+    assertThat(meterRegistry.get("user.indexes.missing").gauge().value()).isPositive();
+  }
+
+  /**
+   * Test: Should leave a unique index over duplicates missing and still build the others.
+   */
+  @Test
+  void verify_DuplicateUsernames_OtherIndexesStillBuilt() {
+    mongoTemplate.insert(Buyer.builder().username("twin").email("first@example.com").build());
+    mongoTemplate.insert(Buyer.builder().username("twin").email("second@example.com").build());
+    MongoIndexVerifier verifier = verifier(MongoIndexVerifier.OnMissing.CREATE);
+
+    verifier.verify();
+
+    assertThat(indexNames("buyers")).contains("email").doesNotContain("username");
+    assertThat(verifier.findMissing()).extracting(MongoIndexVerifier.MissingIndex::toString)
+        .containsExactly("buyers.username");
+    assertThat(meterRegistry.get("user.indexes.missing").gauge().value()).isEqualTo(1);
+  }
+
+  private MongoIndexVerifier verifier(MongoIndexVerifier.OnMissing onMissing) {
+    meterRegistry = new SimpleMeterRegistry();
+    return new MongoIndexVerifier(mongoTemplate, meterRegistry, onMissing, Runnable::run);
+  }
+
+  private List<String> indexNames(String collection) {
+    List<String> names = new ArrayList<>();
+    mongoTemplate.getCollection(collection).listIndexes().forEach(index -> names.add(index.getString("name")));
+    return names;
+  }
+}
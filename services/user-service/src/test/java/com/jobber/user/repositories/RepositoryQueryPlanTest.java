@@ -0,0 +1,286 @@
+package com.jobber.user.repositories;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Named;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.jobber.user.models.Buyer;
+import com.jobber.user.models.BuyerPurchaseBucket;
+import com.jobber.user.models.Seller;
+import com.jobber.user.models.SellerReview;
+import com.jobber.user.services.seed.SeedData;
+import com.jobber.user.services.seed.SeedProfile;
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Calls every repository method against a real mongod with the indexes built by
+ * {@link MongoIndexVerifier}, runs {@code explain} on each query the call sent, and asserts the
+ * winning plan reads an index rather than scanning the collection. Search has its own shapes
+ * in {@link SellerSearchQueryPlanTest}; random samples and the term index stream read whole
+ * collections by design, and inserts have no plan. Skipped when Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class RepositoryQueryPlanTest {
+
+  @Container
+  private static final MongoDBContainer MONGO = new MongoDBContainer("mongo:6.0");
+
+  /** Commands that select documents and so have a plan */
+  private static final Set<String> QUERY_COMMANDS =
+      Set.of("find", "aggregate", "count", "distinct", "update", "delete", "findAndModify");
+
+  /** Fields the driver adds to a command that explain does not take */
+  private static final Set<String> DRIVER_FIELDS =
+      Set.of("$db", "lsid", "$clusterTime", "txnNumber", "$readPreference", "readConcern", "writeConcern");
+
+  private static final Set<String> INDEX_STAGES = Set.of("IXSCAN", "IDHACK", "COUNT_SCAN", "EXPRESS_IXSCAN");
+
+  private static final List<BsonDocument> sent = new CopyOnWriteArrayList<>();
+
+  private static MongoClient client;
+  private static MongoTemplate mongoTemplate;
+  private static SellerRepository sellerRepository;
+  private static BuyerRepository buyerRepository;
+  private static BuyerPurchaseBucketRepository bucketRepository;
+  private static SellerReviewRepository reviewRepository;
+  private static String sellerId;
+  private static String buyerId;
+
+  @BeforeAll
+  static void setUp() {
+    client = MongoClients.create(MongoClientSettings.builder()
+        .applyConnectionString(new ConnectionString(MONGO.getReplicaSetUrl()))
+        .addCommandListener(new CommandListener() {
+          @Override
+          public void commandStarted(CommandStartedEvent event) {
+            if (QUERY_COMMANDS.contains(event.getCommandName())) {
+              sent.add(event.getCommand().clone());
+            }
+          }
+        })
+        .build());
+    mongoTemplate = new MongoTemplate(client, "jobber_test");
+    for (Class<?> type : List.of(Seller.class, Buyer.class, BuyerPurchaseBucket.class, SellerReview.class)) {
+      mongoTemplate.getConverter().getMappingContext().getPersistentEntity(type);
+    }
+    new MongoIndexVerifier(mongoTemplate, new SimpleMeterRegistry(), MongoIndexVerifier.OnMissing.CREATE,
+        Runnable::run).verify();
+
+    MongoRepositoryFactory factory = new MongoRepositoryFactory(mongoTemplate);
+    sellerRepository = factory.getRepository(SellerRepository.class, new SellerRepositoryCustomImpl(mongoTemplate));
+    buyerRepository = factory.getRepository(BuyerRepository.class, new BuyerRepositoryCustomImpl(mongoTemplate));
+    bucketRepository = factory.getRepository(BuyerPurchaseBucketRepository.class,
+        new BuyerPurchaseBucketRepositoryCustomImpl(mongoTemplate));
+    reviewRepository = factory.getRepository(SellerReviewRepository.class,
+        new SellerReviewRepositoryCustomImpl(mongoTemplate));
+
+    // Enough documents that a collection scan is never the cheapest plan by accident.
+    SplittableRandom random = new SplittableRandom(42);
+    List<Seller> sellers = new ArrayList<>();
+    List<Buyer> buyers = new ArrayList<>();
+    for (int i = 0; i < 5_000; i++) {
+      Seller seller = SeedData.seller(i, SeedProfile.REALISTIC, random);
+      seller.setUpdatedAt(LocalDateTime.now().minusMinutes(i));
+      sellers.add(seller);
+      buyers.add(SeedData.buyer(i, SeedProfile.REALISTIC, random));
+    }
+    mongoTemplate.insertAll(sellers);
+    mongoTemplate.insertAll(buyers);
+    sellerId = sellerRepository.findByUsername("seller7").orElseThrow().getId();
+    buyerId = buyerRepository.findByUsername("buyer_7").getId();
+
+    List<Document> legacyBuyers = new ArrayList<>();
+    List<SellerReview> reviews = new ArrayList<>();
+    for (int i = 0; i < 1_000; i++) {
+      legacyBuyers.add(new Document("username", "legacy" + i).append("email", "legacy" + i + "@example.com")
+          .append("purchasedGigs", List.of("gig" + i)));
+      reviews.add(SellerReview.builder().id("review" + i).sellerId(sellerId).rating(i % 5 + 1)
+          .applied(i % 10 != 0).build());
+      bucketRepository.append(buyers.get(i).getId(),
+          new BuyerPurchaseBucket.Purchase("gig" + i, LocalDateTime.now()), 100);
+    }
+    mongoTemplate.getCollection("buyers").insertMany(legacyBuyers);
+    reviewRepository.insertNew(reviews);
+  }
+
+  @AfterAll
+  static void tearDown() {
+    client.close();
+  }
+
+  static Stream<Arguments> repositoryCalls() {
+    LocalDateTime dayAgo = LocalDateTime.now().minusDays(1);
+    return Stream.of(
+        call("SellerRepository.findById", () -> sellerRepository.findById(sellerId)),
+        call("SellerRepository.findAllById", () -> sellerRepository.findAllById(List.of(sellerId))),
+        call("SellerRepository.save", () -> sellerRepository.save(sellerRepository.findById(sellerId).orElseThrow())),
+        call("SellerRepository.findByEmail", () -> sellerRepository.findByEmail("seller7@example.com")),
+        call("SellerRepository.existsByEmail", () -> sellerRepository.existsByEmail("seller7@example.com")),
+        call("SellerRepository.findByUsername", () -> sellerRepository.findByUsername("seller7")),
+        call("SellerRepository.findByUsernameIn", () -> sellerRepository.findByUsernameIn(List.of("seller7", "x"))),
+        call("SellerRepository.findIdsByIdIn", () -> sellerRepository.findIdsByIdIn(List.of(sellerId))),
+        call("SellerRepository.findByIds", () -> sellerRepository.findByIds(List.of(sellerId), SellerView.CARD)),
+        call("SellerRepository.findChanges", () -> sellerRepository.findChanges(dayAgo, null, 100)),
+        call("SellerRepository.findChanges after an id", () -> sellerRepository.findChanges(dayAgo, sellerId, 100)),
+        call("SellerRepository.findLatestUpdate", () -> sellerRepository.findLatestUpdate()),
+        call("SellerRepository.streamExport", () -> {
+          try (Stream<Seller> sellers = sellerRepository.streamExport(sellerId, null, null, null, SellerView.FULL,
+              100)) {
+            sellers.limit(10).forEach(seller -> { });
+          }
+        }),
+        call("SellerRepository.streamExport created since", () -> {
+          try (Stream<Seller> sellers = sellerRepository.streamExport(sellerId, dayAgo, dayAgo.minusDays(1), null,
+              SellerView.FULL, 100)) {
+            sellers.limit(10).forEach(seller -> { });
+          }
+        }),
+        call("SellerRepository.backfillRatingAverage", () -> sellerRepository.backfillRatingAverage()),
+        call("SellerRepository.applyRatings", () -> sellerRepository.applyRatings("flush",
+            List.of(new SellerRatingDelta(sellerId, new int[] { 0, 0, 0, 0, 1, 0 })))),
+        call("SellerRepository.clearRatingFlush", () -> sellerRepository.clearRatingFlush("flush", List.of(sellerId))),
+        call("SellerRepository.applyJobStats", () -> sellerRepository.applyJobStats("flush",
+            List.of(new SellerJobStatsDelta(sellerId, 1, 0, 0, 0, 0, null)))),
+        call("SellerRepository.clearJobStatsFlush",
+            () -> sellerRepository.clearJobStatsFlush("flush", List.of(sellerId))),
+        call("BuyerRepository.findById", () -> buyerRepository.findById(buyerId)),
+        call("BuyerRepository.existsById", () -> buyerRepository.existsById(buyerId)),
+        call("BuyerRepository.findAllById", () -> buyerRepository.findAllById(List.of(buyerId))),
+        call("BuyerRepository.findByUsername", () -> buyerRepository.findByUsername("buyer_7")),
+        call("BuyerRepository.findByUsernameIn", () -> buyerRepository.findByUsernameIn(List.of("buyer_7", "x"))),
+        call("BuyerRepository.existsByUsername", () -> buyerRepository.existsByUsername("buyer_7")),
+        call("BuyerRepository.existsByEmail", () -> buyerRepository.existsByEmail("buyer7@example.com")),
+        call("BuyerRepository.insertMissingByUsername", () -> buyerRepository.insertMissingByUsername(
+            List.of(Buyer.builder().username("buyer_7").email("buyer7@example.com").build()))),
+        call("BuyerRepository.findLegacyPurchases", () -> buyerRepository.findLegacyPurchases(null, 100)),
+        call("BuyerRepository.findLegacyPurchases after an id",
+            () -> buyerRepository.findLegacyPurchases(buyerId, 100)),
+        call("BuyerRepository.clearLegacyPurchases", () -> buyerRepository.clearLegacyPurchases(List.of(buyerId))),
+        call("BuyerPurchaseBucketRepository.append", () -> bucketRepository.append(buyerId,
+            new BuyerPurchaseBucket.Purchase("gig", LocalDateTime.now()), 100)),
+        call("BuyerPurchaseBucketRepository.findByBuyerIdAndSeqLessThanEqualOrderBySeqDesc",
+            () -> bucketRepository.findByBuyerIdAndSeqLessThanEqualOrderBySeqDesc(buyerId, Integer.MAX_VALUE,
+                PageRequest.of(0, 2))),
+        call("SellerReviewRepository.assignFlush", () -> reviewRepository.assignFlush(List.of("review0"), "flush")),
+        call("SellerReviewRepository.markApplied", () -> reviewRepository.markApplied("flush")),
+        call("SellerReviewRepository.findUnapplied", () -> reviewRepository.findUnapplied(LocalDateTime.now())));
+  }
+
+  /**
+   * Test: Should answer every query a repository method sends from an index.
+   */
+  @ParameterizedTest
+  @MethodSource("repositoryCalls")
+  void repositoryMethod_AnyCall_EveryQueryUsesIndex(Runnable call) {
+    sent.clear();
+    call.run();
+
+    assertThat(sent).as("queries sent").isNotEmpty();
+    for (BsonDocument command : sent) {
+      for (BsonDocument statement : statements(command)) {
+        Document explained = mongoTemplate.getDb().runCommand(
+            new BsonDocument("explain", statement).append("verbosity", new BsonString("queryPlanner")));
+        List<String> stages = winningPlans(explained).stream().flatMap(plan -> stages(plan).stream()).toList();
+        assertThat(stages).as("winning plan of %s", statement.toJson())
+            .doesNotContain("COLLSCAN")
+            .containsAnyElementsOf(INDEX_STAGES);
+      }
+    }
+  }
+
+  private static Arguments call(String method, Runnable call) {
+    return Arguments.of(Named.of(method, call));
+  }
+
+  /**
+   * @return the command as explain takes it, one per statement for writes, which explain only
+   *     takes one at a time
+   */
+  private static List<BsonDocument> statements(BsonDocument sentCommand) {
+    BsonDocument command = new BsonDocument();
+    sentCommand.forEach((field, value) -> {
+      if (!DRIVER_FIELDS.contains(field)) {
+        command.put(field, value);
+      }
+    });
+    String batch = switch (command.getFirstKey()) {
+      case "update" -> "updates";
+      case "delete" -> "deletes";
+      default -> null;
+    };
+    if (batch == null) {
+      return List.of(command);
+    }
+    return command.getArray(batch).stream()
+        .map(statement -> command.clone().append(batch, new BsonArray(List.of(statement))))
+        .toList();
+  }
+
+  /**
+   * @return the winning plans anywhere in the explain output, which aggregations nest per stage
+   */
+  private static List<Document> winningPlans(Object node) {
+    List<Document> plans = new ArrayList<>();
+    if (node instanceof Document document) {
+      document.forEach((field, value) -> {
+        if (field.equals("winningPlan") && value instanceof Document plan) {
+          plans.add(plan);
+        } else {
+          plans.addAll(winningPlans(value));
+        }
+      });
+    } else if (node instanceof List<?> list) {
+      list.forEach(item -> plans.addAll(winningPlans(item)));
+    }
+    return plans;
+  }
+
+  /**
+   * @return the stage names of the plan tree, depth first
+   */
+  private static List<String> stages(Document plan) {
+    List<String> stages = new ArrayList<>();
+    // Slot-based engine plans nest the classic plan under queryPlan.
+    Document node = plan.containsKey("queryPlan") ? plan.get("queryPlan", Document.class) : plan;
+    stages.add(node.getString("stage"));
+    if (node.containsKey("inputStage")) {
+      stages.addAll(stages(node.get("inputStage", Document.class)));
+    }
+    if (node.containsKey("inputStages")) {
+      for (Document input : node.getList("inputStages", Document.class)) {
+        stages.addAll(stages(input));
+      }
+    }
+    return stages;
+  }
+}
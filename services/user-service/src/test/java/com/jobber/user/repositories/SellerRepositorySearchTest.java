@@ -0,0 +1,142 @@
+package com.jobber.user.repositories;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import com.jobber.user.models.Seller;
+import com.jobber.user.testing.InMemoryMongo;
+
+/**
+ * Tests for {@link SellerRepositoryCustomImpl#search} against an in-memory MongoDB server.
+ * Query plans are covered by {@link SellerSearchQueryPlanTest}.
+ */
+class SellerRepositorySearchTest {
+
+  private static final LocalDateTime CREATED = LocalDateTime.of(2026, 3, 1, 12, 0);
+
+  @RegisterExtension
+  final InMemoryMongo mongo = new InMemoryMongo();
+
+  private MongoTemplate mongoTemplate;
+  private SellerRepositoryCustomImpl repository;
+
+  @BeforeEach
+  void setUp() {
+    mongoTemplate = mongo.template();
+    repository = new SellerRepositoryCustomImpl(mongoTemplate);
+
+    // Few distinct ratings and creation times, so pages end in the middle of ties.
+    for (int i = 0; i < 30; i++) {
+      mongoTemplate.insert(Seller.builder()
+          .username("seller" + i)
+          .country(i % 3 == 0 ? "Nepal" : "India")
+          .skills(i % 2 == 0 ? List.of("Java", "Spring Boot") : List.of("Java", "React"))
+          .languages(List.of(new Seller.Language(i % 4 == 0 ? "Hindi" : "English", "Fluent")))
+          .ratingAverage(3.0 + (i % 4) * 0.5)
+          .createdAt(CREATED.plusHours(i / 5))
+          .build());
+    }
+  }
+
+  /**
+   * Test: Should return every seller exactly once, in rating order, when paging through ties.
+   */
+  @Test
+  void search_PagingByRating_ReturnsEverySellerOnceInOrder() {
+    List<Seller> all = pageThrough(List.of(), null, null, SellerSort.RATING, 7);
+
+    assertThat(all).hasSize(30);
+    assertThat(all).extracting(Seller::getUsername).doesNotHaveDuplicates();
+    assertThat(all).isSortedAccordingTo(Comparator.comparing(Seller::getRatingAverage)
+        .thenComparing(Seller::getId).reversed());
+  }
+
+  /**
+   * Test: Should page by creation time, newest first.
+   */
+  @Test
+  void search_PagingByNewest_ReturnsEverySellerOnceInOrder() {
+    List<Seller> all = pageThrough(List.of(), null, null, SellerSort.NEWEST, 4);
+
+    assertThat(all).hasSize(30);
+    assertThat(all).extracting(Seller::getUsername).doesNotHaveDuplicates();
+    assertThat(all).isSortedAccordingTo(Comparator.comparing(Seller::getCreatedAt)
+        .thenComparing(Seller::getId).reversed());
+  }
+
+  /**
+   * Test: Should combine skill, country and language filters with AND.
+   */
+  @Test
+  void search_AllFilters_ReturnsOnlyMatchingSellers() {
+    List<Seller> all = pageThrough(List.of("Java", "Spring Boot"), "India", "English", SellerSort.RATING, 2);
+
+    assertThat(all).isNotEmpty().allSatisfy(seller -> {
+      assertThat(seller.getSkills()).contains("Java", "Spring Boot");
+      assertThat(seller.getCountry()).isEqualTo("India");
+      assertThat(seller.getLanguages()).extracting(Seller.Language::getLanguage).contains("English");
+    });
+    long expected = mongoTemplate.findAll(Seller.class).stream()
+        .filter(seller -> seller.getSkills().contains("Spring Boot") && seller.getCountry().equals("India")
+            && seller.getLanguages().get(0).getLanguage().equals("English"))
+        .count();
+    assertThat(all).hasSize((int) expected);
+  }
+
+  /**
+   * Test: Should load only the card fields for the card view and the whole profile for the full view.
+   */
+  @Test
+  void search_CardView_LeavesOutProfileDetails() {
+    mongoTemplate.insert(Seller.builder()
+        .username("detailed")
+        .country("Bhutan")
+        .description("Long profile text")
+        .experience(List.of(new Seller.Experience("Company", "Developer", "2020", "2022", "Backend", false)))
+        .certificates(List.of(new Seller.Certificate("Java Certification", "Oracle", 2021)))
+        .socialLinks(List.of("https://example.com/detailed"))
+        .ratingAverage(4.5)
+        .build());
+    SellerSearchQuery query = new SellerSearchQuery(List.of(), "Bhutan", null, SellerSort.RATING, null, 10);
+
+    Seller card = repository.search(query, SellerView.CARD).get(0);
+    Seller full = repository.search(query, SellerView.FULL).get(0);
+
+    assertThat(card.getUsername()).isEqualTo("detailed");
+    assertThat(card.getRatingAverage()).isEqualTo(4.5);
+    assertThat(card.getDescription()).isNull();
+    assertThat(card.getExperience()).isNull();
+    assertThat(card.getCertificates()).isNull();
+    assertThat(card.getSocialLinks()).isNull();
+    assertThat(full.getDescription()).isEqualTo("Long profile text");
+    assertThat(full.getExperience()).hasSize(1);
+    assertThat(full.getCertificates()).hasSize(1);
+  }
+
+  private List<Seller> pageThrough(List<String> skills, String country, String language, SellerSort sort,
+      int pageSize) {
+    List<Seller> all = new ArrayList<>();
+    SellerSearchQuery.Position after = null;
+    for (int pages = 0; pages < 100; pages++) {
+      List<Seller> page = repository.search(
+          new SellerSearchQuery(skills, country, language, sort, after, pageSize), SellerView.CARD);
+      all.addAll(page);
+      if (page.size() < pageSize) {
+        return all;
+      }
+      Seller last = page.get(page.size() - 1);
+      Object value = sort == SellerSort.RATING ? last.getRatingAverage() : last.getCreatedAt();
+      after = new SellerSearchQuery.Position(value, last.getId());
+    }
+    throw new AssertionError("Paging did not finish after 100 pages");
+  }
+}
@@ -0,0 +1,141 @@
+package com.jobber.user.repositories;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.bson.Document;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Query;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.jobber.user.models.Seller;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+
+/**
+ * Runs {@code explain} on every seller search shape against a real mongod with the indexes
+ * declared on {@link Seller}, and asserts the winning plan neither scans the collection nor
+ * sorts in memory. Skipped when Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class SellerSearchQueryPlanTest {
+
+  @Container
+  private static final MongoDBContainer MONGO = new MongoDBContainer("mongo:6.0");
+
+  private static MongoClient client;
+  private static MongoTemplate mongoTemplate;
+  private static SellerRepositoryCustomImpl repository;
+
+  @BeforeAll
+  static void setUp() {
+    client = MongoClients.create(MONGO.getReplicaSetUrl());
+    mongoTemplate = new MongoTemplate(client, "jobber_test");
+    repository = new SellerRepositoryCustomImpl(mongoTemplate);
+
+    IndexOperations indexOps = mongoTemplate.indexOps(Seller.class);
+    new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext())
+        .resolveIndexFor(Seller.class)
+        .forEach(indexOps::ensureIndex);
+
+    // Enough documents that a collection scan is never the cheapest plan by accident.
+    List<Seller> sellers = new ArrayList<>();
+    String[] countries = { "India", "Nepal", "Germany", "Brazil" };
+    String[] skills = { "Java", "Spring Boot", "React", "Go", "Python" };
+    String[] languages = { "English", "Hindi", "German", "Portuguese" };
+    for (int i = 0; i < 5_000; i++) {
+      sellers.add(Seller.builder()
+          .username("seller" + i)
+          .country(countries[i % countries.length])
+          .skills(List.of(skills[i % skills.length], skills[(i / 5) % skills.length]))
+          .languages(List.of(new Seller.Language(languages[i % languages.length], "Fluent")))
+          .ratingAverage((i % 9) * 0.5)
+          .createdAt(LocalDateTime.of(2026, 1, 1, 0, 0).plusMinutes(i))
+          .build());
+    }
+    mongoTemplate.insertAll(sellers);
+  }
+
+  @AfterAll
+  static void tearDown() {
+    client.close();
+  }
+
+  static Stream<Arguments> searches() {
+    SellerSearchQuery.Position afterRating = new SellerSearchQuery.Position(2.5, "65f1c0ffee0000000000002a");
+    SellerSearchQuery.Position afterNewest =
+        new SellerSearchQuery.Position(LocalDateTime.of(2026, 1, 2, 0, 0), "65f1c0ffee0000000000002a");
+    List<Arguments> searches = new ArrayList<>();
+    for (SellerSort sort : SellerSort.values()) {
+      SellerSearchQuery.Position after = sort == SellerSort.RATING ? afterRating : afterNewest;
+      for (SellerSearchQuery.Position position : new SellerSearchQuery.Position[] { null, after }) {
+        searches.add(Arguments.of(new SellerSearchQuery(List.of(), null, null, sort, position, 21)));
+        searches.add(Arguments.of(new SellerSearchQuery(List.of("Java"), null, null, sort, position, 21)));
+        searches.add(Arguments.of(new SellerSearchQuery(List.of("Java", "React"), null, null, sort, position, 21)));
+        searches.add(Arguments.of(new SellerSearchQuery(List.of(), "India", null, sort, position, 21)));
+        searches.add(Arguments.of(new SellerSearchQuery(List.of(), null, "Hindi", sort, position, 21)));
+        searches.add(Arguments.of(new SellerSearchQuery(List.of("Go"), "Nepal", "English", sort, position, 21)));
+      }
+    }
+    return searches.stream();
+  }
+
+  /**
+   * Test: Should answer every search shape from an index in sort order.
+   */
+  @ParameterizedTest
+  @MethodSource("searches")
+  void search_AnyFilterAndSort_UsesIndexWithoutCollectionScanOrSort(SellerSearchQuery search) {
+    Document plan = explain(repository.searchQuery(search)).get("queryPlanner", Document.class)
+        .get("winningPlan", Document.class);
+
+    List<String> stages = stages(plan);
+    assertThat(stages).as("winning plan of %s", search).contains("IXSCAN")
+        .doesNotContain("COLLSCAN", "SORT");
+  }
+
+  private static Document explain(Query query) {
+    MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext()
+        .getRequiredPersistentEntity(Seller.class);
+    QueryMapper mapper = new QueryMapper(mongoTemplate.getConverter());
+    return mongoTemplate.getCollection(mongoTemplate.getCollectionName(Seller.class))
+        .find(mapper.getMappedObject(query.getQueryObject(), entity))
+        .sort(mapper.getMappedSort(query.getSortObject(), entity))
+        .limit(query.getLimit())
+        .explain();
+  }
+
+  /**
+   * @return the stage names of the plan tree, depth first
+   */
+  private static List<String> stages(Document plan) {
+    List<String> stages = new ArrayList<>();
+    // Slot-based engine plans nest the classic plan under queryPlan.
+    Document node = plan.containsKey("queryPlan") ? plan.get("queryPlan", Document.class) : plan;
+    stages.add(node.getString("stage"));
+    if (node.containsKey("inputStage")) {
+      stages.addAll(stages(node.get("inputStage", Document.class)));
+    }
+    if (node.containsKey("inputStages")) {
+      for (Document input : node.getList("inputStages", Document.class)) {
+        stages.addAll(stages(input));
+      }
+    }
+    return stages;
+  }
+}
@@ -0,0 +1,61 @@
+package com.jobber.user.services.buyer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.mapstruct.factory.Mappers;
+
+import com.jobber.common.events.UserCreatedEvent;
+import com.jobber.user.mappers.BuyerMapper;
+import com.jobber.user.models.Buyer;
+import com.jobber.user.repositories.BuyerPurchaseBucketRepository;
+import com.jobber.user.repositories.BuyerRepository;
+import com.jobber.user.services.seed.BulkSeeder;
+import com.jobber.user.testing.InMemoryMongo;
+
+/**
+ * Tests for applying user-created events from the auth-service outbox in
+ * {@link BuyerServiceImpl} against an in-memory MongoDB server with the unique buyer indexes.
+ */
+class BuyerEventsTest {
+
+  @RegisterExtension
+  final InMemoryMongo mongo = new InMemoryMongo();
+
+  private BuyerRepository buyerRepository;
+  private BuyerServiceImpl buyerService;
+
+  @BeforeEach
+  void setUp() {
+    mongo.ensureIndexes(Buyer.class);
+    buyerRepository = mongo.buyerRepository();
+    buyerService = new BuyerServiceImpl(buyerRepository, mock(BuyerPurchaseBucketRepository.class),
+        Mappers.getMapper(BuyerMapper.class), mock(BulkSeeder.class));
+  }
+
+  /**
+   * Test: Should store the rest of a batch when one event collides with a unique index, so the
+   * outbox relay gets a success and does not redeliver the batch forever.
+   */
+  @Test
+  void createBuyersFromEvents_DuplicateEmail_SkipsItAndStoresTheRest() {
+    buyerRepository.save(Buyer.builder().username("alice").email("alice@example.com").build());
+
+    int created = buyerService.createBuyersFromEvents(List.of(
+        event("alice", "alice@example.com"),
+        event("mallory", "alice@example.com"),
+        event("bob", "bob@example.com")));
+
+    assertThat(created).isEqualTo(1);
+    assertThat(buyerRepository.findAll()).extracting(Buyer::getUsername).containsExactlyInAnyOrder("alice", "bob");
+  }
+
+  private static UserCreatedEvent event(String username, String email) {
+    return UserCreatedEvent.builder().username(username).email(email).country("India").build();
+  }
+}
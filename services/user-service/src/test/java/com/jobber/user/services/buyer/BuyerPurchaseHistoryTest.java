@@ -0,0 +1,179 @@
+package com.jobber.user.services.buyer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.mapstruct.factory.Mappers;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.jobber.common.exceptions.BadRequestException;
+import com.jobber.common.exceptions.NotFoundException;
+import com.jobber.user.dtos.requests.BuyerPurchaseRequest;
+import com.jobber.user.dtos.responses.BuyerPurchasesResponse;
+import com.jobber.user.mappers.BuyerMapper;
+import com.jobber.user.models.Buyer;
+import com.jobber.user.models.BuyerPurchaseBucket;
+import com.jobber.user.repositories.BuyerPurchaseBucketRepository;
+import com.jobber.user.repositories.BuyerRepository;
+import com.jobber.user.services.seed.BulkSeeder;
+import com.jobber.user.testing.InMemoryMongo;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests for bucketed purchase history in {@link BuyerServiceImpl} and
+ * {@link BuyerPurchaseMigration} against an in-memory MongoDB server, with three purchases
+ * per bucket.
+ */
+class BuyerPurchaseHistoryTest {
+
+  private static final int BUCKET_SIZE = 3;
+
+  @RegisterExtension
+  final InMemoryMongo mongo = new InMemoryMongo();
+
+  private MongoTemplate mongoTemplate;
+  private BuyerRepository buyerRepository;
+  private BuyerPurchaseBucketRepository bucketRepository;
+  private BuyerServiceImpl buyerService;
+
+  @BeforeEach
+  void setUp() {
+    mongoTemplate = mongo.template();
+    mongo.ensureIndexes(BuyerPurchaseBucket.class);
+    buyerRepository = mongo.buyerRepository();
+    bucketRepository = mongo.purchaseBucketRepository();
+
+    buyerService = new BuyerServiceImpl(buyerRepository, bucketRepository, Mappers.getMapper(BuyerMapper.class),
+        mock(BulkSeeder.class));
+    ReflectionTestUtils.setField(buyerService, "bucketSize", BUCKET_SIZE);
+  }
+
+  /**
+   * Test: Should fill each bucket up to the bucket size before starting the next.
+   */
+  @Test
+  void recordPurchase_ManyPurchases_FillsFixedSizeBucketsInOrder() {
+    String buyerId = buyer("buyer");
+
+    for (int i = 0; i < 7; i++) {
+      buyerService.recordPurchase(buyerId, new BuyerPurchaseRequest("gig" + i));
+    }
+
+    List<BuyerPurchaseBucket> buckets = mongoTemplate.find(new Query().with(Sort.by("seq")),
+        BuyerPurchaseBucket.class);
+    assertThat(buckets).extracting(BuyerPurchaseBucket::getSeq).containsExactly(0, 1, 2);
+    assertThat(buckets).extracting(BuyerPurchaseBucket::getCount).containsExactly(3, 3, 1);
+    assertThat(buckets.get(1).getPurchases()).extracting(BuyerPurchaseBucket.Purchase::getGigId)
+        .containsExactly("gig3", "gig4", "gig5");
+  }
+
+  /**
+   * Test: Should return every purchase once, newest first, across pages that end inside buckets.
+   */
+  @Test
+  void getPurchases_PagingThroughBuckets_ReturnsEveryPurchaseNewestFirst() {
+    String buyerId = buyer("buyer");
+    for (int i = 0; i < 8; i++) {
+      buyerService.recordPurchase(buyerId, new BuyerPurchaseRequest("gig" + i));
+    }
+
+    List<String> gigIds = pageThrough(buyerId, 3);
+
+    assertThat(gigIds).containsExactly("gig7", "gig6", "gig5", "gig4", "gig3", "gig2", "gig1", "gig0");
+  }
+
+  /**
+   * Test: Should move old purchase arrays into buckets that sort before purchases made since.
+   */
+  @Test
+  void migrateBatch_LegacyArrays_MovesThemBeforeNewPurchases() {
+    List<String> buyerIds = new ArrayList<>();
+    for (int b = 0; b < 3; b++) {
+      buyerIds.add(legacyBuyer("legacy" + b, IntStream.range(0, 4 + b).mapToObj(i -> "old" + i).toList()));
+    }
+    buyerService.recordPurchase(buyerIds.get(0), new BuyerPurchaseRequest("new0"));
+    buyerService.recordPurchase(buyerIds.get(0), new BuyerPurchaseRequest("new1"));
+    BuyerPurchaseMigration migration = new BuyerPurchaseMigration(buyerRepository, bucketRepository,
+        new SimpleMeterRegistry(), 2, BUCKET_SIZE);
+
+    assertThat(migration.migrateBatch()).isEqualTo(2);
+    assertThat(migration.migrateBatch()).isEqualTo(1);
+    assertThat(migration.migrateBatch()).isZero();
+
+    assertThat(pageThrough(buyerIds.get(0), 4))
+        .containsExactly("new1", "new0", "old3", "old2", "old1", "old0");
+    assertThat(pageThrough(buyerIds.get(2), 4))
+        .containsExactly("old5", "old4", "old3", "old2", "old1", "old0");
+    assertThat(mongoTemplate.getCollection("buyers").countDocuments(new Document("purchasedGigs",
+        new Document("$exists", true)))).isZero();
+    buyerService.recordPurchase(buyerIds.get(1), new BuyerPurchaseRequest("new0"));
+    assertThat(pageThrough(buyerIds.get(1), 10).get(0)).isEqualTo("new0");
+  }
+
+  /**
+   * Test: Should write the same buckets when a batch is migrated again after being interrupted.
+   */
+  @Test
+  void migrateBatch_RunAgainAfterInterruption_DoesNotDuplicatePurchases() {
+    String buyerId = legacyBuyer("legacy", List.of("old0", "old1", "old2", "old3"));
+    new BuyerPurchaseMigration(buyerRepository, bucketRepository, new SimpleMeterRegistry(), 10, BUCKET_SIZE)
+        .migrateBatch();
+    // Interrupted before the array was removed.
+    mongoTemplate.getCollection("buyers").updateOne(new Document("username", "legacy"),
+        new Document("$set", new Document("purchasedGigs", List.of("old0", "old1", "old2", "old3"))));
+
+    new BuyerPurchaseMigration(buyerRepository, bucketRepository, new SimpleMeterRegistry(), 10, BUCKET_SIZE)
+        .migrateBatch();
+
+    assertThat(pageThrough(buyerId, 10)).containsExactly("old3", "old2", "old1", "old0");
+  }
+
+  /**
+   * Test: Should reject purchases for unknown buyers and malformed cursors.
+   */
+  @Test
+  void invalidRequests_Throw() {
+    assertThatThrownBy(() -> buyerService.recordPurchase("65f1c0ffee0000000000002a",
+        new BuyerPurchaseRequest("gig"))).isInstanceOf(NotFoundException.class);
+    assertThatThrownBy(() -> buyerService.getPurchases(buyer("buyer"), "not-a-cursor", null))
+        .isInstanceOf(BadRequestException.class);
+  }
+
+  private String buyer(String username) {
+    return buyerRepository.save(Buyer.builder().username(username).build()).getId();
+  }
+
+  private String legacyBuyer(String username, List<String> purchasedGigs) {
+    Document buyer = new Document("username", username).append("purchasedGigs", purchasedGigs);
+    mongoTemplate.getCollection("buyers").insertOne(buyer);
+    return buyer.getObjectId("_id").toHexString();
+  }
+
+  private List<String> pageThrough(String buyerId, int pageSize) {
+    List<String> gigIds = new ArrayList<>();
+    String cursor = null;
+    for (int pages = 0; pages < 20; pages++) {
+      BuyerPurchasesResponse page = buyerService.getPurchases(buyerId, cursor, pageSize);
+      page.getPurchases().forEach(purchase -> gigIds.add(purchase.getGigId()));
+      assertThat(page.getPurchases().size()).isLessThanOrEqualTo(pageSize);
+      cursor = page.getNextCursor();
+      if (cursor == null) {
+        return gigIds;
+      }
+    }
+    throw new AssertionError("Paging did not end");
+  }
+}
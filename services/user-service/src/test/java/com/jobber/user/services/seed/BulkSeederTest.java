@@ -0,0 +1,110 @@
+package com.jobber.user.services.seed;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.jobber.common.exceptions.BadRequestException;
+import com.jobber.user.dtos.requests.SeedRequest;
+import com.jobber.user.dtos.responses.SeedResponse;
+import com.jobber.user.models.Buyer;
+import com.jobber.user.models.Seller;
+import com.jobber.user.testing.InMemoryMongo;
+
+/**
+ * Tests for {@link BulkSeeder} against an in-memory MongoDB server.
+ */
+class BulkSeederTest {
+
+  @RegisterExtension
+  final InMemoryMongo mongo = new InMemoryMongo();
+
+  private MongoTemplate mongoTemplate;
+  private BulkSeeder seeder;
+
+  @BeforeEach
+  void setUp() {
+    mongoTemplate = mongo.template();
+    seeder = new BulkSeeder(mongoTemplate, 100, 3, 10_000);
+  }
+
+  /**
+   * Test: Should store every generated document once across parallel chunks and report each stored chunk.
+   */
+  @Test
+  void seed_ManyChunks_StoresEveryDocumentOnce() {
+    List<Seller> indexed = Collections.synchronizedList(new ArrayList<>());
+
+    SeedResponse response = seeder.seed(Seller.class, 1050, new SeedRequest(), SeedData::seller, indexed::addAll);
+
+    assertThat(response.getInserted()).isEqualTo(1050);
+    assertThat(response.getFailed()).isZero();
+    assertThat(response.getChunks()).isEqualTo(11);
+    assertThat(response.getCollection()).isEqualTo("sellers");
+    assertThat(mongoTemplate.count(new Query(), Seller.class)).isEqualTo(1050);
+    assertThat(indexed).extracting(Seller::getUsername).doesNotHaveDuplicates().hasSize(1050);
+    assertThat(indexed).extracting(Seller::getId).doesNotContainNull();
+  }
+
+  /**
+   * Test: Should keep inserting the rest of a chunk when some documents are rejected.
+   */
+  @Test
+  void seed_DuplicateUsernames_CountsRejectedAndKeepsTheRest() {
+    mongoTemplate.indexOps(Buyer.class).ensureIndex(new Index().on("username", Sort.Direction.ASC).unique());
+    seeder.seed(Buyer.class, 150, new SeedRequest(), SeedData::buyer);
+
+    SeedResponse response = seeder.seed(Buyer.class, 250, new SeedRequest(), SeedData::buyer);
+
+    assertThat(response.getInserted()).isEqualTo(100);
+    assertThat(response.getFailed()).isEqualTo(150);
+    assertThat(mongoTemplate.findAll(Buyer.class)).hasSize(250);
+  }
+
+  /**
+   * Test: Should generate the same realistic data for the same seed.
+   */
+  @Test
+  void seed_RealisticProfileWithSeed_IsReproducible() {
+    SeedRequest request = SeedRequest.builder().profile("realistic").seed(7L).build();
+    List<Seller> first = Collections.synchronizedList(new ArrayList<>());
+    List<Seller> second = Collections.synchronizedList(new ArrayList<>());
+
+    seeder.seed(Seller.class, 300, request, SeedData::seller, first::addAll);
+    mongoTemplate.dropCollection(Seller.class);
+    SeedResponse response = seeder.seed(Seller.class, 300, request, SeedData::seller, second::addAll);
+
+    assertThat(response.getProfile()).isEqualTo("realistic");
+    assertThat(response.getSeed()).isEqualTo(7L);
+    Function<List<Seller>, Map<String, List<String>>> skillsByUsername = sellers -> sellers.stream()
+        .collect(Collectors.toMap(Seller::getUsername, Seller::getSkills));
+    assertThat(skillsByUsername.apply(second)).isEqualTo(skillsByUsername.apply(first));
+    assertThat(first).extracting(Seller::getCountry).contains("India");
+    assertThat(first.stream().map(Seller::getCountry).distinct().count()).isGreaterThan(5);
+  }
+
+  /**
+   * Test: Should reject counts above the configured maximum and unknown profiles.
+   */
+  @Test
+  void seed_InvalidRequest_Throws() {
+    assertThatThrownBy(() -> seeder.seed(Seller.class, 10_001, new SeedRequest(), SeedData::seller))
+        .isInstanceOf(BadRequestException.class);
+    assertThatThrownBy(() -> seeder.seed(Seller.class, 10, SeedRequest.builder().profile("huge").build(),
+        SeedData::seller)).isInstanceOf(BadRequestException.class);
+  }
+}
@@ -0,0 +1,106 @@
+package com.jobber.user.services.seller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.util.unit.DataSize;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.jobber.common.exceptions.BadRequestException;
+import com.jobber.user.dtos.requests.BatchLookupRequest;
+import com.jobber.user.dtos.responses.SellerBatchResponse;
+import com.jobber.user.dtos.responses.SellerResponse;
+import com.jobber.user.mappers.SellerMapper;
+import com.jobber.user.models.Seller;
+import com.jobber.user.repositories.SellerRepository;
+import com.jobber.user.services.seed.BulkSeeder;
+import com.jobber.user.testing.InMemoryMongo;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests for batch seller lookups in {@link SellerServiceImpl} against an in-memory MongoDB
+ * server.
+ */
+class SellerBatchLookupTest {
+
+  private static final String UNKNOWN_ID = "65f1c0ffee0000000000002a";
+
+  @RegisterExtension
+  final InMemoryMongo mongo = new InMemoryMongo();
+
+  private SellerServiceImpl sellerService;
+  private List<String> sellerIds;
+
+  @BeforeEach
+  void setUp() {
+    SellerRepository sellerRepository = mongo.sellerRepository();
+    ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    SellerProfileCache cache = new SellerProfileCache(sellerRepository, SellerMapper.INSTANCE, objectMapper,
+        new SimpleMeterRegistry(), DataSize.ofMegabytes(1), Duration.ofMinutes(10),
+        Clock.systemDefaultZone());
+    sellerService = new SellerServiceImpl(sellerRepository, SellerMapper.INSTANCE, mock(SellerTermIndex.class),
+        mock(BulkSeeder.class), mock(SellerRatingIngest.class), mock(SellerJobStatsCounter.class), cache,
+        objectMapper);
+
+    sellerIds = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      sellerIds.add(sellerRepository.save(Seller.builder().username("seller" + i).build()).getId());
+    }
+  }
+
+  /**
+   * Test: Should return sellers in request order, each once, and list the ids not found.
+   */
+  @Test
+  void getSellers_ByIds_KeepsRequestOrderAndReportsMissing() {
+    List<String> ids = List.of(sellerIds.get(3), UNKNOWN_ID, sellerIds.get(0), sellerIds.get(3), sellerIds.get(1));
+
+    SellerBatchResponse response = sellerService.getSellers(BatchLookupRequest.builder().ids(ids).build());
+
+    assertThat(response.getSellers()).extracting(SellerResponse::getUsername)
+        .containsExactly("seller3", "seller0", "seller1");
+    assertThat(response.getMissing()).containsExactly(UNKNOWN_ID);
+  }
+
+  /**
+   * Test: Should look up by usernames the same way.
+   */
+  @Test
+  void getSellers_ByUsernames_KeepsRequestOrderAndReportsMissing() {
+    SellerBatchResponse response = sellerService.getSellers(BatchLookupRequest.builder()
+        .usernames(List.of("seller4", "seller2", "nobody"))
+        .build());
+
+    assertThat(response.getSellers()).extracting(SellerResponse::getId)
+        .containsExactly(sellerIds.get(4), sellerIds.get(2));
+    assertThat(response.getMissing()).containsExactly("nobody");
+  }
+
+  /**
+   * Test: Should reject batches that mix or omit key types, have blank keys or are too large.
+   */
+  @Test
+  void getSellers_InvalidBatch_Throws() {
+    assertThatThrownBy(() -> sellerService.getSellers(new BatchLookupRequest()))
+        .isInstanceOf(BadRequestException.class);
+    assertThatThrownBy(() -> sellerService.getSellers(new BatchLookupRequest(sellerIds, List.of("seller0"))))
+        .isInstanceOf(BadRequestException.class);
+    assertThatThrownBy(() -> sellerService.getSellers(BatchLookupRequest.builder().ids(List.of(" ")).build()))
+        .isInstanceOf(BadRequestException.class);
+    List<String> tooMany = IntStream.range(0, 101).mapToObj(i -> "seller" + i).toList();
+    assertThatThrownBy(() -> sellerService.getSellers(BatchLookupRequest.builder().usernames(tooMany).build()))
+        .isInstanceOf(BadRequestException.class);
+  }
+}
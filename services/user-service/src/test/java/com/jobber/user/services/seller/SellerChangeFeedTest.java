@@ -0,0 +1,161 @@
+package com.jobber.user.services.seller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.util.unit.DataSize;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.jobber.user.dtos.requests.SellerCreateRequest;
+import com.jobber.user.mappers.SellerMapper;
+import com.jobber.user.models.Seller;
+import com.jobber.user.repositories.SellerJobStatsDelta;
+import com.jobber.user.repositories.SellerRepository;
+import com.jobber.user.services.seed.BulkSeeder;
+import com.jobber.user.testing.InMemoryMongo;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests for {@link SellerChangeFeed} against an in-memory MongoDB server.
+ */
+class SellerChangeFeedTest {
+
+  @RegisterExtension
+  final InMemoryMongo mongo = new InMemoryMongo();
+
+  private MongoTemplate mongoTemplate;
+  private SellerRepository sellerRepository;
+  private List<Seller> received;
+  private String sellerId;
+
+  @BeforeEach
+  void setUp() {
+    mongoTemplate = mongo.template();
+    sellerRepository = mongo.sellerRepository();
+    received = new ArrayList<>();
+
+    sellerId = sellerRepository.save(seller("seller")).getId();
+  }
+
+  /**
+   * Test: Should let another instance match a created seller's terms at its next poll.
+   */
+  @Test
+  void poll_SellerCreatedOnAnotherInstance_MatchedByItsTermIndex() {
+    SellerTermIndex otherIndex = new SellerTermIndex(sellerRepository, new SimpleMeterRegistry());
+    otherIndex.rebuild();
+    SellerChangeFeed otherFeed = feed(1000, otherIndex);
+    otherFeed.poll();
+    SellerTermQuery query = new SellerTermQuery(List.of("Kotlin"), null, List.of("Nepal"), List.of("Nepali"));
+
+    service().createSeller(SellerCreateRequest.builder()
+        .fullName("New Seller")
+        .username("newseller")
+        .email("newseller@example.com")
+        .country("Nepal")
+        .languages(List.of(new SellerCreateRequest.LanguageRequest("Nepali", "Native")))
+        .skills(List.of("Kotlin"))
+        .build());
+    assertThat(otherIndex.match(query, 10, 0).total()).isZero();
+
+    assertThat(otherFeed.poll()).isEqualTo(1);
+    assertThat(otherIndex.match(query, 10, 0).sellerIds())
+        .containsExactly(sellerRepository.findByUsername("newseller").orElseThrow().getId());
+  }
+
+  /**
+   * Test: Should pass on an update that became visible after a later one was polled.
+   */
+  @Test
+  void poll_UpdateVisibleLate_PassedWithinOverlap() {
+    String otherId = sellerRepository.save(seller("other")).getId();
+    sellerRepository.applyJobStats("flush", List.of(new SellerJobStatsDelta(otherId, 1, 0, 0, 0, 0, null)));
+    SellerChangeFeed feed = feed(1000, received::addAll);
+    feed.poll();
+    LocalDateTime latest = sellerRepository.findLatestUpdate();
+
+    mongoTemplate.updateFirst(Query.query(Criteria.where("id").is(sellerId)),
+        new Update().inc("version", 1).set("updatedAt", latest.minusSeconds(2)), Seller.class);
+
+    feed.poll();
+    assertThat(received).extracting(Seller::getId).contains(sellerId);
+  }
+
+  /**
+   * Test: Should page through more changes than fit in one read, including sellers updated in
+   * the same millisecond.
+   */
+  @Test
+  void poll_ChangesSpanSeveralPages_PassesThemAll() {
+    List<String> sellerIds = new ArrayList<>(List.of(sellerId));
+    for (int i = 0; i < 4; i++) {
+      sellerIds.add(sellerRepository.save(seller("seller" + i)).getId());
+    }
+    SellerChangeFeed feed = feed(2, received::addAll);
+    feed.poll();
+
+    // Set directly: the in-memory server keeps $currentDate below millisecond precision.
+    mongoTemplate.updateMulti(new Query(), new Update().inc("version", 1)
+        .set("updatedAt", LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS)), Seller.class);
+
+    assertThat(feed.poll()).isEqualTo(5);
+    assertThat(received).extracting(Seller::getId).containsExactlyInAnyOrderElementsOf(sellerIds);
+  }
+
+  /**
+   * Test: Should pass a page again at the next poll when a listener failed on it.
+   */
+  @Test
+  void poll_ListenerFails_PageRetriedAtNextPoll() {
+    boolean[] failing = {true};
+    SellerChangeFeed feed = feed(1000, changes -> {
+      if (failing[0]) {
+        throw new DataAccessResourceFailureException("down");
+      }
+      received.addAll(changes);
+    });
+    feed.poll();
+    sellerRepository.applyJobStats("flush", List.of(new SellerJobStatsDelta(sellerId, 1, 0, 0, 0, 0, null)));
+
+    assertThat(feed.poll()).isZero();
+    failing[0] = false;
+
+    assertThat(feed.poll()).isEqualTo(1);
+    assertThat(received).extracting(Seller::getId).containsExactly(sellerId);
+  }
+
+  private SellerChangeFeed feed(int pollBatchSize, SellerChangeFeed.Listener listener) {
+    return new SellerChangeFeed(sellerRepository, List.of(listener), Duration.ofSeconds(5), pollBatchSize,
+        Clock.systemDefaultZone());
+  }
+
+  private SellerServiceImpl service() {
+    ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    SellerProfileCache cache = new SellerProfileCache(sellerRepository, SellerMapper.INSTANCE, objectMapper,
+        new SimpleMeterRegistry(), DataSize.ofMegabytes(1), Duration.ofMinutes(10), Clock.systemDefaultZone());
+    return new SellerServiceImpl(sellerRepository, SellerMapper.INSTANCE,
+        new SellerTermIndex(sellerRepository, new SimpleMeterRegistry()), mock(BulkSeeder.class),
+        mock(SellerRatingIngest.class), mock(SellerJobStatsCounter.class), cache, objectMapper);
+  }
+
+  private static Seller seller(String username) {
+    return Seller.builder().username(username).fullName("Seller " + username).build();
+  }
+}
@@ -0,0 +1,183 @@
+package com.jobber.user.services.seller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.jobber.common.exceptions.BadRequestException;
+import com.jobber.user.dtos.requests.SellerExportRequest;
+import com.jobber.user.mappers.SellerMapper;
+import com.jobber.user.models.Seller;
+import com.jobber.user.repositories.SellerRepository;
+import com.jobber.user.services.seed.BulkSeeder;
+import com.jobber.user.testing.InMemoryMongo;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests for the seller export in {@link SellerServiceImpl} against an in-memory MongoDB
+ * server, with two sellers per cursor batch.
+ */
+class SellerExportTest {
+
+  private static final LocalDateTime FIRST_CREATED = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+  /** Writes dates as ISO strings, as Spring Boot's mapper does */
+  private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules()
+      .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+
+  @RegisterExtension
+  final InMemoryMongo mongo = new InMemoryMongo();
+
+  private SellerRepository sellerRepository;
+  private SellerServiceImpl sellerService;
+  private List<String> sellerIds;
+
+  /** Counts the flushes, each of which sends what was written so far to the client */
+  private static class FlushCountingStream extends ByteArrayOutputStream {
+
+    private int flushes;
+
+    @Override
+    public void flush() {
+      flushes++;
+    }
+  }
+
+  @BeforeEach
+  void setUp() {
+    sellerRepository = mongo.sellerRepository();
+    SellerProfileCache cache = new SellerProfileCache(sellerRepository, SellerMapper.INSTANCE, objectMapper,
+        new SimpleMeterRegistry(), DataSize.ofMegabytes(1), Duration.ofMinutes(10),
+        Clock.systemDefaultZone());
+    sellerService = new SellerServiceImpl(sellerRepository, SellerMapper.INSTANCE, mock(SellerTermIndex.class),
+        mock(BulkSeeder.class), mock(SellerRatingIngest.class), mock(SellerJobStatsCounter.class), cache,
+        objectMapper);
+    ReflectionTestUtils.setField(sellerService, "exportBatchSize", 2);
+
+    // The bounded export hints createdAt_id.
+    mongo.ensureIndexes(Seller.class);
+
+    sellerIds = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      sellerIds.add(save(i, FIRST_CREATED.plusDays(i)));
+    }
+  }
+
+  /**
+   * Test: Should write every seller as one full JSON line in id order, flushing after each batch.
+   */
+  @Test
+  void exportSellers_NoFilters_WritesEverySellerAsNdjsonInIdOrder() throws IOException {
+    FlushCountingStream out = new FlushCountingStream();
+
+    sellerService.exportSellers(new SellerExportRequest()).writeTo(out);
+
+    List<JsonNode> lines = lines(out);
+    assertThat(lines).extracting(line -> line.get("id").asText()).containsExactlyElementsOf(sellerIds);
+    assertThat(lines.get(3).get("description").asText()).isEqualTo("Seller number 3");
+    // Two full batches, then the end.
+    assertThat(out.flushes).isEqualTo(3);
+  }
+
+  /**
+   * Test: Should resume after the last seller received, within the creation time window.
+   */
+  @Test
+  void exportSellers_AfterCreatedAtAndIdInWindow_WritesOnlyTheRest() throws IOException {
+    FlushCountingStream out = new FlushCountingStream();
+
+    sellerService.exportSellers(SellerExportRequest.builder()
+        .after(FIRST_CREATED.plusDays(1) + "," + sellerIds.get(1))
+        .createdFrom(FIRST_CREATED)
+        .createdBefore(FIRST_CREATED.plusDays(4))
+        .view("card")
+        .build()).writeTo(out);
+
+    List<JsonNode> lines = lines(out);
+    assertThat(lines).extracting(line -> line.get("username").asText()).containsExactly("seller2", "seller3");
+    assertThat(lines.get(0).has("description")).isFalse();
+  }
+
+  /**
+   * Test: Should list a window in creation order, and resume it from a seller created at the
+   * same time as others.
+   */
+  @Test
+  void exportSellers_CreatedWindow_WritesInCreationOrderAndResumes() throws IOException {
+    String earliest = save(5, FIRST_CREATED.minusDays(1));
+    String sameTime = save(6, FIRST_CREATED.plusDays(2));
+    SellerExportRequest window = SellerExportRequest.builder()
+        .createdFrom(FIRST_CREATED.minusDays(1))
+        .createdBefore(FIRST_CREATED.plusDays(3))
+        .build();
+    ByteArrayOutputStream all = new ByteArrayOutputStream();
+    ByteArrayOutputStream rest = new ByteArrayOutputStream();
+
+    sellerService.exportSellers(window).writeTo(all);
+    List<JsonNode> lines = lines(all);
+    JsonNode last = lines.get(3);
+    window.setAfter(last.get("createdAt").asText() + "," + last.get("id").asText());
+    sellerService.exportSellers(window).writeTo(rest);
+
+    assertThat(lines).extracting(line -> line.get("id").asText())
+        .containsExactly(earliest, sellerIds.get(0), sellerIds.get(1), sellerIds.get(2), sameTime);
+    assertThat(lines(rest)).extracting(line -> line.get("id").asText()).containsExactly(sameTime);
+  }
+
+  /**
+   * Test: Should reject a malformed resume position and an empty window before anything is
+   * written.
+   */
+  @Test
+  void exportSellers_InvalidRequest_Throws() {
+    assertThatThrownBy(() -> sellerService.exportSellers(SellerExportRequest.builder().after("seller3").build()))
+        .isInstanceOf(BadRequestException.class);
+    assertThatThrownBy(() -> sellerService.exportSellers(SellerExportRequest.builder()
+        .after(sellerIds.get(1))
+        .createdFrom(FIRST_CREATED)
+        .build())).isInstanceOf(BadRequestException.class);
+    assertThatThrownBy(() -> sellerService.exportSellers(SellerExportRequest.builder()
+        .createdFrom(FIRST_CREATED)
+        .createdBefore(FIRST_CREATED)
+        .build())).isInstanceOf(BadRequestException.class);
+  }
+
+  private String save(int i, LocalDateTime createdAt) {
+    return sellerRepository.save(Seller.builder()
+        .username("seller" + i)
+        .email("seller" + i + "@example.com")
+        .description("Seller number " + i)
+        .createdAt(createdAt)
+        .build()).getId();
+  }
+
+  private List<JsonNode> lines(ByteArrayOutputStream out) throws IOException {
+    String body = out.toString(StandardCharsets.UTF_8);
+    assertThat(body).endsWith("\n");
+    List<JsonNode> lines = new ArrayList<>();
+    for (String line : body.split("\n")) {
+      lines.add(objectMapper.readTree(line));
+    }
+    return lines;
+  }
+}
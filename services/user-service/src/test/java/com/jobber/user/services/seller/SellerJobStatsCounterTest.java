@@ -0,0 +1,243 @@
+package com.jobber.user.services.seller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.AdditionalAnswers;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.jobber.common.exceptions.BadRequestException;
+import com.jobber.common.exceptions.ServiceUnavailableException;
+import com.jobber.user.dtos.requests.SellerJobStatsEvent;
+import com.jobber.user.models.Seller;
+import com.jobber.user.repositories.SellerJobStatsDelta;
+import com.jobber.user.repositories.SellerRepository;
+import com.jobber.user.testing.InMemoryMongo;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests for {@link SellerJobStatsCounter} against an in-memory MongoDB server and a temporary
+ * journal directory.
+ */
+class SellerJobStatsCounterTest {
+
+  private static final ObjectMapper OBJECT_MAPPER = JsonMapper.builder().findAndAddModules().build();
+
+  @TempDir
+  Path journalDir;
+
+  @RegisterExtension
+  final InMemoryMongo mongo = new InMemoryMongo();
+
+  private SellerRepository sellerRepository;
+  private SimpleMeterRegistry meterRegistry;
+  private String sellerId;
+  private String otherSellerId;
+
+  @BeforeEach
+  void setUp() {
+    sellerRepository = mongo.sellerRepository();
+    meterRegistry = new SimpleMeterRegistry();
+
+    sellerId = sellerRepository.save(Seller.builder().username("seller")
+        .recentDelivery(LocalDate.of(2026, 3, 1)).build()).getId();
+    otherSellerId = sellerRepository.save(Seller.builder().username("other").build()).getId();
+  }
+
+  /**
+   * Test: Should add many events for a seller in one update, keeping the latest delivery date.
+   */
+  @Test
+  void flush_ManyEventsPerSeller_AppliesOneUpdateEach() throws IOException {
+    SellerJobStatsCounter counter = counter(1_000);
+    List<SellerJobStatsEvent> events = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      events.add(orderStarted(sellerId));
+    }
+    for (int i = 0; i < 5; i++) {
+      events.add(orderDelivered(sellerId, 49.5, LocalDate.of(2026, 3, 10 - i)));
+    }
+    events.add(orderDelivered(otherSellerId, 10, LocalDate.of(2026, 2, 1)));
+    events.add(SellerJobStatsEvent.builder().sellerId(otherSellerId).totalGigs(1).build());
+
+    counter.record(events);
+    assertThat(seller(sellerId).getOngoingJobs()).isZero();
+    counter.flush();
+
+    Seller seller = seller(sellerId);
+    assertThat(seller.getOngoingJobs()).isEqualTo(15);
+    assertThat(seller.getCompletedJobs()).isEqualTo(5);
+    assertThat(seller.getTotalEarnings()).isEqualTo(247.5);
+    assertThat(seller.getRecentDelivery()).isEqualTo(LocalDate.of(2026, 3, 10));
+    assertThat(seller.getPendingJobStatsFlushes()).isEmpty();
+    Seller other = seller(otherSellerId);
+    assertThat(other.getCompletedJobs()).isEqualTo(1);
+    assertThat(other.getOngoingJobs()).isEqualTo(-1);
+    assertThat(other.getTotalGigs()).isEqualTo(1);
+    assertThat(other.getRecentDelivery()).isEqualTo(LocalDate.of(2026, 2, 1));
+    assertThat(meterRegistry.get("user.job-stats.seller-updates").counter().count()).isEqualTo(2);
+    assertThat(segments()).hasSize(1);
+  }
+
+  /**
+   * Test: Should not move the delivery date back for an older delivery.
+   */
+  @Test
+  void flush_OlderDelivery_KeepsStoredDate() {
+    SellerJobStatsCounter counter = counter(1_000);
+
+    counter.record(List.of(orderDelivered(sellerId, 20, LocalDate.of(2026, 1, 15))));
+    counter.flush();
+
+    assertThat(seller(sellerId).getRecentDelivery()).isEqualTo(LocalDate.of(2026, 3, 1));
+    assertThat(seller(sellerId).getCompletedJobs()).isEqualTo(1);
+  }
+
+  /**
+   * Test: Should flush on the recording thread once the pending events reach the threshold.
+   */
+  @Test
+  void record_ThresholdReached_FlushesWithoutWaitingForInterval() {
+    SellerJobStatsCounter counter = counter(10);
+
+    counter.record(List.of(orderStarted(sellerId), orderStarted(sellerId)));
+    assertThat(seller(sellerId).getOngoingJobs()).isZero();
+    counter.record(List.of(orderStarted(sellerId), orderStarted(sellerId), orderStarted(sellerId),
+        orderStarted(sellerId), orderStarted(sellerId), orderStarted(sellerId), orderStarted(sellerId),
+        orderStarted(sellerId)));
+
+    assertThat(seller(sellerId).getOngoingJobs()).isEqualTo(10);
+  }
+
+  /**
+   * Test: Should leave retrying a failed flush to the scheduled flush, and refuse events once
+   * too many wait to be applied, until a flush succeeds.
+   */
+  @Test
+  void record_FlushFailing_RetriesOnScheduleAndRefusesBeyondMaxPending() {
+    SellerRepository failing = mock(SellerRepository.class, AdditionalAnswers.delegatesTo(sellerRepository));
+    doThrow(new DataAccessResourceFailureException("down")).when(failing).applyJobStats(any(), any());
+    SellerJobStatsCounter counter = new SellerJobStatsCounter(failing, OBJECT_MAPPER, meterRegistry, journalDir,
+        false, 4, 2, 5);
+
+    counter.record(List.of(orderStarted(sellerId), orderStarted(sellerId)));
+    counter.record(List.of(orderStarted(sellerId), orderStarted(sellerId)));
+    verify(failing, times(1)).applyJobStats(any(), any());
+    assertThatThrownBy(() -> counter.record(List.of(orderStarted(sellerId), orderStarted(sellerId))))
+        .isInstanceOf(ServiceUnavailableException.class);
+    assertThat(meterRegistry.get("user.job-stats.rejected").counter().count()).isEqualTo(2);
+
+    doAnswer(AdditionalAnswers.delegatesTo(sellerRepository)).when(failing).applyJobStats(any(), any());
+    counter.flush();
+    counter.record(List.of(orderStarted(sellerId), orderStarted(sellerId)));
+    counter.flush();
+
+    assertThat(seller(sellerId).getOngoingJobs()).isEqualTo(6);
+    assertThat(meterRegistry.get("user.job-stats.unapplied").gauge().value()).isZero();
+  }
+
+  /**
+   * Test: Should apply events journaled before a crash when the next instance starts.
+   */
+  @Test
+  void recover_UnflushedEventsInJournal_AppliesThemOnce() throws IOException {
+    SellerJobStatsCounter crashed = counter(1_000);
+    crashed.record(List.of(orderStarted(sellerId), orderStarted(sellerId)));
+    crashed.record(List.of(orderDelivered(otherSellerId, 30, LocalDate.of(2026, 4, 2))));
+    // The crash cut the last write short.
+    Files.writeString(segments().get(0), "{\"sellerId\":\"" + sellerId + "\",\"ongoi", StandardOpenOption.APPEND);
+
+    SellerJobStatsCounter restarted = counter(1_000);
+    restarted.recover();
+    restarted.flush();
+    restarted.close();
+
+    assertThat(seller(sellerId).getOngoingJobs()).isEqualTo(2);
+    assertThat(seller(otherSellerId).getTotalEarnings()).isEqualTo(30);
+    assertThat(segments()).isEmpty();
+  }
+
+  /**
+   * Test: Should not apply a journal segment again when the crash came after its update.
+   */
+  @Test
+  void recover_SegmentAlreadyApplied_ChangesNothing() throws IOException {
+    SellerJobStatsCounter crashed = counter(1_000);
+    crashed.record(List.of(orderStarted(sellerId), orderStarted(sellerId)));
+    String segmentId = segments().get(0).getFileName().toString().replace(".ndjson", "");
+    sellerRepository.applyJobStats(segmentId,
+        List.of(new SellerJobStatsDelta(sellerId, 2, 0, 0, 0, 0, null)));
+
+    SellerJobStatsCounter restarted = counter(1_000);
+    restarted.recover();
+    restarted.flush();
+
+    assertThat(seller(sellerId).getOngoingJobs()).isEqualTo(2);
+    assertThat(seller(sellerId).getPendingJobStatsFlushes()).isEmpty();
+  }
+
+  /**
+   * Test: Should reject events without a seller and journal nothing.
+   */
+  @Test
+  void record_MissingSellerId_Throws() throws IOException {
+    SellerJobStatsCounter counter = counter(1_000);
+
+    assertThatThrownBy(() -> counter.record(List.of(orderStarted(sellerId), orderStarted(" "))))
+        .isInstanceOf(BadRequestException.class);
+    counter.close();
+
+    assertThat(segments()).isEmpty();
+  }
+
+  private SellerJobStatsCounter counter(int flushThreshold) {
+    return new SellerJobStatsCounter(sellerRepository, OBJECT_MAPPER, meterRegistry, journalDir, false, 4,
+        flushThreshold, 1_000_000);
+  }
+
+  private Seller seller(String id) {
+    return sellerRepository.findById(id).orElseThrow();
+  }
+
+  private List<Path> segments() throws IOException {
+    try (Stream<Path> files = Files.list(journalDir)) {
+      return files.sorted().toList();
+    }
+  }
+
+  private static SellerJobStatsEvent orderStarted(String sellerId) {
+    return SellerJobStatsEvent.builder().sellerId(sellerId).ongoingJobs(1).build();
+  }
+
+  private static SellerJobStatsEvent orderDelivered(String sellerId, double earnings, LocalDate deliveredOn) {
+    return SellerJobStatsEvent.builder()
+        .sellerId(sellerId)
+        .ongoingJobs(-1)
+        .completedJobs(1)
+        .totalEarnings(earnings)
+        .recentDelivery(deliveredOn)
+        .build();
+  }
+}
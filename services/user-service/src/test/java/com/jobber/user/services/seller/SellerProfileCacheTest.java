@@ -0,0 +1,160 @@
+package com.jobber.user.services.seller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.mapstruct.factory.Mappers;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.util.unit.DataSize;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.jobber.user.dtos.responses.SellerResponse;
+import com.jobber.user.mappers.SellerMapper;
+import com.jobber.user.models.Seller;
+import com.jobber.user.repositories.SellerJobStatsDelta;
+import com.jobber.user.repositories.SellerRepository;
+import com.jobber.user.testing.InMemoryMongo;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests for {@link SellerProfileCache} against an in-memory MongoDB server, with two caches
+ * standing in for two instances of the service.
+ */
+class SellerProfileCacheTest {
+
+  @RegisterExtension
+  final InMemoryMongo mongo = new InMemoryMongo();
+
+  private MongoTemplate mongoTemplate;
+  private SellerRepository sellerRepository;
+  private String sellerId;
+
+  @BeforeEach
+  void setUp() {
+    mongoTemplate = mongo.template();
+    sellerRepository = mongo.sellerRepository();
+
+    sellerId = sellerRepository.save(seller("seller")).getId();
+  }
+
+  /**
+   * Test: Should serve repeated reads from the cache and count them as hits.
+   */
+  @Test
+  void getById_ReadTwice_SecondReadIsAHit() {
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    SellerProfileCache cache = cache(meterRegistry);
+
+    assertThat(cache.getById(sellerId).getCompletedJobs()).isZero();
+    // Changed without a new version, so only the cached copy can still say zero.
+    mongoTemplate.updateFirst(Query.query(Criteria.where("id").is(sellerId)), new Update().set("completedJobs", 9),
+        Seller.class);
+
+    assertThat(cache.getById(sellerId).getCompletedJobs()).isZero();
+    assertThat(meterRegistry.get("user.seller-cache.hit-ratio").gauge().value()).isEqualTo(0.5);
+    assertThat(meterRegistry.get("user.seller-cache.weight").gauge().value()).isPositive();
+  }
+
+  /**
+   * Test: Should drop a profile on every instance at the next poll after any instance updates it.
+   */
+  @Test
+  void sellersChanged_SellerUpdated_EveryInstanceDropsItsCopy() {
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    SellerProfileCache first = cache(meterRegistry);
+    SellerProfileCache second = cache(new SimpleMeterRegistry());
+    SellerChangeFeed firstFeed = feed(first);
+    SellerChangeFeed secondFeed = feed(second);
+    firstFeed.poll();
+    secondFeed.poll();
+    first.getById(sellerId);
+    second.getById(sellerId);
+
+    sellerRepository.applyJobStats("flush", List.of(new SellerJobStatsDelta(sellerId, 0, 1, 0, 25, 0,
+        LocalDate.of(2026, 5, 1))));
+    assertThat(first.getById(sellerId).getCompletedJobs()).isZero();
+
+    firstFeed.poll();
+    secondFeed.poll();
+    assertThat(first.getById(sellerId).getCompletedJobs()).isEqualTo(1);
+    assertThat(second.getById(sellerId).getTotalEarnings()).isEqualTo(25);
+    assertThat(meterRegistry.get("user.seller-cache.staleness").timer().count()).isEqualTo(1);
+    // The change is read again within the overlap, but the cached version is current.
+    assertThat(firstFeed.poll()).isEqualTo(1);
+    assertThat(meterRegistry.get("user.seller-cache.staleness").timer().count()).isEqualTo(1);
+  }
+
+  /**
+   * Test: Should share one cached profile between id and username lookups.
+   */
+  @Test
+  void getByUsername_CachedById_ReturnsSameProfile() {
+    SellerProfileCache cache = cache(new SimpleMeterRegistry());
+
+    assertThat(cache.getByUsername("seller")).isSameAs(cache.getById(sellerId));
+    assertThat(cache.getByUsername("seller")).isSameAs(cache.getById(sellerId));
+    assertThat(cache.getByUsername("nobody")).isNull();
+    assertThat(cache.getById("65f1c0ffee0000000000002a")).isNull();
+  }
+
+  /**
+   * Test: Should load only the uncached sellers of a batch, and cache them for single reads.
+   */
+  @Test
+  void getAllById_SomeCached_LoadsTheRestOnce() {
+    String otherId = sellerRepository.save(seller("other")).getId();
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    SellerProfileCache cache = cache(meterRegistry);
+    cache.getById(sellerId);
+
+    Map<String, SellerResponse> found = cache.getAllById(List.of(sellerId, otherId, "65f1c0ffee0000000000002a"));
+
+    assertThat(found).containsOnlyKeys(sellerId, otherId);
+    assertThat(found.get(otherId).getUsername()).isEqualTo("other");
+    assertThat(cache.getById(otherId)).isSameAs(found.get(otherId));
+    assertThat(meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(2);
+  }
+
+  /**
+   * Test: Should look up a batch of usernames, sharing profiles with lookups by id.
+   */
+  @Test
+  void getAllByUsername_SomeCached_ReturnsProfilesByUsername() {
+    sellerRepository.save(seller("other"));
+    SellerProfileCache cache = cache(new SimpleMeterRegistry());
+    SellerResponse cached = cache.getByUsername("seller");
+
+    Map<String, SellerResponse> found = cache.getAllByUsername(List.of("other", "seller", "nobody"));
+
+    assertThat(found).containsOnlyKeys("seller", "other");
+    assertThat(found.get("seller")).isSameAs(cached);
+    assertThat(cache.getById(found.get("other").getId())).isSameAs(found.get("other"));
+  }
+
+  private SellerProfileCache cache(SimpleMeterRegistry meterRegistry) {
+    return new SellerProfileCache(sellerRepository, Mappers.getMapper(SellerMapper.class),
+        JsonMapper.builder().findAndAddModules().build(), meterRegistry, DataSize.ofMegabytes(1),
+        Duration.ofMinutes(10), Clock.systemDefaultZone());
+  }
+
+  private SellerChangeFeed feed(SellerProfileCache cache) {
+    return new SellerChangeFeed(sellerRepository, List.of(cache), Duration.ofSeconds(5), 1000,
+        Clock.systemDefaultZone());
+  }
+
+  private static Seller seller(String username) {
+    return Seller.builder().username(username).fullName("Seller " + username).build();
+  }
+}
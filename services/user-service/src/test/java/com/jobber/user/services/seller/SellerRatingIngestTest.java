@@ -0,0 +1,222 @@
+package com.jobber.user.services.seller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.jobber.common.exceptions.BadRequestException;
+import com.jobber.user.dtos.requests.SellerRatingRequest;
+import com.jobber.user.dtos.responses.SellerRatingIngestResponse;
+import com.jobber.user.models.Seller;
+import com.jobber.user.models.SellerReview;
+import com.jobber.user.repositories.SellerRatingDelta;
+import com.jobber.user.repositories.SellerRepository;
+import com.jobber.user.repositories.SellerRepositoryCustomImpl;
+import com.jobber.user.repositories.SellerReviewRepository;
+import com.jobber.user.repositories.SellerReviewRepositoryCustomImpl;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests for {@link SellerRatingIngest} against a real mongod, since the seller updates use a
+ * pipeline update that the in-memory server does not support. Skipped when Docker is not
+ * available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class SellerRatingIngestTest {
+
+  @Container
+  private static final MongoDBContainer MONGO = new MongoDBContainer("mongo:6.0");
+
+  private static MongoClient client;
+  private static MongoTemplate mongoTemplate;
+
+  private SellerRepository sellerRepository;
+  private SellerReviewRepository sellerReviewRepository;
+  private SimpleMeterRegistry meterRegistry;
+  private SellerRatingIngest ingest;
+  private String sellerId;
+
+  @BeforeAll
+  static void connect() {
+    client = MongoClients.create(MONGO.getReplicaSetUrl());
+    mongoTemplate = new MongoTemplate(client, "jobber_test");
+  }
+
+  @AfterAll
+  static void disconnect() {
+    client.close();
+  }
+
+  @BeforeEach
+  void setUp() {
+    mongoTemplate.dropCollection(Seller.class);
+    mongoTemplate.dropCollection(SellerReview.class);
+    MongoRepositoryFactory factory = new MongoRepositoryFactory(mongoTemplate);
+    sellerRepository = factory.getRepository(SellerRepository.class, new SellerRepositoryCustomImpl(mongoTemplate));
+    sellerReviewRepository = factory.getRepository(SellerReviewRepository.class,
+        new SellerReviewRepositoryCustomImpl(mongoTemplate));
+    meterRegistry = new SimpleMeterRegistry();
+    ingest = new SellerRatingIngest(sellerRepository, sellerReviewRepository, meterRegistry, Duration.ofMinutes(10));
+
+    sellerId = sellerRepository.save(Seller.builder().username("seller").build()).getId();
+  }
+
+  /**
+   * Test: Should add a burst of ratings for one seller in a single update at the next flush.
+   */
+  @Test
+  void flush_BurstForOneSeller_AppliesOneCoalescedUpdate() {
+    List<SellerRatingRequest> ratings = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      ratings.add(rating("review-" + i, i < 6 ? 5 : 4));
+    }
+
+    SellerRatingIngestResponse response = ingest.ingest(ratings);
+    assertThat(response.getAccepted()).isEqualTo(10);
+    assertThat(seller().getRatingsCount()).isZero();
+
+    ingest.flush();
+
+    Seller seller = seller();
+    assertThat(seller.getRatingsCount()).isEqualTo(10);
+    assertThat(seller.getRatingSum()).isEqualTo(46);
+    assertThat(seller.getRatingAverage()).isEqualTo(4.6);
+    assertThat(seller.getRatingCategories().getFive()).isEqualTo(new Seller.RatingLevel(30, 6));
+    assertThat(seller.getRatingCategories().getFour()).isEqualTo(new Seller.RatingLevel(16, 4));
+    assertThat(seller.getPendingRatingFlushes()).isEmpty();
+    assertThat(meterRegistry.get("user.ratings.seller-updates").counter().count()).isEqualTo(1);
+    assertThat(sellerReviewRepository.findAll()).allMatch(SellerReview::isApplied);
+  }
+
+  /**
+   * Test: Should count a rating once when its review is sent again, before or after a flush.
+   */
+  @Test
+  void ingest_RetriedReviewId_CountsOnce() {
+    ingest.ingest(List.of(rating("review-1", 3), rating("review-1", 3)));
+    ingest.flush();
+    SellerRatingIngestResponse retry = ingest.ingest(List.of(rating("review-1", 3)));
+    ingest.flush();
+
+    assertThat(retry.getAccepted()).isZero();
+    assertThat(retry.getDuplicates()).isEqualTo(1);
+    assertThat(seller().getRatingsCount()).isEqualTo(1);
+    assertThat(seller().getRatingSum()).isEqualTo(3);
+  }
+
+  /**
+   * Test: Should replay an interrupted flush without counting the sellers it already reached twice.
+   */
+  @Test
+  void recover_InterruptedFlush_AppliesEachRatingOnce() {
+    LocalDateTime anHourAgo = LocalDateTime.now().minusHours(1);
+    String otherSellerId = sellerRepository.save(Seller.builder().username("other").build()).getId();
+    // Crashed after updating the first seller of flush-1 and before marking its reviews applied.
+    sellerReviewRepository.saveAll(List.of(
+        review("review-1", sellerId, 5, "flush-1", anHourAgo),
+        review("review-2", otherSellerId, 2, "flush-1", anHourAgo),
+        review("review-3", sellerId, 1, null, anHourAgo),
+        review("review-4", sellerId, 1, null, LocalDateTime.now())));
+    sellerRepository.applyRatings("flush-1", List.of(new SellerRatingDelta(sellerId, new int[] {0, 0, 0, 0, 0, 1})));
+
+    ingest.recover();
+    ingest.flush();
+
+    assertThat(seller().getRatingsCount()).isEqualTo(2);
+    assertThat(seller().getRatingSum()).isEqualTo(6);
+    assertThat(sellerRepository.findById(otherSellerId).orElseThrow().getRatingSum()).isEqualTo(2);
+    assertThat(sellerReviewRepository.findById("review-4").orElseThrow().isApplied()).isFalse();
+  }
+
+  /**
+   * Test: Should count a stale review once when two instances recover it.
+   */
+  @Test
+  void recover_TwoInstances_ApplyEachRatingOnce() {
+    sellerReviewRepository.save(review("review-1", sellerId, 4, null, LocalDateTime.now().minusHours(1)));
+    SellerRatingIngest other = new SellerRatingIngest(sellerRepository, sellerReviewRepository,
+        new SimpleMeterRegistry(), Duration.ofMinutes(10));
+
+    ingest.recover();
+    other.recover();
+    ingest.flush();
+    other.flush();
+
+    assertThat(seller().getRatingsCount()).isEqualTo(1);
+    assertThat(seller().getRatingSum()).isEqualTo(4);
+    assertThat(seller().getPendingRatingFlushes()).isEmpty();
+  }
+
+  /**
+   * Test: Should leave a review held by another flush to that flush.
+   */
+  @Test
+  void flush_ReviewClaimedElsewhere_SkipsIt() {
+    ingest.ingest(List.of(rating("review-1", 5), rating("review-2", 3)));
+    sellerReviewRepository.assignFlush(List.of("review-1"), "flush-other");
+
+    ingest.flush();
+
+    assertThat(seller().getRatingsCount()).isEqualTo(1);
+    assertThat(seller().getRatingSum()).isEqualTo(3);
+    assertThat(sellerReviewRepository.findById("review-1").orElseThrow().getFlushId()).isEqualTo("flush-other");
+  }
+
+  /**
+   * Test: Should not record ratings for sellers that do not exist.
+   */
+  @Test
+  void ingest_UnknownSeller_IsReportedAndNotRecorded() {
+    SellerRatingIngestResponse response = ingest.ingest(List.of(
+        rating("review-1", 5),
+        SellerRatingRequest.builder().reviewId("review-2").sellerId("65f1c0ffee0000000000002a").rating(5).build()));
+
+    assertThat(response.getAccepted()).isEqualTo(1);
+    assertThat(response.getUnknownSellerReviewIds()).containsExactly("review-2");
+    assertThat(sellerReviewRepository.existsById("review-2")).isFalse();
+  }
+
+  /**
+   * Test: Should reject ratings outside 1 to 5 stars.
+   */
+  @Test
+  void ingest_RatingOutOfRange_Throws() {
+    assertThatThrownBy(() -> ingest.ingest(List.of(rating("review-1", 6))))
+        .isInstanceOf(BadRequestException.class);
+  }
+
+  private Seller seller() {
+    return sellerRepository.findById(sellerId).orElseThrow();
+  }
+
+  private SellerRatingRequest rating(String reviewId, int stars) {
+    return SellerRatingRequest.builder().reviewId(reviewId).sellerId(sellerId).rating(stars).build();
+  }
+
+  private static SellerReview review(String id, String sellerId, int stars, String flushId, LocalDateTime createdAt) {
+    return SellerReview.builder()
+        .id(id)
+        .sellerId(sellerId)
+        .rating(stars)
+        .flushId(flushId)
+        .createdAt(createdAt)
+        .build();
+  }
+}
@@ -0,0 +1,70 @@
+package com.jobber.user.services.seller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+import com.jobber.common.exceptions.BadRequestException;
+import com.jobber.user.models.Seller;
+import com.jobber.user.repositories.SellerSearchQuery;
+import com.jobber.user.repositories.SellerSort;
+
+/**
+ * Tests for {@link SellerSearchCursor}.
+ */
+class SellerSearchCursorTest {
+
+  private static final Seller LAST = Seller.builder()
+      .id("65f1c0ffee0000000000002a")
+      .ratingAverage(4.333333333333333)
+      .createdAt(LocalDateTime.of(2026, 3, 1, 12, 30, 15, 123_000_000))
+      .build();
+
+  /**
+   * Test: Should decode a rating cursor to the exact sort key and id it was issued for.
+   */
+  @Test
+  void decode_RatingCursor_RoundTrips() {
+    String cursor = SellerSearchCursor.after(LAST, SellerSort.RATING);
+
+    assertThat(SellerSearchCursor.decode(cursor, SellerSort.RATING))
+        .isEqualTo(new SellerSearchQuery.Position(4.333333333333333, "65f1c0ffee0000000000002a"));
+  }
+
+  /**
+   * Test: Should decode a newest cursor to the creation time of the last seller.
+   */
+  @Test
+  void decode_NewestCursor_RoundTrips() {
+    String cursor = SellerSearchCursor.after(LAST, SellerSort.NEWEST);
+
+    assertThat(SellerSearchCursor.decode(cursor, SellerSort.NEWEST).value()).isEqualTo(LAST.getCreatedAt());
+  }
+
+  /**
+   * Test: Should reject a cursor issued for a different sort.
+   */
+  @Test
+  void decode_CursorOfOtherSort_Throws() {
+    String cursor = SellerSearchCursor.after(LAST, SellerSort.RATING);
+
+    assertThatThrownBy(() -> SellerSearchCursor.decode(cursor, SellerSort.NEWEST))
+        .isInstanceOf(BadRequestException.class);
+  }
+
+  /**
+   * Test: Should reject a cursor that was not issued by the service.
+   */
+  @Test
+  void decode_TamperedCursor_Throws() {
+    assertThatThrownBy(() -> SellerSearchCursor.decode("not a cursor", SellerSort.RATING))
+        .isInstanceOf(BadRequestException.class);
+    assertThatThrownBy(() -> SellerSearchCursor.decode("UkFUSU5HfGFiY3wx", SellerSort.RATING))
+        .isInstanceOf(BadRequestException.class);
+    assertThatThrownBy(() -> SellerSearchCursor.decode("UkFUSU5HfDQuNXwx", SellerSort.RATING))
+        .isInstanceOf(BadRequestException.class);
+  }
+}
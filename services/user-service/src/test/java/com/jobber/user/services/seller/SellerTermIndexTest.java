@@ -0,0 +1,121 @@
+package com.jobber.user.services.seller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.Mockito.mock;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.jobber.user.models.Seller;
+import com.jobber.user.repositories.SellerRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests for {@link SellerTermIndex}.
+ */
+class SellerTermIndexTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private SellerTermIndex index;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    index = new SellerTermIndex(mock(SellerRepository.class), meterRegistry);
+    index.rebuild(Stream.of(
+        seller("1", "India", List.of("Java", "Spring Boot"), "English"),
+        seller("2", "India", List.of("Java", "React"), "Hindi"),
+        seller("3", "Nepal", List.of("Java", "Spring Boot"), "English"),
+        seller("4", "India", List.of("Python"), "English")));
+  }
+
+  /**
+   * Test: Should intersect all required skills with the country.
+   */
+  @Test
+  void match_AllSkillsAndCountry_ReturnsIntersection() {
+    SellerTermIndex.Match match = index.match(
+        new SellerTermQuery(List.of("Java", "Spring Boot"), null, List.of("India"), null), 10, 10);
+
+    assertThat(match.total()).isEqualTo(1);
+    assertThat(match.sellerIds()).containsExactly("1");
+  }
+
+  /**
+   * Test: Should match any of the listed skills and countries.
+   */
+  @Test
+  void match_AnyOf_ReturnsUnion() {
+    SellerTermIndex.Match match = index.match(
+        new SellerTermQuery(null, List.of("React", "Python"), List.of("India", "Nepal"), null), 10, 10);
+
+    assertThat(match.sellerIds()).containsExactly("2", "4");
+  }
+
+  /**
+   * Test: Should ignore case and extra whitespace, and match nothing for an unknown term.
+   */
+  @Test
+  void match_Terms_AreNormalized() {
+    assertThat(index.match(new SellerTermQuery(List.of("  spring   BOOT "), null, null, null), 10, 0).total())
+        .isEqualTo(2);
+    assertThat(index.match(new SellerTermQuery(List.of("Java", "Rust"), null, null, null), 10, 0).total())
+        .isZero();
+  }
+
+  /**
+   * Test: Should count skills, countries and languages among the matches, most common first.
+   */
+  @Test
+  void match_Facets_CountMatchesPerTerm() {
+    SellerTermIndex.Match match = index.match(new SellerTermQuery(List.of("Java"), null, null, null), 2, 2);
+
+    assertThat(match.total()).isEqualTo(3);
+    assertThat(match.sellerIds()).hasSize(2);
+    assertThat(match.facets().get(SellerTermIndex.Field.SKILL))
+        .containsExactly(entry("Java", 3), entry("Spring Boot", 2));
+    assertThat(match.facets().get(SellerTermIndex.Field.COUNTRY))
+        .containsExactly(entry("India", 2), entry("Nepal", 1));
+  }
+
+  /**
+   * Test: Should replace the terms of a seller that is indexed again.
+   */
+  @Test
+  void index_ExistingSeller_ReplacesTerms() {
+    index.index(seller("4", "Nepal", List.of("Java"), "English"));
+    index.index(seller("5", "India", List.of("Go"), "English"));
+
+    assertThat(index.match(new SellerTermQuery(List.of("Python"), null, null, null), 10, 10).total()).isZero();
+    assertThat(index.match(new SellerTermQuery(List.of("Java"), null, List.of("Nepal"), null), 10, 10).sellerIds())
+        .containsExactly("3", "4");
+    assertThat(index.match(new SellerTermQuery(null, null, null, null), 10, 0).total()).isEqualTo(5);
+    assertThat(meterRegistry.get("user.seller-index.sellers").gauge().value()).isEqualTo(5);
+  }
+
+  /**
+   * Test: Should keep sellers indexed while a rebuild streams the collection.
+   */
+  @Test
+  void rebuild_SellerIndexedMeanwhile_IsKept() {
+    index.rebuild(Stream.of(seller("1", "India", List.of("Java"), "English"))
+        .peek(seller -> index.index(seller("9", "Nepal", List.of("Kotlin"), "English"))));
+
+    assertThat(index.match(new SellerTermQuery(null, null, null, null), 10, 0).sellerIds())
+        .containsExactly("1", "9");
+  }
+
+  private static Seller seller(String id, String country, List<String> skills, String language) {
+    return Seller.builder()
+        .id(id)
+        .country(country)
+        .skills(skills)
+        .languages(List.of(new Seller.Language(language, "Fluent")))
+        .build();
+  }
+}
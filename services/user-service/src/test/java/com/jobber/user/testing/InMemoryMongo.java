@@ -0,0 +1,83 @@
+package com.jobber.user.testing;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+
+import com.jobber.user.repositories.BuyerPurchaseBucketRepository;
+import com.jobber.user.repositories.BuyerPurchaseBucketRepositoryCustomImpl;
+import com.jobber.user.repositories.BuyerRepository;
+import com.jobber.user.repositories.BuyerRepositoryCustomImpl;
+import com.jobber.user.repositories.SellerRepository;
+import com.jobber.user.repositories.SellerRepositoryCustomImpl;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+
+/**
+ * Starts an empty in-memory MongoDB server before each test and shuts it down after it.
+ * Register it on an instance field, which the test's own {@code @BeforeEach} can already use:
+ *
+ * <pre>
+ * &#64;RegisterExtension
+ * final InMemoryMongo mongo = new InMemoryMongo();
+ * </pre>
+ *
+ * The repositories are built the way Spring Data builds them, with their custom fragments.
+ */
+public class InMemoryMongo implements BeforeEachCallback, AfterEachCallback {
+
+  private MongoServer server;
+  private MongoClient client;
+  private MongoTemplate template;
+
+  @Override
+  public void beforeEach(ExtensionContext context) {
+    server = new MongoServer(new MemoryBackend());
+    client = MongoClients.create(server.bindAndGetConnectionString());
+    template = new MongoTemplate(client, "jobber_test");
+  }
+
+  @Override
+  public void afterEach(ExtensionContext context) {
+    client.close();
+    server.shutdown();
+  }
+
+  public MongoTemplate template() {
+    return template;
+  }
+
+  /**
+   * Builds the indexes declared on the documents, as the index verifier does at startup.
+   */
+  public void ensureIndexes(Class<?>... documents) {
+    MongoPersistentEntityIndexResolver resolver =
+        new MongoPersistentEntityIndexResolver(template.getConverter().getMappingContext());
+    for (Class<?> document : documents) {
+      resolver.resolveIndexFor(document).forEach(template.indexOps(document)::ensureIndex);
+    }
+  }
+
+  public SellerRepository sellerRepository() {
+    return repositories().getRepository(SellerRepository.class, new SellerRepositoryCustomImpl(template));
+  }
+
+  public BuyerRepository buyerRepository() {
+    return repositories().getRepository(BuyerRepository.class, new BuyerRepositoryCustomImpl(template));
+  }
+
+  public BuyerPurchaseBucketRepository purchaseBucketRepository() {
+    return repositories().getRepository(BuyerPurchaseBucketRepository.class,
+        new BuyerPurchaseBucketRepositoryCustomImpl(template));
+  }
+
+  private MongoRepositoryFactory repositories() {
+    return new MongoRepositoryFactory(template);
+  }
+}